@@ -0,0 +1,56 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.parser.ForecastStreamParser;
+
+/**
+ * Bytes per cached city: the WeatherForecastResponse graph the forecast cache used to hold
+ * vs the CompactForecast it holds now (14 periods).
+ *
+ * Run with: ./gradlew jmh
+ * gc.alloc.rate.norm approximates the retained size per city. The baseline parses the fixture
+ * on every invocation, so each Period gets its own strings, as the old cache held them; the
+ * parser's own scratch allocations make that figure a slight upper bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForecastFootprintBenchmark {
+
+    private byte[] fixture;
+    private WeatherForecastResponse response;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/standin/nws/forecast.json")) {
+            fixture = in.readAllBytes();
+        }
+        response = ForecastStreamParser.parse(new ByteArrayInputStream(fixture));
+    }
+
+    // Previous cached form: Period objects, boxed Integers, ProbabilityValues, fresh strings
+    @Benchmark
+    public WeatherForecastResponse periodObjects() throws IOException {
+        return ForecastStreamParser.parse(new ByteArrayInputStream(fixture));
+    }
+
+    // Current cached form: parallel arrays of dictionary codes and primitives
+    @Benchmark
+    public CompactForecast compactForecast() {
+        return CompactForecast.from(response);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.parser.ForecastStreamParser;
+
+/**
+ * Databind vs streaming extraction of an NWS forecast (14 periods, ~15 KB).
+ *
+ * Run with: ./gradlew jmh
+ * Compare the time per op and gc.alloc.rate.norm (bytes allocated per op) columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForecastParsingBenchmark {
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/standin/nws/forecast.json")) {
+            payload = in.readAllBytes();
+        }
+        objectMapper = new ObjectMapper();
+    }
+
+    // Previous path: RestClient.toEntity(WeatherForecastResponse.class)
+    @Benchmark
+    public WeatherForecastResponse databind() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(payload), WeatherForecastResponse.class);
+    }
+
+    // Current path in WeatherApiService: all periods, used fields only
+    @Benchmark
+    public WeatherForecastResponse streamingAllPeriods() throws IOException {
+        return ForecastStreamParser.parse(new ByteArrayInputStream(payload));
+    }
+
+    // Next-day lookup only needs the first three periods
+    @Benchmark
+    public WeatherForecastResponse streamingFirstThreePeriods() throws IOException {
+        return ForecastStreamParser.parse(new ByteArrayInputStream(payload), 3);
+    }
+}
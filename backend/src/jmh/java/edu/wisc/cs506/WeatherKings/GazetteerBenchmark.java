@@ -0,0 +1,57 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.ReverseGeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.service.Gazetteer;
+
+/**
+ * Latency of the offline gazetteer behind /api/cities/suggest and /api/cities/reverse.
+ *
+ * Run with: ./gradlew jmh
+ * - loadBundledGazetteer: reading and indexing gazetteer/us-places.csv (once per startup)
+ * - suggest: top 8 places for a short prefix, cycling through typical queries
+ * - reverse: nearest place within 50 km of points across CONUS (hits and misses)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GazetteerBenchmark {
+
+    private static final String[] PREFIXES = {"m", "mad", "new y", "san", "green b", "st l", "spring", "x"};
+
+    private Gazetteer gazetteer;
+    private int next;
+
+    @Setup
+    public void setup() {
+        gazetteer = new Gazetteer(true, "/gazetteer/us-places.csv");
+    }
+
+    @Benchmark
+    public Gazetteer loadBundledGazetteer() {
+        return new Gazetteer(true, "/gazetteer/us-places.csv");
+    }
+
+    @Benchmark
+    public List<Place> suggest() {
+        next++;
+        return gazetteer.suggest(PREFIXES[next & 7], 8);
+    }
+
+    @Benchmark
+    public ReverseGeocodeResponse reverse() {
+        next++;
+        return gazetteer.reverse(26 + (next % 230) * 0.1, -122 + (next % 530) * 0.1, 50);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.NominatimPlace;
+import edu.wisc.cs506.WeatherKings.bets.service.GeocodeCache;
+import edu.wisc.cs506.WeatherKings.bets.service.GeocodeService;
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
+import edu.wisc.cs506.WeatherKings.weather.standin.StandInSettings;
+
+/**
+ * Per-call cost of GeocodeService against the local Nominatim stand-in, and typed vs tree
+ * parsing of a search result.
+ *
+ * Run with: ./gradlew jmh
+ * - geocode: the client path with the geocode cache disabled, in batches of 20,000 calls, so
+ *   the build's 5 measured iterations make 100k calls. The client is built once, so the
+ *   iteration times should stay flat; a client that grew per call (e.g. an interceptor
+ *   added on every request) shows up as iterations getting steadily slower.
+ * - parseTyped / parseTree: binding to NominatimPlace records vs walking a JsonNode tree
+ */
+@State(Scope.Benchmark)
+public class GeocodeClientBenchmark {
+
+    private static final String SEARCH_RESULT = "[{\"place_id\":297465,\"licence\":\"Data (c) OpenStreetMap contributors\","
+            + "\"osm_type\":\"relation\",\"lat\":\"43.0747000\",\"lon\":\"-89.3842000\",\"class\":\"boundary\","
+            + "\"type\":\"administrative\",\"place_rank\":16,\"importance\":0.65,\"addresstype\":\"city\","
+            + "\"name\":\"Madison\",\"display_name\":\"Madison, Wisconsin, United States\","
+            + "\"address\":{\"city\":\"Madison\",\"state\":\"Wisconsin\",\"country\":\"United States\",\"country_code\":\"us\"}}]";
+
+    private NwsStandInServer server;
+    private CloseableHttpClient httpClient;
+    private GeocodeService geocodeService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new NwsStandInServer(StandInSettings.healthy(0)).start();
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create().build())
+                .build();
+        geocodeService = new GeocodeService(
+            new HttpComponentsClientHttpRequestFactory(httpClient), server.getBaseUrl(), "WeatherKings-Benchmark/1.0",
+            new GeocodeCache(false, 1, 1, 1, false, null));
+        objectMapper = new ObjectMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(batchSize = 20_000)
+    @Measurement(batchSize = 20_000)
+    public GeocodeResponse geocode() {
+        return geocodeService.geocodeCity("Madison, WI");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GeocodeResponse parseTyped() throws IOException {
+        return objectMapper.readValue(SEARCH_RESULT, NominatimPlace[].class)[0].toGeocodeResponse("Madison, WI");
+    }
+
+    // Previous path in GeocodeService: readTree, then look each field up by name
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GeocodeResponse parseTree() throws IOException {
+        JsonNode first = objectMapper.readTree(SEARCH_RESULT).get(0);
+        JsonNode address = first.get("address");
+        return new GeocodeResponse(
+            address.get("city").asText() + ", " + address.get("state").asText(),
+            first.get("lat").asDouble(),
+            first.get("lon").asDouble(),
+            first.get("display_name").asText(),
+            address.get("country").asText());
+    }
+}
@@ -0,0 +1,94 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.StationCatalog;
+
+/**
+ * Startup cost and query latency of the in-memory station lookup that replaced the
+ * /points + /stations round trips.
+ *
+ * Run with: ./gradlew jmh
+ * - loadBundledCatalog: reading and indexing stations/nws-stations.csv (once per startup)
+ * - buildTree: indexing a catalog of the given size (the full NWS list is ~2,500 ASOS sites)
+ * - kdTreeNearest / linearScanNearest: 5 nearest stations within 25 km
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StationLookupBenchmark {
+
+    @Param({"2500", "10000"})
+    public int stations;
+
+    private List<ObservationStation> catalog;
+    private StationKdTree tree;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            catalog.add(new ObservationStation("S" + i,
+                25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57, "America/Chicago"));
+        }
+        tree = new StationKdTree(catalog);
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[] {25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57};
+        }
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public StationKdTree loadBundledCatalog() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/stations/nws-stations.csv")) {
+            return new StationKdTree(StationCatalog.parse(in));
+        }
+    }
+
+    @Benchmark
+    public StationKdTree buildTree() {
+        return new StationKdTree(catalog);
+    }
+
+    @Benchmark
+    public List<ObservationStation> kdTreeNearest() {
+        double[] query = nextQuery();
+        return tree.nearest(query[0], query[1], 5, 25);
+    }
+
+    // Baseline: haversine distance to every station
+    @Benchmark
+    public List<ObservationStation> linearScanNearest() {
+        double[] query = nextQuery();
+        return catalog.stream()
+            .filter(s -> StationKdTree.distanceKm(query[0], query[1], s.latitude(), s.longitude()) <= 25)
+            .sorted(Comparator.comparingDouble(s -> StationKdTree.distanceKm(query[0], query[1], s.latitude(), s.longitude())))
+            .limit(5)
+            .toList();
+    }
+}
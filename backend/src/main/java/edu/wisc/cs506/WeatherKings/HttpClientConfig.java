@@ -0,0 +1,141 @@
+package edu.wisc.cs506.WeatherKings;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+
+import edu.wisc.cs506.WeatherKings.weather.resilience.RateLimitingInterceptor;
+import edu.wisc.cs506.WeatherKings.weather.resilience.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+@Configuration
+public class HttpClientConfig {
+
+    // One connection pool for every outbound call (NWS, Nominatim) so TLS sessions are reused
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${http.client.max-total:100}") int maxTotal,
+            @Value("${http.client.max-per-route:20}") int maxPerRoute,
+            @Value("${geocoding.nominatim.base-url:https://nominatim.openstreetmap.org}") String nominatimBaseUrl,
+            @Value("${http.client.max-per-route.nominatim:2}") int maxPerRouteNominatim,
+            @Value("${http.client.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${http.client.connection-ttl-minutes:10}") long connectionTtlMinutes) {
+
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                // LIFO keeps the most recently used (warm) connections busy and lets the rest idle out
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofMinutes(connectionTtlMinutes))
+                        .build())
+                .build();
+
+        // Nominatim's usage policy allows very little parallelism per client - also for a self-hosted one
+        manager.setMaxPerRoute(routeTo(nominatimBaseUrl), maxPerRouteNominatim);
+        return manager;
+    }
+
+    // Pool route for a base URL, with the scheme's default port spelled out as the route planner does
+    private static HttpRoute routeTo(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+
+    // Keep-alive client on top of the shared pool; idle connections are evicted in the background
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${http.client.pool-timeout-ms:2000}") long poolTimeoutMs,
+            @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${http.client.keep-alive-seconds:60}") long keepAliveSeconds,
+            @Value("${http.client.idle-evict-seconds:30}") long idleEvictSeconds) {
+
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Honour the server's Keep-Alive hint, but never hold a connection longer than our cap
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue suggested = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(suggested) && suggested.compareTo(maxKeepAlive) < 0
+                            ? suggested
+                            : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    // Per-upstream token buckets: callers queue FIFO for a bounded time, then are rejected.
+    // NWS calls take their token in the nwsGuard (ResilienceConfig), ahead of its bulkhead and breaker
+    @Bean
+    public RateLimitingInterceptor outboundRateLimiter(
+            @Value("${weather.api.base-url}") String nwsBaseUrl,
+            @Value("${geocoding.nominatim.base-url:https://nominatim.openstreetmap.org}") String nominatimBaseUrl,
+            @Value("${http.client.rate-limit.nominatim.permits-per-second:1}") double nominatimPermitsPerSecond,
+            @Value("${http.client.rate-limit.nominatim.burst:1}") int nominatimBurst,
+            @Value("${http.client.rate-limit.nominatim.max-wait-ms:3000}") long nominatimMaxWaitMs) {
+
+        // Limiters are chosen by host: when both upstreams share one (the local stand-in), a Nominatim
+        // bucket would also throttle every NWS request a second time, so the stand-in's own throttle applies
+        Map<String, TokenBucketRateLimiter> limiters = new LinkedHashMap<>();
+        String nominatimHost = URI.create(nominatimBaseUrl).getHost();
+        if (!nominatimHost.equals(URI.create(nwsBaseUrl).getHost())) {
+            limiters.put(nominatimHost, new TokenBucketRateLimiter(
+                "nominatim", nominatimPermitsPerSecond, nominatimBurst, Duration.ofMillis(nominatimMaxWaitMs)));
+        }
+        return new RateLimitingInterceptor(limiters);
+    }
+
+    // Request factory handed to every RestClient / RestTemplate that talks to an external API
+    @Bean
+    public ClientHttpRequestFactory outboundRequestFactory(
+            CloseableHttpClient outboundHttpClient,
+            RateLimitingInterceptor outboundRateLimiter) {
+        return new InterceptingClientHttpRequestFactory(
+            new HttpComponentsClientHttpRequestFactory(outboundHttpClient), List.of(outboundRateLimiter));
+    }
+
+    // Pool utilisation (leased / available / pending / max) under httpcomponents.httpclient.pool.*
+    @Bean
+    public MeterBinder outboundConnectionPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "outbound");
+    }
+}
@@ -17,10 +17,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.BetGenerationRequest;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.DailyGenerationReport;
 import edu.wisc.cs506.WeatherKings.bets.service.BetGenerationService;
 import edu.wisc.cs506.WeatherKings.bets.service.BetResolutionService;
 import edu.wisc.cs506.WeatherKings.bets.service.BetService;
+import edu.wisc.cs506.WeatherKings.bets.service.CityRegistry;
 import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
 import jakarta.validation.Valid;
 
@@ -35,13 +38,16 @@ public class BetController {
     private final BetGenerationService betGenerationService;
     private final BetService betService;
     private final BetResolutionService betResolutionService;
+    private final CityRegistry cityRegistry;
 
     public BetController(BetGenerationService betGenerationService, 
                         BetService betService,
-                        BetResolutionService betResolutionService) {
+                        BetResolutionService betResolutionService,
+                        CityRegistry cityRegistry) {
         this.betGenerationService = betGenerationService;
         this.betService = betService;
         this.betResolutionService = betResolutionService;
+        this.cityRegistry = cityRegistry;
     }
 
     /**
@@ -57,16 +63,26 @@ public class BetController {
     /**
      * Endpoint to manually trigger the generation of new bets for the next day.
      * URL: POST /api/bets/generate-daily
+     * URL: POST /api/bets/generate-daily?report=true (per-city status and timings)
      */
     @PostMapping("/generate-daily")
-    public ResponseEntity<List<Bet>> generateDailyBets() {
-        List<Bet> newBets = betGenerationService.generateDailyBets();
-        return ResponseEntity.ok(newBets);
+    public ResponseEntity<?> generateDailyBets(@RequestParam(defaultValue = "false") boolean report) {
+        DailyGenerationReport result = betGenerationService.generateDailyBetsWithReport();
+        if (report) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.ok(result.bets());
     }
 
     /**
      * Endpoint to generate bets for any city given coordinates.
      * URL: POST /api/bets/generate-for-location
+     *
+     * City names are resolved to their canonical city first, so "seattle wa" finds the lines
+     * generated for "Seattle, WA". Locations are then normalized to their NWS grid cell: if
+     * lines already exist for the cell on that date (e.g. generated for "Madison, WI" when
+     * "UW Madison" is requested), those are returned instead of fetching and generating a
+     * second set.
      */
     @PostMapping("/generate-for-location")
     public ResponseEntity<?> generateBetsForLocation(@Valid @RequestBody BetGenerationRequest request) {
@@ -81,10 +97,9 @@ public class BetController {
                 return ResponseEntity.badRequest().body(error);
             }
             
-            List<Bet> existingBets = betService.getBetsForCityAndDate(
-                request.getCityName(), 
-                targetDate
-            );
+            // Case and spelling variants of a name resolve to one canonical city
+            City city = cityRegistry.resolve(request.getCityName(), request.getLatitude(), request.getLongitude());
+            List<Bet> existingBets = betService.getBetsForCityAndDate(city.getCityId(), targetDate);
             
             if (!existingBets.isEmpty()) {
                 Map<String, Object> response = new HashMap<>();
@@ -93,12 +108,23 @@ public class BetController {
                 return ResponseEntity.ok(response);
             }
             
-            List<Bet> newBets = betGenerationService.generateBetsForLocation(
-                request.getCityName(),
-                request.getLatitude(),
-                request.getLongitude(),
-                targetDate
-            );
+            // The lines would be generated for the registered city, so dedupe on its cell too
+            String gridCell = city.getGridCell() != null
+                    ? city.getGridCell()
+                    : betGenerationService.resolveGridCell(city.getLatitude(), city.getLongitude());
+            List<Bet> cellBets = gridCell != null
+                    ? betService.getBetsForGridCellAndDate(gridCell, targetDate)
+                    : List.of();
+            
+            if (!cellBets.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "Bets already exist for this location's forecast grid cell and date");
+                response.put("gridCell", gridCell);
+                response.put("bets", cellBets);
+                return ResponseEntity.ok(response);
+            }
+            
+            List<Bet> newBets = betGenerationService.generateBetsForLocation(city, targetDate);
             
             return ResponseEntity.status(201).body(newBets);
             
@@ -1,16 +1,22 @@
 package edu.wisc.cs506.WeatherKings.bets.controller;
 
+import edu.wisc.cs506.WeatherKings.bets.index.PlaceTrie;
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.ReverseGeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.service.Gazetteer;
 import edu.wisc.cs506.WeatherKings.bets.service.GeocodeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Controller for city-related operations, primarily geocoding.
+ * Controller for city-related operations: geocoding through Nominatim, plus typeahead and
+ * reverse geocoding answered offline from the bundled gazetteer.
  */
 @RestController
 @RequestMapping("/api/cities")
@@ -18,9 +24,11 @@ import java.util.Map;
 public class CityController {
 
     private final GeocodeService geocodeService;
+    private final Gazetteer gazetteer;
 
-    public CityController(GeocodeService geocodeService) {
+    public CityController(GeocodeService geocodeService, Gazetteer gazetteer) {
         this.geocodeService = geocodeService;
+        this.gazetteer = gazetteer;
     }
 
     /**
@@ -48,4 +56,45 @@ public class CityController {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * City name typeahead from the offline gazetteer.
+     * URL: GET /api/cities/suggest?q=madi&limit=5
+     * @param q What the user has typed so far, matched against "Name, ST"
+     * @param limit Maximum number of suggestions (1-10)
+     * @return Matching places, most populous first (empty list if none)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Place>> suggest(@RequestParam String q,
+                                               @RequestParam(defaultValue = "8") int limit) {
+        int capped = Math.max(1, Math.min(limit, PlaceTrie.MAX_RESULTS));
+        return ResponseEntity.ok(gazetteer.suggest(q, capped));
+    }
+
+    /**
+     * Nearest gazetteer place to a coordinate, without calling Nominatim.
+     * URL: GET /api/cities/reverse?lat=43.07&lon=-89.40
+     * @param lat Latitude (-90 to 90)
+     * @param lon Longitude (-180 to 180)
+     * @param maxKm Search radius in km
+     * @return The nearest place and its distance, or 404 if none is within the radius
+     */
+    @GetMapping("/reverse")
+    public ResponseEntity<?> reverse(@RequestParam double lat,
+                                     @RequestParam double lon,
+                                     @RequestParam(defaultValue = "50") double maxKm) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || maxKm <= 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid coordinates or radius");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        ReverseGeocodeResponse response = gazetteer.reverse(lat, lon, maxKm);
+        if (response == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "No known place within " + maxKm + " km");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,174 @@
+package edu.wisc.cs506.WeatherKings.bets.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+
+/**
+ * Geohash index over places for reverse geocoding (coordinate to nearest place).
+ *
+ * Each place gets a 60-bit geohash (12 base-32 characters; longitude and latitude bits
+ * interleaved, longitude first). Places are kept sorted by hash, so every geohash cell is a
+ * contiguous range found by binary search. A query looks at its own cell and the 8 around it,
+ * starting with ~5 km cells and moving to coarser ones until the nearest candidate is closer
+ * than any place outside the 3x3 block could be. Built once; immutable and safe to share
+ * between threads.
+ */
+public final class GeohashIndex {
+
+    public static final int MAX_CHARS = 12;
+
+    private static final int BITS = 5 * MAX_CHARS;
+    private static final int START_CHARS = 5;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_PER_DEGREE = 111.195;
+
+    // Places and their hashes, sorted by hash
+    private final Place[] places;
+    private final long[] hashes;
+
+    public GeohashIndex(List<Place> places) {
+        int n = places.size();
+        long[] keyed = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keyed[i] = encode(places.get(i).latitude(), places.get(i).longitude());
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keyed[a], keyed[b]));
+
+        this.places = new Place[n];
+        this.hashes = new long[n];
+        for (int i = 0; i < n; i++) {
+            this.places[i] = places.get(order[i]);
+            this.hashes[i] = keyed[order[i]];
+        }
+    }
+
+    public int size() {
+        return places.length;
+    }
+
+    /**
+     * 60-bit geohash of a coordinate.
+     */
+    public static long encode(double latitude, double longitude) {
+        long lat = quantize(latitude, -90, 90);
+        long lon = quantize(longitude, -180, 180);
+        long hash = 0;
+        for (int bit = BITS / 2 - 1; bit >= 0; bit--) {
+            hash = (hash << 1) | ((lon >>> bit) & 1);
+            hash = (hash << 1) | ((lat >>> bit) & 1);
+        }
+        return hash;
+    }
+
+    /**
+     * The usual base-32 text form of the first chars characters of a hash, e.g. "dp8mj".
+     */
+    public static String toBase32(long hash, int chars) {
+        StringBuilder text = new StringBuilder(chars);
+        for (int i = 1; i <= chars; i++) {
+            text.append(BASE32.charAt((int) ((hash >>> (BITS - 5 * i)) & 31)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * The place nearest to a coordinate, if one is within the radius.
+     *
+     * @return Nearest place, or null if none is within maxDistanceKm
+     */
+    public Place nearest(double latitude, double longitude, double maxDistanceKm) {
+        if (places.length == 0) {
+            return null;
+        }
+
+        for (int chars = START_CHARS; chars >= 1; chars--) {
+            int cellBits = 5 * chars;
+            double cellLatDeg = 180.0 / (1L << (cellBits / 2));
+            double cellLonDeg = 360.0 / (1L << ((cellBits + 1) / 2));
+
+            Place best = null;
+            double bestKm = Double.MAX_VALUE;
+            long[] visited = new long[9];
+            int visitedCount = 0;
+            for (int dLat = -1; dLat <= 1; dLat++) {
+                double cellLat = latitude + dLat * cellLatDeg;
+                if (cellLat < -90 || cellLat > 90) {
+                    continue;
+                }
+                for (int dLon = -1; dLon <= 1; dLon++) {
+                    long cell = encode(cellLat, wrapLongitude(longitude + dLon * cellLonDeg)) >>> (BITS - cellBits);
+                    if (contains(visited, visitedCount, cell)) {
+                        continue;
+                    }
+                    visited[visitedCount++] = cell;
+
+                    long from = cell << (BITS - cellBits);
+                    long to = from + (1L << (BITS - cellBits));
+                    for (int i = lowerBound(from); i < hashes.length && hashes[i] < to; i++) {
+                        double km = StationKdTree.distanceKm(latitude, longitude, places[i].latitude(), places[i].longitude());
+                        if (km < bestKm) {
+                            best = places[i];
+                            bestKm = km;
+                        }
+                    }
+                }
+            }
+
+            // Anything outside the 3x3 block is at least one cell side away
+            double poleward = Math.min(90, Math.abs(latitude) + cellLatDeg);
+            double minSideKm = Math.min(cellLatDeg, cellLonDeg * Math.cos(Math.toRadians(poleward))) * KM_PER_DEGREE;
+            if (best != null && (bestKm <= minSideKm || chars == 1)) {
+                return bestKm <= maxDistanceKm ? best : null;
+            }
+            if (minSideKm >= maxDistanceKm && (best == null || bestKm > maxDistanceKm)) {
+                // Nothing in the block is close enough and nothing outside it can be
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private int lowerBound(long hash) {
+        int lo = 0;
+        int hi = hashes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (hashes[mid] < hash) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean contains(long[] cells, int count, long cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+
+    private static long quantize(double value, double min, double max) {
+        long cells = 1L << (BITS / 2);
+        long q = (long) Math.floor((value - min) / (max - min) * cells);
+        return Math.max(0, Math.min(cells - 1, q));
+    }
+}
@@ -0,0 +1,168 @@
+package edu.wisc.cs506.WeatherKings.bets.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+
+/**
+ * Compressed prefix (radix) trie over place names for typeahead.
+ *
+ * Keys are "name, st" strings folded by {@link CityNames#normalize}, so both "madi" and
+ * "madison, w" find Madison, WI.
+ * Every node stores the best {@link #MAX_RESULTS} places below it, ranked by population, so
+ * a lookup is a walk down the prefix and a copy - no subtree traversal and no sorting.
+ *
+ * Places are numbered in population order before they are inserted; a node's ranked list is
+ * then simply the first ids to reach it. Built once; immutable and safe to share between threads.
+ */
+public final class PlaceTrie {
+
+    public static final int MAX_RESULTS = 10;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // Places by rank: most populous first
+    private final Place[] places;
+    private final Node root = new Node("");
+
+    public PlaceTrie(List<Place> places) {
+        this.places = places.toArray(new Place[0]);
+        Arrays.sort(this.places, Comparator.comparingInt(Place::population).reversed());
+
+        for (int id = 0; id < this.places.length; id++) {
+            insert(CityNames.normalize(this.places[id].cityName()), id);
+        }
+        root.freeze();
+    }
+
+    public int size() {
+        return places.length;
+    }
+
+    /**
+     * The most populous places whose "name, st" starts with the prefix.
+     *
+     * @param limit Maximum number of places, capped at {@link #MAX_RESULTS}
+     * @return Places, most populous first; empty if none match
+     */
+    public List<Place> suggest(String prefix, int limit) {
+        String key = CityNames.normalize(prefix);
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                return List.of();
+            }
+            int remaining = key.length() - pos;
+            if (remaining <= child.label.length()) {
+                // The prefix ends inside this edge
+                if (!child.label.regionMatches(0, key, pos, remaining)) {
+                    return List.of();
+                }
+                node = child;
+                break;
+            }
+            if (!key.startsWith(child.label, pos)) {
+                return List.of();
+            }
+            pos += child.label.length();
+            node = child;
+        }
+
+        int count = Math.min(Math.min(limit, MAX_RESULTS), node.top.length);
+        List<Place> result = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            result.add(places[node.top[i]]);
+        }
+        return result;
+    }
+
+    private void insert(String key, int id) {
+        Node node = root;
+        node.rank(id);
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.rank(id);
+                node.addChild(leaf);
+                return;
+            }
+
+            int common = 0;
+            int max = Math.min(child.label.length(), key.length() - pos);
+            while (common < max && child.label.charAt(common) == key.charAt(pos + common)) {
+                common++;
+            }
+            if (common < child.label.length()) {
+                // Split the edge: the shared part becomes a node above the old child
+                Node middle = new Node(child.label.substring(0, common));
+                middle.top = Arrays.copyOf(child.top, child.top.length);
+                middle.topCount = child.topCount;
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                node.replaceChild(child, middle);
+                child = middle;
+            }
+            child.rank(id);
+            pos += common;
+            node = child;
+        }
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private int[] top = new int[MAX_RESULTS];
+        private int topCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // Ids arrive in rank order, so the first MAX_RESULTS are the best
+        void rank(int id) {
+            if (topCount < MAX_RESULTS) {
+                top[topCount++] = id;
+            }
+        }
+
+        Node child(char first) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == first) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == old) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+
+        // Trim the ranked lists and order children by first character once building is done
+        void freeze() {
+            top = Arrays.copyOf(top, topCount);
+            Arrays.sort(children, Comparator.comparingInt(child -> child.label.charAt(0)));
+            for (Node child : children) {
+                child.freeze();
+            }
+        }
+    }
+}
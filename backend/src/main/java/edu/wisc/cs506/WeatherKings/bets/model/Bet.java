@@ -19,12 +19,28 @@ public class Bet {
     @Column(name = "bet_id", nullable = false)
     private Integer betId;
 
+    // Canonical city (cities.city_id); lookups and the one-line-per-type rule go through this
+    @Column(name = "city_id", nullable = false)
+    private Integer cityId;
+
+    // Display name of the city, e.g. "Madison, WI"
     @Column(name = "city_name", nullable = false, length = 50)
     private String cityName;
 
     @Column(name = "bet_date", nullable = false)
     private LocalDate betDate;
 
+    // NWS grid cell the lines were priced from (e.g. "MKX/37,63"); null if it could not be resolved
+    @Column(name = "grid_cell", length = 24)
+    private String gridCell;
+
+    // Point the lines were priced for; resolution observes the weather here. Null on older rows
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "bet_description", nullable = false, length = 255)
     private String betDescription;
     
@@ -59,12 +75,24 @@ public class Bet {
     public Integer getBetId() { return betId; }
     public void setBetId(Integer betId) { this.betId = betId; }
     
+    public Integer getCityId() { return cityId; }
+    public void setCityId(Integer cityId) { this.cityId = cityId; }
+
     public String getCityName() { return cityName; }
     public void setCityName(String cityName) { this.cityName = cityName; }
 
     public LocalDate getBetDate() { return betDate; }
     public void setBetDate(LocalDate betDate) { this.betDate = betDate; }
 
+    public String getGridCell() { return gridCell; }
+    public void setGridCell(String gridCell) { this.gridCell = gridCell; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getBetDescription() { return betDescription; }
     public void setBetDescription(String betDescription) { this.betDescription = betDescription; }
 
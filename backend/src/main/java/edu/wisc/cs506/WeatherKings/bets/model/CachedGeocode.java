@@ -0,0 +1,105 @@
+package edu.wisc.cs506.WeatherKings.bets.model;
+
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * JPA Entity for the 'geocode_cache' table.
+ * Second tier behind the in-process GeocodeCache: the last Nominatim answer for each
+ * normalized city query, so repeated names (and restarts) do not spend the one request per
+ * second Nominatim allows. A row with found = false records a "city not found" answer and
+ * expires much sooner than a found one.
+ * All times are UTC.
+ */
+@Entity
+@Table(name = "geocode_cache")
+public class CachedGeocode {
+
+    // Normalized query, e.g. "madison, wi"
+    @Id
+    @Column(name = "query_key", length = 255)
+    private String queryKey;
+
+    @Column(name = "found", nullable = false)
+    private boolean found;
+
+    @Column(name = "city_name", length = 255)
+    private String cityName;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "display_name", length = 512)
+    private String displayName;
+
+    @Column(name = "country", length = 100)
+    private String country;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public CachedGeocode() {}
+
+    public CachedGeocode(String queryKey, GeocodeResponse response, Instant fetchedAt, Instant expiresAt) {
+        this.queryKey = queryKey;
+        this.found = response != null;
+        if (response != null) {
+            this.cityName = response.getCityName();
+            this.latitude = response.getLatitude();
+            this.longitude = response.getLongitude();
+            this.displayName = response.getDisplayName();
+            this.country = response.getCountry();
+        }
+        this.fetchedAt = LocalDateTime.ofInstant(fetchedAt, ZoneOffset.UTC);
+        this.expiresAt = LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC);
+    }
+
+    /**
+     * The cached answer, or null for a "not found" row.
+     */
+    public GeocodeResponse toResponse() {
+        if (!found) {
+            return null;
+        }
+        return new GeocodeResponse(cityName, latitude, longitude, displayName, country);
+    }
+
+    public Instant getExpiresInstant() { return expiresAt.toInstant(ZoneOffset.UTC); }
+
+    // Getters and Setters
+    public String getQueryKey() { return queryKey; }
+    public void setQueryKey(String queryKey) { this.queryKey = queryKey; }
+
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+
+    public String getCityName() { return cityName; }
+    public void setCityName(String cityName) { this.cityName = cityName; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+
+    public LocalDateTime getFetchedAt() { return fetchedAt; }
+    public void setFetchedAt(LocalDateTime fetchedAt) { this.fetchedAt = fetchedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
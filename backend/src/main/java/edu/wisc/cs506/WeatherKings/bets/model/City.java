@@ -0,0 +1,85 @@
+package edu.wisc.cs506.WeatherKings.bets.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the 'cities' table.
+ * One row per canonical city: every case and spelling variant of a name (see CityNames)
+ * resolves to the same city_id, which bet lines reference instead of the free-text name.
+ * Coordinates, grid cell and station are those of the first request for the city.
+ */
+@Entity
+@Table(name = "cities")
+public class City {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "city_id", nullable = false)
+    private Integer cityId;
+
+    // Canonical key, e.g. "madison, wi"
+    @Column(name = "name_key", nullable = false, unique = true, length = 100)
+    private String nameKey;
+
+    // Name as first requested, e.g. "Madison, WI"; shown on the bet lines
+    @Column(name = "city_name", nullable = false, length = 50)
+    private String cityName;
+
+    @Column(name = "latitude", nullable = false)
+    private double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private double longitude;
+
+    // NWS grid cell (e.g. "MKX/37,63"); null if it could not be resolved
+    @Column(name = "grid_cell", length = 24)
+    private String gridCell;
+
+    // Nearest catalog observation station (e.g. "KMSN"); null if none is close enough
+    @Column(name = "station_id", length = 10)
+    private String stationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public City() {}
+
+    public City(String nameKey, String cityName, double latitude, double longitude, String gridCell, String stationId) {
+        this.nameKey = nameKey;
+        this.cityName = cityName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.gridCell = gridCell;
+        this.stationId = stationId;
+    }
+
+    public CityLocation toLocation() {
+        return new CityLocation(cityName, latitude, longitude);
+    }
+
+    // --- Getters and Setters ---
+    public Integer getCityId() { return cityId; }
+    public void setCityId(Integer cityId) { this.cityId = cityId; }
+
+    public String getNameKey() { return nameKey; }
+    public void setNameKey(String nameKey) { this.nameKey = nameKey; }
+
+    public String getCityName() { return cityName; }
+    public void setCityName(String cityName) { this.cityName = cityName; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public String getGridCell() { return gridCell; }
+    public void setGridCell(String gridCell) { this.gridCell = gridCell; }
+
+    public String getStationId() { return stationId; }
+    public void setStationId(String stationId) { this.stationId = stationId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,25 @@
+package edu.wisc.cs506.WeatherKings.bets.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A populated place from the bundled gazetteer.
+ *
+ * @param state Two-letter USPS code, e.g. "WI"
+ */
+public record Place(
+    String name,
+    String state,
+    double latitude,
+    double longitude,
+    int population
+) {
+
+    /**
+     * Name in the form the rest of the app uses for cities, e.g. "Madison, WI".
+     */
+    @JsonProperty("cityName")
+    public String cityName() {
+        return name + ", " + state;
+    }
+}
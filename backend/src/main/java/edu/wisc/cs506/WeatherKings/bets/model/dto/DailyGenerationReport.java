@@ -0,0 +1,28 @@
+package edu.wisc.cs506.WeatherKings.bets.model.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+
+/**
+ * Result of a daily generation run: the persisted bet lines plus a per-city breakdown
+ * of what happened (status, number of lines, time spent, error message).
+ */
+public record DailyGenerationReport(
+    LocalDate betDate,
+    List<Bet> bets,
+    List<CityResult> cities,
+    long totalMillis
+) {
+
+    public enum Status { GENERATED, NO_FORECAST, FAILED }
+
+    public record CityResult(
+        String cityName,
+        Status status,
+        int betCount,
+        long durationMillis,
+        String error
+    ) { }
+}
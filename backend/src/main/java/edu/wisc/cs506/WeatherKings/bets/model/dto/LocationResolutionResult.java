@@ -0,0 +1,19 @@
+package edu.wisc.cs506.WeatherKings.bets.model.dto;
+
+/**
+ * Outcome of daily resolution for one location: how many of its open lines were settled or
+ * failed, the time spent (geocode, observation fetch and settlement), and the error if the
+ * location's weather could not be fetched or some lines could not be settled.
+ */
+public record LocationResolutionResult(
+    String cityName,
+    Status status,
+    int betCount,
+    int resolvedCount,
+    int failedCount,
+    long durationMillis,
+    String error
+) {
+
+    public enum Status { RESOLVED, PARTIAL, FAILED }
+}
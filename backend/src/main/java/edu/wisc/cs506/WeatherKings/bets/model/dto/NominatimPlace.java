@@ -0,0 +1,40 @@
+package edu.wisc.cs506.WeatherKings.bets.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One result of the Nominatim /search endpoint (format=json, addressdetails=1).
+ * Only the fields the geocoder uses are bound; lat/lon arrive as strings and are
+ * coerced to doubles.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NominatimPlace(
+    double lat,
+    double lon,
+    @JsonProperty("display_name") String displayName,
+    Address address
+) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Address(String city, String state, String country) {}
+
+    /**
+     * Convert to the API response, naming the place "City, State" when the address has both.
+     *
+     * @param query Name that was searched for, used when the result has no city
+     */
+    public GeocodeResponse toGeocodeResponse(String query) {
+        if (address == null) {
+            return new GeocodeResponse(query, lat, lon, displayName, "");
+        }
+
+        String cleanCityName = query;
+        if (address.city() != null && address.state() != null) {
+            cleanCityName = address.city() + ", " + address.state();
+        } else if (address.city() != null) {
+            cleanCityName = address.city();
+        }
+        return new GeocodeResponse(cleanCityName, lat, lon, displayName, address.country());
+    }
+}
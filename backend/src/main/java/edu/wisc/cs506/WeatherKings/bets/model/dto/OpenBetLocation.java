@@ -0,0 +1,12 @@
+package edu.wisc.cs506.WeatherKings.bets.model.dto;
+
+/**
+ * A city with unresolved bet lines and the point those lines were priced for.
+ * The city id and coordinates are null for lines stored before they were recorded.
+ */
+public record OpenBetLocation(
+    Integer cityId,
+    String cityName,
+    Double latitude,
+    Double longitude
+) { }
@@ -0,0 +1,11 @@
+package edu.wisc.cs506.WeatherKings.bets.model.dto;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+
+/**
+ * DTO for reverse geocoding: the nearest gazetteer place and how far away it is.
+ */
+public record ReverseGeocodeResponse(
+    Place place,
+    double distanceKm
+) { }
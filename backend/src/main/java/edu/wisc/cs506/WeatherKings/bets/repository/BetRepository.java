@@ -1,7 +1,10 @@
 package edu.wisc.cs506.WeatherKings.bets.repository;
 
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.OpenBetLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -19,4 +22,30 @@ public interface BetRepository extends JpaRepository<Bet, Integer> {
      * @return List of Bet entities.
      */
     List<Bet> findByBetDate(LocalDate betDate);
+
+    /**
+     * Retrieves the bet lines of one canonical city for a date (an index seek on city_id, bet_date).
+     * @param cityId The city's id in the cities table.
+     * @param betDate The date the weather event is scheduled for.
+     * @return List of Bet entities.
+     */
+    List<Bet> findByCityIdAndBetDate(Integer cityId, LocalDate betDate);
+
+    /**
+     * Retrieves the bet lines priced from one NWS grid cell for a date, whatever city name
+     * they were requested under.
+     * @param gridCell Grid cell key, e.g. "MKX/37,63".
+     * @param betDate The date the weather event is scheduled for.
+     * @return List of Bet entities.
+     */
+    List<Bet> findByGridCellAndBetDate(String gridCell, LocalDate betDate);
+
+    /**
+     * Retrieves the locations that still have unresolved bet lines on or after a date.
+     * @param fromDate Earliest bet date to include.
+     * @return Distinct cities with the coordinates their lines were priced for.
+     */
+    @Query("SELECT DISTINCT new edu.wisc.cs506.WeatherKings.bets.model.dto.OpenBetLocation(b.cityId, b.cityName, b.latitude, b.longitude) "
+         + "FROM Bet b WHERE b.betHit IS NULL AND b.betDate >= :fromDate")
+    List<OpenBetLocation> findOpenLocations(@Param("fromDate") LocalDate fromDate);
 }
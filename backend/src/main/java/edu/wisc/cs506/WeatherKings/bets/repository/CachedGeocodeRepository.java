@@ -0,0 +1,12 @@
+package edu.wisc.cs506.WeatherKings.bets.repository;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CachedGeocode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the persisted geocode cache, keyed by normalized city query.
+ */
+@Repository
+public interface CachedGeocodeRepository extends JpaRepository<CachedGeocode, String> {
+}
@@ -0,0 +1,20 @@
+package edu.wisc.cs506.WeatherKings.bets.repository;
+
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for canonical cities.
+ */
+@Repository
+public interface CityRepository extends JpaRepository<City, Integer> {
+
+    /**
+     * @param nameKey Canonical key from CityNames.canonicalKey, e.g. "madison, wi".
+     * @return The city with this key, if it has been registered.
+     */
+    Optional<City> findByNameKey(String nameKey);
+}
@@ -0,0 +1,38 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+
+/**
+ * The cities we currently run markets for.
+ * Daily bet generation and hourly forecast ingestion both work from this list.
+ */
+@Service
+public class ActiveCityService {
+
+    // Define the target cities and their coordinates
+    private static final List<CityLocation> TARGET_CITIES = List.of(
+        new CityLocation("Madison, WI", 43.0731, -89.4012),
+        new CityLocation("Los Angeles, CA", 34.0522, -118.2437),
+        new CityLocation("New York City, NY", 40.7128, -74.0060)
+    );
+
+    public List<CityLocation> getActiveCities() {
+        return TARGET_CITIES;
+    }
+
+    /**
+     * @return the active city with this exact name, or null
+     */
+    public CityLocation findByName(String cityName) {
+        for (CityLocation city : TARGET_CITIES) {
+            if (city.cityName().equals(cityName)) {
+                return city;
+            }
+        }
+        return null;
+    }
+}
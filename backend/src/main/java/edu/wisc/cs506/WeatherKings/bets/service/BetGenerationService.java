@@ -1,11 +1,18 @@
 package edu.wisc.cs506.WeatherKings.bets.service;
 
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
 import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.DailyGenerationReport;
 import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
 import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
-import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
-import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.GridpointMetrics;
+import edu.wisc.cs506.WeatherKings.weather.provider.WeatherProvider;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.GridpointDataService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +22,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service responsible for fetching weather data and generating new bet lines for the next day.
@@ -24,13 +42,6 @@ import java.util.List;
 @Service
 public class BetGenerationService {
 
-    // Define the target cities and their coordinates
-    private static final List<CityLocation> TARGET_CITIES = List.of(
-        new CityLocation("Madison, WI", 43.0731, -89.4012),
-        new CityLocation("Los Angeles, CA", 34.0522, -118.2437),
-        new CityLocation("New York City, NY", 40.7128, -74.0060)
-    );
-    
     // --- Odds and Model Constants ---
     // Simple 1:1 American Odds for moneyline bets (+100)
     private static final BigDecimal MONEYLINE_ODDS = new BigDecimal("100.00");
@@ -42,13 +53,47 @@ public class BetGenerationService {
     private static final String TYPE_MAX_TEMP = "MAX_TEMP_OVER_UNDER";
     private static final String TYPE_RAIN_YES_NO = "RAIN_YES_NO";
     private static final String TYPE_CONDITION = "CONDITION_MATCH";
+    private static final String TYPE_MIN_TEMP = "MIN_TEMP_OVER_UNDER";
+    private static final String TYPE_WIND_GUST = "WIND_GUST_OVER_UNDER";
+    private static final String TYPE_SNOWFALL = "SNOWFALL_OVER_UNDER";
+    private static final String TYPE_SKY_COVER = "SKY_COVER_OVER_UNDER";
+
+    // Forecast error sigmas for the gridpoint markets
+    private static final double GUST_STD_DEV = 5.0;       // mph
+    private static final double SNOWFALL_STD_DEV = 1.0;   // inches
+    private static final double SKY_COVER_STD_DEV = 20.0; // percent
 
-    private final WeatherApiService weatherApiService;
+    private final WeatherProvider weatherProvider;
     private final BetRepository betRepository;
+    private final ActiveCityService activeCityService;
+    private final GridpointDataService gridpointDataService;
+    private final GridPointService gridPointService;
+    private final CityRegistry cityRegistry;
+    private final boolean gridpointMarketsEnabled;
+
+    // Caps concurrent requests to api.weather.gov during the daily fan-out
+    private final Semaphore nwsPermits;
+    // One deadline for the whole fan-out, not per city
+    private final long deadlineSeconds;
 
-    public BetGenerationService(WeatherApiService weatherApiService, BetRepository betRepository) {
-        this.weatherApiService = weatherApiService;
+    public BetGenerationService(WeatherProvider weatherProvider,
+                                BetRepository betRepository,
+                                ActiveCityService activeCityService,
+                                GridpointDataService gridpointDataService,
+                                GridPointService gridPointService,
+                                CityRegistry cityRegistry,
+                                @Value("${bets.generation.gridpoint-markets.enabled:true}") boolean gridpointMarketsEnabled,
+                                @Value("${bets.generation.max-concurrent-per-host:4}") int maxConcurrentPerHost,
+                                @Value("${bets.generation.deadline-seconds:60}") long deadlineSeconds) {
+        this.weatherProvider = weatherProvider;
         this.betRepository = betRepository;
+        this.activeCityService = activeCityService;
+        this.gridpointDataService = gridpointDataService;
+        this.gridPointService = gridPointService;
+        this.cityRegistry = cityRegistry;
+        this.gridpointMarketsEnabled = gridpointMarketsEnabled;
+        this.nwsPermits = new Semaphore(maxConcurrentPerHost, true);
+        this.deadlineSeconds = deadlineSeconds;
     }
 
     /**
@@ -56,59 +101,243 @@ public class BetGenerationService {
      */
     @Transactional
     public List<Bet> generateDailyBets() {
+        return generateDailyBetsWithReport().bets();
+    }
+
+    /**
+     * Generates and persists next-day bet lines for all target cities, reporting per-city outcomes.
+     *
+     * Active cities are resolved to their registered city_id up front, on the calling thread; a
+     * city the registry rejects is reported as failed. The rest are grouped by their registered
+     * NWS grid cell, like HourlyForecastIngestJob does (a city registered without one is fetched
+     * on its own): NWS forecasts are per cell, so each cell's forecast is fetched once, on its
+     * own virtual thread, and priced into lines for every city in it. At
+     * most maxConcurrentPerHost NWS requests are in flight at once. Lines are only collected by
+     * the workers; they are persisted together in one saveAll at the end.
+     *
+     * All cities share one deadline (bets.generation.deadline-seconds) counted from the start
+     * of the run. The executor is shut down without waiting: a cell still blocked on a read
+     * past the deadline is interrupted and abandoned, so one hung request cannot hold up the report.
+     */
+    @Transactional
+    public DailyGenerationReport generateDailyBetsWithReport() {
         // Use centralized date calculation to ensure consistency
         LocalDate nextBetDate = DateUtil.getTomorrowDate();
         System.err.println("DEBUG: BetGenerationService generating bets for date: " + nextBetDate);
-        List<Bet> generatedBets = new java.util.ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(deadlineSeconds);
 
-        for (CityLocation city : TARGET_CITIES) {
+        List<CityLocation> cities = activeCityService.getActiveCities();
+        Map<CityLocation, DailyGenerationReport.CityResult> results = new HashMap<>();
+        Map<String, List<CityTarget>> cells = new LinkedHashMap<>();
+        for (CityLocation city : cities) {
+            // Registered here, once per run, so the workers make no registry calls. Only a new
+            // city's registration looks up its grid cell; the run itself never calls /points here
+            City registered;
             try {
-                var forecastResponse = weatherApiService.getForecast(city.latitude(), city.longitude());
+                registered = cityRegistry.resolve(city.cityName(), city.latitude(), city.longitude());
+            } catch (Exception e) {
+                results.put(city, failed(city, start, e.getMessage()));
+                continue;
+            }
+            String gridCell = registered.getGridCell();
+            // A city registered without a cell gets a group of its own (cell keys look like "MKX/37,63")
+            String group = gridCell != null ? gridCell : city.cityName();
+            cells.computeIfAbsent(group, key -> new ArrayList<>())
+                .add(new CityTarget(city, registered.getCityId(), gridCell));
+        }
 
-                Period nextDayForecast = findNextDayForecast(forecastResponse.getProperties().getPeriods());
-                if (nextDayForecast == null) {
-                    System.err.println("Could not find next day forecast for " + city.cityName());
-                    continue;
-                }
+        Map<String, Future<List<CityBets>>> tasks = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Map.Entry<String, List<CityTarget>> cell : cells.entrySet()) {
+                tasks.put(cell.getKey(), executor.submit(() -> generateForCell(cell.getValue(), nextBetDate)));
+            }
 
-                generatedBets.addAll(
-                    createBetsFromForecast(city.cityName(), nextBetDate, nextDayForecast)
-                );
+            List<Bet> generatedBets = new ArrayList<>();
+            for (Map.Entry<String, Future<List<CityBets>>> task : tasks.entrySet()) {
+                List<CityTarget> cell = cells.get(task.getKey());
+                try {
+                    for (CityBets cityBets : task.getValue().get(
+                            Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                        generatedBets.addAll(cityBets.bets());
+                        results.put(cityBets.city(), cityBets.result());
+                    }
+                } catch (TimeoutException e) {
+                    task.getValue().cancel(true);
+                    failAll(cell, results, start, "Not done by the " + deadlineSeconds + "s generation deadline");
+                } catch (ExecutionException e) {
+                    failAll(cell, results, start, e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failAll(cell, results, start, "Interrupted");
+                }
+            }
 
-            } catch (Exception e) {
-                System.err.println("Failed to generate bets for " + city.cityName() + ": " + e.getMessage());
+            // Report in active-city order
+            List<DailyGenerationReport.CityResult> cityResults = new ArrayList<>();
+            for (CityLocation city : cities) {
+                DailyGenerationReport.CityResult result = results.get(city);
+                if (result.status() != DailyGenerationReport.Status.GENERATED) {
+                    System.err.println("Failed to generate bets for " + result.cityName() + ": " + result.error());
+                }
+                cityResults.add(result);
             }
+
+            // Save all generated bets in a single transaction
+            List<Bet> saved = betRepository.saveAll(generatedBets);
+            return new DailyGenerationReport(nextBetDate, saved, cityResults, elapsedMillis(start));
+        } finally {
+            // Not close(): that would wait for every abandoned task to finish
+            executor.shutdownNow();
         }
+    }
 
-        // Save all generated bets in a single transaction
-        return betRepository.saveAll(generatedBets);
+    /**
+     * Fetches one grid cell's forecast and gridpoint metrics once, at its first city's
+     * coordinates, and builds every city's lines from them, each tagged with the city's
+     * city_id and location. Runs on a virtual thread.
+     */
+    private List<CityBets> generateForCell(List<CityTarget> cell, LocalDate betDate) throws InterruptedException {
+        long start = System.nanoTime();
+        CityLocation first = cell.get(0).location();
+
+        CompactForecast forecast;
+        nwsPermits.acquire();
+        try {
+            forecast = weatherProvider.getCompactForecast(first.latitude(), first.longitude());
+        } catch (Exception e) {
+            return cell.stream()
+                .map(target -> new CityBets(target.location(), List.of(), failed(target.location(), start, e.getMessage())))
+                .toList();
+        } finally {
+            nwsPermits.release();
+        }
+
+        int nextDayPeriod = findNextDayPeriod(forecast);
+        if (nextDayPeriod < 0) {
+            return cell.stream()
+                .map(target -> new CityBets(target.location(), List.of(), new DailyGenerationReport.CityResult(
+                    target.location().cityName(), DailyGenerationReport.Status.NO_FORECAST, 0, elapsedMillis(start),
+                    "Could not find next day forecast")))
+                .toList();
+        }
+
+        GridpointMetrics metrics = fetchGridpointMetrics(first.cityName(), first.latitude(), first.longitude(), betDate);
+
+        List<CityBets> cityBets = new ArrayList<>();
+        for (CityTarget target : cell) {
+            CityLocation city = target.location();
+            List<Bet> bets = new ArrayList<>(createBetsFromForecast(city.cityName(), betDate, forecast, nextDayPeriod));
+            bets.addAll(createBetsFromGridpointMetrics(city.cityName(), betDate, metrics));
+            tagLocation(bets, target.cityId(), target.gridCell(), city.latitude(), city.longitude());
+            cityBets.add(new CityBets(city, bets, new DailyGenerationReport.CityResult(
+                city.cityName(), DailyGenerationReport.Status.GENERATED, bets.size(), elapsedMillis(start), null)));
+        }
+        return cityBets;
+    }
+
+    /**
+     * Gridpoint metrics for the extra markets, or null if they are disabled or unavailable.
+     * A failure here only drops the extra markets - the forecast-based lines still go out.
+     */
+    private GridpointMetrics fetchGridpointMetrics(String cityName, double latitude, double longitude,
+                                                   LocalDate betDate) throws InterruptedException {
+        if (!gridpointMarketsEnabled) {
+            return null;
+        }
+        nwsPermits.acquire();
+        try {
+            return gridpointDataService.getDailyMetrics(latitude, longitude, betDate);
+        } catch (Exception e) {
+            System.err.println("No gridpoint markets for " + cityName + ": " + e.getMessage());
+            return null;
+        } finally {
+            nwsPermits.release();
+        }
+    }
+
+    /**
+     * NWS grid cell key for a location (e.g. "MKX/37,63"), or null if it cannot be resolved -
+     * outside NWS coverage or NWS unavailable. Served from GridPointService's cache, which the
+     * forecast fetch for the same location has already filled.
+     *
+     * Nearby locations ("Madison", "UW Madison", ...) usually share a cell, and with it the
+     * cached forecast and the generated lines.
+     */
+    public String resolveGridCell(double latitude, double longitude) {
+        try {
+            GridPoint gridPoint = gridPointService.resolve(latitude, longitude);
+            return gridPoint != null ? gridPoint.cellKey() : null;
+        } catch (Exception e) {
+            System.err.println("No grid cell for " + latitude + "," + longitude + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Record the canonical city and where the lines were priced, so resolution observes the
+     * same point without geocoding the city name again.
+     */
+    private static void tagLocation(List<Bet> bets, Integer cityId, String gridCell, double latitude, double longitude) {
+        for (Bet bet : bets) {
+            bet.setCityId(cityId);
+            bet.setGridCell(gridCell);
+            bet.setLatitude(latitude);
+            bet.setLongitude(longitude);
+        }
+    }
+
+    private void failAll(List<CityTarget> cell, Map<CityLocation, DailyGenerationReport.CityResult> results,
+                         long startNanos, String error) {
+        for (CityTarget target : cell) {
+            results.put(target.location(), failed(target.location(), startNanos, error));
+        }
+    }
+
+    private DailyGenerationReport.CityResult failed(CityLocation city, long startNanos, String error) {
+        return new DailyGenerationReport.CityResult(
+            city.cityName(), DailyGenerationReport.Status.FAILED, 0, elapsedMillis(startNanos), error);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
+    /**
+     * A registered active city: its city_id and NWS grid cell (null outside NWS coverage).
+     */
+    private record CityTarget(CityLocation location, Integer cityId, String gridCell) { }
+
+    /**
+     * Lines built for one city together with its report entry.
+     */
+    private record CityBets(CityLocation city, List<Bet> bets, DailyGenerationReport.CityResult result) { }
+
     /**
      * Generates and persists bet lines for a specific city and date.
-     * @param cityName The name of the city
-     * @param latitude The latitude of the city
-     * @param longitude The longitude of the city
+     * Lines are priced at the city's registered coordinates and carry its canonical name.
+     * @param city The canonical city, from CityRegistry
      * @param betDate The date for which to generate bets
      * @return List of generated Bet entities
      */
     @Transactional
-    public List<Bet> generateBetsForLocation(String cityName, double latitude, double longitude, LocalDate betDate) {
+    public List<Bet> generateBetsForLocation(City city, LocalDate betDate) {
+        String cityName = city.getCityName();
+        double latitude = city.getLatitude();
+        double longitude = city.getLongitude();
         System.err.println("DEBUG: Generating bets for " + cityName + " on date: " + betDate);
         
         List<Bet> generatedBets = new java.util.ArrayList<>();
         
         try {
             // Fetch forecast for the specified location
-            var forecastResponse = weatherApiService.getForecast(latitude, longitude);
+            CompactForecast forecast = weatherProvider.getCompactForecast(latitude, longitude);
             
             // Find the appropriate forecast period
-            Period targetForecast = findForecastForDate(
-                forecastResponse.getProperties().getPeriods(), 
-                betDate
-            );
+            int targetPeriod = findPeriodForDate(forecast, betDate);
             
-            if (targetForecast == null) {
+            if (targetPeriod < 0) {
                 throw new IllegalArgumentException(
                     "No forecast available for " + cityName + " on " + betDate
                 );
@@ -116,8 +345,15 @@ public class BetGenerationService {
             
             // Generate bets using existing logic
             generatedBets.addAll(
-                createBetsFromForecast(cityName, betDate, targetForecast)
+                createBetsFromForecast(cityName, betDate, forecast, targetPeriod)
+            );
+            generatedBets.addAll(
+                createBetsFromGridpointMetrics(cityName, betDate,
+                    fetchGridpointMetrics(cityName, latitude, longitude, betDate))
             );
+            // The registered cell, as BetController dedupes on; looked up only if it was never recorded
+            String gridCell = city.getGridCell() != null ? city.getGridCell() : resolveGridCell(latitude, longitude);
+            tagLocation(generatedBets, city.getCityId(), gridCell, latitude, longitude);
             
         } catch (Exception e) {
             System.err.println("Failed to generate bets for " + cityName + ": " + e.getMessage());
@@ -130,70 +366,69 @@ public class BetGenerationService {
     
     /**
      * Attempts to find the forecast period corresponding to the next full day.
+     * @return index of the period, or -1 if there is none
      */
-    private Period findNextDayForecast(List<Period> periods) {
+    private int findNextDayPeriod(CompactForecast forecast) {
         // Logic to find the next full day period (skipping 'Today' and 'Tonight')
-        if (periods.size() > 2) {
-            Period potentialNextDay = periods.get(2);
+        if (forecast.size() > 2) {
             // Simple check to ensure we get a full day forecast and not a night forecast
-            if (potentialNextDay.getName() != null && !potentialNextDay.getName().toLowerCase().contains("night")) {
-                return potentialNextDay;
+            if (forecast.nameAt(2) != null && !forecast.isNightAt(2)) {
+                return 2;
             }
             // Fallback to find the first non-night, non-today period
-            for (Period period : periods) {
-                if (period.getName() != null && 
-                    !period.getName().toLowerCase().contains("night") && 
-                    !period.getName().toLowerCase().equals("today")) {
-                    return period;
+            for (int i = 0; i < forecast.size(); i++) {
+                if (isFullDayPeriod(forecast, i)) {
+                    return i;
                 }
             }
         }
-        return null;
+        return -1;
+    }
+
+    private static boolean isFullDayPeriod(CompactForecast forecast, int period) {
+        String name = forecast.nameAt(period);
+        return name != null && !forecast.isNightAt(period) && !name.equalsIgnoreCase("today");
     }
 
     /**
      * Finds the forecast period that matches the target date.
      * If target is tomorrow, uses the existing logic.
      * Otherwise, searches for the matching period by date.
+     * @return index of the period, or -1 if there is none
      */
-    private Period findForecastForDate(List<Period> periods, LocalDate targetDate) {
+    private int findPeriodForDate(CompactForecast forecast, LocalDate targetDate) {
         LocalDate tomorrow = DateUtil.getTomorrowDate();
         
         // If target is tomorrow, use existing logic
         if (targetDate.equals(tomorrow)) {
-            return findNextDayForecast(periods);
+            return findNextDayPeriod(forecast);
         }
         
         // For other dates, search by matching the period name or date
-        for (Period period : periods) {
-            // You might need to adjust this logic based on NWS API response format
-            // This is a simple heuristic
-            if (period.getName() != null && 
-                !period.getName().toLowerCase().contains("night") &&
-                !period.getName().toLowerCase().equals("today")) {
-                // This is a simplification - in production you'd parse period.getStartTime()
-                // and match it against targetDate more precisely
-                return period;
+        for (int i = 0; i < forecast.size(); i++) {
+            // This is a simple heuristic - in production you'd parse the period start time
+            // and match it against targetDate more precisely
+            if (isFullDayPeriod(forecast, i)) {
+                return i;
             }
         }
         
-        return null;
+        return -1;
     }
 
     /**
      * Creates and returns a list of specific bet lines from a single forecast period.
      */
-    private List<Bet> createBetsFromForecast(String cityName, LocalDate betDate, Period forecast) {
+    private List<Bet> createBetsFromForecast(String cityName, LocalDate betDate, CompactForecast forecast, int period) {
         List<Bet> bets = new java.util.ArrayList<>();
 
-        Integer temperature = forecast.getTemperature();
+        Integer temperature = forecast.hasTemperatureAt(period) ? (int) forecast.temperatureAt(period) : null;
         // Use 0 if precipitation data is null
-        int rainProb = forecast.getProbabilityOfPrecipitation().getValue() != null ?
-                       forecast.getProbabilityOfPrecipitation().getValue() : 0;
-        String shortForecast = forecast.getShortForecast() != null ? forecast.getShortForecast().toLowerCase() : "";
+        int rainProb = forecast.precipitationAt(period) != CompactForecast.NO_PRECIPITATION ?
+                       forecast.precipitationAt(period) : 0;
+        String shortForecast = forecast.conditionAt(period) != null ? forecast.conditionAt(period).toLowerCase() : "";
 
-        // Bet lines close 2 hours before the target day starts (e.g., 22:00 the day before)
-        LocalDateTime betCloseTime = LocalDateTime.of(betDate, LocalTime.MIDNIGHT).minusHours(2);
+        LocalDateTime betCloseTime = betCloseTime(betDate);
 
         // 1. Max Temperature Over/Under Bet (USING STATISTICAL MODEL)
         if (temperature != null) {
@@ -258,6 +493,71 @@ public class BetGenerationService {
 
         return bets;
     }
+
+    /**
+     * Creates the over/under lines priced from the gridpoint metrics: max wind gust,
+     * overnight low, snowfall (only when snow is forecast) and sky cover.
+     * Metrics the gridpoint did not provide produce no line.
+     */
+    private List<Bet> createBetsFromGridpointMetrics(String cityName, LocalDate betDate, GridpointMetrics metrics) {
+        List<Bet> bets = new ArrayList<>();
+        if (metrics == null) {
+            return bets;
+        }
+
+        if (metrics.maxWindGustMph() != null) {
+            double line = Math.max(5, Math.round(metrics.maxWindGustMph() / 5.0) * 5);
+            bets.add(overUnderBet(cityName, betDate, TYPE_WIND_GUST, "Max Wind Gust Over/Under %.1f mph",
+                                  line, metrics.maxWindGustMph(), GUST_STD_DEV));
+        }
+
+        if (metrics.overnightLowF() != null) {
+            double line = Math.round(metrics.overnightLowF() / 5.0) * 5;
+            bets.add(overUnderBet(cityName, betDate, TYPE_MIN_TEMP, "Overnight Low Over/Under %.1f°F",
+                                  line, metrics.overnightLowF(), FORECAST_STD_DEV));
+        }
+
+        if (metrics.snowfallInches() != null && metrics.snowfallInches() >= 0.1) {
+            // Nearest half inch, at least 0.5"
+            double line = Math.max(0.5, Math.round(metrics.snowfallInches() * 2) / 2.0);
+            bets.add(overUnderBet(cityName, betDate, TYPE_SNOWFALL, "Snowfall Over/Under %.1f in",
+                                  line, metrics.snowfallInches(), SNOWFALL_STD_DEV));
+        }
+
+        if (metrics.skyCoverPercent() != null) {
+            // Nearest 10%, kept off 0 and 100 where one side cannot win
+            double line = Math.min(90, Math.max(10, Math.round(metrics.skyCoverPercent() / 10.0) * 10));
+            bets.add(overUnderBet(cityName, betDate, TYPE_SKY_COVER, "Average Sky Cover Over/Under %.1f%%",
+                                  line, metrics.skyCoverPercent(), SKY_COVER_STD_DEV));
+        }
+
+        return bets;
+    }
+
+    /**
+     * An over/under line priced for the UNDER outcome with the normal forecast error model.
+     */
+    private Bet overUnderBet(String cityName, LocalDate betDate, String betType, String label,
+                             double setLine, double forecast, double stdDev) {
+        double underProbability = calculateUnderProbability(setLine, forecast, stdDev);
+
+        Bet bet = new Bet();
+        bet.setCityName(cityName);
+        bet.setBetDate(betDate);
+        bet.setBetType(betType);
+        bet.setSetLine(BigDecimal.valueOf(setLine).setScale(1, RoundingMode.HALF_UP));
+        bet.setMoneylineOdds(probabilityToAmericanOdds(underProbability));
+        bet.setBetClose(betCloseTime(betDate));
+        bet.setBetDescription(String.format("%s: " + label + " (Odds for UNDER)", cityName, setLine));
+        return bet;
+    }
+
+    /**
+     * Bet lines close 2 hours before the target day starts (e.g., 22:00 the day before).
+     */
+    private static LocalDateTime betCloseTime(LocalDate betDate) {
+        return LocalDateTime.of(betDate, LocalTime.MIDNIGHT).minusHours(2);
+    }
     
     // --------------------------------------------------------------------------
     // STATISTICAL ODDS CALCULATION UTILITIES
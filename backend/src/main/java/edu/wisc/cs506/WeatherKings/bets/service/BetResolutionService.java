@@ -3,24 +3,39 @@ package edu.wisc.cs506.WeatherKings.bets.service;
 import edu.wisc.cs506.WeatherKings.User;
 import edu.wisc.cs506.WeatherKings.UserRepository;
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
 import edu.wisc.cs506.WeatherKings.bets.model.PlayerBet;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.LocationResolutionResult;
 import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
 import edu.wisc.cs506.WeatherKings.bets.repository.PlayerBetRepository;
-import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
-import edu.wisc.cs506.WeatherKings.weather.service.WeatherObservationService;
+import edu.wisc.cs506.WeatherKings.weather.model.DailyObservationAggregate;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.ObservationAggregationService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Service for resolving bets after weather events occur.
- * Fetches actual weather data and determines winners/losers.
+ * Uses the bet day's observation aggregate (true daily max, precipitation total, dominant
+ * condition) kept by the observation poller, and determines winners/losers. Settlement reads
+ * only that stored row; a day without a complete aggregate is left unresolved for a later run.
+ *
+ * Lines settle on the station recorded for their city (cities.station_id), or else the
+ * station stored for the grid cell they were priced from - the stations the poller polls -
+ * so settlement is a database read. Lines with neither are resolved at the coordinates
+ * stored when they were priced; only older lines without coordinates are geocoded by name.
  */
 @Service
 public class BetResolutionService {
@@ -28,19 +43,22 @@ public class BetResolutionService {
     private final BetRepository betRepository;
     private final PlayerBetRepository playerBetRepository;
     private final UserRepository userRepository;
-    private final WeatherObservationService observationService;
     private final GeocodeService geocodeService;
+    private final ObservationAggregationService observationAggregationService;
+    private final CityRegistry cityRegistry;
 
     public BetResolutionService(BetRepository betRepository,
                                PlayerBetRepository playerBetRepository,
                                UserRepository userRepository,
-                               WeatherObservationService observationService,
-                               GeocodeService geocodeService) {
+                               GeocodeService geocodeService,
+                               ObservationAggregationService observationAggregationService,
+                               CityRegistry cityRegistry) {
         this.betRepository = betRepository;
         this.playerBetRepository = playerBetRepository;
         this.userRepository = userRepository;
-        this.observationService = observationService;
         this.geocodeService = geocodeService;
+        this.observationAggregationService = observationAggregationService;
+        this.cityRegistry = cityRegistry;
     }
 
     /**
@@ -55,84 +73,214 @@ public class BetResolutionService {
             throw new IllegalStateException("Bet already resolved");
         }
         
-        GeocodeResponse location = geocodeService.geocodeCity(bet.getCityName());
-        WeatherObservation observation = observationService.getObservationForLocation(
-            location.getLatitude(), 
-            location.getLongitude()
-        );
-        
-        boolean betWon = evaluateBetOutcome(bet, observation);
-        
-        Double actualTemp = observation.getProperties().getTemperature() != null ? 
-                observation.getProperties().getTemperature().getValueInFahrenheit() : null;
-        
-        bet.setBetHit(betWon);
-        if (actualTemp != null) {
-            bet.setOutcomeValue(BigDecimal.valueOf(actualTemp).setScale(2, BigDecimal.ROUND_HALF_UP));
-        }
-        betRepository.save(bet);
+        ObservedWeather actual = observedWeather(bet.getBetDate(), bet, stationOf(bet));
         
-        return payoutWinners(bet);
+        return settle(bet, actual);
     }
 
     /**
      * Resolve all bets for a specific date.
+     *
+     * Open lines are grouped by location (their station, else their stored coordinates, or
+     * city name for lines without them), so each location's aggregate is read once and all
+     * of its lines are settled against that one row. A location whose day cannot be settled yet fails as a
+     * whole and its lines stay open; a line that cannot be settled fails alone.
+     * The summary lists every location with its counts, time taken and error.
      */
     @Transactional
     public Map<String, Object> resolveDailyBets(LocalDate date) {
-        List<Bet> bets = betRepository.findByBetDate(date);
+        long started = System.nanoTime();
+        
+        // Insertion order keeps the report in the order the lines were stored
+        Map<String, List<Bet>> betsByLocation = new LinkedHashMap<>();
+        Map<String, String> stationByLocation = new HashMap<>();
+        for (Bet bet : betRepository.findByBetDate(date)) {
+            if (bet.getBetHit() == null) {
+                String stationId = stationOf(bet);
+                String key = stationId != null ? "station:" + stationId : locationKey(bet);
+                stationByLocation.put(key, stationId);
+                betsByLocation.computeIfAbsent(key, k -> new ArrayList<>()).add(bet);
+            }
+        }
         
         int totalResolved = 0;
+        int totalFailed = 0;
         int totalWinners = 0;
         BigDecimal totalPaidOut = BigDecimal.ZERO;
+        List<LocationResolutionResult> locations = new ArrayList<>();
         
-        for (Bet bet : bets) {
-            if (bet.getBetHit() == null) {
-                try {
-                    Map<String, Object> result = resolveBet(bet.getBetId());
-                    totalResolved++;
-                    totalWinners += (Integer) result.get("winnersCount");
-                    totalPaidOut = totalPaidOut.add((BigDecimal) result.get("totalPaidOut"));
-                } catch (Exception e) {
-                    System.err.println("Failed to resolve bet " + bet.getBetId() + ": " + e.getMessage());
+        for (Map.Entry<String, List<Bet>> location : betsByLocation.entrySet()) {
+            List<Bet> cityBets = location.getValue();
+            String cityName = cityBets.get(0).getCityName();
+            long cityStarted = System.nanoTime();
+            int resolved = 0;
+            String error = null;
+            
+            try {
+                ObservedWeather actual = observedWeather(date, cityBets.get(0), stationByLocation.get(location.getKey()));
+                
+                for (Bet bet : cityBets) {
+                    try {
+                        Map<String, Object> result = settle(bet, actual);
+                        resolved++;
+                        totalWinners += (Integer) result.get("winnersCount");
+                        totalPaidOut = totalPaidOut.add((BigDecimal) result.get("totalPaidOut"));
+                    } catch (Exception e) {
+                        System.err.println("Failed to resolve bet " + bet.getBetId() + ": " + e.getMessage());
+                        error = e.getMessage();
+                    }
                 }
+            } catch (Exception e) {
+                System.err.println("Failed to fetch weather for " + cityName + ": " + e.getMessage());
+                error = e.getMessage();
             }
+            
+            int failed = cityBets.size() - resolved;
+            LocationResolutionResult.Status status = failed == 0
+                    ? LocationResolutionResult.Status.RESOLVED
+                    : resolved == 0 ? LocationResolutionResult.Status.FAILED : LocationResolutionResult.Status.PARTIAL;
+            locations.add(new LocationResolutionResult(cityName, status, cityBets.size(), resolved, failed,
+                (System.nanoTime() - cityStarted) / 1_000_000, error));
+            totalResolved += resolved;
+            totalFailed += failed;
         }
         
         Map<String, Object> summary = new HashMap<>();
         summary.put("date", date);
         summary.put("totalBetsResolved", totalResolved);
+        summary.put("totalBetsFailed", totalFailed);
         summary.put("totalWinners", totalWinners);
         summary.put("totalPaidOut", totalPaidOut);
+        summary.put("totalMillis", (System.nanoTime() - started) / 1_000_000);
+        summary.put("locations", locations);
         return summary;
     }
 
+    /**
+     * The station a line settles on without any network call: its city's catalog station
+     * (the one ObservationPollJob polls for it), else the nearest station stored for its grid
+     * cell. Null if neither is known.
+     */
+    private String stationOf(Bet bet) {
+        City city = cityRegistry.findById(bet.getCityId());
+        if (city != null && observationAggregationService.catalogStation(city.getStationId()) != null) {
+            return city.getStationId();
+        }
+        if (bet.getGridCell() != null) {
+            ObservationStation cellStation = observationAggregationService.storedCellStation(bet.getGridCell());
+            if (cellStation != null) {
+                return cellStation.stationId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Where a line without a known station is resolved: the point it was priced for, or for
+     * lines stored before coordinates were recorded, the geocoded city name.
+     */
+    private CityLocation locationOf(Bet bet) {
+        if (bet.getLatitude() != null && bet.getLongitude() != null) {
+            return new CityLocation(bet.getCityName(), bet.getLatitude(), bet.getLongitude());
+        }
+        GeocodeResponse geocoded = geocodeService.geocodeCity(bet.getCityName());
+        return new CityLocation(bet.getCityName(), geocoded.getLatitude(), geocoded.getLongitude());
+    }
+
+    private static String locationKey(Bet bet) {
+        if (bet.getLatitude() != null && bet.getLongitude() != null) {
+            return String.format(Locale.ROOT, "%.4f,%.4f", bet.getLatitude(), bet.getLongitude());
+        }
+        return "city:" + bet.getCityName();
+    }
+
+    /**
+     * Settle one line against the observed weather and pay its winners.
+     */
+    private Map<String, Object> settle(Bet bet, ObservedWeather actual) {
+        boolean betWon = evaluateBetOutcome(bet, actual);
+        
+        Double actualValue = actual.valueFor(bet.getBetType());
+        
+        bet.setBetHit(betWon);
+        if (actualValue != null) {
+            bet.setOutcomeValue(BigDecimal.valueOf(actualValue).setScale(2, BigDecimal.ROUND_HALF_UP));
+        }
+        betRepository.save(bet);
+        
+        return payoutWinners(bet);
+    }
+
+    /**
+     * The weather to settle against: the bet day's aggregate for the line's station (or, with
+     * no known station, its location's). A day the poller has no row for,
+     * or one whose row does not cover the whole local day yet (the poller joined late, or the
+     * day is not over), is refused rather than settled on a live reading of another day.
+     *
+     * @throws IllegalStateException if the day cannot be settled yet
+     */
+    private ObservedWeather observedWeather(LocalDate betDate, Bet bet, String stationId) {
+        DailyObservationAggregate daily;
+        String where;
+        if (stationId != null) {
+            daily = observationAggregationService.getDailyAggregate(stationId, betDate);
+            where = stationId;
+        } else {
+            CityLocation location = locationOf(bet);
+            daily = observationAggregationService.getDailyAggregate(
+                location.latitude(), 
+                location.longitude(), 
+                betDate
+            );
+            where = location.cityName();
+        }
+        if (daily == null || daily.getObservationCount() == 0) {
+            throw new IllegalStateException("No observations for " + betDate + " at " + where + " yet");
+        }
+        if (!daily.hasStationTimeZone()) {
+            throw new IllegalStateException("Observations for " + betDate + " at " + daily.getStationId()
+                + " were aggregated in UTC days, not the station's local day");
+        }
+        if (!daily.coversWholeDay(Instant.now())) {
+            throw new IllegalStateException("Observations for " + betDate + " at " + daily.getStationId()
+                + " do not cover the whole day yet");
+        }
+        return new ObservedWeather(
+            daily.getMaxTempF(),
+            daily.getOvernightMinTempF(),
+            daily.getMaxWindGustMph(),
+            daily.getSnowfallInchesEstimate(),
+            daily.getAverageSkyCover(),
+            daily.getPrecipitationTotal() > 0.0,
+            daily.getDominantCondition() != null ? daily.getDominantCondition().name() : null
+        );
+    }
+
     /**
      * Evaluate if bet won based on actual weather vs prediction.
      */
-    private boolean evaluateBetOutcome(Bet bet, WeatherObservation observation) {
+    private boolean evaluateBetOutcome(Bet bet, ObservedWeather actual) {
         String betType = bet.getBetType();
         
         if ("MAX_TEMP_OVER_UNDER".equals(betType)) {
-            if (observation.getProperties().getTemperature() == null) {
+            if (actual.temperatureF() == null) {
                 throw new IllegalStateException("Temperature data not available");
             }
             
-            Double actualTemp = observation.getProperties().getTemperature().getValueInFahrenheit();
+            Double actualTemp = actual.temperatureF();
             Double setLine = bet.getSetLine().doubleValue();
             
             return actualTemp < setLine;
             
         } else if ("RAIN_YES_NO".equals(betType)) {
-            boolean didRain = observation.getProperties().getPrecipitationLastHour() != null &&
-                            observation.getProperties().getPrecipitationLastHour().hasRain();
+            boolean didRain = actual.rained();
             
             boolean predictedRain = bet.getSetLine().doubleValue() >= 50;
             
             return didRain == predictedRain;
             
         } else if ("CONDITION_MATCH".equals(betType)) {
-            String actualCondition = observation.getProperties().getTextDescription();
+            String actualCondition = actual.condition();
             if (actualCondition == null) {
                 return false;
             }
@@ -142,6 +290,16 @@ public class BetResolutionService {
             boolean predictedSunny = bet.getBetDescription().toLowerCase().contains("sunny/clear");
             
             return isSunny == predictedSunny;
+            
+        } else if ("MIN_TEMP_OVER_UNDER".equals(betType) || "WIND_GUST_OVER_UNDER".equals(betType)
+                || "SNOWFALL_OVER_UNDER".equals(betType) || "SKY_COVER_OVER_UNDER".equals(betType)) {
+            // Gridpoint markets: odds are for the UNDER outcome, like MAX_TEMP
+            Double actualValue = actual.valueFor(betType);
+            if (actualValue == null) {
+                throw new IllegalStateException("Observed data not available for " + betType);
+            }
+            
+            return actualValue < bet.getSetLine().doubleValue();
         }
         
         return false;
@@ -183,4 +341,27 @@ public class BetResolutionService {
         result.put("totalPaidOut", totalPaidOut);
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Actual weather for a bet: max temperature and overnight low in °F, max gust
+     * in mph, snowfall in inches, sky cover in percent, whether it rained, and the condition
+     * text or category name (e.g. "Mostly Clear", "CLEAR"). Unknown values are null.
+     */
+    private record ObservedWeather(Double temperatureF, Double overnightLowF, Double windGustMph,
+                                   Double snowfallInches, Double skyCoverPercent,
+                                   boolean rained, String condition) {
+
+        /**
+         * The value a bet type settles on; the temperature for types without their own metric.
+         */
+        Double valueFor(String betType) {
+            return switch (betType == null ? "" : betType) {
+                case "MIN_TEMP_OVER_UNDER" -> overnightLowF;
+                case "WIND_GUST_OVER_UNDER" -> windGustMph;
+                case "SNOWFALL_OVER_UNDER" -> snowfallInches;
+                case "SKY_COVER_OVER_UNDER" -> skyCoverPercent;
+                default -> temperatureF;
+            };
+        }
+    }
+}
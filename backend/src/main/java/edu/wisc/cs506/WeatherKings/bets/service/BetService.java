@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
 import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
 import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
 
@@ -16,9 +17,11 @@ import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
 public class BetService {
 
     private final BetRepository betRepository;
+    private final CityRegistry cityRegistry;
 
-    public BetService(BetRepository betRepository) {
+    public BetService(BetRepository betRepository, CityRegistry cityRegistry) {
         this.betRepository = betRepository;
+        this.cityRegistry = cityRegistry;
     }
 
     /**
@@ -38,16 +41,33 @@ public class BetService {
 
     /**
      * Retrieves all bet lines for a specific city and date.
+     * Case and spelling variants of the name find the same lines (see CityNames).
      * @param cityName The name of the city
      * @param betDate The date of the bets
-     * @return List of Bet entities
+     * @return List of Bet entities, empty if the city has never been registered
      */
     public List<Bet> getBetsForCityAndDate(String cityName, LocalDate betDate) {
-        List<Bet> allBetsForDate = betRepository.findByBetDate(betDate);
-        
-        // Filter by city name
-        return allBetsForDate.stream()
-                .filter(bet -> bet.getCityName().equalsIgnoreCase(cityName))
-                .toList();
+        City city = cityRegistry.find(cityName);
+        return city != null ? getBetsForCityAndDate(city.getCityId(), betDate) : List.of();
+    }
+
+    /**
+     * Retrieves all bet lines for a canonical city and date.
+     * @param cityId The city's id in the cities table
+     * @param betDate The date of the bets
+     * @return List of Bet entities
+     */
+    public List<Bet> getBetsForCityAndDate(Integer cityId, LocalDate betDate) {
+        return betRepository.findByCityIdAndBetDate(cityId, betDate);
+    }
+
+    /**
+     * Retrieves all bet lines generated for a grid cell and date.
+     * @param gridCell The NWS grid cell key
+     * @param betDate The date of the bets
+     * @return List of Bet entities
+     */
+    public List<Bet> getBetsForGridCellAndDate(String gridCell, LocalDate betDate) {
+        return betRepository.findByGridCellAndBetDate(gridCell, betDate);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import edu.wisc.cs506.WeatherKings.bets.repository.CityRepository;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.StationCatalog;
+
+/**
+ * Maps city names to their canonical row in the cities table.
+ *
+ * Names are reduced to a canonical key (CityNames), so "Madison, WI", "madison wi" and
+ * "Madison, Wisconsin" share one city_id. The first request for a key registers the city
+ * with its coordinates, NWS grid cell and nearest catalog station. A later request whose
+ * coordinates are farther than the station radius from the registered city is rejected: it
+ * is a different place with the same name ("Springfield" vs "Springfield, IL"), and settling
+ * it on the registered city's lines would observe the wrong station.
+ *
+ * New cities are inserted in their own transaction: a city is reference data, and a
+ * bet transaction rolling back must not leave an id in the cache that was never stored.
+ * Registered cities are kept in memory, so resolving a known name costs no query.
+ */
+@Service
+public class CityRegistry {
+
+    private final CityRepository cityRepository;
+    private final GridPointService gridPointService;
+    private final StationCatalog stationCatalog;
+    private final TransactionTemplate newTransaction;
+    private final double stationRadiusKm;
+    private final BoundedTtlCache<String, City> cache;
+    private final BoundedTtlCache<Integer, City> byId;
+
+    public CityRegistry(CityRepository cityRepository,
+                        GridPointService gridPointService,
+                        StationCatalog stationCatalog,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${weather.stations.catalog.radius-km:25}") double stationRadiusKm,
+                        @Value("${bets.cities.cache.max-entries:5000}") int maxEntries) {
+        this.cityRepository = cityRepository;
+        this.gridPointService = gridPointService;
+        this.stationCatalog = stationCatalog;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stationRadiusKm = stationRadiusKm;
+        // Cities are never renamed or removed, so entries only leave the cache through LRU eviction
+        this.cache = new BoundedTtlCache<>(maxEntries, Duration.ofDays(30));
+        this.byId = new BoundedTtlCache<>(maxEntries, Duration.ofDays(30));
+    }
+
+    /**
+     * The canonical city for a name, registering it at these coordinates if it is new.
+     *
+     * @throws IllegalArgumentException if the name is blank, or is registered farther than
+     *         the station radius from these coordinates
+     */
+    public City resolve(String cityName, double latitude, double longitude) {
+        String key = CityNames.canonicalKey(cityName);
+        City cached = cache.get(key);
+        if (cached != null) {
+            return requireNearby(cached, cityName, latitude, longitude);
+        }
+
+        City city = cityRepository.findByNameKey(key).orElse(null);
+        if (city == null) {
+            // Grid cell and station are looked up before the insert, not while holding its transaction
+            City registered = register(key, cityName.trim(), latitude, longitude);
+            try {
+                city = newTransaction.execute(status -> cityRepository.saveAndFlush(registered));
+            } catch (DataIntegrityViolationException e) {
+                // Another request (or node) registered the same city first - use its row
+                city = newTransaction.execute(status -> cityRepository.findByNameKey(key).orElseThrow(() -> e));
+            }
+        }
+        cache.put(key, city);
+        byId.put(city.getCityId(), city);
+        return requireNearby(city, cityName, latitude, longitude);
+    }
+
+    /**
+     * The canonical city for a name, or null if no city with this key is registered.
+     *
+     * @throws IllegalArgumentException if the name is blank
+     */
+    public City find(String cityName) {
+        String key = CityNames.canonicalKey(cityName);
+        City cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        City city = cityRepository.findByNameKey(key).orElse(null);
+        if (city != null) {
+            cache.put(key, city);
+            byId.put(city.getCityId(), city);
+        }
+        return city;
+    }
+
+    /**
+     * The city with this id (the city_id stored on bet lines), or null if there is none.
+     */
+    public City findById(Integer cityId) {
+        if (cityId == null) {
+            return null;
+        }
+        City cached = byId.get(cityId);
+        if (cached != null) {
+            return cached;
+        }
+        City city = cityRepository.findById(cityId).orElse(null);
+        if (city != null) {
+            byId.put(cityId, city);
+        }
+        return city;
+    }
+
+    private City requireNearby(City city, String cityName, double latitude, double longitude) {
+        double km = StationKdTree.distanceKm(latitude, longitude, city.getLatitude(), city.getLongitude());
+        if (km > stationRadiusKm) {
+            throw new IllegalArgumentException(String.format(
+                "\"%s\" is registered as %s, %.0f km from the requested location; add the state to the name",
+                cityName.trim(), city.getCityName(), km));
+        }
+        return city;
+    }
+
+    private City register(String key, String cityName, double latitude, double longitude) {
+        String gridCell = null;
+        try {
+            GridPoint gridPoint = gridPointService.resolve(latitude, longitude);
+            gridCell = gridPoint != null ? gridPoint.cellKey() : null;
+        } catch (Exception e) {
+            System.err.println("No grid cell for " + cityName + ": " + e.getMessage());
+        }
+        List<ObservationStation> stations = stationCatalog.nearest(latitude, longitude, 1, stationRadiusKm);
+        String stationId = stations.isEmpty() ? null : stations.get(0).stationId();
+        return new City(key, cityName, latitude, longitude, gridCell, stationId);
+    }
+}
@@ -0,0 +1,153 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.StationResolver;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the grid point, station and forecast caches warm for every active city so user
+ * requests are served from cache instead of paying NWS latency.
+ *
+ * - On startup one pass runs immediately; until it has finished this component reports
+ *   OUT_OF_SERVICE as the "forecastWarmup" health contributor, which is part of the
+ *   readiness group, so a fresh node does not take traffic cold.
+ * - Afterwards a pass runs every interval, with each city at a random offset within the
+ *   spread window so the refreshes do not hit NWS in one burst.
+ *
+ * Passes run on a virtual thread so the jitter sleeps never hold the shared scheduler thread.
+ * Disable with weather.warmer.enabled=false (the contributor then always reports UP).
+ */
+@Component("forecastWarmup")
+public class ForecastWarmupJob implements HealthIndicator {
+
+    private final ActiveCityService activeCityService;
+    private final GridPointService gridPointService;
+    private final StationResolver stationResolver;
+    private final WeatherApiService weatherApiService;
+    private final boolean enabled;
+    private final long spreadMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean initialPassDone = new AtomicBoolean();
+    private final AtomicInteger lastPassFailures = new AtomicInteger();
+
+    public ForecastWarmupJob(ActiveCityService activeCityService,
+                             GridPointService gridPointService,
+                             StationResolver stationResolver,
+                             WeatherApiService weatherApiService,
+                             @Value("${weather.warmer.enabled:true}") boolean enabled,
+                             @Value("${weather.warmer.spread-ms:60000}") long spreadMillis) {
+        this.activeCityService = activeCityService;
+        this.gridPointService = gridPointService;
+        this.stationResolver = stationResolver;
+        this.weatherApiService = weatherApiService;
+        this.enabled = enabled;
+        this.spreadMillis = spreadMillis;
+    }
+
+    /**
+     * Initial pass, without jitter - readiness waits for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (!enabled) {
+            initialPassDone.set(true);
+            return;
+        }
+        startPass(0);
+    }
+
+    @Scheduled(fixedDelayString = "${weather.warmer.interval-ms:600000}",
+               initialDelayString = "${weather.warmer.interval-ms:600000}")
+    public void refresh() {
+        if (enabled) {
+            startPass(spreadMillis);
+        }
+    }
+
+    /**
+     * Start a pass unless one is still running.
+     */
+    private void startPass(long spread) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("forecast-warmup").start(() -> {
+            try {
+                warmActiveCities(spread);
+            } finally {
+                initialPassDone.set(true);
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Warm every active city once. A failing city is logged and skipped; the pass still
+     * completes so an NWS outage cannot keep the node unready forever.
+     *
+     * @param spread Window in ms over which the cities are spread at random offsets (0 = back to back)
+     * @return number of cities that failed
+     */
+    int warmActiveCities(long spread) {
+        List<CityLocation> cities = activeCityService.getActiveCities();
+        long[] offsets = new long[cities.size()];
+        Integer[] order = new Integer[cities.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = spread > 0 ? ThreadLocalRandom.current().nextLong(spread) : 0;
+            order[i] = i;
+        }
+        // Visit cities in offset order, sleeping until each one's offset
+        Arrays.sort(order, (a, b) -> Long.compare(offsets[a], offsets[b]));
+
+        int failures = 0;
+        long elapsed = 0;
+        for (int index : order) {
+            try {
+                Thread.sleep(offsets[index] - elapsed);
+                elapsed = offsets[index];
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            CityLocation city = cities.get(index);
+            try {
+                gridPointService.resolve(city.latitude(), city.longitude());
+                stationResolver.resolveStations(city.latitude(), city.longitude());
+                weatherApiService.getCompactForecast(city.latitude(), city.longitude());
+            } catch (Exception e) {
+                failures++;
+                System.err.println("Forecast warmup failed for " + city.cityName() + ": " + e.getMessage());
+            }
+        }
+
+        lastPassFailures.set(failures);
+        return failures;
+    }
+
+    @Override
+    public Health health() {
+        if (!initialPassDone.get()) {
+            return Health.outOfService().withDetail("initialPass", "running").build();
+        }
+        return Health.up()
+                .withDetail("enabled", enabled)
+                .withDetail("lastPassFailures", lastPassFailures.get())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.wisc.cs506.WeatherKings.bets.index.GeohashIndex;
+import edu.wisc.cs506.WeatherKings.bets.index.PlaceTrie;
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.ReverseGeocodeResponse;
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Offline US gazetteer (classpath:gazetteer/us-places.csv), loaded once at startup for the
+ * city selector: typeahead through a {@link PlaceTrie} and reverse geocoding through a
+ * {@link GeohashIndex}. Both answer in memory, without calling Nominatim.
+ *
+ * Disable with gazetteer.enabled=false; the gazetteer is then empty.
+ */
+@Component
+public class Gazetteer implements MeterBinder {
+
+    private final PlaceTrie trie;
+    private final GeohashIndex geohashIndex;
+    private final long loadMillis;
+
+    public Gazetteer(
+            @Value("${gazetteer.enabled:true}") boolean enabled,
+            @Value("${gazetteer.resource:/gazetteer/us-places.csv}") String resource) {
+
+        long started = System.nanoTime();
+        List<Place> places;
+        if (!enabled) {
+            places = List.of();
+        } else {
+            try (InputStream in = Gazetteer.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Gazetteer not found: " + resource);
+                }
+                places = parse(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read gazetteer " + resource, e);
+            }
+        }
+        this.trie = new PlaceTrie(places);
+        this.geohashIndex = new GeohashIndex(places);
+        this.loadMillis = (System.nanoTime() - started) / 1_000_000;
+    }
+
+    /**
+     * Read gazetteer rows: name,state,latitude,longitude,population. Lines starting with '#',
+     * the header row and malformed rows are skipped; fields may be quoted.
+     */
+    public static List<Place> parse(InputStream in) throws IOException {
+        List<Place> places = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("name,")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length < 5) {
+                continue;
+            }
+            try {
+                places.add(new Place(
+                    unquote(fields[0]),
+                    unquote(fields[1]),
+                    Double.parseDouble(unquote(fields[2])),
+                    Double.parseDouble(unquote(fields[3])),
+                    Integer.parseInt(unquote(fields[4]))));
+            } catch (NumberFormatException e) {
+                // Place without a usable location or population
+            }
+        }
+        return places;
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Places whose "Name, ST" starts with the query, most populous first.
+     *
+     * @param limit Maximum number of places (at most {@link PlaceTrie#MAX_RESULTS})
+     */
+    public List<Place> suggest(String query, int limit) {
+        return trie.suggest(query, limit);
+    }
+
+    /**
+     * The place nearest to a coordinate within a radius.
+     *
+     * @return Nearest place and its distance, or null if none is within maxDistanceKm
+     */
+    public ReverseGeocodeResponse reverse(double latitude, double longitude, double maxDistanceKm) {
+        Place place = geohashIndex.nearest(latitude, longitude, maxDistanceKm);
+        if (place == null) {
+            return null;
+        }
+        double km = StationKdTree.distanceKm(latitude, longitude, place.latitude(), place.longitude());
+        return new ReverseGeocodeResponse(place, Math.round(km * 10) / 10.0);
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gazetteer.size", trie, PlaceTrie::size)
+                .description("Places in the bundled gazetteer")
+                .register(registry);
+        Gauge.builder("gazetteer.load.time", this, g -> g.loadMillis)
+                .baseUnit("milliseconds")
+                .description("Time taken to read and index the gazetteer at startup")
+                .register(registry);
+    }
+}
@@ -0,0 +1,250 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CachedGeocode;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.repository.CachedGeocodeRepository;
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geocode cache keyed by the city's canonical key (CityNames.canonicalKey), the same key as the
+ * cities table: "  Madison ,WI", "madison, wi" and "Madison, Wisconsin" share an entry.
+ *
+ * - In process: a bounded LRU of recent answers.
+ * - Behind it: the geocode_cache table. Every answer is written through and an in-process
+ *   miss falls back to the table, so other nodes and restarts reuse earlier lookups.
+ * - "City not found" answers are cached too, with a short TTL, so a burst of requests for a
+ *   misspelled name costs one Nominatim call instead of one per request.
+ *
+ * Rows are written in their own transaction and flushed there, so a failed insert is logged
+ * right away instead of surfacing at the caller's commit (e.g. failing a bet settlement).
+ * Database errors are logged and never fail a geocode. Disable with geocoding.cache.enabled=false.
+ * Counters are published to Micrometer as geocoding.cache.requests{result=...} and
+ * geocoding.upstream.calls{outcome=...}.
+ */
+@Component
+public class GeocodeCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final BoundedTtlCache<String, Entry> entries;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final boolean persistent;
+    private final CachedGeocodeRepository cachedGeocodeRepository;
+    private final TransactionTemplate newTransaction;
+    private final Clock clock = Clock.systemUTC();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong persistentMisses = new AtomicLong();
+    private final AtomicLong upstreamFound = new AtomicLong();
+    private final AtomicLong upstreamNotFound = new AtomicLong();
+    private final AtomicLong upstreamFailed = new AtomicLong();
+
+    public GeocodeCache(
+            @Value("${geocoding.cache.enabled:true}") boolean enabled,
+            @Value("${geocoding.cache.max-entries:2000}") int maxEntries,
+            @Value("${geocoding.cache.ttl-days:30}") long ttlDays,
+            @Value("${geocoding.cache.negative-ttl-minutes:10}") long negativeTtlMinutes,
+            @Value("${geocoding.cache.persistent.enabled:true}") boolean persistent,
+            CachedGeocodeRepository cachedGeocodeRepository,
+            PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.negativeTtl = Duration.ofMinutes(negativeTtlMinutes);
+        this.entries = new BoundedTtlCache<>(maxEntries, ttl);
+        this.persistent = persistent;
+        this.cachedGeocodeRepository = cachedGeocodeRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the cached answer for a canonical key, or null if nothing usable is cached.
+     * An in-process miss is looked up in the geocode_cache table.
+     */
+    public Entry get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry == null && persistent) {
+            entry = loadPersisted(key);
+            if (entry != null) {
+                persistentHits.incrementAndGet();
+                entries.put(key, entry, Duration.between(clock.instant(), entry.expiresAt()));
+            } else {
+                persistentMisses.incrementAndGet();
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else if (entry.found()) {
+            hits.incrementAndGet();
+        } else {
+            negativeHits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Cache a Nominatim answer for the full TTL.
+     */
+    public void putFound(String key, GeocodeResponse response) {
+        upstreamFound.incrementAndGet();
+        put(key, copy(response), ttl);
+    }
+
+    /**
+     * Cache a "city not found" answer for the short negative TTL.
+     */
+    public void putNotFound(String key) {
+        upstreamNotFound.incrementAndGet();
+        put(key, null, negativeTtl);
+    }
+
+    /**
+     * Count a Nominatim call that failed (timeout, 5xx, rate limited); nothing is cached.
+     */
+    public void recordUpstreamFailure() {
+        upstreamFailed.incrementAndGet();
+    }
+
+    private void put(String key, GeocodeResponse response, Duration entryTtl) {
+        if (!enabled) {
+            return;
+        }
+        Instant now = clock.instant();
+        Entry entry = new Entry(response, now.plus(entryTtl));
+        entries.put(key, entry, entryTtl);
+        if (!persistent) {
+            return;
+        }
+        CachedGeocode row = new CachedGeocode(key, response, now, entry.expiresAt());
+        try {
+            newTransaction.executeWithoutResult(status -> cachedGeocodeRepository.saveAndFlush(row));
+        } catch (DataAccessException | TransactionException e) {
+            System.err.println("Failed to persist geocode for " + key + ": " + e.getMessage());
+        }
+    }
+
+    private Entry loadPersisted(String key) {
+        try {
+            Instant now = clock.instant();
+            return cachedGeocodeRepository.findById(key)
+                    .filter(row -> row.getExpiresInstant().isAfter(now))
+                    .map(row -> new Entry(row.toResponse(), row.getExpiresInstant()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            System.err.println("Failed to read persisted geocode for " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static GeocodeResponse copy(GeocodeResponse response) {
+        return new GeocodeResponse(response.getCityName(), response.getLatitude(), response.getLongitude(),
+                                   response.getDisplayName(), response.getCountry());
+    }
+
+    public long getHitCount() { return hits.get(); }
+
+    public long getNegativeHitCount() { return negativeHits.get(); }
+
+    public long getMissCount() { return misses.get(); }
+
+    public long getPersistentHitCount() { return persistentHits.get(); }
+
+    public long getPersistentMissCount() { return persistentMisses.get(); }
+
+    public long getEvictionCount() { return entries.getEvictionCount(); }
+
+    public long getUpstreamCallCount() { return upstreamFound.get() + upstreamNotFound.get() + upstreamFailed.get(); }
+
+    /**
+     * Share of lookups answered from either tier (found or not found), 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long answered = hits.get() + negativeHits.get();
+        long total = answered + misses.get();
+        return total == 0 ? 0.0 : (double) answered / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("geocoding.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Geocodes answered from cache")
+                .register(registry);
+        FunctionCounter.builder("geocoding.cache.requests", negativeHits, AtomicLong::get)
+                .tag("result", "negative-hit")
+                .description("Lookups answered by a cached 'city not found'")
+                .register(registry);
+        FunctionCounter.builder("geocoding.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Geocodes that had to ask Nominatim")
+                .register(registry);
+        FunctionCounter.builder("geocoding.cache.persistent.lookups", persistentHits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("In-process misses served from the geocode_cache table")
+                .register(registry);
+        FunctionCounter.builder("geocoding.cache.persistent.lookups", persistentMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("In-process misses not found in the geocode_cache table either")
+                .register(registry);
+        FunctionCounter.builder("geocoding.cache.evictions", entries, BoundedTtlCache::getEvictionCount)
+                .description("Entries dropped from the in-process tier to stay within max-entries")
+                .register(registry);
+        Gauge.builder("geocoding.cache.size", entries, BoundedTtlCache::size)
+                .register(registry);
+        Gauge.builder("geocoding.cache.hit.ratio", this, GeocodeCache::getHitRate)
+                .register(registry);
+        FunctionCounter.builder("geocoding.upstream.calls", upstreamFound, AtomicLong::get)
+                .tag("outcome", "found")
+                .description("Nominatim searches that returned a place")
+                .register(registry);
+        FunctionCounter.builder("geocoding.upstream.calls", upstreamNotFound, AtomicLong::get)
+                .tag("outcome", "not-found")
+                .description("Nominatim searches with no result")
+                .register(registry);
+        FunctionCounter.builder("geocoding.upstream.calls", upstreamFailed, AtomicLong::get)
+                .tag("outcome", "failed")
+                .description("Nominatim searches that failed")
+                .register(registry);
+    }
+
+    /**
+     * A cached answer: the place, or null response for "city not found".
+     */
+    public record Entry(GeocodeResponse response, Instant expiresAt) {
+
+        public boolean found() {
+            return response != null;
+        }
+
+        /**
+         * A copy of the cached place, so callers cannot change what is cached.
+         */
+        public GeocodeResponse copyOfResponse() {
+            return copy(response);
+        }
+    }
+}
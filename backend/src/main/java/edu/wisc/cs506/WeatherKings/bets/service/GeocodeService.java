@@ -1,28 +1,48 @@
 package edu.wisc.cs506.WeatherKings.bets.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.NominatimPlace;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+import edu.wisc.cs506.WeatherKings.weather.cache.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
-
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import org.springframework.web.client.RestClient;
 
 /**
  * Service for geocoding city names to coordinates using Nominatim (OpenStreetMap).
+ *
+ * The client is built once on the shared outbound request factory, so calls reuse pooled
+ * connections and get its connect/read timeouts and the Nominatim rate limit. The
+ * User-Agent (required by Nominatim's usage policy) is a default header rather than an
+ * interceptor, and results bind straight to {@link NominatimPlace} records.
+ *
+ * Answers, including "city not found", are cached by {@link GeocodeCache}, and concurrent
+ * lookups of the same name share one Nominatim call.
  */
 @Service
 public class GeocodeService {
 
-    private static final String NOMINATIM_URL = "https://nominatim.openstreetmap.org/search";
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final RestClient restClient;
+    private final GeocodeCache geocodeCache;
+    private final SingleFlight<String, GeocodeResponse> lookups = new SingleFlight<>();
 
-    public GeocodeService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    /**
+     * @param nominatimBaseUrl Nominatim server (https://nominatim.openstreetmap.org, or a local stand-in)
+     * @param userAgent Identifies the app to Nominatim
+     */
+    public GeocodeService(ClientHttpRequestFactory requestFactory,
+                          @Value("${geocoding.nominatim.base-url:https://nominatim.openstreetmap.org}") String nominatimBaseUrl,
+                          @Value("${geocoding.nominatim.user-agent:WeatherKings/1.0}") String userAgent,
+                          GeocodeCache geocodeCache) {
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl(nominatimBaseUrl)
+                .defaultHeader("User-Agent", userAgent)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        this.geocodeCache = geocodeCache;
     }
 
     /**
@@ -37,62 +57,47 @@ public class GeocodeService {
             throw new IllegalArgumentException("City name cannot be empty");
         }
 
-        try {
-            // Build the URL with query parameters
-            String url = UriComponentsBuilder.fromHttpUrl(NOMINATIM_URL)
-                    .queryParam("q", cityName)
-                    .queryParam("format", "json")
-                    .queryParam("limit", "1")
-                    .queryParam("addressdetails", "1")
-                    .build()
-                    .toUriString();
-
-            // Set User-Agent header (required by Nominatim)
-            restTemplate.getInterceptors().add((request, body, execution) -> {
-                request.getHeaders().add("User-Agent", "WeatherKings/1.0");
-                return execution.execute(request, body);
-            });
-
-            // Make the request
-            String response = restTemplate.getForObject(url, String.class);
-            
-            // Parse JSON response
-            JsonNode root = objectMapper.readTree(response);
-            
-            if (root.isEmpty()) {
+        String key = CityNames.canonicalKey(cityName);
+        GeocodeCache.Entry cached = geocodeCache.get(key);
+        if (cached != null) {
+            if (!cached.found()) {
                 throw new IllegalArgumentException("City not found: " + cityName);
             }
+            return cached.copyOfResponse();
+        }
 
-            JsonNode firstResult = root.get(0);
-            
-            // Extract data
-            double lat = firstResult.get("lat").asDouble();
-            double lon = firstResult.get("lon").asDouble();
-            String displayName = firstResult.get("display_name").asText();
-            
-            // Try to get a cleaner city name from the address details
-            JsonNode address = firstResult.get("address");
-            String cleanCityName = cityName; // fallback
-            if (address != null) {
-                String city = address.has("city") ? address.get("city").asText() : null;
-                String state = address.has("state") ? address.get("state").asText() : null;
-                String country = address.has("country") ? address.get("country").asText() : null;
-                
-                if (city != null && state != null) {
-                    cleanCityName = city + ", " + state;
-                } else if (city != null) {
-                    cleanCityName = city;
-                }
-                
-                return new GeocodeResponse(cleanCityName, lat, lon, displayName, country);
-            }
-            
-            return new GeocodeResponse(cleanCityName, lat, lon, displayName, "");
-            
-        } catch (IllegalArgumentException e) {
-            throw e; // Re-throw city not found errors
+        GeocodeResponse response = lookups.execute(key, () -> fetch(key, cityName));
+        // Callers that joined the same lookup must not share one mutable response
+        return new GeocodeResponse(response.getCityName(), response.getLatitude(), response.getLongitude(),
+                                   response.getDisplayName(), response.getCountry());
+    }
+
+    /**
+     * Ask Nominatim and cache the answer. Failed calls are not cached.
+     */
+    private GeocodeResponse fetch(String key, String cityName) {
+        NominatimPlace[] results;
+        try {
+            results = restClient.get()
+                    .uri(uri -> uri.path("/search")
+                            .queryParam("q", cityName)
+                            .queryParam("format", "json")
+                            .queryParam("limit", "1")
+                            .queryParam("addressdetails", "1")
+                            .build())
+                    .retrieve()
+                    .body(NominatimPlace[].class);
         } catch (Exception e) {
+            geocodeCache.recordUpstreamFailure();
             throw new RuntimeException("Failed to geocode city: " + e.getMessage(), e);
         }
+
+        if (results == null || results.length == 0) {
+            geocodeCache.putNotFound(key);
+            throw new IllegalArgumentException("City not found: " + cityName);
+        }
+        GeocodeResponse response = results[0].toGeocodeResponse(cityName);
+        geocodeCache.putFound(key, response);
+        return response;
     }
-}
\ No newline at end of file
+}
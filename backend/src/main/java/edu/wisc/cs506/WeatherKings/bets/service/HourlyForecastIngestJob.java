@@ -0,0 +1,60 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.HourlyForecastService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically pulls the NWS hourly forecast for every grid cell behind an active city into
+ * HourlyForecastService (memory + hourly_forecasts table). Cities sharing a cell are fetched once.
+ * Disable with weather.hourly.ingest.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.hourly.ingest.enabled", havingValue = "true", matchIfMissing = true)
+public class HourlyForecastIngestJob {
+
+    private final ActiveCityService activeCityService;
+    private final HourlyForecastService hourlyForecastService;
+    private final GridPointService gridPointService;
+
+    public HourlyForecastIngestJob(ActiveCityService activeCityService,
+                                   HourlyForecastService hourlyForecastService,
+                                   GridPointService gridPointService) {
+        this.activeCityService = activeCityService;
+        this.hourlyForecastService = hourlyForecastService;
+        this.gridPointService = gridPointService;
+    }
+
+    /**
+     * Ingest each distinct grid cell once. A failing city is logged and skipped so the others
+     * still refresh.
+     *
+     * @return number of grid cells ingested successfully
+     */
+    @Scheduled(fixedDelayString = "${weather.hourly.ingest.interval-ms:3600000}",
+               initialDelayString = "${weather.hourly.ingest.initial-delay-ms:60000}")
+    public int ingestActiveCities() {
+        Set<String> ingestedCells = new HashSet<>();
+        int ingested = 0;
+        for (CityLocation city : activeCityService.getActiveCities()) {
+            try {
+                // Served from GridPointService's cache, which ingest() would fill anyway
+                String cellKey = gridPointService.resolve(city.latitude(), city.longitude()).cellKey();
+                if (!ingestedCells.add(cellKey)) {
+                    continue;
+                }
+                hourlyForecastService.ingest(city.latitude(), city.longitude());
+                ingested++;
+            } catch (Exception e) {
+                System.err.println("Hourly forecast ingestion failed for " + city.cityName() + ": " + e.getMessage());
+            }
+        }
+        return ingested;
+    }
+}
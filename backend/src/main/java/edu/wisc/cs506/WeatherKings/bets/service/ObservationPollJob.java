@@ -0,0 +1,95 @@
+package edu.wisc.cs506.WeatherKings.bets.service;
+
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.OpenBetLocation;
+import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.ObservationAggregationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Periodically polls the observation station behind every city with an open bet line and
+ * folds the new observations into the daily aggregates used for resolution.
+ * Disable with weather.observations.poll.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.observations.poll.enabled", havingValue = "true", matchIfMissing = true)
+public class ObservationPollJob {
+
+    private final BetRepository betRepository;
+    private final ActiveCityService activeCityService;
+    private final GeocodeService geocodeService;
+    private final ObservationAggregationService aggregationService;
+    private final CityRegistry cityRegistry;
+
+    public ObservationPollJob(BetRepository betRepository,
+                              ActiveCityService activeCityService,
+                              GeocodeService geocodeService,
+                              ObservationAggregationService aggregationService,
+                              CityRegistry cityRegistry) {
+        this.betRepository = betRepository;
+        this.activeCityService = activeCityService;
+        this.geocodeService = geocodeService;
+        this.aggregationService = aggregationService;
+        this.cityRegistry = cityRegistry;
+    }
+
+    /**
+     * Poll each distinct station once. Yesterday is included so late observations still
+     * reach a day whose bets have not been resolved yet.
+     *
+     * @return number of observations folded
+     */
+    @Scheduled(fixedDelayString = "${weather.observations.poll.interval-ms:600000}",
+               initialDelayString = "${weather.observations.poll.initial-delay-ms:30000}")
+    public int pollOpenBetStations() {
+        Set<String> polledStations = new HashSet<>();
+        int folded = 0;
+
+        for (OpenBetLocation location : betRepository.findOpenLocations(LocalDate.now().minusDays(1))) {
+            String cityName = location.cityName();
+            try {
+                ObservationStation station = stationFor(location);
+                if (polledStations.add(station.stationId())) {
+                    folded += aggregationService.poll(station);
+                }
+            } catch (Exception e) {
+                System.err.println("Observation poll failed for " + cityName + ": " + e.getMessage());
+            }
+        }
+        return folded;
+    }
+
+    private ObservationStation stationFor(OpenBetLocation location) {
+        // The city's recorded station is the one its lines settle on
+        City registered = cityRegistry.findById(location.cityId());
+        if (registered != null && registered.getStationId() != null) {
+            ObservationStation station = aggregationService.catalogStation(registered.getStationId());
+            if (station != null) {
+                return station;
+            }
+        }
+
+        // Otherwise poll where the lines were priced, so resolution finds this station's aggregate
+        if (location.latitude() != null && location.longitude() != null) {
+            return aggregationService.nearestStation(location.latitude(), location.longitude());
+        }
+
+        // Older lines: active cities have known coordinates - only geocode the others
+        String cityName = location.cityName();
+        CityLocation city = activeCityService.findByName(cityName);
+        if (city != null) {
+            return aggregationService.nearestStation(city.latitude(), city.longitude());
+        }
+        GeocodeResponse geocoded = geocodeService.geocodeCity(cityName);
+        return aggregationService.nearestStation(geocoded.getLatitude(), geocoded.getLongitude());
+    }
+}
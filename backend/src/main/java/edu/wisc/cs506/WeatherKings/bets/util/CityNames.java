@@ -0,0 +1,92 @@
+package edu.wisc.cs506.WeatherKings.bets.util;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text folding for place names, shared by the city registry, the geocode cache and the
+ * gazetteer so one spelling of a place gets one key everywhere.
+ *
+ * {@link #normalize} folds case, accents, periods, comma spacing and whitespace
+ * ("St. Louis,MO" = "st louis, mo"). {@link #canonicalKey} adds "Saint" = "st" and state
+ * names = postal codes on top, so "Madison, WI", "madison ,wi", "Madison, Wisconsin",
+ * "Madison WI" and "Madison, W.I." all become "madison, wi" - one row in the cities table.
+ */
+public final class CityNames {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern PERIODS = Pattern.compile("\\.");
+    private static final Pattern COMMA = Pattern.compile("\\s*,\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern SAINT = Pattern.compile("(^|\\s)saint(?=\\s)");
+
+    private static final Map<String, String> STATE_CODES = new HashMap<>();
+
+    static {
+        String[][] states = {
+            {"alabama", "al"}, {"alaska", "ak"}, {"arizona", "az"}, {"arkansas", "ar"},
+            {"california", "ca"}, {"colorado", "co"}, {"connecticut", "ct"}, {"delaware", "de"},
+            {"district of columbia", "dc"}, {"florida", "fl"}, {"georgia", "ga"}, {"hawaii", "hi"},
+            {"idaho", "id"}, {"illinois", "il"}, {"indiana", "in"}, {"iowa", "ia"},
+            {"kansas", "ks"}, {"kentucky", "ky"}, {"louisiana", "la"}, {"maine", "me"},
+            {"maryland", "md"}, {"massachusetts", "ma"}, {"michigan", "mi"}, {"minnesota", "mn"},
+            {"mississippi", "ms"}, {"missouri", "mo"}, {"montana", "mt"}, {"nebraska", "ne"},
+            {"nevada", "nv"}, {"new hampshire", "nh"}, {"new jersey", "nj"}, {"new mexico", "nm"},
+            {"new york", "ny"}, {"north carolina", "nc"}, {"north dakota", "nd"}, {"ohio", "oh"},
+            {"oklahoma", "ok"}, {"oregon", "or"}, {"pennsylvania", "pa"}, {"rhode island", "ri"},
+            {"south carolina", "sc"}, {"south dakota", "sd"}, {"tennessee", "tn"}, {"texas", "tx"},
+            {"utah", "ut"}, {"vermont", "vt"}, {"virginia", "va"}, {"washington", "wa"},
+            {"west virginia", "wv"}, {"wisconsin", "wi"}, {"wyoming", "wy"}, {"puerto rico", "pr"}
+        };
+        for (String[] state : states) {
+            STATE_CODES.put(state[0], state[1]);
+        }
+    }
+
+    private static final Set<String> CODES = Set.copyOf(STATE_CODES.values());
+
+    private CityNames() { }
+
+    /**
+     * Lower case, accents and periods removed, commas written as ", " and whitespace
+     * collapsed and trimmed, so "St. Louis,MO", "st louis, mo" and "Saint-Étienne" compare
+     * the way people type them. Blank text gives "".
+     */
+    public static String normalize(String text) {
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        folded = PERIODS.matcher(folded).replaceAll("").toLowerCase(Locale.ROOT);
+        folded = COMMA.matcher(folded).replaceAll(", ");
+        return WHITESPACE.matcher(folded).replaceAll(" ").strip();
+    }
+
+    /**
+     * The canonical key for a city name, e.g. "madison, wi".
+     *
+     * The part after the last comma is treated as the state: full US state names become
+     * their postal code. Without a comma, a trailing two-letter postal
+     * code is split off the same way ("Madison WI"); anything else is kept as it is.
+     *
+     * @throws IllegalArgumentException if the name is null or blank
+     */
+    public static String canonicalKey(String cityName) {
+        if (cityName == null || cityName.isBlank()) {
+            throw new IllegalArgumentException("City name is required");
+        }
+        String key = SAINT.matcher(normalize(cityName)).replaceAll("$1st");
+
+        int comma = key.lastIndexOf(", ");
+        if (comma >= 0) {
+            String state = key.substring(comma + 2);
+            return key.substring(0, comma + 2) + STATE_CODES.getOrDefault(state, state);
+        }
+        int space = key.lastIndexOf(' ');
+        if (space > 0 && CODES.contains(key.substring(space + 1))) {
+            return key.substring(0, space) + ", " + key.substring(space + 1);
+        }
+        return key;
+    }
+}
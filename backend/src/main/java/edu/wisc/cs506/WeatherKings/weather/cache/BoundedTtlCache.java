@@ -0,0 +1,110 @@
+package edu.wisc.cs506.WeatherKings.weather.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small thread-safe LRU cache with a per-entry time-to-live.
+ *
+ * Entries are evicted when the cache grows past its maximum size (least recently
+ * used first) or lazily when they are read after their expiry time.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final Duration defaultTtl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedTtlCache(int maxEntries, Duration defaultTtl) {
+        this(maxEntries, defaultTtl, Clock.systemUTC());
+    }
+
+    public BoundedTtlCache(int maxEntries, Duration defaultTtl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+        // accessOrder = true turns the LinkedHashMap into an LRU list
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value, or null if the key is missing or expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(clock.instant())) {
+            entries.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * Stores a value with a custom time-to-live (used for e.g. short-lived negative entries).
+     */
+    public synchronized void put(K key, V value, Duration ttl) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+        evictOverflow();
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() { return maxEntries; }
+
+    public long getHitCount() { return hits.get(); }
+
+    public long getMissCount() { return misses.get(); }
+
+    public long getEvictionCount() { return evictions.get(); }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package edu.wisc.cs506.WeatherKings.weather.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.wisc.cs506.WeatherKings.weather.model.CachedForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.repository.CachedForecastRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Forecast cache keyed by NWS grid cell (e.g. "MKX/37,63"). Forecasts are held as
+ * {@link CompactForecast}s, a few hundred bytes per cell.
+ *
+ * Freshness comes from the upstream Cache-Control/Expires headers. Stale entries are kept
+ * (up to the retention period) together with their ETag/Last-Modified validators so the
+ * next request can revalidate with a conditional GET instead of downloading the body again.
+ *
+ * Concurrent misses for the same cell are coalesced into one upstream fetch (single-flight),
+ * so a burst of users opening the same city page costs one round trip to api.weather.gov.
+ *
+ * Behind the in-process tier sits the forecast_cache table (one row per grid cell, payload
+ * encoded by {@link ForecastPayloadCodec}). Every put is written through, an in-process miss
+ * falls back to the table, and on startup all rows within the retention period are loaded
+ * in one query - so a restart or redeploy does not refetch every forecast from NWS.
+ * Rows are written and flushed in their own transaction, so a conflicting row from another
+ * node cannot roll back the caller's work (e.g. freshly generated bet lines).
+ * Database errors are logged and never fail a forecast request.
+ *
+ * Counters are published to Micrometer as weather.forecast.cache.requests{result=...}.
+ */
+@Component
+public class ForecastCache implements MeterBinder {
+
+    private final BoundedTtlCache<String, Entry> entries;
+    private final SingleFlight<String, CompactForecast> fetches = new SingleFlight<>();
+    private final Duration fallbackTtl;
+    private final Duration staleRetention;
+    private final CachedForecastRepository cachedForecastRepository;
+    private final TransactionTemplate newTransaction;
+    private final boolean persistent;
+    private final Clock clock = Clock.systemUTC();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong refetches = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong persistentMisses = new AtomicLong();
+    private final AtomicLong warmLoaded = new AtomicLong();
+
+    public ForecastCache(
+            @Value("${weather.forecast.cache.max-entries:5000}") int maxEntries,
+            @Value("${weather.forecast.cache.stale-retention-hours:24}") long staleRetentionHours,
+            @Value("${weather.forecast.cache.fallback-ttl-minutes:15}") long fallbackTtlMinutes,
+            @Value("${weather.forecast.cache.persistent.enabled:true}") boolean persistent,
+            CachedForecastRepository cachedForecastRepository,
+            PlatformTransactionManager transactionManager) {
+        this.staleRetention = Duration.ofHours(staleRetentionHours);
+        this.entries = new BoundedTtlCache<>(maxEntries, staleRetention);
+        this.fallbackTtl = Duration.ofMinutes(fallbackTtlMinutes);
+        this.persistent = persistent;
+        this.cachedForecastRepository = cachedForecastRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the entry for a grid cell, fresh or stale, or null if nothing is cached.
+     * An in-process miss is looked up in the forecast_cache table, so forecasts fetched by
+     * another node (or before a restart) are reused.
+     */
+    public Entry get(String cellKey) {
+        Entry entry = entries.get(cellKey);
+        if (entry != null || !persistent) {
+            return entry;
+        }
+
+        Entry stored = loadPersisted(cellKey);
+        if (stored != null) {
+            persistentHits.incrementAndGet();
+            entries.put(cellKey, stored);
+        } else {
+            persistentMisses.incrementAndGet();
+        }
+        return stored;
+    }
+
+    /**
+     * Store an entry in process and write it through to the forecast_cache table.
+     */
+    public void put(String cellKey, Entry entry) {
+        entries.put(cellKey, entry);
+        if (!persistent) {
+            return;
+        }
+        CachedForecast row = new CachedForecast(
+            cellKey, ForecastPayloadCodec.encode(entry.forecast()), entry.etag(), entry.lastModified(),
+            entry.fetchedAt(), entry.expiresAt());
+        try {
+            newTransaction.executeWithoutResult(status -> cachedForecastRepository.saveAndFlush(row));
+        } catch (DataAccessException | TransactionException e) {
+            System.err.println("Failed to persist forecast for " + cellKey + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Load every persisted forecast within the retention period in a single query.
+     * Runs before the other startup listeners (e.g. the forecast warmer), so their first
+     * lookups are already served in process.
+     *
+     * @return number of entries loaded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public int warmFromDatabase() {
+        if (!persistent) {
+            return 0;
+        }
+        List<CachedForecast> rows;
+        try {
+            rows = cachedForecastRepository.findByExpiresAtAfter(retentionCutoff());
+        } catch (DataAccessException e) {
+            System.err.println("Failed to load persisted forecasts: " + e.getMessage());
+            return 0;
+        }
+
+        int loaded = 0;
+        for (CachedForecast row : rows) {
+            Entry entry = toEntry(row);
+            if (entry != null) {
+                entries.put(row.getGridCell(), entry);
+                loaded++;
+            }
+        }
+        warmLoaded.set(loaded);
+        return loaded;
+    }
+
+    private Entry loadPersisted(String cellKey) {
+        try {
+            return cachedForecastRepository.findById(cellKey)
+                    .filter(row -> row.getExpiresAt().isAfter(retentionCutoff()))
+                    .map(ForecastCache::toEntry)
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            System.err.println("Failed to read persisted forecast for " + cellKey + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rows that expired before this (UTC) time are past the stale retention period.
+     */
+    private LocalDateTime retentionCutoff() {
+        return LocalDateTime.ofInstant(clock.instant().minus(staleRetention), ZoneOffset.UTC);
+    }
+
+    private static Entry toEntry(CachedForecast row) {
+        try {
+            return new Entry(ForecastPayloadCodec.decode(row.getPayload()), row.getEtag(),
+                             row.getLastModifiedInstant(), row.getFetchedInstant(), row.getExpiresInstant());
+        } catch (IllegalArgumentException e) {
+            // Unreadable (e.g. older format) - treat as missing, the next fetch overwrites it
+            return null;
+        }
+    }
+
+    /**
+     * Run an upstream fetch for a grid cell, sharing it with any concurrent caller for the same cell.
+     */
+    public CompactForecast fetchCoalesced(String cellKey, Supplier<CompactForecast> fetch) {
+        return fetches.execute(cellKey, fetch);
+    }
+
+    /**
+     * Freshness lifetime used when the upstream response carries no caching headers.
+     */
+    public Duration getFallbackTtl() {
+        return fallbackTtl;
+    }
+
+    public void recordHit() { hits.incrementAndGet(); }
+
+    public void recordMiss() { misses.incrementAndGet(); }
+
+    public void recordRevalidation() { revalidations.incrementAndGet(); }
+
+    public void recordRefetch() { refetches.incrementAndGet(); }
+
+    public void recordStaleServed() { staleServed.incrementAndGet(); }
+
+    public long getHitCount() { return hits.get(); }
+
+    public long getMissCount() { return misses.get(); }
+
+    public long getRevalidationCount() { return revalidations.get(); }
+
+    public long getRefetchCount() { return refetches.get(); }
+
+    public long getStaleServedCount() { return staleServed.get(); }
+
+    public long getCoalescedCount() { return fetches.getCoalescedCount(); }
+
+    public long getPersistentHitCount() { return persistentHits.get(); }
+
+    public long getPersistentMissCount() { return persistentMisses.get(); }
+
+    public long getWarmLoadedCount() { return warmLoaded.get(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.forecast.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Forecasts served from cache without contacting NWS")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Forecasts fetched because nothing was cached")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.requests", revalidations, AtomicLong::get)
+                .tag("result", "revalidated")
+                .description("Stale forecasts refreshed by a 304 Not Modified")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.requests", refetches, AtomicLong::get)
+                .tag("result", "refetched")
+                .description("Stale forecasts replaced by a new body")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.requests", staleServed, AtomicLong::get)
+                .tag("result", "stale")
+                .description("Stale forecasts served because NWS was unavailable")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.persistent.lookups", persistentHits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("In-process misses served from the forecast_cache table")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.cache.persistent.lookups", persistentMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("In-process misses not found in the forecast_cache table either")
+                .register(registry);
+        Gauge.builder("weather.forecast.cache.size", entries, BoundedTtlCache::size)
+                .register(registry);
+        Gauge.builder("weather.forecast.cache.warm.loaded", warmLoaded, AtomicLong::get)
+                .description("Forecasts loaded from the forecast_cache table at startup")
+                .register(registry);
+        FunctionCounter.builder("weather.forecast.fetch.coalesced", fetches, SingleFlight::getCoalescedCount)
+                .description("Callers that joined an in-flight fetch for the same grid cell")
+                .register(registry);
+        Gauge.builder("weather.forecast.fetch.in-flight", fetches, SingleFlight::inFlightCount)
+                .register(registry);
+    }
+
+    /**
+     * A cached forecast plus the validators needed to revalidate it.
+     */
+    public record Entry(
+        CompactForecast forecast,
+        String etag,
+        Instant lastModified,
+        Instant fetchedAt,
+        Instant expiresAt
+    ) {
+
+        public boolean isFresh(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        /**
+         * Copy of this entry after a 304 Not Modified: same body, new freshness lifetime.
+         * Validators from the 304 replace the old ones when present.
+         */
+        public Entry revalidated(String newEtag, Instant newLastModified, Instant now, Instant newExpiresAt) {
+            return new Entry(
+                forecast,
+                newEtag != null ? newEtag : etag,
+                newLastModified != null ? newLastModified : lastModified,
+                now,
+                newExpiresAt
+            );
+        }
+    }
+}
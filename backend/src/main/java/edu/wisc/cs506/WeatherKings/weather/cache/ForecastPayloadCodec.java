@@ -0,0 +1,113 @@
+package edu.wisc.cs506.WeatherKings.weather.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+
+/**
+ * Binary encoding of a forecast for the forecast_cache table.
+ *
+ * Stores the fields of a {@link CompactForecast} (name, temperature and unit, wind speed and
+ * direction, probability of precipitation, shortForecast), so a 14-period forecast is a few
+ * hundred bytes instead of the ~10 KB NWS JSON. Text is written out rather than as
+ * dictionary codes, which are only valid within one process.
+ *
+ * Layout: version byte, period count, then per period a presence bitmask followed by the
+ * present fields in declaration order (ints as int, strings as modified UTF-8).
+ */
+public final class ForecastPayloadCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int NAME = 1;
+    private static final int TEMPERATURE = 1 << 1;
+    private static final int TEMPERATURE_UNIT = 1 << 2;
+    private static final int WIND_SPEED = 1 << 3;
+    private static final int WIND_DIRECTION = 1 << 4;
+    private static final int PRECIPITATION = 1 << 5;
+    private static final int SHORT_FORECAST = 1 << 6;
+
+    private ForecastPayloadCodec() {
+    }
+
+    public static byte[] encode(CompactForecast forecast) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + forecast.size() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(forecast.size());
+            for (int i = 0; i < forecast.size(); i++) {
+                String name = forecast.nameAt(i);
+                String unit = forecast.temperatureUnitAt(i);
+                String windSpeed = forecast.windSpeedAt(i);
+                String windDirection = forecast.windDirectionAt(i);
+                String shortForecast = forecast.conditionAt(i);
+                int present = (name != null ? NAME : 0)
+                        | (forecast.hasTemperatureAt(i) ? TEMPERATURE : 0)
+                        | (unit != null ? TEMPERATURE_UNIT : 0)
+                        | (windSpeed != null ? WIND_SPEED : 0)
+                        | (windDirection != null ? WIND_DIRECTION : 0)
+                        | (forecast.precipitationAt(i) != CompactForecast.NO_PRECIPITATION ? PRECIPITATION : 0)
+                        | (shortForecast != null ? SHORT_FORECAST : 0);
+                out.writeByte(present);
+                if (name != null) {
+                    out.writeUTF(name);
+                }
+                if (forecast.hasTemperatureAt(i)) {
+                    out.writeInt(forecast.temperatureAt(i));
+                }
+                if (unit != null) {
+                    out.writeUTF(unit);
+                }
+                if (windSpeed != null) {
+                    out.writeUTF(windSpeed);
+                }
+                if (windDirection != null) {
+                    out.writeUTF(windDirection);
+                }
+                if (forecast.precipitationAt(i) != CompactForecast.NO_PRECIPITATION) {
+                    out.writeByte(forecast.precipitationAt(i));
+                }
+                if (shortForecast != null) {
+                    out.writeUTF(shortForecast);
+                }
+            }
+        } catch (IOException e) {
+            // Only thrown by the underlying stream, which is in memory
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is truncated or has an unknown version
+     */
+    public static CompactForecast decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown forecast payload version " + version);
+            }
+            int count = in.readUnsignedShort();
+            CompactForecast forecast = CompactForecast.ofSize(count);
+            for (int i = 0; i < count; i++) {
+                int present = in.readUnsignedByte();
+                String name = (present & NAME) != 0 ? in.readUTF() : null;
+                Integer temperature = (present & TEMPERATURE) != 0 ? in.readInt() : null;
+                String unit = (present & TEMPERATURE_UNIT) != 0 ? in.readUTF() : null;
+                String windSpeed = (present & WIND_SPEED) != 0 ? in.readUTF() : null;
+                String windDirection = (present & WIND_DIRECTION) != 0 ? in.readUTF() : null;
+                Integer precipitation = (present & PRECIPITATION) != 0 ? in.readUnsignedByte() : null;
+                String shortForecast = (present & SHORT_FORECAST) != 0 ? in.readUTF() : null;
+                forecast.set(i, name, temperature, unit, precipitation, windSpeed, windDirection, shortForecast);
+            }
+            return forecast;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated forecast payload", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package edu.wisc.cs506.WeatherKings.weather.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Helpers for reading HTTP caching headers (RFC 9111) from upstream responses.
+ */
+public final class HttpCacheHeaders {
+
+    private HttpCacheHeaders() {}
+
+    /**
+     * Compute when a response stops being fresh.
+     *
+     * Precedence follows the RFC for a shared cache: s-maxage, then max-age (both reduced by Age),
+     * then Expires. no-cache / no-store make the response stale immediately, so it is revalidated
+     * on next use. If the server sent nothing usable, the fallback TTL is applied.
+     *
+     * @param headers Response headers
+     * @param now Time the response was received
+     * @param fallbackTtl Freshness lifetime to use when no caching headers are present
+     * @return Instant after which the response must be revalidated
+     */
+    public static Instant expiresAt(HttpHeaders headers, Instant now, Duration fallbackTtl) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-cache") || directives.contains("no-store")) {
+                return now;
+            }
+
+            Long maxAge = directiveSeconds(directives, "s-maxage");
+            if (maxAge == null) {
+                maxAge = directiveSeconds(directives, "max-age");
+            }
+            if (maxAge != null) {
+                long age = parseAge(headers.getFirst("Age"));
+                return now.plusSeconds(Math.max(0, maxAge - age));
+            }
+        }
+
+        long expires = headers.getExpires();
+        if (expires >= 0) {
+            Instant expiresAt = Instant.ofEpochMilli(expires);
+            return expiresAt.isAfter(now) ? expiresAt : now;
+        }
+
+        return now.plus(fallbackTtl);
+    }
+
+    /**
+     * Last-Modified as an Instant, or null if the header is absent.
+     */
+    public static Instant lastModified(HttpHeaders headers) {
+        long lastModified = headers.getLastModified();
+        return lastModified >= 0 ? Instant.ofEpochMilli(lastModified) : null;
+    }
+
+    private static Long directiveSeconds(String directives, String name) {
+        for (String directive : directives.split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.startsWith(name + "=")) {
+                try {
+                    return Long.parseLong(trimmed.substring(name.length() + 1).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long parseAge(String age) {
+        if (age == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(age.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
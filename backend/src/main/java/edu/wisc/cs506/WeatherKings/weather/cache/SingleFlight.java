@@ -0,0 +1,71 @@
+package edu.wisc.cs506.WeatherKings.weather.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ *
+ * The first caller for a key runs the loader on its own thread; callers that arrive while
+ * that load is in flight wait on the same future and receive the same result (or exception).
+ * Once the load finishes the key is released, so later calls start a new load.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Run the loader for a key, or join the load already running for it.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> ours = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, ours);
+
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        loads.incrementAndGet();
+        try {
+            V value = loader.get();
+            ours.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    public int inFlightCount() { return inFlight.size(); }
+
+    public long getLoadCount() { return loads.get(); }
+
+    public long getCoalescedCount() { return coalesced.get(); }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception unchanged so callers handle it the same way
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
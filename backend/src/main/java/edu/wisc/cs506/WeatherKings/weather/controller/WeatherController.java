@@ -32,7 +32,7 @@ public class WeatherController {
      * - Temperature
      * - Wind speed and direction
      * - Precipitation probability
-     * - Detailed forecast text
+     * - Short forecast text (detailed prose is not fetched)
      * 
      * @param lat Latitude (-90 to 90)
      * @param lon Longitude (-180 to 180)
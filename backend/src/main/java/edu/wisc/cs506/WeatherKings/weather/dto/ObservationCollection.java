@@ -0,0 +1,16 @@
+package edu.wisc.cs506.WeatherKings.weather.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+/**
+ * DTO for the NWS /stations/{stationId}/observations endpoint.
+ * Each feature has the same shape as /observations/latest; NWS lists them newest first.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ObservationCollection {
+    private List<WeatherObservation> features;
+
+    public List<WeatherObservation> getFeatures() { return features; }
+    public void setFeatures(List<WeatherObservation> features) { this.features = features; }
+}
@@ -0,0 +1,76 @@
+package edu.wisc.cs506.WeatherKings.weather.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * DTO for the Open-Meteo /v1/forecast response (secondary weather provider).
+ * Daily values are parallel arrays indexed by day; current holds the latest conditions.
+ * Units are Open-Meteo's defaults: °C and mm.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OpenMeteoResponse {
+    private Daily daily;
+    private Current current;
+
+    public Daily getDaily() { return daily; }
+    public void setDaily(Daily daily) { this.daily = daily; }
+
+    public Current getCurrent() { return current; }
+    public void setCurrent(Current current) { this.current = current; }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Daily {
+        private List<String> time;                          // e.g. "2025-01-15"
+
+        @JsonProperty("temperature_2m_max")
+        private List<Double> temperatureMax;
+
+        @JsonProperty("temperature_2m_min")
+        private List<Double> temperatureMin;
+
+        @JsonProperty("precipitation_probability_max")
+        private List<Integer> precipitationProbabilityMax;  // 0-100
+
+        @JsonProperty("weather_code")
+        private List<Integer> weatherCode;                  // WMO code
+
+        public List<String> getTime() { return time; }
+        public void setTime(List<String> time) { this.time = time; }
+
+        public List<Double> getTemperatureMax() { return temperatureMax; }
+        public void setTemperatureMax(List<Double> temperatureMax) { this.temperatureMax = temperatureMax; }
+
+        public List<Double> getTemperatureMin() { return temperatureMin; }
+        public void setTemperatureMin(List<Double> temperatureMin) { this.temperatureMin = temperatureMin; }
+
+        public List<Integer> getPrecipitationProbabilityMax() { return precipitationProbabilityMax; }
+        public void setPrecipitationProbabilityMax(List<Integer> precipitationProbabilityMax) {
+            this.precipitationProbabilityMax = precipitationProbabilityMax;
+        }
+
+        public List<Integer> getWeatherCode() { return weatherCode; }
+        public void setWeatherCode(List<Integer> weatherCode) { this.weatherCode = weatherCode; }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Current {
+        @JsonProperty("temperature_2m")
+        private Double temperature;     // °C
+
+        private Double precipitation;   // mm over the preceding hour
+
+        @JsonProperty("weather_code")
+        private Integer weatherCode;
+
+        public Double getTemperature() { return temperature; }
+        public void setTemperature(Double temperature) { this.temperature = temperature; }
+
+        public Double getPrecipitation() { return precipitation; }
+        public void setPrecipitation(Double precipitation) { this.precipitation = precipitation; }
+
+        public Integer getWeatherCode() { return weatherCode; }
+        public void setWeatherCode(Integer weatherCode) { this.weatherCode = weatherCode; }
+    }
+}
@@ -24,6 +24,10 @@ public class PointsResponse {
     public static class Properties {
         private String forecast;           // URL for forecast data
         private String forecastHourly;     // URL for hourly forecast
+        private String gridId;             // Forecast office, e.g. "MKX"
+        private Integer gridX;             // Grid cell X coordinate
+        private Integer gridY;             // Grid cell Y coordinate
+        private String timeZone;           // IANA zone, e.g. "America/Chicago"
         
         public String getForecast() { 
             return forecast; 
@@ -40,5 +44,37 @@ public class PointsResponse {
         public void setForecastHourly(String forecastHourly) { 
             this.forecastHourly = forecastHourly; 
         }
+        
+        public String getGridId() { 
+            return gridId; 
+        }
+        
+        public void setGridId(String gridId) { 
+            this.gridId = gridId; 
+        }
+        
+        public Integer getGridX() { 
+            return gridX; 
+        }
+        
+        public void setGridX(Integer gridX) { 
+            this.gridX = gridX; 
+        }
+        
+        public Integer getGridY() { 
+            return gridY; 
+        }
+        
+        public void setGridY(Integer gridY) { 
+            this.gridY = gridY; 
+        }
+        
+        public String getTimeZone() { 
+            return timeZone; 
+        }
+        
+        public void setTimeZone(String timeZone) { 
+            this.timeZone = timeZone; 
+        }
     }
 }
\ No newline at end of file
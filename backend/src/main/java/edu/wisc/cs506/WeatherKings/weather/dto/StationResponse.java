@@ -6,13 +6,57 @@ import java.util.List;
 /**
  * DTO for NWS stations endpoint response.
  * Used to find nearest weather station for a location.
+ * Stations are listed nearest first; features carry each station's location and time zone.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class StationResponse {
     private List<String> observationStations;
-    
+    private List<Feature> features;
+
     public List<String> getObservationStations() { return observationStations; }
-    public void setObservationStations(List<String> observationStations) { 
-        this.observationStations = observationStations; 
+    public void setObservationStations(List<String> observationStations) {
+        this.observationStations = observationStations;
+    }
+
+    public List<Feature> getFeatures() { return features; }
+    public void setFeatures(List<Feature> features) { this.features = features; }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Feature {
+        private Geometry geometry;
+        private FeatureProperties properties;
+
+        public Geometry getGeometry() { return geometry; }
+        public void setGeometry(Geometry geometry) { this.geometry = geometry; }
+
+        public FeatureProperties getProperties() { return properties; }
+        public void setProperties(FeatureProperties properties) { this.properties = properties; }
+    }
+
+    /**
+     * GeoJSON point - coordinates are [longitude, latitude]
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Geometry {
+        private List<Double> coordinates;
+
+        public List<Double> getCoordinates() { return coordinates; }
+        public void setCoordinates(List<Double> coordinates) { this.coordinates = coordinates; }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class FeatureProperties {
+        private String stationIdentifier;   // e.g. "KMSN"
+        private String name;
+        private String timeZone;            // e.g. "America/Chicago"
+
+        public String getStationIdentifier() { return stationIdentifier; }
+        public void setStationIdentifier(String stationIdentifier) { this.stationIdentifier = stationIdentifier; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getTimeZone() { return timeZone; }
+        public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
     }
-}
\ No newline at end of file
+}
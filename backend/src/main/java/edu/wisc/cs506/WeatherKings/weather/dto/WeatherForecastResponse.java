@@ -53,7 +53,7 @@ public class WeatherForecastResponse {
         private ProbabilityValue probabilityOfPrecipitation;  // Nested object
         
         private String shortForecast;           // e.g., "Partly Cloudy"
-        private String detailedForecast;        // Full text description
+        private String detailedForecast;        // Full text description (not read by ForecastStreamParser)
         
         // Getters and Setters
         public String getName() { 
@@ -2,6 +2,7 @@ package edu.wisc.cs506.WeatherKings.weather.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
 
 /**
  * DTO for actual weather observations from NWS stations.
@@ -16,6 +17,9 @@ public class WeatherObservation {
     
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Properties {
+        // ISO-8601 observation time, e.g. "2025-11-18T14:53:00+00:00"
+        private String timestamp;
+        
         private TemperatureValue temperature;
         
         @JsonProperty("precipitationLastHour")
@@ -23,6 +27,13 @@ public class WeatherObservation {
         
         private String textDescription;
         
+        private WindValue windGust;
+        
+        private List<CloudLayer> cloudLayers;
+        
+        public String getTimestamp() { return timestamp; }
+        public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+        
         public TemperatureValue getTemperature() { return temperature; }
         public void setTemperature(TemperatureValue temperature) { this.temperature = temperature; }
         
@@ -33,6 +44,28 @@ public class WeatherObservation {
         
         public String getTextDescription() { return textDescription; }
         public void setTextDescription(String textDescription) { this.textDescription = textDescription; }
+        
+        public WindValue getWindGust() { return windGust; }
+        public void setWindGust(WindValue windGust) { this.windGust = windGust; }
+        
+        public List<CloudLayer> getCloudLayers() { return cloudLayers; }
+        public void setCloudLayers(List<CloudLayer> cloudLayers) { this.cloudLayers = cloudLayers; }
+        
+        /**
+         * Sky cover of the most covered cloud layer as a percentage (METAR oktas midpoints),
+         * or null if no layers were reported.
+         */
+        public Integer getSkyCoverPercent() {
+            if (cloudLayers == null || cloudLayers.isEmpty()) return null;
+            Integer cover = null;
+            for (CloudLayer layer : cloudLayers) {
+                Integer layerCover = layer.getCoverPercent();
+                if (layerCover != null && (cover == null || layerCover > cover)) {
+                    cover = layerCover;
+                }
+            }
+            return cover;
+        }
     }
     
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -54,13 +87,61 @@ public class WeatherObservation {
     
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class PrecipitationValue {
-        private Double value;  // In meters from API
+        private Double value;  // In the unit of unitCode; NWS reports wmoUnit:mm
+        private String unitCode;
         
         public Double getValue() { return value; }
         public void setValue(Double value) { this.value = value; }
         
+        public String getUnitCode() { return unitCode; }
+        public void setUnitCode(String unitCode) { this.unitCode = unitCode; }
+        
+        public Double getValueInMillimeters() {
+            if (value == null) return null;
+            if ("wmoUnit:m".equals(unitCode)) return value * 1000.0;
+            return value;
+        }
+        
         public boolean hasRain() {
             return value != null && value > 0.0;
         }
     }
-}
\ No newline at end of file
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class WindValue {
+        private Double value;  // In km/h from API
+        private String unitCode;
+        
+        public Double getValue() { return value; }
+        public void setValue(Double value) { this.value = value; }
+        
+        public String getUnitCode() { return unitCode; }
+        public void setUnitCode(String unitCode) { this.unitCode = unitCode; }
+        
+        public Double getValueInMph() {
+            if (value == null) return null;
+            if ("wmoUnit:m_s-1".equals(unitCode)) return value * 2.236936;
+            return value * 0.621371;
+        }
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CloudLayer {
+        private String amount;  // CLR, SKC, FEW, SCT, BKN, OVC or VV
+        
+        public String getAmount() { return amount; }
+        public void setAmount(String amount) { this.amount = amount; }
+        
+        public Integer getCoverPercent() {
+            if (amount == null) return null;
+            return switch (amount) {
+                case "CLR", "SKC" -> 0;
+                case "FEW" -> 19;
+                case "SCT" -> 44;
+                case "BKN" -> 75;
+                case "OVC", "VV" -> 100;
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package edu.wisc.cs506.WeatherKings.weather.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+
+/**
+ * Static 3-d tree over observation stations for nearest-station queries.
+ *
+ * Stations are placed on the unit sphere (x, y, z), so straight-line (chord) distance orders
+ * them exactly like great-circle distance and there is no special case at the poles or the
+ * antimeridian. The tree is implicit: each subtree is a range of the arrays with its median
+ * in the middle, split on x, y, z by depth, so there are no node objects and a query touches
+ * only primitive arrays. Built once; immutable and safe to share between threads.
+ */
+public final class StationKdTree {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Stations and their unit vectors in tree order
+    private final ObservationStation[] stations;
+    private final double[][] coords;
+
+    /**
+     * @param stations Stations to index; ones without coordinates are skipped
+     */
+    public StationKdTree(List<ObservationStation> stations) {
+        List<ObservationStation> located = new ArrayList<>(stations.size());
+        for (ObservationStation station : stations) {
+            if (station.latitude() != null && station.longitude() != null) {
+                located.add(station);
+            }
+        }
+
+        int n = located.size();
+        double[][] points = new double[3][n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            ObservationStation station = located.get(i);
+            double[] point = unitVector(station.latitude(), station.longitude());
+            for (int axis = 0; axis < 3; axis++) {
+                points[axis][i] = point[axis];
+            }
+            order[i] = i;
+        }
+        build(order, points, 0, n, 0);
+
+        this.stations = new ObservationStation[n];
+        this.coords = new double[3][n];
+        for (int i = 0; i < n; i++) {
+            this.stations[i] = located.get(order[i]);
+            for (int axis = 0; axis < 3; axis++) {
+                this.coords[axis][i] = points[axis][order[i]];
+            }
+        }
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    /**
+     * The k stations nearest to a coordinate within a radius, nearest first.
+     *
+     * @param k Maximum number of stations to return
+     * @param maxDistanceKm Great-circle radius to search
+     * @return Up to k stations, empty if none is within the radius
+     */
+    public List<ObservationStation> nearest(double latitude, double longitude, int k, double maxDistanceKm) {
+        if (k <= 0 || stations.length == 0) {
+            return List.of();
+        }
+        double[] query = unitVector(latitude, longitude);
+
+        double chord = 2 * Math.sin(Math.min(maxDistanceKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        Best best = new Best(k, chord * chord);
+        search(query, 0, stations.length, 0, best);
+
+        List<ObservationStation> result = new ArrayList<>(best.count);
+        for (int i = 0; i < best.count; i++) {
+            result.add(stations[best.indices[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Great-circle distance in km.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void search(double[] query, int lo, int hi, int depth, Best best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double dx = query[0] - coords[0][mid];
+        double dy = query[1] - coords[1][mid];
+        double dz = query[2] - coords[2][mid];
+        best.offer(mid, dx * dx + dy * dy + dz * dz);
+
+        int axis = depth % 3;
+        double diff = query[axis] - coords[axis][mid];
+        if (diff < 0) {
+            search(query, lo, mid, depth + 1, best);
+            if (diff * diff < best.bound()) {
+                search(query, mid + 1, hi, depth + 1, best);
+            }
+        } else {
+            search(query, mid + 1, hi, depth + 1, best);
+            if (diff * diff < best.bound()) {
+                search(query, lo, mid, depth + 1, best);
+            }
+        }
+    }
+
+    private static double[] unitVector(double latitude, double longitude) {
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+        return new double[] {
+            Math.cos(latRad) * Math.cos(lonRad),
+            Math.cos(latRad) * Math.sin(lonRad),
+            Math.sin(latRad)
+        };
+    }
+
+    /**
+     * Arrange order[lo, hi) so its middle element is the median on this depth's axis, with
+     * smaller values before it and larger after, then recurse into both halves.
+     */
+    private static void build(int[] order, double[][] points, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(order, points[depth % 3], lo, hi - 1, mid);
+        build(order, points, lo, mid, depth + 1);
+        build(order, points, mid + 1, hi, depth + 1);
+    }
+
+    // Quickselect (Hoare partition) of the k-th smallest in order[left..right] by axis value
+    private static void select(int[] order, double[] axis, int left, int right, int k) {
+        while (left < right) {
+            double pivot = axis[order[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (axis[order[i]] < pivot) {
+                    i++;
+                }
+                while (axis[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The k closest candidates so far, sorted by distance. k is small (a handful of failover
+     * stations), so insertion into a sorted array beats a heap.
+     */
+    private static final class Best {
+        private final int[] indices;
+        private final double[] distances;
+        private final double radius;
+        private int count;
+
+        Best(int k, double radius) {
+            this.indices = new int[k];
+            this.distances = new double[k];
+            this.radius = radius;
+        }
+
+        double bound() {
+            return count == indices.length ? distances[count - 1] : radius;
+        }
+
+        void offer(int index, double distance) {
+            if (distance > radius || (count == indices.length && distance >= distances[count - 1])) {
+                return;
+            }
+            int i = count == indices.length ? count - 1 : count++;
+            while (i > 0 && distances[i - 1] > distance) {
+                indices[i] = indices[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            indices[i] = index;
+            distances[i] = distance;
+        }
+    }
+}
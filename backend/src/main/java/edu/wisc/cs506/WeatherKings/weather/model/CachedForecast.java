@@ -0,0 +1,85 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * JPA Entity for the 'forecast_cache' table.
+ * Second tier behind the in-process ForecastCache: the last forecast fetched for each NWS
+ * grid cell with its freshness and validators, so a restarted node can serve (or
+ * conditionally revalidate) forecasts without downloading them again.
+ * All times are UTC.
+ */
+@Entity
+@Table(name = "forecast_cache")
+public class CachedForecast {
+
+    // Grid cell key, e.g. "MKX/37,63"
+    @Id
+    @Column(name = "grid_cell", length = 24)
+    private String gridCell;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "etag", length = 128)
+    private String etag;
+
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    // Encoded by ForecastPayloadCodec
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "mediumblob")
+    private byte[] payload;
+
+    public CachedForecast() {}
+
+    public CachedForecast(String gridCell, byte[] payload, String etag, Instant lastModified,
+                          Instant fetchedAt, Instant expiresAt) {
+        this.gridCell = gridCell;
+        this.payload = payload;
+        this.etag = etag;
+        this.lastModified = toUtc(lastModified);
+        this.fetchedAt = toUtc(fetchedAt);
+        this.expiresAt = toUtc(expiresAt);
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant fromUtc(LocalDateTime time) {
+        return time == null ? null : time.toInstant(ZoneOffset.UTC);
+    }
+
+    public Instant getFetchedInstant() { return fromUtc(fetchedAt); }
+
+    public Instant getExpiresInstant() { return fromUtc(expiresAt); }
+
+    public Instant getLastModifiedInstant() { return fromUtc(lastModified); }
+
+    // Getters and Setters
+    public String getGridCell() { return gridCell; }
+    public void setGridCell(String gridCell) { this.gridCell = gridCell; }
+
+    public LocalDateTime getFetchedAt() { return fetchedAt; }
+    public void setFetchedAt(LocalDateTime fetchedAt) { this.fetchedAt = fetchedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+    public void setLastModified(LocalDateTime lastModified) { this.lastModified = lastModified; }
+
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+}
@@ -0,0 +1,148 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+
+/**
+ * Forecast periods for one grid cell stored as parallel primitive arrays - the form the
+ * forecast cache holds in memory.
+ *
+ * Period i has:
+ * - temperature as a short ({@link #NO_TEMPERATURE} if missing)
+ * - probability of precipitation 0-100 as a byte ({@link #NO_PRECIPITATION} if missing)
+ * - name, temperature unit, wind speed, wind direction and condition text (shortForecast)
+ *   as {@link ForecastTextDictionary} codes
+ *
+ * 14 periods take ~350 bytes, against several KB for the equivalent WeatherForecastResponse
+ * graph (a Period, boxed Integers, a ProbabilityValue and five strings per period).
+ * {@link #toResponse()} rebuilds the DTO for the JSON API.
+ */
+public final class CompactForecast {
+
+    public static final short NO_TEMPERATURE = Short.MIN_VALUE;
+    public static final byte NO_PRECIPITATION = -1;
+
+    private final short[] names;
+    private final short[] temperatures;
+    private final short[] temperatureUnits;
+    private final byte[] precipitation;
+    private final short[] windSpeeds;
+    private final short[] windDirections;
+    private final short[] conditions;
+
+    private CompactForecast(int size) {
+        names = new short[size];
+        temperatures = new short[size];
+        temperatureUnits = new short[size];
+        precipitation = new byte[size];
+        windSpeeds = new short[size];
+        windDirections = new short[size];
+        conditions = new short[size];
+    }
+
+    /**
+     * Compact copy of a forecast's periods.
+     *
+     * @throws IllegalArgumentException if the forecast has no periods list
+     */
+    public static CompactForecast from(WeatherForecastResponse forecast) {
+        if (forecast == null || forecast.getProperties() == null || forecast.getProperties().getPeriods() == null) {
+            throw new IllegalArgumentException("Forecast has no periods");
+        }
+        List<Period> periods = forecast.getProperties().getPeriods();
+        CompactForecast compact = new CompactForecast(periods.size());
+        for (int i = 0; i < periods.size(); i++) {
+            Period period = periods.get(i);
+            Integer probability = period.getProbabilityOfPrecipitation() == null
+                    ? null : period.getProbabilityOfPrecipitation().getValue();
+            compact.set(i, period.getName(), period.getTemperature(), period.getTemperatureUnit(), probability,
+                        period.getWindSpeed(), period.getWindDirection(), period.getShortForecast());
+        }
+        return compact;
+    }
+
+    /**
+     * Empty forecast with room for size periods, to be filled with {@link #set} (used by decoders).
+     */
+    public static CompactForecast ofSize(int size) {
+        return new CompactForecast(size);
+    }
+
+    public void set(int i, String name, Integer temperature, String temperatureUnit, Integer precipitationPercent,
+                    String windSpeed, String windDirection, String shortForecast) {
+        names[i] = ForecastTextDictionary.codeOf(name);
+        temperatures[i] = temperature == null ? NO_TEMPERATURE
+                : (short) Math.max(Short.MIN_VALUE + 1, Math.min(Short.MAX_VALUE, temperature));
+        temperatureUnits[i] = ForecastTextDictionary.codeOf(temperatureUnit);
+        precipitation[i] = precipitationPercent == null ? NO_PRECIPITATION
+                : (byte) Math.max(0, Math.min(100, precipitationPercent));
+        windSpeeds[i] = ForecastTextDictionary.codeOf(windSpeed);
+        windDirections[i] = ForecastTextDictionary.codeOf(windDirection);
+        conditions[i] = ForecastTextDictionary.codeOf(shortForecast);
+    }
+
+    public int size() { return names.length; }
+
+    /** Period name, e.g. "Tonight" or "Thursday", or null. */
+    public String nameAt(int i) { return ForecastTextDictionary.textOf(names[i]); }
+
+    /** True for night periods ("Tonight", "Thursday Night"). */
+    public boolean isNightAt(int i) {
+        String name = nameAt(i);
+        return name != null && name.toLowerCase(Locale.ROOT).contains("night");
+    }
+
+    /** Temperature, or {@link #NO_TEMPERATURE}. */
+    public short temperatureAt(int i) { return temperatures[i]; }
+
+    public boolean hasTemperatureAt(int i) { return temperatures[i] != NO_TEMPERATURE; }
+
+    /** "F" or "C", or null. */
+    public String temperatureUnitAt(int i) { return ForecastTextDictionary.textOf(temperatureUnits[i]); }
+
+    /** Probability of precipitation 0-100, or {@link #NO_PRECIPITATION}. */
+    public byte precipitationAt(int i) { return precipitation[i]; }
+
+    /** Wind speed text, e.g. "5 to 10 mph", or null. */
+    public String windSpeedAt(int i) { return ForecastTextDictionary.textOf(windSpeeds[i]); }
+
+    /** Compass direction, e.g. "NW", or null. */
+    public String windDirectionAt(int i) { return ForecastTextDictionary.textOf(windDirections[i]); }
+
+    /** Condition code of the shortForecast text; equal codes mean equal text. */
+    public short conditionCodeAt(int i) { return conditions[i]; }
+
+    /** shortForecast text, e.g. "Mostly Sunny", or null. */
+    public String conditionAt(int i) { return ForecastTextDictionary.textOf(conditions[i]); }
+
+    /**
+     * Rebuild the NWS-shaped DTO (for the forecast API response).
+     */
+    public WeatherForecastResponse toResponse() {
+        List<Period> periods = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            Period period = new Period();
+            period.setName(nameAt(i));
+            period.setTemperature(hasTemperatureAt(i) ? Integer.valueOf(temperatures[i]) : null);
+            period.setTemperatureUnit(temperatureUnitAt(i));
+            period.setWindSpeed(windSpeedAt(i));
+            period.setWindDirection(windDirectionAt(i));
+            period.setShortForecast(conditionAt(i));
+            // NWS always sends the object, with a null value when there is no probability
+            WeatherForecastResponse.ProbabilityValue probability = new WeatherForecastResponse.ProbabilityValue();
+            probability.setValue(precipitation[i] != NO_PRECIPITATION ? Integer.valueOf(precipitation[i]) : null);
+            period.setProbabilityOfPrecipitation(probability);
+            periods.add(period);
+        }
+
+        WeatherForecastResponse.Properties properties = new WeatherForecastResponse.Properties();
+        properties.setPeriods(periods);
+        WeatherForecastResponse forecast = new WeatherForecastResponse();
+        forecast.setProperties(properties);
+        return forecast;
+    }
+}
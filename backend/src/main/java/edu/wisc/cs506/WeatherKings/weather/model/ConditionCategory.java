@@ -0,0 +1,41 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import java.util.Locale;
+
+/**
+ * Coarse sky/precipitation category of an observation's textDescription.
+ * A fixed set keeps per-day condition counting to a handful of counters.
+ */
+public enum ConditionCategory {
+    CLEAR,
+    CLOUDY,
+    RAIN,
+    SNOW,
+    OTHER;
+
+    /**
+     * Classify an NWS text description such as "Mostly Clear" or "Light Rain and Fog".
+     * Precipitation wins over sky cover, so "Light Snow and Fog" is SNOW.
+     *
+     * @return the category, or null if there is no description
+     */
+    public static ConditionCategory classify(String textDescription) {
+        if (textDescription == null || textDescription.isBlank()) {
+            return null;
+        }
+        String text = textDescription.toLowerCase(Locale.ROOT);
+        if (text.contains("snow") || text.contains("sleet") || text.contains("ice") || text.contains("flurr")) {
+            return SNOW;
+        }
+        if (text.contains("rain") || text.contains("drizzle") || text.contains("shower") || text.contains("thunder")) {
+            return RAIN;
+        }
+        if (text.contains("clear") || text.contains("sunny") || text.contains("fair")) {
+            return CLEAR;
+        }
+        if (text.contains("cloud") || text.contains("overcast")) {
+            return CLOUDY;
+        }
+        return OTHER;
+    }
+}
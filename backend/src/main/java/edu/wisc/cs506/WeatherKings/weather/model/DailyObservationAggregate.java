@@ -0,0 +1,323 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import jakarta.persistence.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * JPA Entity for the 'daily_observation_aggregates' table.
+ * Running max/min temperature, max wind gust, precipitation and snow totals, sky cover and
+ * condition counts for one station over one local calendar day, updated in O(1) per
+ * observation by {@link #fold}.
+ *
+ * The overnight low is kept separately: it is the minimum from local midnight to 09:00, the
+ * same window the MIN_TEMP market is priced on (GridpointDataStreamParser), so an evening
+ * cold front does not decide a line priced on the morning low.
+ *
+ * A row is only final once it covers the whole local day ({@link #coversWholeDay}); a day the
+ * poller joined late, or one that has not ended yet, must not settle bets.
+ */
+@Entity
+@Table(name = "daily_observation_aggregates")
+public class DailyObservationAggregate {
+
+    // End of the overnight-low window, local time; matches GridpointDataStreamParser.OVERNIGHT_WINDOW
+    public static final LocalTime OVERNIGHT_END = LocalTime.of(9, 0);
+
+    // Largest gap allowed between local midnight and the first/last observation of the day.
+    // Stations report at least hourly, so anything wider means the poller missed part of the day.
+    public static final Duration MAX_EDGE_GAP = Duration.ofMinutes(90);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "aggregate_id")
+    private Integer aggregateId;
+
+    @Column(name = "station_id", nullable = false, length = 10)
+    private String stationId;
+
+    // Calendar day in the station's time zone
+    @Column(name = "local_date", nullable = false)
+    private LocalDate localDate;
+
+    @Column(name = "time_zone", nullable = false, length = 40)
+    private String timeZone;
+
+    @Column(name = "max_temp_f")
+    private Double maxTempF;
+
+    @Column(name = "min_temp_f")
+    private Double minTempF;
+
+    // Minimum from local midnight to OVERNIGHT_END
+    @Column(name = "overnight_min_temp_f")
+    private Double overnightMinTempF;
+
+    @Column(name = "max_wind_gust_mph")
+    private Double maxWindGustMph;
+
+    // Sum of precipitationLastHour over the day's clock hours, in mm
+    @Column(name = "precipitation_total", nullable = false)
+    private Double precipitationTotal = 0.0;
+
+    // Largest precipitationLastHour seen in the hour of the last observation
+    @Column(name = "current_hour_precipitation", nullable = false)
+    private Double currentHourPrecipitation = 0.0;
+
+    // Part of precipitation_total that fell while the reported condition was snow (liquid mm)
+    @Column(name = "snow_liquid_total", nullable = false)
+    private Double snowLiquidTotal = 0.0;
+
+    @Column(name = "sky_cover_sum", nullable = false)
+    private Double skyCoverSum = 0.0;
+
+    @Column(name = "sky_cover_count", nullable = false)
+    private Integer skyCoverCount = 0;
+
+    @Column(name = "clear_count", nullable = false)
+    private Integer clearCount = 0;
+
+    @Column(name = "cloudy_count", nullable = false)
+    private Integer cloudyCount = 0;
+
+    @Column(name = "rain_count", nullable = false)
+    private Integer rainCount = 0;
+
+    @Column(name = "snow_count", nullable = false)
+    private Integer snowCount = 0;
+
+    @Column(name = "other_count", nullable = false)
+    private Integer otherCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dominant_condition", length = 10)
+    private ConditionCategory dominantCondition;
+
+    @Column(name = "observation_count", nullable = false)
+    private Integer observationCount = 0;
+
+    // UTC time of the oldest observation folded in
+    @Column(name = "first_observation_at")
+    private LocalDateTime firstObservationAt;
+
+    // UTC time of the newest observation folded in
+    @Column(name = "last_observation_at")
+    private LocalDateTime lastObservationAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public DailyObservationAggregate() {}
+
+    public DailyObservationAggregate(String stationId, LocalDate localDate, String timeZone) {
+        this.stationId = stationId;
+        this.localDate = localDate;
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * Fold one observation into the day. Observations must arrive oldest first.
+     *
+     * precipitationLastHour is repeated by every report in the same hour (routine and
+     * special METARs), so only the largest value per clock hour counts towards the total.
+     *
+     * @param observedAt Observation time
+     * @param temperatureF Temperature in °F, or null
+     * @param precipitationLastHour Precipitation over the last hour in mm, or null
+     * @param condition Condition category, or null if the observation had no description
+     * @param windGustMph Wind gust in mph, or null
+     * @param skyCoverPercent Sky cover 0-100, or null
+     */
+    public void fold(Instant observedAt, Double temperatureF, Double precipitationLastHour,
+                     ConditionCategory condition, Double windGustMph, Integer skyCoverPercent) {
+        if (temperatureF != null) {
+            maxTempF = maxTempF == null ? temperatureF : Math.max(maxTempF, temperatureF);
+            minTempF = minTempF == null ? temperatureF : Math.min(minTempF, temperatureF);
+            if (isOvernight(observedAt)) {
+                overnightMinTempF = overnightMinTempF == null ? temperatureF : Math.min(overnightMinTempF, temperatureF);
+            }
+        }
+        if (windGustMph != null) {
+            maxWindGustMph = maxWindGustMph == null ? windGustMph : Math.max(maxWindGustMph, windGustMph);
+        }
+        if (skyCoverPercent != null) {
+            skyCoverSum += skyCoverPercent;
+            skyCoverCount++;
+        }
+
+        Instant lastObserved = getLastObservationInstant();
+        boolean sameHour = lastObserved != null
+                && lastObserved.truncatedTo(ChronoUnit.HOURS).equals(observedAt.truncatedTo(ChronoUnit.HOURS));
+        if (!sameHour) {
+            currentHourPrecipitation = 0.0;
+        }
+        if (precipitationLastHour != null && precipitationLastHour > currentHourPrecipitation) {
+            double increment = precipitationLastHour - currentHourPrecipitation;
+            precipitationTotal += increment;
+            if (condition == ConditionCategory.SNOW) {
+                snowLiquidTotal += increment;
+            }
+            currentHourPrecipitation = precipitationLastHour;
+        }
+
+        if (condition != null) {
+            int count = incrementCondition(condition);
+            if (dominantCondition == null || count > conditionCount(dominantCondition)) {
+                dominantCondition = condition;
+            }
+        }
+
+        observationCount++;
+        if (firstObservationAt == null) {
+            firstObservationAt = LocalDateTime.ofInstant(observedAt, ZoneOffset.UTC);
+        }
+        lastObservationAt = LocalDateTime.ofInstant(observedAt, ZoneOffset.UTC);
+        updatedAt = LocalDateTime.now();
+    }
+
+    private boolean isOvernight(Instant observedAt) {
+        LocalDateTime local = LocalDateTime.ofInstant(observedAt, ZoneId.of(timeZone));
+        return local.toLocalDate().equals(localDate) && local.toLocalTime().isBefore(OVERNIGHT_END);
+    }
+
+    private int incrementCondition(ConditionCategory condition) {
+        return switch (condition) {
+            case CLEAR -> ++clearCount;
+            case CLOUDY -> ++cloudyCount;
+            case RAIN -> ++rainCount;
+            case SNOW -> ++snowCount;
+            case OTHER -> ++otherCount;
+        };
+    }
+
+    public int conditionCount(ConditionCategory condition) {
+        return switch (condition) {
+            case CLEAR -> clearCount;
+            case CLOUDY -> cloudyCount;
+            case RAIN -> rainCount;
+            case SNOW -> snowCount;
+            case OTHER -> otherCount;
+        };
+    }
+
+    /**
+     * Snowfall estimated from the liquid precipitation that fell as snow, using the usual
+     * 10:1 snow-to-liquid ratio (stations do not report snowfall itself).
+     */
+    public double getSnowfallInchesEstimate() {
+        return snowLiquidTotal * 10.0 / 25.4;
+    }
+
+    /**
+     * Mean sky cover over the observations that reported cloud layers, or null if none did.
+     */
+    public Double getAverageSkyCover() {
+        return skyCoverCount == 0 ? null : skyCoverSum / skyCoverCount;
+    }
+
+    /**
+     * Whether the row holds the whole local day: the day is over, and its first and last
+     * observations are within MAX_EDGE_GAP of the local midnights that bound it.
+     */
+    public boolean coversWholeDay(Instant now) {
+        if (firstObservationAt == null || lastObservationAt == null) {
+            return false;
+        }
+        ZoneId zone = ZoneId.of(timeZone);
+        Instant dayStart = localDate.atStartOfDay(zone).toInstant();
+        Instant dayEnd = localDate.plusDays(1).atStartOfDay(zone).toInstant();
+        return !now.isBefore(dayEnd)
+                && !firstObservationAt.toInstant(ZoneOffset.UTC).isAfter(dayStart.plus(MAX_EDGE_GAP))
+                && !lastObservationAt.toInstant(ZoneOffset.UTC).isBefore(dayEnd.minus(MAX_EDGE_GAP));
+    }
+
+    /**
+     * Whether the day was cut at the station's own midnight. Rows folded while the station's
+     * zone was unknown were kept in UTC days ("Z"), which are 5-10 hours off a US-local bet date.
+     */
+    public boolean hasStationTimeZone() {
+        return timeZone != null && !ZoneOffset.UTC.getId().equals(timeZone);
+    }
+
+    public Instant getLastObservationInstant() {
+        return lastObservationAt == null ? null : lastObservationAt.toInstant(ZoneOffset.UTC);
+    }
+
+    // Getters and Setters
+    public Integer getAggregateId() { return aggregateId; }
+    public void setAggregateId(Integer aggregateId) { this.aggregateId = aggregateId; }
+
+    public String getStationId() { return stationId; }
+    public void setStationId(String stationId) { this.stationId = stationId; }
+
+    public LocalDate getLocalDate() { return localDate; }
+    public void setLocalDate(LocalDate localDate) { this.localDate = localDate; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public Double getMaxTempF() { return maxTempF; }
+    public void setMaxTempF(Double maxTempF) { this.maxTempF = maxTempF; }
+
+    public Double getMinTempF() { return minTempF; }
+    public void setMinTempF(Double minTempF) { this.minTempF = minTempF; }
+
+    public Double getOvernightMinTempF() { return overnightMinTempF; }
+    public void setOvernightMinTempF(Double overnightMinTempF) { this.overnightMinTempF = overnightMinTempF; }
+
+    public Double getMaxWindGustMph() { return maxWindGustMph; }
+    public void setMaxWindGustMph(Double maxWindGustMph) { this.maxWindGustMph = maxWindGustMph; }
+
+    public Double getPrecipitationTotal() { return precipitationTotal; }
+    public void setPrecipitationTotal(Double precipitationTotal) { this.precipitationTotal = precipitationTotal; }
+
+    public Double getCurrentHourPrecipitation() { return currentHourPrecipitation; }
+    public void setCurrentHourPrecipitation(Double currentHourPrecipitation) {
+        this.currentHourPrecipitation = currentHourPrecipitation;
+    }
+
+    public Double getSnowLiquidTotal() { return snowLiquidTotal; }
+    public void setSnowLiquidTotal(Double snowLiquidTotal) { this.snowLiquidTotal = snowLiquidTotal; }
+
+    public Double getSkyCoverSum() { return skyCoverSum; }
+    public void setSkyCoverSum(Double skyCoverSum) { this.skyCoverSum = skyCoverSum; }
+
+    public Integer getSkyCoverCount() { return skyCoverCount; }
+    public void setSkyCoverCount(Integer skyCoverCount) { this.skyCoverCount = skyCoverCount; }
+
+    public Integer getClearCount() { return clearCount; }
+    public void setClearCount(Integer clearCount) { this.clearCount = clearCount; }
+
+    public Integer getCloudyCount() { return cloudyCount; }
+    public void setCloudyCount(Integer cloudyCount) { this.cloudyCount = cloudyCount; }
+
+    public Integer getRainCount() { return rainCount; }
+    public void setRainCount(Integer rainCount) { this.rainCount = rainCount; }
+
+    public Integer getSnowCount() { return snowCount; }
+    public void setSnowCount(Integer snowCount) { this.snowCount = snowCount; }
+
+    public Integer getOtherCount() { return otherCount; }
+    public void setOtherCount(Integer otherCount) { this.otherCount = otherCount; }
+
+    public ConditionCategory getDominantCondition() { return dominantCondition; }
+    public void setDominantCondition(ConditionCategory dominantCondition) { this.dominantCondition = dominantCondition; }
+
+    public Integer getObservationCount() { return observationCount; }
+    public void setObservationCount(Integer observationCount) { this.observationCount = observationCount; }
+
+    public LocalDateTime getFirstObservationAt() { return firstObservationAt; }
+    public void setFirstObservationAt(LocalDateTime firstObservationAt) { this.firstObservationAt = firstObservationAt; }
+
+    public LocalDateTime getLastObservationAt() { return lastObservationAt; }
+    public void setLastObservationAt(LocalDateTime lastObservationAt) { this.lastObservationAt = lastObservationAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,72 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide table of the short strings that repeat across forecasts - condition text such
+ * as "Mostly Sunny", period names, wind speeds and directions, temperature units.
+ *
+ * Each distinct string is stored once and referred to by a short code, so thousands of
+ * cached forecasts share one "Mostly Sunny" instead of holding a copy each. NWS uses a few
+ * hundred distinct values, far below the 32767 codes available. Codes are only meaningful
+ * within this process; anything persisted stores the text.
+ */
+public final class ForecastTextDictionary {
+
+    /** Code for a missing (null) value. */
+    public static final short NONE = -1;
+
+    private static final ConcurrentMap<String, Short> CODES = new ConcurrentHashMap<>();
+    private static volatile String[] texts = new String[64];
+    private static int size;
+
+    private ForecastTextDictionary() {
+    }
+
+    /**
+     * Code for a string, adding it on first use.
+     *
+     * @throws IllegalStateException if the dictionary is full
+     */
+    public static short codeOf(String text) {
+        if (text == null) {
+            return NONE;
+        }
+        Short code = CODES.get(text);
+        return code != null ? code : add(text);
+    }
+
+    private static synchronized short add(String text) {
+        Short existing = CODES.get(text);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == Short.MAX_VALUE) {
+            throw new IllegalStateException("Forecast text dictionary is full");
+        }
+        String[] current = texts;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, Math.min(current.length * 2, Short.MAX_VALUE));
+        }
+        short code = (short) size;
+        current[code] = text;
+        size++;
+        // Publish the array before the code so readers never see a code without its text
+        texts = current;
+        CODES.put(text, code);
+        return code;
+    }
+
+    /**
+     * Text for a code, or null for {@link #NONE}.
+     */
+    public static String textOf(short code) {
+        return code == NONE ? null : texts[code];
+    }
+
+    public static synchronized int size() {
+        return size;
+    }
+}
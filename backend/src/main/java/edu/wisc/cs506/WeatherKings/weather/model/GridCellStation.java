@@ -0,0 +1,82 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the 'grid_cell_stations' table.
+ * Stores the resolved observation stations for an NWS grid cell, nearest first (rank 0),
+ * so station discovery only has to happen once per cell.
+ */
+@Entity
+@Table(name = "grid_cell_stations")
+public class GridCellStation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "grid_cell_station_id")
+    private Integer gridCellStationId;
+
+    // Grid cell key, e.g. "MKX/37,63"
+    @Column(name = "grid_cell", nullable = false, length = 24)
+    private String gridCell;
+
+    // 0 = nearest station, 1 = next nearest, ...
+    @Column(name = "station_rank", nullable = false)
+    private Integer stationRank;
+
+    @Column(name = "station_id", nullable = false, length = 10)
+    private String stationId;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "time_zone", length = 40)
+    private String timeZone;
+
+    @Column(name = "resolved_at", nullable = false)
+    private LocalDateTime resolvedAt = LocalDateTime.now();
+
+    public GridCellStation() {}
+
+    public GridCellStation(String gridCell, int stationRank, ObservationStation station) {
+        this.gridCell = gridCell;
+        this.stationRank = stationRank;
+        this.stationId = station.stationId();
+        this.latitude = station.latitude();
+        this.longitude = station.longitude();
+        this.timeZone = station.timeZone();
+    }
+
+    public ObservationStation toObservationStation() {
+        return new ObservationStation(stationId, latitude, longitude, timeZone);
+    }
+
+    // Getters and Setters
+    public Integer getGridCellStationId() { return gridCellStationId; }
+    public void setGridCellStationId(Integer gridCellStationId) { this.gridCellStationId = gridCellStationId; }
+
+    public String getGridCell() { return gridCell; }
+    public void setGridCell(String gridCell) { this.gridCell = gridCell; }
+
+    public Integer getStationRank() { return stationRank; }
+    public void setStationRank(Integer stationRank) { this.stationRank = stationRank; }
+
+    public String getStationId() { return stationId; }
+    public void setStationId(String stationId) { this.stationId = stationId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public LocalDateTime getResolvedAt() { return resolvedAt; }
+    public void setResolvedAt(LocalDateTime resolvedAt) { this.resolvedAt = resolvedAt; }
+}
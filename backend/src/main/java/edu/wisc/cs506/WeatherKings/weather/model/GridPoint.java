@@ -0,0 +1,41 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+/**
+ * An NWS forecast grid cell as returned by the /points/{lat},{lon} endpoint.
+ * A coordinate's office (WFO) and grid position never change, so these are safe to cache.
+ * timeZone may be null when the points response did not include it.
+ */
+public record GridPoint(
+    String wfo,
+    int gridX,
+    int gridY,
+    String forecastUrl,
+    String forecastHourlyUrl,
+    String timeZone
+) {
+
+    public GridPoint(String wfo, int gridX, int gridY, String forecastUrl, String forecastHourlyUrl) {
+        this(wfo, gridX, gridY, forecastUrl, forecastHourlyUrl, null);
+    }
+
+    /**
+     * Stable key for the grid cell, e.g. "MKX/37,63".
+     */
+    public String cellKey() {
+        return wfo + "/" + gridX + "," + gridY;
+    }
+
+    /**
+     * Relative path of the raw numeric forecast data (windGust, skyCover, ...) for this cell.
+     */
+    public String gridDataPath() {
+        return "/gridpoints/" + cellKey();
+    }
+
+    /**
+     * Relative path of the observation stations list for this cell.
+     */
+    public String stationsPath() {
+        return "/gridpoints/" + cellKey() + "/stations";
+    }
+}
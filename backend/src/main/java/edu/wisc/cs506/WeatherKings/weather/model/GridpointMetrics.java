@@ -0,0 +1,17 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+/**
+ * Forecast metrics for one local day derived from an NWS gridpoint's raw numeric series.
+ * Each value is null when the gridpoint had no data for it on that day.
+ *
+ * @param maxWindGustMph Highest forecast wind gust during the day
+ * @param overnightLowF Lowest forecast minimum temperature for the night ending that morning
+ * @param snowfallInches Forecast snowfall total for the day
+ * @param skyCoverPercent Time-weighted average sky cover for the day, 0-100
+ */
+public record GridpointMetrics(
+    Integer maxWindGustMph,
+    Integer overnightLowF,
+    Double snowfallInches,
+    Integer skyCoverPercent
+) { }
@@ -0,0 +1,63 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * JPA Entity for the 'hourly_forecasts' table.
+ * Holds the latest hourly forecast for an NWS grid cell as one compact blob
+ * (see {@link HourlySeries#toBytes()}) instead of a row per hour.
+ */
+@Entity
+@Table(name = "hourly_forecasts")
+public class HourlyForecast {
+
+    // Grid cell key, e.g. "MKX/37,63"
+    @Id
+    @Column(name = "grid_cell", length = 24)
+    private String gridCell;
+
+    // UTC start of the first hour
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "hours", nullable = false)
+    private Integer hours;
+
+    @Lob
+    @Column(name = "series", nullable = false, columnDefinition = "mediumblob")
+    private byte[] series;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt = LocalDateTime.now();
+
+    public HourlyForecast() {}
+
+    public HourlyForecast(String gridCell, HourlySeries hourlySeries) {
+        this.gridCell = gridCell;
+        this.startTime = LocalDateTime.ofInstant(hourlySeries.getStart(), ZoneOffset.UTC);
+        this.hours = hourlySeries.size();
+        this.series = hourlySeries.toBytes();
+    }
+
+    public HourlySeries toHourlySeries() {
+        return HourlySeries.fromBytes(series);
+    }
+
+    // Getters and Setters
+    public String getGridCell() { return gridCell; }
+    public void setGridCell(String gridCell) { this.gridCell = gridCell; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public Integer getHours() { return hours; }
+    public void setHours(Integer hours) { this.hours = hours; }
+
+    public byte[] getSeries() { return series; }
+    public void setSeries(byte[] series) { this.series = series; }
+
+    public LocalDateTime getFetchedAt() { return fetchedAt; }
+    public void setFetchedAt(LocalDateTime fetchedAt) { this.fetchedAt = fetchedAt; }
+}
@@ -0,0 +1,134 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Hourly forecast for one grid cell stored as parallel primitive arrays.
+ *
+ * Hour i starts at {@code start + i hours}. Per hour:
+ * - temperature in °F as a short ({@link #NO_TEMPERATURE} if missing)
+ * - probability of precipitation 0-100 as a byte ({@link #NO_PRECIPITATION} if missing)
+ * - wind packed into one int: speed in mph in the high 16 bits, direction in degrees in
+ *   the low 16 bits (0xFFFF for either if missing)
+ *
+ * A week of NWS hourly data (~156 hours) is about 1 KB instead of ~156 Period objects
+ * with their strings. {@link #toBytes()} gives the same layout for the database blob.
+ */
+public final class HourlySeries {
+
+    public static final short NO_TEMPERATURE = Short.MIN_VALUE;
+    public static final byte NO_PRECIPITATION = -1;
+    private static final int NO_WIND_PART = 0xFFFF;
+
+    // Blob layout: version, start epoch seconds, hour count, temperatures, PoP, winds
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 1 + Long.BYTES + Integer.BYTES;
+
+    private final Instant start;
+    private final short[] temperatures;
+    private final byte[] precipitation;
+    private final int[] winds;
+
+    public HourlySeries(Instant start, short[] temperatures, byte[] precipitation, int[] winds) {
+        if (temperatures.length != precipitation.length || temperatures.length != winds.length) {
+            throw new IllegalArgumentException("Hourly arrays must have the same length");
+        }
+        this.start = start.truncatedTo(ChronoUnit.HOURS);
+        this.temperatures = temperatures;
+        this.precipitation = precipitation;
+        this.winds = winds;
+    }
+
+    /**
+     * Pack wind speed (mph) and direction (degrees); pass -1 for unknown values.
+     */
+    public static int packWind(int speedMph, int directionDegrees) {
+        int speed = speedMph < 0 ? NO_WIND_PART : Math.min(speedMph, NO_WIND_PART - 1);
+        int direction = directionDegrees < 0 ? NO_WIND_PART : directionDegrees % 360;
+        return (speed << 16) | direction;
+    }
+
+    public Instant getStart() { return start; }
+
+    public int size() { return temperatures.length; }
+
+    public Instant timeAt(int hour) {
+        return start.plus(Duration.ofHours(hour));
+    }
+
+    /**
+     * Index of the hour containing the given instant, or -1 if outside the series.
+     */
+    public int indexOf(Instant instant) {
+        long hours = Duration.between(start, instant).toHours();
+        if (instant.isBefore(start) || hours >= size()) {
+            return -1;
+        }
+        return (int) hours;
+    }
+
+    /** Temperature in °F, or {@link #NO_TEMPERATURE}. */
+    public short temperatureAt(int hour) { return temperatures[hour]; }
+
+    /** Probability of precipitation 0-100, or {@link #NO_PRECIPITATION}. */
+    public byte precipitationAt(int hour) { return precipitation[hour]; }
+
+    /** Wind speed in mph, or -1 if unknown. */
+    public int windSpeedAt(int hour) {
+        int speed = winds[hour] >>> 16;
+        return speed == NO_WIND_PART ? -1 : speed;
+    }
+
+    /** Wind direction in degrees (0 = north), or -1 if unknown. */
+    public int windDirectionAt(int hour) {
+        int direction = winds[hour] & NO_WIND_PART;
+        return direction == NO_WIND_PART ? -1 : direction;
+    }
+
+    /**
+     * Encode for the hourly_forecasts.series blob column.
+     */
+    public byte[] toBytes() {
+        int hours = size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + hours * (Short.BYTES + 1 + Integer.BYTES));
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(start.getEpochSecond());
+        buffer.putInt(hours);
+        for (short temperature : temperatures) {
+            buffer.putShort(temperature);
+        }
+        buffer.put(precipitation);
+        for (int wind : winds) {
+            buffer.putInt(wind);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decode a blob written by {@link #toBytes()}.
+     */
+    public static HourlySeries fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported hourly series format: " + version);
+        }
+        Instant start = Instant.ofEpochSecond(buffer.getLong());
+        int hours = buffer.getInt();
+
+        short[] temperatures = new short[hours];
+        for (int i = 0; i < hours; i++) {
+            temperatures[i] = buffer.getShort();
+        }
+        byte[] precipitation = new byte[hours];
+        buffer.get(precipitation);
+        int[] winds = new int[hours];
+        for (int i = 0; i < hours; i++) {
+            winds[i] = buffer.getInt();
+        }
+        return new HourlySeries(start, temperatures, precipitation, winds);
+    }
+}
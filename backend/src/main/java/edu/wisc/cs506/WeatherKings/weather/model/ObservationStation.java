@@ -0,0 +1,12 @@
+package edu.wisc.cs506.WeatherKings.weather.model;
+
+/**
+ * An NWS observation station, e.g. KMSN (Madison Dane County Regional Airport).
+ * Coordinates and time zone may be null when the upstream listing did not include them.
+ */
+public record ObservationStation(
+    String stationId,
+    Double latitude,
+    Double longitude,
+    String timeZone
+) { }
@@ -0,0 +1,159 @@
+package edu.wisc.cs506.WeatherKings.weather.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+
+/**
+ * Streaming reader for the NWS /gridpoints/{wfo}/{x},{y}/forecast response.
+ *
+ * Walks the token stream with Jackson's JsonParser and only materializes the period fields
+ * the app reads: name, temperature, temperatureUnit, windSpeed, windDirection,
+ * probabilityOfPrecipitation.value and shortForecast. Everything else - the GeoJSON
+ * geometry, @context, icons, start/end times and the detailedForecast prose - is skipped
+ * without building strings or objects for it. Reading stops as soon as maxPeriods periods
+ * have been read.
+ */
+public final class ForecastStreamParser {
+
+    // Thread-safe and expensive to create, so shared
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ForecastStreamParser() {
+    }
+
+    /**
+     * Parse all periods.
+     */
+    public static WeatherForecastResponse parse(InputStream body) throws IOException {
+        return parse(body, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parse at most maxPeriods periods, in forecast order.
+     *
+     * @return the forecast, with null properties if the payload has no "properties" object
+     *         and null periods if it has no "periods" array
+     */
+    public static WeatherForecastResponse parse(InputStream body, int maxPeriods) throws IOException {
+        WeatherForecastResponse forecast = new WeatherForecastResponse();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Forecast response is not a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    forecast.setProperties(readProperties(parser, maxPeriods));
+                    // Nothing after "properties" is needed
+                    break;
+                }
+                parser.skipChildren();
+            }
+        }
+
+        return forecast;
+    }
+
+    private static WeatherForecastResponse.Properties readProperties(JsonParser parser, int maxPeriods)
+            throws IOException {
+        WeatherForecastResponse.Properties properties = new WeatherForecastResponse.Properties();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("periods".equals(field) && value == JsonToken.START_ARRAY) {
+                properties.setPeriods(readPeriods(parser, maxPeriods));
+                return properties;
+            }
+            parser.skipChildren();
+        }
+
+        return properties;
+    }
+
+    private static List<Period> readPeriods(JsonParser parser, int maxPeriods) throws IOException {
+        List<Period> periods = new ArrayList<>(Math.min(maxPeriods, 16));
+
+        while (periods.size() < maxPeriods && parser.nextToken() == JsonToken.START_OBJECT) {
+            periods.add(readPeriod(parser));
+        }
+
+        return periods;
+    }
+
+    private static Period readPeriod(JsonParser parser) throws IOException {
+        Period period = new Period();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "name" -> period.setName(textOrNull(parser, value));
+                case "temperature" -> period.setTemperature(intOrNull(parser, value));
+                case "temperatureUnit" -> period.setTemperatureUnit(textOrNull(parser, value));
+                case "windSpeed" -> period.setWindSpeed(textOrNull(parser, value));
+                case "windDirection" -> period.setWindDirection(textOrNull(parser, value));
+                case "shortForecast" -> period.setShortForecast(textOrNull(parser, value));
+                case "probabilityOfPrecipitation" -> period.setProbabilityOfPrecipitation(readProbability(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+
+        return period;
+    }
+
+    /**
+     * Reads {"unitCode": "wmoUnit:percent", "value": 20}, keeping only the value.
+     */
+    private static WeatherForecastResponse.ProbabilityValue readProbability(JsonParser parser, JsonToken token)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        WeatherForecastResponse.ProbabilityValue probability = new WeatherForecastResponse.ProbabilityValue();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("value".equals(field)) {
+                probability.setValue(intOrNull(parser, value));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return probability;
+    }
+
+    static String textOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    static Integer intOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return (int) Math.round(parser.getDoubleValue());
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
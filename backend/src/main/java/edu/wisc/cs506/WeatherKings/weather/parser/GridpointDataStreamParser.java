@@ -0,0 +1,212 @@
+package edu.wisc.cs506.WeatherKings.weather.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import edu.wisc.cs506.WeatherKings.weather.model.GridpointMetrics;
+
+/**
+ * Streaming reader for the raw NWS /gridpoints/{wfo}/{x},{y} response.
+ *
+ * The response holds dozens of time series ({"uom": ..., "values": [{"validTime":
+ * "2025-11-18T06:00:00+00:00/PT3H", "value": 24.1}, ...]}). In one pass over the tokens,
+ * the four series we price markets on are folded into running accumulators for the target
+ * day and every other series is skipped:
+ * - windGust: maximum over the day
+ * - minTemperature: minimum over the night ending that morning (local midnight to 09:00)
+ * - snowfallAmount: sum over the day, prorated when a value spans the day boundary
+ * - skyCover: time-weighted average over the day
+ * Units are applied at the end, so it does not matter whether "uom" comes before "values".
+ */
+public final class GridpointDataStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Morning window searched for the overnight low; lines are settled on the same window
+    // (DailyObservationAggregate.OVERNIGHT_END)
+    private static final Duration OVERNIGHT_WINDOW = Duration.ofHours(9);
+
+    private GridpointDataStreamParser() {
+    }
+
+    /**
+     * @param body Gridpoint JSON
+     * @param day Local calendar day to summarize
+     * @param zone Time zone of the grid cell
+     */
+    public static GridpointMetrics parse(InputStream body, LocalDate day, ZoneId zone) throws IOException {
+        Instant dayStart = day.atStartOfDay(zone).toInstant();
+        Instant dayEnd = day.plusDays(1).atStartOfDay(zone).toInstant();
+
+        Accumulator gust = new Accumulator(dayStart, dayEnd);
+        Accumulator overnight = new Accumulator(dayStart, dayStart.plus(OVERNIGHT_WINDOW));
+        Accumulator snowfall = new Accumulator(dayStart, dayEnd);
+        Accumulator skyCover = new Accumulator(dayStart, dayEnd);
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Gridpoint response is not a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    readProperties(parser, gust, overnight, snowfall, skyCover);
+                    break;
+                }
+                parser.skipChildren();
+            }
+        }
+
+        return new GridpointMetrics(
+            gust.hasData() ? (int) Math.round(toMph(gust.max, gust.uom)) : null,
+            overnight.hasData() ? (int) Math.round(toFahrenheit(overnight.min, overnight.uom)) : null,
+            snowfall.hasData() ? Math.round(toInches(snowfall.sum, snowfall.uom) * 10.0) / 10.0 : null,
+            skyCover.hasData() ? (int) Math.round(skyCover.timeWeightedAverage()) : null
+        );
+    }
+
+    private static void readProperties(JsonParser parser, Accumulator gust, Accumulator overnight,
+                                       Accumulator snowfall, Accumulator skyCover) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "windGust" -> readLayer(parser, gust);
+                case "minTemperature" -> readLayer(parser, overnight);
+                case "snowfallAmount" -> readLayer(parser, snowfall);
+                case "skyCover" -> readLayer(parser, skyCover);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readLayer(JsonParser parser, Accumulator accumulator) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("uom".equals(field)) {
+                accumulator.uom = ForecastStreamParser.textOrNull(parser, value);
+            } else if ("values".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readValue(parser, accumulator);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readValue(JsonParser parser, Accumulator accumulator) throws IOException {
+        String validTime = null;
+        Double number = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("validTime".equals(field)) {
+                validTime = ForecastStreamParser.textOrNull(parser, value);
+            } else if ("value".equals(field)
+                    && (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT)) {
+                number = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (validTime == null || number == null) {
+            return;
+        }
+        int slash = validTime.indexOf('/');
+        if (slash < 0) {
+            return;
+        }
+        try {
+            Instant start = OffsetDateTime.parse(validTime.substring(0, slash)).toInstant();
+            Instant end = start.plus(Duration.parse(validTime.substring(slash + 1)));
+            accumulator.fold(start, end, number);
+        } catch (DateTimeParseException e) {
+            // Skip values with an interval we cannot read
+        }
+    }
+
+    static double toMph(double value, String uom) {
+        if ("wmoUnit:m_s-1".equals(uom)) {
+            return value * 2.236936;
+        }
+        // NWS reports wind in km/h
+        return value * 0.621371;
+    }
+
+    static double toFahrenheit(double value, String uom) {
+        if ("wmoUnit:degF".equals(uom)) {
+            return value;
+        }
+        return value * 9.0 / 5.0 + 32.0;
+    }
+
+    static double toInches(double value, String uom) {
+        if ("wmoUnit:cm".equals(uom)) {
+            return value / 2.54;
+        }
+        return value / 25.4;
+    }
+
+    /**
+     * Running max/min/sum/time-weighted mean of the values overlapping one time window.
+     */
+    private static final class Accumulator {
+        private final Instant windowStart;
+        private final Instant windowEnd;
+        private String uom;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double min = Double.POSITIVE_INFINITY;
+        private double sum;
+        private double weightedSum;
+        private long weightSeconds;
+
+        Accumulator(Instant windowStart, Instant windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        void fold(Instant start, Instant end, double value) {
+            Instant from = start.isAfter(windowStart) ? start : windowStart;
+            Instant to = end.isBefore(windowEnd) ? end : windowEnd;
+            long overlap = Duration.between(from, to).getSeconds();
+            long length = Duration.between(start, end).getSeconds();
+            if (overlap <= 0 || length <= 0) {
+                return;
+            }
+            max = Math.max(max, value);
+            min = Math.min(min, value);
+            // Amounts (snowfall) are totals for their interval - count only the overlapping share
+            sum += value * overlap / length;
+            weightedSum += value * overlap;
+            weightSeconds += overlap;
+        }
+
+        boolean hasData() {
+            return weightSeconds > 0;
+        }
+
+        double timeWeightedAverage() {
+            return weightedSum / weightSeconds;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package edu.wisc.cs506.WeatherKings.weather.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import edu.wisc.cs506.WeatherKings.weather.model.HourlySeries;
+
+/**
+ * Streaming reader for the NWS /gridpoints/{wfo}/{x},{y}/forecast/hourly response.
+ *
+ * Values go straight from the token stream into primitive arrays - no Period objects are
+ * created. Only the first period's startTime is read; NWS hourly periods are consecutive
+ * hours, so hour i starts i hours after it.
+ */
+public final class HourlyForecastStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 16-point compass, clockwise from north in 22.5° steps
+    private static final String[] COMPASS = {
+        "N", "NNE", "NE", "ENE", "E", "ESE", "SE", "SSE",
+        "S", "SSW", "SW", "WSW", "W", "WNW", "NW", "NNW"
+    };
+
+    // NWS currently returns 156 hours
+    private static final int INITIAL_CAPACITY = 160;
+
+    private HourlyForecastStreamParser() {
+    }
+
+    /**
+     * @return the hourly series, or null if the payload has no periods
+     */
+    public static HourlySeries parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Hourly forecast response is not a JSON object");
+            }
+            if (!moveToField(parser, "properties", JsonToken.START_OBJECT)
+                    || !moveToField(parser, "periods", JsonToken.START_ARRAY)) {
+                return null;
+            }
+            return readPeriods(parser);
+        }
+    }
+
+    /**
+     * Skip fields of the current object until the named one, leaving the parser on its value.
+     */
+    private static boolean moveToField(JsonParser parser, String name, JsonToken expected) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field) && value == expected) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static HourlySeries readPeriods(JsonParser parser) throws IOException {
+        short[] temperatures = new short[INITIAL_CAPACITY];
+        byte[] precipitation = new byte[INITIAL_CAPACITY];
+        int[] winds = new int[INITIAL_CAPACITY];
+        Instant start = null;
+        int hours = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (hours == temperatures.length) {
+                int capacity = hours * 2;
+                temperatures = Arrays.copyOf(temperatures, capacity);
+                precipitation = Arrays.copyOf(precipitation, capacity);
+                winds = Arrays.copyOf(winds, capacity);
+            }
+
+            short temperature = HourlySeries.NO_TEMPERATURE;
+            byte pop = HourlySeries.NO_PRECIPITATION;
+            int windSpeed = -1;
+            int windDirection = -1;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "startTime" -> {
+                        if (start == null && value == JsonToken.VALUE_STRING) {
+                            start = OffsetDateTime.parse(parser.getText()).toInstant();
+                        }
+                    }
+                    case "temperature" -> {
+                        Integer t = ForecastStreamParser.intOrNull(parser, value);
+                        if (t != null) {
+                            temperature = (short) (int) t;
+                        }
+                    }
+                    case "probabilityOfPrecipitation" -> pop = readPrecipitation(parser, value);
+                    case "windSpeed" -> windSpeed = parseWindSpeed(ForecastStreamParser.textOrNull(parser, value));
+                    case "windDirection" -> windDirection = compassToDegrees(ForecastStreamParser.textOrNull(parser, value));
+                    default -> parser.skipChildren();
+                }
+            }
+
+            temperatures[hours] = temperature;
+            precipitation[hours] = pop;
+            winds[hours] = HourlySeries.packWind(windSpeed, windDirection);
+            hours++;
+        }
+
+        if (hours == 0 || start == null) {
+            return null;
+        }
+        return new HourlySeries(start,
+            Arrays.copyOf(temperatures, hours), Arrays.copyOf(precipitation, hours), Arrays.copyOf(winds, hours));
+    }
+
+    private static byte readPrecipitation(JsonParser parser, JsonToken token) throws IOException {
+        byte pop = HourlySeries.NO_PRECIPITATION;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return pop;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            Integer percent = "value".equals(field) ? ForecastStreamParser.intOrNull(parser, value) : null;
+            if (percent != null) {
+                pop = (byte) Math.max(0, Math.min(100, percent));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return pop;
+    }
+
+    /**
+     * "10 mph" -> 10, "5 to 10 mph" -> 10 (upper bound), anything else -> -1.
+     */
+    static int parseWindSpeed(String windSpeed) {
+        if (windSpeed == null) {
+            return -1;
+        }
+        int speed = -1;
+        int current = -1;
+        for (int i = 0; i < windSpeed.length(); i++) {
+            char c = windSpeed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                current = (current < 0 ? 0 : current * 10) + (c - '0');
+            } else if (current >= 0) {
+                speed = current;
+                current = -1;
+            }
+        }
+        return current >= 0 ? current : speed;
+    }
+
+    /**
+     * "NW" -> 315; unknown or variable -> -1.
+     */
+    static int compassToDegrees(String direction) {
+        if (direction == null) {
+            return -1;
+        }
+        for (int i = 0; i < COMPASS.length; i++) {
+            if (COMPASS[i].equals(direction)) {
+                return (int) Math.round(i * 22.5);
+            }
+        }
+        return -1;
+    }
+}
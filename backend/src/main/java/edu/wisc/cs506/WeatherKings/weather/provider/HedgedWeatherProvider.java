@@ -0,0 +1,243 @@
+package edu.wisc.cs506.WeatherKings.weather.provider;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.resilience.LatencyTracker;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Hedged forecast requests across a primary and a secondary provider.
+ *
+ * The primary is called first. If it has not answered within its recent p95 latency, the same
+ * request is sent to the secondary and whichever succeeds first wins. If the primary fails
+ * because its upstream is unavailable (UpstreamGuard.isUnavailable anywhere in the cause chain -
+ * WeatherApiService wraps 5xx, timeouts and breaker rejections in WeatherApiException) the
+ * secondary is called right away, so one provider being down does not fail the request; other
+ * failures (4xx, bad input) are thrown as they are.
+ *
+ * Latest observations are never hedged: bets are settled on them, so they always come from
+ * the primary's station readings, never from the secondary's model output.
+ *
+ * Until enough samples exist the initial delay is used. The delay is clamped to
+ * [minDelay, maxDelay] - cache hits make the primary's p95 very small, and without a floor
+ * every cache miss would be hedged.
+ */
+public class HedgedWeatherProvider implements WeatherProvider, MeterBinder, DisposableBean {
+
+    private static final double HEDGE_PERCENTILE = 95.0;
+
+    private final WeatherProvider primary;
+    private final WeatherProvider secondary;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int minSamples;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LatencyTracker forecastLatencies = new LatencyTracker(512);
+
+    private final AtomicLong hedgedSlow = new AtomicLong();
+    private final AtomicLong hedgedFailed = new AtomicLong();
+    private final AtomicLong primaryWins = new AtomicLong();
+    private final AtomicLong secondaryWins = new AtomicLong();
+
+    public HedgedWeatherProvider(WeatherProvider primary, WeatherProvider secondary,
+                                 Duration initialDelay, Duration minDelay, Duration maxDelay,
+                                 int minSamples) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.initialDelay = initialDelay;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.minSamples = minSamples;
+    }
+
+    @Override
+    public String name() {
+        return primary.name() + "+" + secondary.name();
+    }
+
+    @Override
+    public WeatherForecastResponse getForecast(double latitude, double longitude) {
+        return hedged(forecastLatencies, provider -> provider.getForecast(latitude, longitude));
+    }
+
+    @Override
+    public CompactForecast getCompactForecast(double latitude, double longitude) {
+        return hedged(forecastLatencies, provider -> provider.getCompactForecast(latitude, longitude));
+    }
+
+    @Override
+    public WeatherObservation getLatestObservation(double latitude, double longitude) {
+        return primary.getLatestObservation(latitude, longitude);
+    }
+
+    /**
+     * How long to give the primary before hedging.
+     */
+    Duration hedgeDelay(LatencyTracker latencies) {
+        if (latencies.size() < minSamples) {
+            return initialDelay;
+        }
+        long p95 = latencies.percentile(HEDGE_PERCENTILE);
+        long clamped = Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), p95));
+        return Duration.ofNanos(clamped);
+    }
+
+    private <T> T hedged(LatencyTracker latencies, Function<WeatherProvider, T> call) {
+        long start = System.nanoTime();
+        CompletableFuture<T> primaryCall = CompletableFuture.supplyAsync(() -> call.apply(primary), executor);
+        // Record every successful primary latency, including ones that lost the race
+        primaryCall.thenRun(() -> latencies.record(System.nanoTime() - start));
+
+        try {
+            T result = primaryCall.get(hedgeDelay(latencies).toNanos(), TimeUnit.NANOSECONDS);
+            primaryWins.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            hedgedSlow.incrementAndGet();
+        } catch (ExecutionException e) {
+            if (!isUnavailable(e.getCause())) {
+                throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new HedgeException(primary.name() + " failed: " + e.getCause().getMessage(), e.getCause());
+            }
+            hedgedFailed.incrementAndGet();
+            System.err.println("Provider " + primary.name() + " failed, trying " + secondary.name()
+                + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primaryCall.cancel(true);
+            throw new HedgeException("Interrupted waiting for " + primary.name(), e);
+        }
+
+        CompletableFuture<T> secondaryCall = CompletableFuture.supplyAsync(() -> call.apply(secondary), executor);
+        return firstSuccessful(primaryCall, secondaryCall);
+    }
+
+    /**
+     * Result of whichever call succeeds first; if both fail, the primary's failure with the
+     * secondary's attached as suppressed, whichever of the two failed first.
+     */
+    private <T> T firstSuccessful(CompletableFuture<T> primaryCall, CompletableFuture<T> secondaryCall) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        primaryCall.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    primaryWins.incrementAndGet();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(bothFailed(primaryCall, secondaryCall));
+            }
+        });
+        secondaryCall.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    secondaryWins.incrementAndGet();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(bothFailed(primaryCall, secondaryCall));
+            }
+        });
+
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new HedgeException("All weather providers failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * The primary's failure with the secondary's attached as suppressed. Only called once both
+     * calls have completed exceptionally.
+     */
+    private static Throwable bothFailed(CompletableFuture<?> primaryCall, CompletableFuture<?> secondaryCall) {
+        Throwable primaryError = primaryCall.exceptionNow();
+        Throwable secondaryError = secondaryCall.exceptionNow();
+        if (secondaryError != primaryError) {
+            primaryError.addSuppressed(secondaryError);
+        }
+        return primaryError;
+    }
+
+    /**
+     * True if the failure, or anything it wraps, means the provider's upstream is unavailable.
+     */
+    static boolean isUnavailable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (UpstreamGuard.isUnavailable(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public long getPrimaryWinCount() { return primaryWins.get(); }
+
+    public long getSecondaryWinCount() { return secondaryWins.get(); }
+
+    public long getHedgedCount() { return hedgedSlow.get() + hedgedFailed.get(); }
+
+    @Override
+    public void destroy() {
+        // Abandoned losers of a race may still be running; nobody waits for them
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.provider.hedge.fired", hedgedSlow, AtomicLong::get)
+                .tag("reason", "slow")
+                .description("Secondary called because the primary was slower than its p95")
+                .register(registry);
+        FunctionCounter.builder("weather.provider.hedge.fired", hedgedFailed, AtomicLong::get)
+                .tag("reason", "failed")
+                .description("Secondary called because the primary failed")
+                .register(registry);
+        FunctionCounter.builder("weather.provider.wins", primaryWins, AtomicLong::get)
+                .tag("provider", primary.name())
+                .register(registry);
+        FunctionCounter.builder("weather.provider.wins", secondaryWins, AtomicLong::get)
+                .tag("provider", secondary.name())
+                .register(registry);
+        Gauge.builder("weather.provider.hedge.delay", this, p -> p.hedgeDelay(p.forecastLatencies).toMillis())
+                .tag("operation", "forecast")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    public static class HedgeException extends RuntimeException {
+        public HedgeException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
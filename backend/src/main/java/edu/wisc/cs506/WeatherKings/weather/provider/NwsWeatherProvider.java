@@ -0,0 +1,46 @@
+package edu.wisc.cs506.WeatherKings.weather.provider;
+
+import org.springframework.stereotype.Component;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherObservationService;
+
+/**
+ * National Weather Service (api.weather.gov) - the primary provider.
+ * Forecasts and observations already come back in the normalized shape.
+ */
+@Component
+public class NwsWeatherProvider implements WeatherProvider {
+
+    private final WeatherApiService weatherApiService;
+    private final WeatherObservationService observationService;
+
+    public NwsWeatherProvider(WeatherApiService weatherApiService,
+                              WeatherObservationService observationService) {
+        this.weatherApiService = weatherApiService;
+        this.observationService = observationService;
+    }
+
+    @Override
+    public String name() {
+        return "nws";
+    }
+
+    @Override
+    public WeatherForecastResponse getForecast(double latitude, double longitude) {
+        return weatherApiService.getForecast(latitude, longitude);
+    }
+
+    @Override
+    public CompactForecast getCompactForecast(double latitude, double longitude) {
+        return weatherApiService.getCompactForecast(latitude, longitude);
+    }
+
+    @Override
+    public WeatherObservation getLatestObservation(double latitude, double longitude) {
+        return observationService.getObservationForLocation(latitude, longitude);
+    }
+}
@@ -0,0 +1,188 @@
+package edu.wisc.cs506.WeatherKings.weather.provider;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.OpenMeteoResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+
+/**
+ * Open-Meteo (api.open-meteo.com) - the secondary provider used for hedged requests.
+ *
+ * Open-Meteo returns daily aggregates, so each day is turned into an NWS-style day period
+ * (max temperature) and night period (min temperature), named "Today"/"Tonight" and then
+ * "Wednesday"/"Wednesday Night" like the NWS forecast. WMO weather codes are mapped to
+ * NWS-style short text.
+ */
+@Component
+public class OpenMeteoWeatherProvider implements WeatherProvider {
+
+    private static final String DAILY_FIELDS =
+        "temperature_2m_max,temperature_2m_min,precipitation_probability_max,weather_code";
+    private static final String CURRENT_FIELDS = "temperature_2m,precipitation,weather_code";
+
+    private final RestClient restClient;
+
+    public OpenMeteoWeatherProvider(
+            @Value("${weather.openmeteo.base-url:https://api.open-meteo.com}") String baseUrl,
+            @Value("${weather.api.user-agent}") String userAgent,
+            ClientHttpRequestFactory requestFactory) {
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl(baseUrl)
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "openmeteo";
+    }
+
+    @Override
+    public WeatherForecastResponse getForecast(double latitude, double longitude) {
+        OpenMeteoResponse response = fetch(latitude, longitude, "daily", DAILY_FIELDS);
+        if (response.getDaily() == null || response.getDaily().getTime() == null) {
+            throw new OpenMeteoException("Invalid forecast response - missing daily data");
+        }
+        return toForecast(response.getDaily());
+    }
+
+    @Override
+    public WeatherObservation getLatestObservation(double latitude, double longitude) {
+        OpenMeteoResponse response = fetch(latitude, longitude, "current", CURRENT_FIELDS);
+        if (response.getCurrent() == null) {
+            throw new OpenMeteoException("Invalid observation response - missing current data");
+        }
+        return toObservation(response.getCurrent());
+    }
+
+    private OpenMeteoResponse fetch(double latitude, double longitude, String section, String fields) {
+        OpenMeteoResponse response;
+        try {
+            response = restClient.get()
+                    .uri(uri -> uri.path("/v1/forecast")
+                            .queryParam("latitude", latitude)
+                            .queryParam("longitude", longitude)
+                            .queryParam(section, fields)
+                            .queryParam("timezone", "auto")
+                            .build())
+                    .retrieve()
+                    .body(OpenMeteoResponse.class);
+        } catch (RestClientException e) {
+            throw new OpenMeteoException("Open-Meteo request failed: " + e.getMessage(), e);
+        }
+        if (response == null) {
+            throw new OpenMeteoException("Empty Open-Meteo response");
+        }
+        return response;
+    }
+
+    static WeatherForecastResponse toForecast(OpenMeteoResponse.Daily daily) {
+        List<Period> periods = new ArrayList<>();
+
+        for (int i = 0; i < daily.getTime().size(); i++) {
+            String dayName = i == 0
+                ? "Today"
+                : LocalDate.parse(daily.getTime().get(i)).getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.US);
+            String nightName = i == 0 ? "Tonight" : dayName + " Night";
+            Integer code = valueAt(daily.getWeatherCode(), i);
+            Integer precipitation = valueAt(daily.getPrecipitationProbabilityMax(), i);
+
+            periods.add(period(dayName, celsiusToFahrenheit(valueAt(daily.getTemperatureMax(), i)),
+                               precipitation, describe(code, true)));
+            periods.add(period(nightName, celsiusToFahrenheit(valueAt(daily.getTemperatureMin(), i)),
+                               precipitation, describe(code, false)));
+        }
+
+        WeatherForecastResponse.Properties properties = new WeatherForecastResponse.Properties();
+        properties.setPeriods(periods);
+        WeatherForecastResponse forecast = new WeatherForecastResponse();
+        forecast.setProperties(properties);
+        return forecast;
+    }
+
+    static WeatherObservation toObservation(OpenMeteoResponse.Current current) {
+        WeatherObservation.TemperatureValue temperature = new WeatherObservation.TemperatureValue();
+        temperature.setValue(current.getTemperature());
+        temperature.setUnitCode("wmoUnit:degC");
+
+        WeatherObservation.PrecipitationValue precipitation = new WeatherObservation.PrecipitationValue();
+        precipitation.setValue(current.getPrecipitation());
+        precipitation.setUnitCode("wmoUnit:mm");
+
+        WeatherObservation.Properties properties = new WeatherObservation.Properties();
+        properties.setTemperature(temperature);
+        properties.setPrecipitationLastHour(precipitation);
+        properties.setTextDescription(describe(current.getWeatherCode(), false));
+
+        WeatherObservation observation = new WeatherObservation();
+        observation.setProperties(properties);
+        return observation;
+    }
+
+    private static Period period(String name, Integer temperature, Integer precipitation, String shortForecast) {
+        WeatherForecastResponse.ProbabilityValue probability = new WeatherForecastResponse.ProbabilityValue();
+        probability.setValue(precipitation);
+
+        Period period = new Period();
+        period.setName(name);
+        period.setTemperature(temperature);
+        period.setTemperatureUnit("F");
+        period.setProbabilityOfPrecipitation(probability);
+        period.setShortForecast(shortForecast);
+        return period;
+    }
+
+    /**
+     * WMO weather interpretation code to NWS-style short text.
+     */
+    static String describe(Integer code, boolean daytime) {
+        if (code == null) {
+            return null;
+        }
+        return switch (code) {
+            case 0 -> daytime ? "Sunny" : "Clear";
+            case 1 -> daytime ? "Mostly Sunny" : "Mostly Clear";
+            case 2 -> "Partly Cloudy";
+            case 3 -> "Cloudy";
+            case 45, 48 -> "Fog";
+            case 51, 53, 55, 56, 57 -> "Drizzle";
+            case 61, 63, 65, 66, 67 -> "Rain";
+            case 71, 73, 75, 77 -> "Snow";
+            case 80, 81, 82 -> "Rain Showers";
+            case 85, 86 -> "Snow Showers";
+            case 95, 96, 99 -> "Thunderstorms";
+            default -> "Unknown";
+        };
+    }
+
+    private static Integer celsiusToFahrenheit(Double celsius) {
+        return celsius == null ? null : (int) Math.round(celsius * 9.0 / 5.0 + 32.0);
+    }
+
+    private static <T> T valueAt(List<T> values, int index) {
+        return values != null && index < values.size() ? values.get(index) : null;
+    }
+
+    public static class OpenMeteoException extends RuntimeException {
+        public OpenMeteoException(String message) {
+            super(message);
+        }
+
+        public OpenMeteoException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
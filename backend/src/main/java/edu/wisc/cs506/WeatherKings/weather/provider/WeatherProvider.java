@@ -0,0 +1,39 @@
+package edu.wisc.cs506.WeatherKings.weather.provider;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+
+/**
+ * Source of forecasts and observations for bet generation and resolution.
+ *
+ * Every provider returns the same normalized shapes the bet services already work with:
+ * forecasts as NWS-style day/night periods (temperature in °F, precipitation probability,
+ * short text such as "Sunny"), observations with temperature in °C, last-hour precipitation
+ * in mm (unitCode wmoUnit:mm) and a text description.
+ */
+public interface WeatherProvider {
+
+    /**
+     * Short identifier used in logs and metrics, e.g. "nws".
+     */
+    String name();
+
+    /**
+     * Forecast periods for a location, current period first.
+     */
+    WeatherForecastResponse getForecast(double latitude, double longitude);
+
+    /**
+     * Forecast periods for a location as a {@link CompactForecast}. Providers that cache
+     * forecasts in compact form override this to skip building Period objects.
+     */
+    default CompactForecast getCompactForecast(double latitude, double longitude) {
+        return CompactForecast.from(getForecast(latitude, longitude));
+    }
+
+    /**
+     * Most recent observed conditions for a location.
+     */
+    WeatherObservation getLatestObservation(double latitude, double longitude);
+}
@@ -0,0 +1,38 @@
+package edu.wisc.cs506.WeatherKings.weather.provider;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class WeatherProviderConfig {
+
+    // Forecasts: NWS first, Open-Meteo when NWS is slower than its p95 or fails transiently.
+    // Latest observations (used to settle bets) always come from NWS.
+    @Bean
+    public HedgedWeatherProvider hedgedWeatherProvider(
+            NwsWeatherProvider nwsWeatherProvider,
+            OpenMeteoWeatherProvider openMeteoWeatherProvider,
+            @Value("${weather.provider.hedging.initial-delay-ms:1500}") long initialDelayMs,
+            @Value("${weather.provider.hedging.min-delay-ms:250}") long minDelayMs,
+            @Value("${weather.provider.hedging.max-delay-ms:5000}") long maxDelayMs,
+            @Value("${weather.provider.hedging.min-samples:20}") int minSamples) {
+
+        return new HedgedWeatherProvider(nwsWeatherProvider, openMeteoWeatherProvider,
+            Duration.ofMillis(initialDelayMs), Duration.ofMillis(minDelayMs), Duration.ofMillis(maxDelayMs),
+            minSamples);
+    }
+
+    // The provider the bet services use
+    @Bean
+    @Primary
+    public WeatherProvider weatherProvider(
+            NwsWeatherProvider nwsWeatherProvider,
+            HedgedWeatherProvider hedgedWeatherProvider,
+            @Value("${weather.provider.hedging.enabled:true}") boolean hedgingEnabled) {
+        return hedgingEnabled ? hedgedWeatherProvider : nwsWeatherProvider;
+    }
+}
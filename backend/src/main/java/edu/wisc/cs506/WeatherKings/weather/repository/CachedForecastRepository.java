@@ -0,0 +1,21 @@
+package edu.wisc.cs506.WeatherKings.weather.repository;
+
+import edu.wisc.cs506.WeatherKings.weather.model.CachedForecast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the persisted forecast cache, keyed by grid cell.
+ */
+@Repository
+public interface CachedForecastRepository extends JpaRepository<CachedForecast, String> {
+
+    /**
+     * Every forecast still worth keeping (fresh, or stale but within the retention period),
+     * in one query - used to warm a cold node.
+     */
+    List<CachedForecast> findByExpiresAtAfter(LocalDateTime cutoff);
+}
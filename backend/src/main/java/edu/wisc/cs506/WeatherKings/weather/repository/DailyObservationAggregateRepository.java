@@ -0,0 +1,28 @@
+package edu.wisc.cs506.WeatherKings.weather.repository;
+
+import edu.wisc.cs506.WeatherKings.weather.model.DailyObservationAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository for per-station, per-local-day observation aggregates.
+ */
+@Repository
+public interface DailyObservationAggregateRepository extends JpaRepository<DailyObservationAggregate, Integer> {
+
+    /**
+     * Retrieves the aggregate of one station for one local day.
+     * @param stationId Station identifier, e.g. "KMSN"
+     * @param localDate Calendar day in the station's time zone
+     */
+    Optional<DailyObservationAggregate> findByStationIdAndLocalDate(String stationId, LocalDate localDate);
+
+    /**
+     * Retrieves the station's most recently updated day, to know where polling left off.
+     * @param stationId Station identifier, e.g. "KMSN"
+     */
+    Optional<DailyObservationAggregate> findFirstByStationIdOrderByLastObservationAtDesc(String stationId);
+}
@@ -0,0 +1,21 @@
+package edu.wisc.cs506.WeatherKings.weather.repository;
+
+import edu.wisc.cs506.WeatherKings.weather.model.GridCellStation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the resolved observation stations of each grid cell.
+ */
+@Repository
+public interface GridCellStationRepository extends JpaRepository<GridCellStation, Integer> {
+
+    /**
+     * Retrieves the stations for a grid cell, nearest first.
+     * @param gridCell Grid cell key, e.g. "MKX/37,63"
+     * @return Stations ordered by rank
+     */
+    List<GridCellStation> findByGridCellOrderByStationRankAsc(String gridCell);
+}
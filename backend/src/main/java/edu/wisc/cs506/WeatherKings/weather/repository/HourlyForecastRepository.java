@@ -0,0 +1,12 @@
+package edu.wisc.cs506.WeatherKings.weather.repository;
+
+import edu.wisc.cs506.WeatherKings.weather.model.HourlyForecast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the latest hourly forecast of each grid cell, keyed by grid cell.
+ */
+@Repository
+public interface HourlyForecastRepository extends JpaRepository<HourlyForecast, String> {
+}
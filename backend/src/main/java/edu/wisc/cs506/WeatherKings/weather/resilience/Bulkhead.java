@@ -0,0 +1,63 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of concurrent calls to an upstream.
+ *
+ * A caller waits at most {@code maxWait} for a slot; after that it is rejected instead of
+ * tying up a request thread behind a slow upstream.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take a slot. Every successful acquire must be followed by {@link #release()}.
+     *
+     * @throws FullException if no slot frees up within the maximum wait
+     */
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FullException("Interrupted waiting for bulkhead '" + name + "'");
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            throw new FullException("Bulkhead '" + name + "' is full (" + maxConcurrent + " concurrent calls)");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getAvailable() { return permits.availablePermits(); }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+
+    public long getRejectedCount() { return rejected.get(); }
+
+    public static class FullException extends RuntimeException {
+        public FullException(String message) {
+            super(message);
+        }
+    }
+}
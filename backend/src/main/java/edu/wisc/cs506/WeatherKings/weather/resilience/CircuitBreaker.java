@@ -0,0 +1,153 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: calls pass; the outcome of the last {@code windowSize} calls is recorded. Once at
+ * least {@code minimumCalls} are recorded and the failure rate reaches the threshold, the
+ * breaker opens.
+ * OPEN: calls are rejected immediately until {@code openDuration} has passed.
+ * HALF_OPEN: a single probe call is let through. Success closes the breaker, failure opens
+ * it again for another {@code openDuration}.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    // Ring buffer of recent outcomes (true = failure)
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private boolean probeInFlight;
+    private long rejectedCount;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls,
+                          int failureRateThreshold, Duration openDuration) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openDuration, Clock.systemUTC());
+    }
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls,
+                          int failureRateThreshold, Duration openDuration, Clock clock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+        }
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Ask to make a call. Every successful acquire must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #releasePermission()}.
+     *
+     * @throws OpenException if the breaker is open (or half-open with a probe already running)
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+        }
+
+        if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+            rejectedCount++;
+            throw new OpenException("Circuit breaker '" + name + "' is open");
+        }
+
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Give a permission back without an outcome, for a call that never reached the upstream
+     * (e.g. shed by a rate limiter). A half-open breaker lets the next call be the probe.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        System.err.println("Circuit breaker '" + name + "' opened");
+        state = State.OPEN;
+        openedAt = clock.instant();
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+
+    public static class OpenException extends RuntimeException {
+        public OpenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent call latencies in a ring buffer and answers percentile queries.
+ * Small enough (a few hundred samples) that sorting a copy per query is cheap.
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    public LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * The given percentile (0-100) of the recorded latencies in nanoseconds, or -1 if empty.
+     */
+    public long percentile(double percentile) {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile / 100.0 * copy.length) - 1;
+        return copy[Math.max(0, Math.min(index, copy.length - 1))];
+    }
+}
@@ -0,0 +1,77 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Applies a per-upstream token bucket to outbound requests, chosen by request host.
+ * Requests to hosts without a limiter pass straight through.
+ *
+ * Installed on the shared outbound request factory, so every RestClient / RestTemplate
+ * built on it is limited without the services having to know about it. Upstreams behind an
+ * {@link UpstreamGuard} (api.weather.gov) take their token in the guard instead, before the
+ * bulkhead and breaker, and have no limiter here.
+ */
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private final Map<String, TokenBucketRateLimiter> limitersByHost;
+
+    public RateLimitingInterceptor(Map<String, TokenBucketRateLimiter> limitersByHost) {
+        this.limitersByHost = Map.copyOf(limitersByHost);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        TokenBucketRateLimiter limiter = limitersByHost.get(request.getURI().getHost());
+        if (limiter != null) {
+            limiter.acquire();
+        }
+        return execution.execute(request, body);
+    }
+
+    public TokenBucketRateLimiter getLimiter(String host) {
+        return limitersByHost.get(host);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TokenBucketRateLimiter limiter : limitersByHost.values()) {
+            bindLimiter(limiter, registry);
+        }
+    }
+
+    /**
+     * http.client.ratelimit.* meters for one limiter, tagged with its upstream.
+     */
+    static void bindLimiter(TokenBucketRateLimiter limiter, MeterRegistry registry) {
+        Gauge.builder("http.client.ratelimit.queue.depth", limiter, TokenBucketRateLimiter::getQueueDepth)
+                .tag("upstream", limiter.getName())
+                .description("Callers waiting for their reserved slot")
+                .register(registry);
+        FunctionTimer.builder("http.client.ratelimit.wait", limiter,
+                        TokenBucketRateLimiter::getAcquiredCount,
+                        TokenBucketRateLimiter::getTotalWaitNanos,
+                        TimeUnit.NANOSECONDS)
+                .tag("upstream", limiter.getName())
+                .description("Time callers spent waiting for a token")
+                .register(registry);
+        FunctionCounter.builder("http.client.ratelimit.rejected", limiter,
+                        TokenBucketRateLimiter::getRejectedCount)
+                .tag("upstream", limiter.getName())
+                .description("Requests shed because the wait would exceed the limit")
+                .register(registry);
+    }
+}
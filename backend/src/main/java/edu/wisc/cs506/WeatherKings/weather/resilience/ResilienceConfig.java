@@ -0,0 +1,36 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienceConfig {
+
+    // Shared by every api.weather.gov call (points, stations, forecasts, observations)
+    @Bean
+    public UpstreamGuard nwsGuard(
+            @Value("${weather.resilience.breaker.window-size:20}") int windowSize,
+            @Value("${weather.resilience.breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${weather.resilience.breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${weather.resilience.breaker.open-seconds:30}") long openSeconds,
+            @Value("${weather.resilience.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${weather.resilience.bulkhead.max-wait-ms:250}") long maxWaitMs,
+            @Value("${weather.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${weather.resilience.retry.base-delay-ms:200}") long baseDelayMs,
+            @Value("${weather.resilience.retry.max-delay-ms:2000}") long maxDelayMs,
+            @Value("${http.client.rate-limit.nws.permits-per-second:5}") double permitsPerSecond,
+            @Value("${http.client.rate-limit.nws.burst:10}") int burst,
+            @Value("${http.client.rate-limit.nws.max-wait-ms:2000}") long rateLimitMaxWaitMs) {
+
+        return new UpstreamGuard("nws",
+            new CircuitBreaker("nws", windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofSeconds(openSeconds)),
+            new Bulkhead("nws", maxConcurrent, Duration.ofMillis(maxWaitMs)),
+            new RetryPolicy(maxAttempts, Duration.ofMillis(baseDelayMs), Duration.ofMillis(maxDelayMs)),
+            // The NWS token bucket lives here, not on the request factory: see UpstreamGuard
+            new TokenBucketRateLimiter("nws", permitsPerSecond, burst, Duration.ofMillis(rateLimitMaxWaitMs)));
+    }
+}
@@ -0,0 +1,71 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Retry with exponential backoff and full jitter.
+ *
+ * Only transient failures are retried: 5xx responses and I/O errors (connect/read
+ * timeouts, resets). 4xx responses are the caller's problem and fail immediately.
+ * The delay before retry n (1-based) is uniform in [0, min(maxDelay, baseDelay * 2^(n-1))],
+ * which spreads retries from many callers instead of having them hit NWS in lock-step.
+ */
+public class RetryPolicy {
+
+    /**
+     * Waits between attempts. Replaceable so tests do not actually sleep.
+     */
+    @FunctionalInterface
+    public interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Sleeper sleeper;
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this(maxAttempts, baseDelay, maxDelay, duration -> Thread.sleep(duration.toMillis()));
+    }
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Sleeper sleeper) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Whether a failure is transient (and counts against the circuit breaker).
+     */
+    public static boolean isRetryable(Throwable e) {
+        return e instanceof HttpServerErrorException || e instanceof ResourceAccessException;
+    }
+
+    public int getMaxAttempts() { return maxAttempts; }
+
+    /**
+     * Sleep before the given retry (1 = first retry).
+     *
+     * @return false if the thread was interrupted and no further attempts should be made
+     */
+    boolean backoff(int retry) {
+        long capMillis = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(retry - 1, 20));
+        long delay = capMillis > 0 ? ThreadLocalRandom.current().nextLong(capMillis + 1) : 0;
+        try {
+            sleeper.sleep(Duration.ofMillis(delay));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket for outbound calls to one upstream.
+ *
+ * Tokens refill at {@code permitsPerSecond} up to {@code burst}. A caller reserves the next
+ * free slot under a lock and then sleeps until it, outside the lock. Slots are handed out in
+ * arrival order, so waiting callers are served first-come first-served and a burst of new
+ * callers cannot starve the ones already queued.
+ *
+ * If the reserved slot is further away than {@code maxWait} the caller is rejected with
+ * {@link RateLimitExceededException} and no token is consumed (load shedding). A caller
+ * interrupted while waiting is counted as rejected; its slot stays used, since callers queued
+ * behind it have already been given later slots.
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * Waits until a reserved slot. Replaceable so tests do not actually sleep.
+     */
+    @FunctionalInterface
+    public interface Sleeper {
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final double burst;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoTime;
+    private final Sleeper sleeper;
+
+    // Guarded by this
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public TokenBucketRateLimiter(String name, double permitsPerSecond, int burst, Duration maxWait) {
+        this(name, permitsPerSecond, burst, maxWait, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    public TokenBucketRateLimiter(String name, double permitsPerSecond, int burst, Duration maxWait,
+                                  LongSupplier nanoTime, Sleeper sleeper) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burst = burst;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoTime = nanoTime;
+        this.sleeper = sleeper;
+        this.storedPermits = burst;
+        this.nextFreeNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Take one token, waiting in line for it if necessary.
+     *
+     * @throws RateLimitExceededException if the wait would exceed the maximum wait
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+
+        if (waitNanos > 0) {
+            waiting.incrementAndGet();
+            try {
+                sleeper.sleepNanos(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.incrementAndGet();
+                throw new RateLimitExceededException("Interrupted waiting for " + name + " rate limit");
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        // Only counted once the caller actually has its permit
+        acquired.incrementAndGet();
+        totalWaitNanos.addAndGet(Math.max(0, waitNanos));
+    }
+
+    /**
+     * Reserve the next slot and return how long to wait for it.
+     */
+    private synchronized long reserve() {
+        long now = nanoTime.getAsLong();
+
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(burst, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+
+        double fromStore = Math.min(1.0, storedPermits);
+        long slotNanos = nextFreeNanos + (long) ((1.0 - fromStore) * intervalNanos);
+        long waitNanos = slotNanos - now;
+
+        if (waitNanos > maxWaitNanos) {
+            rejected.incrementAndGet();
+            throw new RateLimitExceededException(String.format(
+                "Outbound rate limit for %s exceeded (%.1f req/s): wait of %d ms is over the %d ms limit",
+                name, permitsPerSecond, TimeUnit.NANOSECONDS.toMillis(waitNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)));
+        }
+
+        storedPermits -= fromStore;
+        nextFreeNanos = slotNanos;
+        return waitNanos;
+    }
+
+    public String getName() { return name; }
+
+    /** Callers currently sleeping until their reserved slot. */
+    public int getQueueDepth() { return waiting.get(); }
+
+    public long getAcquiredCount() { return acquired.get(); }
+
+    public long getRejectedCount() { return rejected.get(); }
+
+    public long getTotalWaitNanos() { return totalWaitNanos.get(); }
+
+    public static class RateLimitExceededException extends RuntimeException {
+        public RateLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
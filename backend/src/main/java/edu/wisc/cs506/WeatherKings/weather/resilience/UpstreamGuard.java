@@ -0,0 +1,145 @@
+package edu.wisc.cs506.WeatherKings.weather.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Wraps calls to one upstream (e.g. api.weather.gov) in a rate limiter, bulkhead, circuit
+ * breaker and retry.
+ *
+ * Each attempt takes a rate-limit token, then a bulkhead slot and a breaker permission, so a
+ * retry goes back through all three and the slot is not held while backing off. The token
+ * comes first: waiting for it does not hold a bulkhead slot, and a request shed by the limiter
+ * never reached the upstream, so it records nothing on the breaker (a half-open probe is
+ * handed back, see {@link CircuitBreaker#releasePermission}). Transient failures (see
+ * {@link RetryPolicy#isRetryable}) count against the breaker and are retried; anything else
+ * means the upstream answered, so it counts as a success for the breaker and is rethrown as is.
+ * An Error counts as a failure before it propagates, so every permission gets an outcome.
+ *
+ * Rejections surface as {@link CircuitBreaker.OpenException} / {@link Bulkhead.FullException} /
+ * {@link TokenBucketRateLimiter.RateLimitExceededException} so callers can fall back (e.g. serve a stale forecast) without waiting on a dead upstream.
+ */
+public class UpstreamGuard implements MeterBinder {
+
+    private final String name;
+    private final CircuitBreaker breaker;
+    private final Bulkhead bulkhead;
+    private final RetryPolicy retryPolicy;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AtomicLong retries = new AtomicLong();
+
+    public UpstreamGuard(String name, CircuitBreaker breaker, Bulkhead bulkhead, RetryPolicy retryPolicy) {
+        this(name, breaker, bulkhead, retryPolicy, null);
+    }
+
+    /**
+     * @param rateLimiter Token bucket for this upstream, or null for no rate limit
+     */
+    public UpstreamGuard(String name, CircuitBreaker breaker, Bulkhead bulkhead, RetryPolicy retryPolicy,
+                         TokenBucketRateLimiter rateLimiter) {
+        this.name = name;
+        this.breaker = breaker;
+        this.bulkhead = bulkhead;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Run an upstream call with rate limit, bulkhead, breaker and retry applied.
+     */
+    public <T> T call(Supplier<T> upstreamCall) {
+        RuntimeException lastFailure = null;
+
+        for (int attempt = 1; attempt <= retryPolicy.getMaxAttempts(); attempt++) {
+            if (attempt > 1) {
+                retries.incrementAndGet();
+                if (!retryPolicy.backoff(attempt - 1)) {
+                    break;
+                }
+            }
+
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            bulkhead.acquire();
+            try {
+                breaker.acquirePermission();
+                try {
+                    T result = upstreamCall.get();
+                    breaker.onSuccess();
+                    return result;
+                } catch (TokenBucketRateLimiter.RateLimitExceededException e) {
+                    // Shed by a limiter inside the call (e.g. on the request factory): NWS was never asked
+                    breaker.releasePermission();
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (!RetryPolicy.isRetryable(e)) {
+                        breaker.onSuccess();
+                        throw e;
+                    }
+                    breaker.onFailure();
+                    lastFailure = e;
+                } catch (Error e) {
+                    // Record the outcome anyway, or a half-open breaker would wait on this probe forever
+                    breaker.onFailure();
+                    throw e;
+                }
+            } finally {
+                bulkhead.release();
+            }
+        }
+
+        throw lastFailure;
+    }
+
+    /**
+     * True if the failure means the upstream is unavailable right now (rejected by the
+     * breaker/bulkhead/rate limiter or a transient error), as opposed to a bad request.
+     */
+    public static boolean isUnavailable(Throwable e) {
+        return e instanceof CircuitBreaker.OpenException
+            || e instanceof Bulkhead.FullException
+            || e instanceof TokenBucketRateLimiter.RateLimitExceededException
+            || RetryPolicy.isRetryable(e);
+    }
+
+    public String getName() { return name; }
+
+    public CircuitBreaker getBreaker() { return breaker; }
+
+    public Bulkhead getBulkhead() { return bulkhead; }
+
+    public TokenBucketRateLimiter getRateLimiter() { return rateLimiter; }
+
+    public long getRetryCount() { return retries.get(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.upstream.breaker.state", breaker, b -> b.getState().ordinal())
+                .tag("upstream", name)
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.rejected", breaker, CircuitBreaker::getRejectedCount)
+                .tag("upstream", name)
+                .tag("reason", "breaker-open")
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.rejected", bulkhead, Bulkhead::getRejectedCount)
+                .tag("upstream", name)
+                .tag("reason", "bulkhead-full")
+                .register(registry);
+        Gauge.builder("weather.upstream.bulkhead.available", bulkhead, Bulkhead::getAvailable)
+                .tag("upstream", name)
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.retries", retries, AtomicLong::get)
+                .tag("upstream", name)
+                .register(registry);
+        if (rateLimiter != null) {
+            RateLimitingInterceptor.bindLimiter(rateLimiter, registry);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import edu.wisc.cs506.WeatherKings.weather.dto.PointsResponse;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+
+/**
+ * Shared registry of NWS grid points.
+ *
+ * Every forecast and observation lookup starts with /points/{lat},{lon}, but the answer for
+ * a coordinate is effectively static. This service caches it (bounded, long TTL) so that
+ * WeatherApiService and WeatherObservationService only pay for the call once per location.
+ */
+@Service
+public class GridPointService {
+
+    private final RestClient restClient;
+    private final BoundedTtlCache<String, GridPoint> cache;
+    private final UpstreamGuard nwsGuard;
+
+    public GridPointService(
+            @Value("${weather.api.base-url}") String baseUrl,
+            @Value("${weather.api.user-agent}") String userAgent,
+            @Value("${weather.gridpoint.cache.max-entries:5000}") int maxEntries,
+            @Value("${weather.gridpoint.cache.ttl-hours:168}") long ttlHours,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard) {
+
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl(baseUrl)
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+        this.cache = new BoundedTtlCache<>(maxEntries, Duration.ofHours(ttlHours));
+        this.nwsGuard = nwsGuard;
+    }
+
+    /**
+     * Resolve the grid point for a coordinate, using the cache when possible.
+     *
+     * @param latitude Latitude coordinate
+     * @param longitude Longitude coordinate
+     * @return Grid point with forecast URLs
+     * @throws GridPointException if the points endpoint fails or returns invalid data
+     */
+    public GridPoint resolve(double latitude, double longitude) {
+        String key = coordinateKey(latitude, longitude);
+
+        GridPoint cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        GridPoint gridPoint = fetchGridPoint(key);
+        cache.put(key, gridPoint);
+        return gridPoint;
+    }
+
+    /**
+     * Cache key and request path segment: coordinates rounded to 4 decimals (~11 m),
+     * which is also the precision the points endpoint accepts.
+     */
+    static String coordinateKey(double latitude, double longitude) {
+        return String.format(Locale.ROOT, "%.4f,%.4f", latitude, longitude);
+    }
+
+    public BoundedTtlCache<String, GridPoint> getCache() {
+        return cache;
+    }
+
+    private GridPoint fetchGridPoint(String coordinateKey) {
+        PointsResponse pointsResponse;
+        try {
+            pointsResponse = nwsGuard.call(() -> restClient.get()
+                    .uri("/points/" + coordinateKey)
+                    .retrieve()
+                    .body(PointsResponse.class));
+        } catch (RestClientResponseException e) {
+            throw new GridPointException(
+                "Points request failed: " + e.getStatusCode() + " - " + e.getMessage(), e);
+        }
+
+        if (pointsResponse == null ||
+            pointsResponse.getProperties() == null ||
+            pointsResponse.getProperties().getForecast() == null) {
+            throw new GridPointException("Failed to get forecast URL from points endpoint");
+        }
+
+        return toGridPoint(pointsResponse.getProperties());
+    }
+
+    /**
+     * Build a GridPoint from the points properties. Older responses may omit gridId/gridX/gridY,
+     * in which case they are parsed from the forecast URL (.../gridpoints/MKX/37,63/forecast).
+     */
+    static GridPoint toGridPoint(PointsResponse.Properties properties) {
+        String forecastUrl = properties.getForecast();
+
+        if (properties.getGridId() != null && properties.getGridX() != null && properties.getGridY() != null) {
+            return new GridPoint(properties.getGridId(), properties.getGridX(), properties.getGridY(),
+                                 forecastUrl, properties.getForecastHourly(), properties.getTimeZone());
+        }
+
+        try {
+            String[] parts = forecastUrl.split("/");
+            String wfo = parts[parts.length - 3];
+            String[] xy = parts[parts.length - 2].split(",");
+            return new GridPoint(wfo, Integer.parseInt(xy[0]), Integer.parseInt(xy[1]),
+                                 forecastUrl, properties.getForecastHourly(), properties.getTimeZone());
+        } catch (RuntimeException e) {
+            throw new GridPointException("Unrecognized forecast URL: " + forecastUrl, e);
+        }
+    }
+
+    public static class GridPointException extends RuntimeException {
+        public GridPointException(String message) {
+            super(message);
+        }
+
+        public GridPointException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
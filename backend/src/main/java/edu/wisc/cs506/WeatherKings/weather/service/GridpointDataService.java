@@ -0,0 +1,131 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.GridpointMetrics;
+import edu.wisc.cs506.WeatherKings.weather.parser.GridpointDataStreamParser;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+
+/**
+ * Daily market metrics (max gust, overnight low, snowfall, sky cover) from the raw NWS
+ * /gridpoints/{wfo}/{x},{y} data.
+ *
+ * The gridpoint document is large (~1 MB with every series), so it is fetched once per
+ * grid cell and day, reduced to a GridpointMetrics in a single streaming pass, and only
+ * the metrics are cached.
+ */
+@Service
+public class GridpointDataService {
+
+    // Maps 4xx/5xx to HttpClientErrorException/HttpServerErrorException, as retrieve() would
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    private final RestClient restClient;
+    private final GridPointService gridPointService;
+    private final BoundedTtlCache<String, GridpointMetrics> cache;
+    private final UpstreamGuard nwsGuard;
+
+    public GridpointDataService(
+            @Value("${weather.api.base-url}") String baseUrl,
+            @Value("${weather.api.user-agent}") String userAgent,
+            @Value("${weather.gridpoint-data.cache.max-entries:1000}") int maxEntries,
+            @Value("${weather.gridpoint-data.cache.ttl-minutes:60}") long ttlMinutes,
+            GridPointService gridPointService,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard) {
+
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl(baseUrl)
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+        this.gridPointService = gridPointService;
+        this.nwsGuard = nwsGuard;
+        this.cache = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Get the forecast metrics for a location's grid cell on a local day.
+     *
+     * @throws GridpointDataException if the gridpoint data cannot be fetched or read
+     */
+    public GridpointMetrics getDailyMetrics(double latitude, double longitude, LocalDate day) {
+        GridPoint gridPoint = gridPointService.resolve(latitude, longitude);
+        String key = gridPoint.cellKey() + "@" + day;
+
+        GridpointMetrics cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ZoneId zone = zoneOf(gridPoint);
+        GridpointMetrics metrics;
+        try {
+            metrics = nwsGuard.call(() -> restClient.get()
+                    .uri(gridPoint.gridDataPath())
+                    .exchange((request, response) -> readMetrics(request, response, day, zone)));
+        } catch (RestClientResponseException e) {
+            throw new GridpointDataException(
+                "Gridpoint data request failed: " + e.getStatusCode() + " - " + e.getMessage(), e);
+        }
+
+        cache.put(key, metrics);
+        return metrics;
+    }
+
+    private static GridpointMetrics readMetrics(HttpRequest request, ClientHttpResponse response,
+                                                LocalDate day, ZoneId zone) throws IOException {
+        if (ERROR_HANDLER.hasError(response)) {
+            ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+        }
+        try {
+            return GridpointDataStreamParser.parse(response.getBody(), day, zone);
+        } catch (JsonProcessingException e) {
+            // Malformed JSON is not transient - keep it out of the retry path
+            throw new GridpointDataException("Invalid gridpoint response: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Grid cell time zone; UTC days if /points did not report one.
+     */
+    private static ZoneId zoneOf(GridPoint gridPoint) {
+        if (gridPoint.timeZone() == null) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(gridPoint.timeZone());
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    public static class GridpointDataException extends RuntimeException {
+        public GridpointDataException(String message) {
+            super(message);
+        }
+
+        public GridpointDataException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
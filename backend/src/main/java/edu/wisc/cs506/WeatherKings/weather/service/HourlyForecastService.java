@@ -0,0 +1,146 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.HourlyForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.HourlySeries;
+import edu.wisc.cs506.WeatherKings.weather.parser.HourlyForecastStreamParser;
+import edu.wisc.cs506.WeatherKings.weather.repository.HourlyForecastRepository;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+
+/**
+ * Hourly forecasts per grid cell, kept as compact primitive series.
+ *
+ * Lookup order:
+ * 1. In-memory front cache keyed by grid cell
+ * 2. hourly_forecasts table (one blob per cell, survives restarts)
+ *
+ * Series are written by {@link #ingest}, which the hourly ingestion job calls for the
+ * active cities - reads never go to NWS.
+ */
+@Service
+public class HourlyForecastService {
+
+    // Maps 4xx/5xx to HttpClientErrorException/HttpServerErrorException, as retrieve() would
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    private final RestClient restClient;
+    private final GridPointService gridPointService;
+    private final HourlyForecastRepository hourlyForecastRepository;
+    private final BoundedTtlCache<String, HourlySeries> cache;
+    private final UpstreamGuard nwsGuard;
+
+    public HourlyForecastService(
+            @Value("${weather.api.user-agent}") String userAgent,
+            @Value("${weather.hourly.cache.max-entries:1000}") int maxEntries,
+            @Value("${weather.hourly.cache.ttl-minutes:120}") long ttlMinutes,
+            GridPointService gridPointService,
+            HourlyForecastRepository hourlyForecastRepository,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard) {
+
+        // No base URL - forecastHourly is an absolute URL from /points
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+        this.gridPointService = gridPointService;
+        this.hourlyForecastRepository = hourlyForecastRepository;
+        this.nwsGuard = nwsGuard;
+        this.cache = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Fetch the hourly forecast for a location from NWS and store it for its grid cell.
+     *
+     * @return the freshly ingested series
+     * @throws HourlyForecastException if NWS fails or returns no hourly periods
+     */
+    public HourlySeries ingest(double latitude, double longitude) {
+        GridPoint gridPoint = gridPointService.resolve(latitude, longitude);
+        if (gridPoint.forecastHourlyUrl() == null) {
+            throw new HourlyForecastException("No hourly forecast URL for " + gridPoint.cellKey());
+        }
+
+        HourlySeries series;
+        try {
+            series = nwsGuard.call(() -> restClient.get()
+                    .uri(gridPoint.forecastHourlyUrl())
+                    .exchange(HourlyForecastService::readSeries));
+        } catch (RestClientResponseException e) {
+            throw new HourlyForecastException(
+                "Hourly forecast request failed: " + e.getStatusCode() + " - " + e.getMessage(), e);
+        }
+
+        if (series == null || series.size() == 0) {
+            throw new HourlyForecastException("Invalid hourly forecast response - missing periods data");
+        }
+
+        String gridCell = gridPoint.cellKey();
+        hourlyForecastRepository.save(new HourlyForecast(gridCell, series));
+        cache.put(gridCell, series);
+        return series;
+    }
+
+    /**
+     * Latest stored hourly series for a location, or null if its cell has not been ingested.
+     */
+    public HourlySeries getSeries(double latitude, double longitude) {
+        return getSeries(gridPointService.resolve(latitude, longitude).cellKey());
+    }
+
+    /**
+     * Latest stored hourly series for a grid cell, or null if it has not been ingested.
+     */
+    public HourlySeries getSeries(String gridCell) {
+        HourlySeries cached = cache.get(gridCell);
+        if (cached != null) {
+            return cached;
+        }
+
+        HourlySeries stored = hourlyForecastRepository.findById(gridCell)
+                .map(HourlyForecast::toHourlySeries)
+                .orElse(null);
+        if (stored != null) {
+            cache.put(gridCell, stored);
+        }
+        return stored;
+    }
+
+    private static HourlySeries readSeries(HttpRequest request, ClientHttpResponse response) throws IOException {
+        if (ERROR_HANDLER.hasError(response)) {
+            ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+        }
+        try {
+            return HourlyForecastStreamParser.parse(response.getBody());
+        } catch (JsonProcessingException e) {
+            // Malformed JSON is not transient - keep it out of the retry path
+            throw new HourlyForecastException("Invalid hourly forecast response: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    public static class HourlyForecastException extends RuntimeException {
+        public HourlyForecastException(String message) {
+            super(message);
+        }
+
+        public HourlyForecastException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.ConditionCategory;
+import edu.wisc.cs506.WeatherKings.weather.model.DailyObservationAggregate;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.repository.DailyObservationAggregateRepository;
+
+/**
+ * Maintains daily weather aggregates (max/min temperature, gusts, precipitation, snow,
+ * sky cover, dominant condition) per station.
+ *
+ * {@link #poll} fetches only the observations newer than the last one folded for a
+ * station and folds each into the aggregate of its local day. Bet resolution then reads
+ * one precomputed row via {@link #getDailyAggregate} instead of calling NWS: lines settle on
+ * the station recorded for their city or grid cell, which the poller polls.
+ */
+@Service
+public class ObservationAggregationService {
+
+    private final WeatherObservationService observationService;
+    private final StationResolver stationResolver;
+    private final StationCatalog stationCatalog;
+    private final DailyObservationAggregateRepository aggregateRepository;
+    private final Duration maxLookback;
+    private final Clock clock = Clock.systemUTC();
+
+    public ObservationAggregationService(
+            WeatherObservationService observationService,
+            StationResolver stationResolver,
+            StationCatalog stationCatalog,
+            DailyObservationAggregateRepository aggregateRepository,
+            @Value("${weather.observations.poll.max-lookback-hours:26}") long maxLookbackHours) {
+        this.observationService = observationService;
+        this.stationResolver = stationResolver;
+        this.stationCatalog = stationCatalog;
+        this.aggregateRepository = aggregateRepository;
+        this.maxLookback = Duration.ofHours(maxLookbackHours);
+    }
+
+    /**
+     * Nearest observation station for a location (cached per grid cell by StationResolver).
+     */
+    public ObservationStation nearestStation(double latitude, double longitude) {
+        return stationResolver.resolveStations(latitude, longitude).get(0);
+    }
+
+    /**
+     * A station from the bundled catalog (with its time zone), or null if it is not listed.
+     */
+    public ObservationStation catalogStation(String stationId) {
+        return stationCatalog.find(stationId);
+    }
+
+    /**
+     * Nearest station already stored for a grid cell, or null if the cell has not been resolved.
+     * Reads memory or the grid_cell_stations table only.
+     */
+    public ObservationStation storedCellStation(String gridCell) {
+        List<ObservationStation> stations = stationResolver.storedStations(gridCell);
+        return stations.isEmpty() ? null : stations.get(0);
+    }
+
+    /**
+     * Fold the station's new observations into its daily aggregates.
+     * A station seen for the first time (or after a long outage) starts maxLookback ago.
+     *
+     * @return number of observations folded
+     * @throws IllegalStateException if the station's time zone is unknown - nothing is folded
+     */
+    public int poll(ObservationStation station) {
+        String stationId = station.stationId();
+        ZoneId zone = zoneOf(station);
+
+        Instant floor = clock.instant().minus(maxLookback);
+        Instant since = aggregateRepository.findFirstByStationIdOrderByLastObservationAtDesc(stationId)
+                .map(DailyObservationAggregate::getLastObservationInstant)
+                .filter(last -> last.isAfter(floor))
+                .orElse(floor);
+
+        List<WeatherObservation> observations = observationService.getObservationsSince(stationId, since);
+
+        // Usually one day, two around local midnight
+        Map<LocalDate, DailyObservationAggregate> days = new HashMap<>();
+        int folded = 0;
+        for (WeatherObservation observation : observations) {
+            Instant observedAt = WeatherObservationService.observedAt(observation);
+            LocalDate day = LocalDate.ofInstant(observedAt, zone);
+            DailyObservationAggregate aggregate = days.computeIfAbsent(day, d -> aggregateRepository
+                    .findByStationIdAndLocalDate(stationId, d)
+                    .orElseGet(() -> new DailyObservationAggregate(stationId, d, zone.getId())));
+
+            Instant last = aggregate.getLastObservationInstant();
+            if (last != null && !observedAt.isAfter(last)) {
+                continue;
+            }
+
+            WeatherObservation.Properties properties = observation.getProperties();
+            aggregate.fold(
+                observedAt,
+                properties.getTemperature() != null ? properties.getTemperature().getValueInFahrenheit() : null,
+                properties.getPrecipitationLastHour() != null ? properties.getPrecipitationLastHour().getValueInMillimeters() : null,
+                ConditionCategory.classify(properties.getTextDescription()),
+                properties.getWindGust() != null ? properties.getWindGust().getValueInMph() : null,
+                properties.getSkyCoverPercent());
+            folded++;
+        }
+
+        if (!days.isEmpty()) {
+            aggregateRepository.saveAll(days.values());
+        }
+        return folded;
+    }
+
+    /**
+     * Daily aggregate of a station, or null if it has not been polled for that day.
+     * A single read of the daily_observation_aggregates table.
+     */
+    public DailyObservationAggregate getDailyAggregate(String stationId, LocalDate date) {
+        if (stationId == null || date == null) {
+            return null;
+        }
+        return aggregateRepository.findByStationIdAndLocalDate(stationId, date).orElse(null);
+    }
+
+    /**
+     * Daily aggregate of the location's nearest station, or null if it has not been polled
+     * for that day. Only for lines with no recorded station: finding the station may call NWS.
+     */
+    public DailyObservationAggregate getDailyAggregate(double latitude, double longitude, LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        List<ObservationStation> stations = stationResolver.resolveStations(latitude, longitude);
+        if (stations.isEmpty()) {
+            return null;
+        }
+        return aggregateRepository.findByStationIdAndLocalDate(stations.get(0).stationId(), date)
+                .orElse(null);
+    }
+
+    /**
+     * Station time zone, from the station listing or else its catalog entry.
+     *
+     * @throws IllegalStateException if neither names a valid zone: bet dates are US-local days,
+     *         and folding into UTC days instead would settle them on a window 5-10 hours off
+     */
+    ZoneId zoneOf(ObservationStation station) {
+        String timeZone = station.timeZone();
+        if (timeZone == null) {
+            ObservationStation listed = stationCatalog.find(station.stationId());
+            timeZone = listed != null ? listed.timeZone() : null;
+        }
+        if (timeZone == null) {
+            throw new IllegalStateException("No time zone for station " + station.stationId());
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalStateException("Invalid time zone " + timeZone + " for station " + station.stationId(), e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bundled NWS station catalog (classpath:stations/nws-stations.csv), loaded once at startup
+ * into a {@link StationKdTree} so the nearest stations to a coordinate are found in memory
+ * without calling /points and /stations.
+ *
+ * Disable with weather.stations.catalog.enabled=false; the catalog is then empty and every
+ * lookup falls through to network discovery.
+ */
+@Component
+public class StationCatalog implements MeterBinder {
+
+    private final StationKdTree tree;
+    private final Map<String, ObservationStation> byId = new HashMap<>();
+    private final long loadMillis;
+
+    public StationCatalog(
+            @Value("${weather.stations.catalog.enabled:true}") boolean enabled,
+            @Value("${weather.stations.catalog.resource:/stations/nws-stations.csv}") String resource) {
+
+        long started = System.nanoTime();
+        if (!enabled) {
+            this.tree = new StationKdTree(List.of());
+        } else {
+            try (InputStream in = StationCatalog.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Station catalog not found: " + resource);
+                }
+                List<ObservationStation> stations = parse(in);
+                stations.forEach(station -> byId.put(station.stationId(), station));
+                this.tree = new StationKdTree(stations);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read station catalog " + resource, e);
+            }
+        }
+        this.loadMillis = (System.nanoTime() - started) / 1_000_000;
+    }
+
+    /**
+     * Read catalog rows: stationId,latitude,longitude,elevationM,timeZone. Lines starting with
+     * '#', the header row and rows without coordinates are skipped; fields may be quoted.
+     */
+    public static List<ObservationStation> parse(InputStream in) throws IOException {
+        List<ObservationStation> stations = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("stationId,")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length < 5) {
+                continue;
+            }
+            try {
+                String timeZone = unquote(fields[4]);
+                stations.add(new ObservationStation(
+                    unquote(fields[0]),
+                    Double.parseDouble(unquote(fields[1])),
+                    Double.parseDouble(unquote(fields[2])),
+                    timeZone.isEmpty() ? null : timeZone));
+            } catch (NumberFormatException e) {
+                // Station without a usable location
+            }
+        }
+        return stations;
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * The k catalog stations nearest to a coordinate within a radius, nearest first.
+     *
+     * @return Up to k stations, empty if the catalog has none within the radius
+     */
+    public List<ObservationStation> nearest(double latitude, double longitude, int k, double maxDistanceKm) {
+        return tree.nearest(latitude, longitude, k, maxDistanceKm);
+    }
+
+    /**
+     * A catalog station by its identifier (e.g. "KMSN"), or null if it is not in the catalog.
+     */
+    public ObservationStation find(String stationId) {
+        return stationId == null ? null : byId.get(stationId);
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.stations.catalog.size", tree, StationKdTree::size)
+                .description("Stations in the bundled catalog")
+                .register(registry);
+        Gauge.builder("weather.stations.catalog.load.time", this, c -> c.loadMillis)
+                .baseUnit("milliseconds")
+                .description("Time taken to read and index the catalog at startup")
+                .register(registry);
+    }
+}
@@ -0,0 +1,256 @@
+package edu.wisc.cs506.WeatherKings.weather.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+import edu.wisc.cs506.WeatherKings.weather.dto.StationResponse;
+import edu.wisc.cs506.WeatherKings.weather.model.GridCellStation;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.repository.GridCellStationRepository;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+
+/**
+ * Resolves the observation stations for a location, nearest first.
+ *
+ * Lookup order for a coordinate:
+ * 1. Bundled station catalog - the nearest stations within the catalog radius, found in
+ *    memory without any network call. When it has fewer than maxStationsPerCell there, the
+ *    failover candidates come from a wider catalog query, still without a network call.
+ * 2. In-memory front cache keyed by grid cell
+ * 3. grid_cell_stations table (survives restarts, shared between nodes)
+ * 4. Discovery via /gridpoints/{wfo}/{x},{y}/stations, which is then persisted
+ * Steps 2-4 need the grid cell from /points, so they only run where the catalog has no
+ * station within the catalog radius.
+ *
+ * The full ranked list is kept so callers can fail over to the next-nearest station
+ * without running discovery again.
+ *
+ * Discovered stations are inserted in their own transaction, so a conflicting insert from
+ * another request does not mark the caller's transaction (e.g. a bet settlement) rollback-only.
+ */
+@Service
+public class StationResolver {
+
+    private final RestClient restClient;
+    private final GridPointService gridPointService;
+    private final GridCellStationRepository stationRepository;
+    private final BoundedTtlCache<String, List<ObservationStation>> cache;
+    private final int maxStationsPerCell;
+    private final UpstreamGuard nwsGuard;
+    private final StationCatalog stationCatalog;
+    private final double catalogRadiusKm;
+    private final double catalogFailoverRadiusKm;
+    private final TransactionTemplate newTransaction;
+
+    public StationResolver(
+            @Value("${weather.api.base-url}") String baseUrl,
+            @Value("${weather.api.user-agent}") String userAgent,
+            @Value("${weather.stations.max-per-cell:5}") int maxStationsPerCell,
+            @Value("${weather.stations.cache.max-entries:5000}") int maxEntries,
+            @Value("${weather.stations.catalog.radius-km:25}") double catalogRadiusKm,
+            @Value("${weather.stations.catalog.failover-radius-km:100}") double catalogFailoverRadiusKm,
+            GridPointService gridPointService,
+            GridCellStationRepository stationRepository,
+            StationCatalog stationCatalog,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard,
+            PlatformTransactionManager transactionManager) {
+
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl(baseUrl)
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+        this.gridPointService = gridPointService;
+        this.stationRepository = stationRepository;
+        this.maxStationsPerCell = maxStationsPerCell;
+        this.nwsGuard = nwsGuard;
+        this.stationCatalog = stationCatalog;
+        this.catalogRadiusKm = catalogRadiusKm;
+        this.catalogFailoverRadiusKm = Math.max(catalogRadiusKm, catalogFailoverRadiusKm);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Station lists change very rarely, so entries only leave the cache through LRU eviction
+        this.cache = new BoundedTtlCache<>(maxEntries, Duration.ofDays(30));
+    }
+
+    /**
+     * Get the observation stations for a coordinate, nearest first.
+     *
+     * @param latitude Latitude coordinate
+     * @param longitude Longitude coordinate
+     * @return Non-empty list of stations
+     * @throws StationResolutionException if no stations can be found
+     */
+    public List<ObservationStation> resolveStations(double latitude, double longitude) {
+        List<ObservationStation> nearby = stationCatalog.nearest(latitude, longitude, maxStationsPerCell, catalogRadiusKm);
+        if (nearby.isEmpty()) {
+            return resolveStations(gridPointService.resolve(latitude, longitude));
+        }
+        if (nearby.size() < maxStationsPerCell) {
+            // Same k from further out - the nearest ones stay first, the rest are failover candidates
+            return stationCatalog.nearest(latitude, longitude, maxStationsPerCell, catalogFailoverRadiusKm);
+        }
+        return nearby;
+    }
+
+    /**
+     * Get the observation stations for a grid cell, nearest first.
+     */
+    public List<ObservationStation> resolveStations(GridPoint gridPoint) {
+        String gridCell = gridPoint.cellKey();
+
+        List<ObservationStation> stations = storedStations(gridCell);
+        if (stations.isEmpty()) {
+            stations = persist(gridCell, discoverStations(gridPoint));
+            cache.put(gridCell, stations);
+        }
+        return stations;
+    }
+
+    /**
+     * The stations already stored for a grid cell (e.g. "MKX/37,63"), nearest first, without
+     * discovery - empty if the cell has not been resolved yet.
+     */
+    public List<ObservationStation> storedStations(String gridCell) {
+        List<ObservationStation> cached = cache.get(gridCell);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<ObservationStation> stations = stationRepository.findByGridCellOrderByStationRankAsc(gridCell)
+                .stream()
+                .map(GridCellStation::toObservationStation)
+                .toList();
+        if (!stations.isEmpty()) {
+            cache.put(gridCell, stations);
+        }
+        return stations;
+    }
+
+    private List<ObservationStation> discoverStations(GridPoint gridPoint) {
+        StationResponse stationResponse;
+        try {
+            stationResponse = nwsGuard.call(() -> restClient.get()
+                    .uri(gridPoint.stationsPath())
+                    .retrieve()
+                    .body(StationResponse.class));
+        } catch (RestClientResponseException e) {
+            throw new StationResolutionException("Failed to find station: " + e.getMessage(), e);
+        }
+
+        List<ObservationStation> stations = toStations(stationResponse, maxStationsPerCell).stream()
+                .map(station -> withTimeZone(station, gridPoint))
+                .toList();
+        if (stations.isEmpty()) {
+            throw new StationResolutionException("No stations found for " + gridPoint.cellKey());
+        }
+        return stations;
+    }
+
+    /**
+     * A discovered station with its time zone filled in when the response left it out (the
+     * observationStations URL fallback): the catalog's zone for it, else the grid cell's zone
+     * from /points. Daily aggregates are cut at the station's local midnight, so a station is
+     * never stored without a zone when one can be found.
+     */
+    private ObservationStation withTimeZone(ObservationStation station, GridPoint gridPoint) {
+        if (station.timeZone() != null) {
+            return station;
+        }
+        ObservationStation listed = stationCatalog.find(station.stationId());
+        String timeZone = listed != null && listed.timeZone() != null ? listed.timeZone() : gridPoint.timeZone();
+        return new ObservationStation(station.stationId(), station.latitude(), station.longitude(), timeZone);
+    }
+
+    /**
+     * Convert the stations response to a ranked list. Features carry coordinates and time zone;
+     * older responses only have the observationStations URLs, so fall back to those.
+     */
+    static List<ObservationStation> toStations(StationResponse response, int limit) {
+        List<ObservationStation> stations = new ArrayList<>();
+        if (response == null) {
+            return stations;
+        }
+
+        if (response.getFeatures() != null && !response.getFeatures().isEmpty()) {
+            for (StationResponse.Feature feature : response.getFeatures()) {
+                if (stations.size() >= limit) {
+                    break;
+                }
+                if (feature.getProperties() == null || feature.getProperties().getStationIdentifier() == null) {
+                    continue;
+                }
+                Double lat = null;
+                Double lon = null;
+                if (feature.getGeometry() != null && feature.getGeometry().getCoordinates() != null
+                        && feature.getGeometry().getCoordinates().size() >= 2) {
+                    lon = feature.getGeometry().getCoordinates().get(0);
+                    lat = feature.getGeometry().getCoordinates().get(1);
+                }
+                stations.add(new ObservationStation(
+                    feature.getProperties().getStationIdentifier(), lat, lon, feature.getProperties().getTimeZone()));
+            }
+            return stations;
+        }
+
+        if (response.getObservationStations() != null) {
+            for (String stationUrl : response.getObservationStations()) {
+                if (stations.size() >= limit) {
+                    break;
+                }
+                String stationId = stationUrl.substring(stationUrl.lastIndexOf('/') + 1);
+                stations.add(new ObservationStation(stationId, null, null, null));
+            }
+        }
+        return stations;
+    }
+
+    /**
+     * Store discovered stations for a cell.
+     *
+     * @return The stations now stored for the cell - the discovered ones, or the rows another
+     *         request stored first
+     */
+    private List<ObservationStation> persist(String gridCell, List<ObservationStation> stations) {
+        List<GridCellStation> rows = new ArrayList<>();
+        for (int rank = 0; rank < stations.size(); rank++) {
+            rows.add(new GridCellStation(gridCell, rank, stations.get(rank)));
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> stationRepository.saveAllAndFlush(rows));
+            return stations;
+        } catch (DataIntegrityViolationException e) {
+            // Another request (or node) resolved the same cell first - use its rows
+            System.err.println("Stations for " + gridCell + " already stored: " + e.getMessage());
+            List<ObservationStation> stored = newTransaction.execute(status ->
+                stationRepository.findByGridCellOrderByStationRankAsc(gridCell).stream()
+                    .map(GridCellStation::toObservationStation)
+                    .toList());
+            return stored == null || stored.isEmpty() ? stations : stored;
+        }
+    }
+
+    public static class StationResolutionException extends RuntimeException {
+        public StationResolutionException(String message) {
+            super(message);
+        }
+
+        public StationResolutionException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
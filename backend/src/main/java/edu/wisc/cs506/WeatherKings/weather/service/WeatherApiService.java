@@ -1,12 +1,31 @@
 package edu.wisc.cs506.WeatherKings.weather.service;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
-import edu.wisc.cs506.WeatherKings.weather.dto.PointsResponse;
+import edu.wisc.cs506.WeatherKings.weather.cache.ForecastCache;
+import edu.wisc.cs506.WeatherKings.weather.cache.HttpCacheHeaders;
 import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.parser.ForecastStreamParser;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
 
 /**
  * Service for interacting with the National Weather Service API
@@ -14,26 +33,49 @@ import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
  * This service handles:
  * - Making HTTP calls to weather.gov
  * - The two-step process required by NWS API
+ * - Caching forecasts per grid cell according to the NWS caching headers
+ *   (in process, backed by the forecast_cache table so restarts do not refetch)
+ * - Circuit breaker / bulkhead / retry around NWS, serving the last good forecast when NWS is down
  * - Error handling for failed API calls
  * - Adding required User-Agent header
  */
 @Service
 public class WeatherApiService {
     
+    // Maps 4xx/5xx to HttpClientErrorException/HttpServerErrorException, as retrieve() would
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+    
     private final RestClient restClient;
+    private final GridPointService gridPointService;
+    private final ForecastCache forecastCache;
+    private final UpstreamGuard nwsGuard;
+    private final Clock clock = Clock.systemUTC();
     
     /**
      * Constructor - Spring automatically injects values from application.properties
      * 
      * @param baseUrl The base URL for the weather API (https://api.weather.gov)
      * @param userAgent Required User-Agent string for NWS API
+     * @param gridPointService Shared cache of /points lookups
+     * @param forecastCache Per grid cell forecast cache honouring NWS caching headers
+     * @param requestFactory Shared pooled keep-alive HTTP client (see HttpClientConfig)
+     * @param nwsGuard Circuit breaker, bulkhead and retry shared by all NWS calls
      */
     public WeatherApiService(
             @Value("${weather.api.base-url}") String baseUrl,
-            @Value("${weather.api.user-agent}") String userAgent) {
+            @Value("${weather.api.user-agent}") String userAgent,
+            GridPointService gridPointService,
+            ForecastCache forecastCache,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard) {
+        
+        this.gridPointService = gridPointService;
+        this.forecastCache = forecastCache;
+        this.nwsGuard = nwsGuard;
         
         // Build RestClient with base configuration
         this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
                 .baseUrl(baseUrl)
                 .defaultHeader("User-Agent", userAgent)  // Required by NWS API
                 .build();
@@ -43,9 +85,13 @@ public class WeatherApiService {
      * Get weather forecast for a specific location
      * 
      * Process:
-     * 1. Call /points/{lat},{lon} to get forecast URL
-     * 2. Call that URL to get actual forecast data
-     * 3. Return forecast with ~14 periods covering ~7 days
+     * 1. Resolve /points/{lat},{lon} to a grid point (served from GridPointService's cache)
+     * 2. Serve the grid cell's forecast from ForecastCache while it is fresh
+     * 3. Otherwise call the grid point's forecast URL (once per cell for concurrent callers),
+     *    conditionally if we hold validators
+     * 4. If NWS is unavailable (breaker open, bulkhead full, 5xx/timeouts after retries),
+     *    fall back to the last good forecast for the cell
+     * 5. Return forecast with ~14 periods covering ~7 days
      * 
      * @param latitude Latitude coordinate (-90 to 90)
      * @param longitude Longitude coordinate (-180 to 180)
@@ -53,41 +99,39 @@ public class WeatherApiService {
      * @throws WeatherApiException if API call fails or returns invalid data
      */
     public WeatherForecastResponse getForecast(double latitude, double longitude) {
+        return getCompactForecast(latitude, longitude).toResponse();
+    }
+    
+    /**
+     * Same as {@link #getForecast}, returning the cached compact form without building
+     * Period objects - for callers that only read a few values (bet generation, the warmer).
+     */
+    public CompactForecast getCompactForecast(double latitude, double longitude) {
         try {
-            // STEP 1: Get the forecast URL for this coordinate
-            // Format: /points/43.0731,-89.4012
-            String pointsUrl = String.format("/points/%.4f,%.4f", latitude, longitude);
-            
-            PointsResponse pointsResponse = restClient.get()
-                    .uri(pointsUrl)
-                    .retrieve()
-                    .body(PointsResponse.class);
+            // STEP 1: Resolve the grid point (cached - a coordinate's grid cell never changes)
+            GridPoint gridPoint = gridPointService.resolve(latitude, longitude);
             
-            // Validate we got a forecast URL
-            if (pointsResponse == null || 
-                pointsResponse.getProperties() == null || 
-                pointsResponse.getProperties().getForecast() == null) {
-                throw new WeatherApiException("Failed to get forecast URL from points endpoint");
+            // STEP 2: Serve from the forecast cache while the upstream expiry allows it
+            ForecastCache.Entry cached = forecastCache.get(gridPoint.cellKey());
+            if (cached != null && cached.isFresh(clock.instant())) {
+                forecastCache.recordHit();
+                return cached.forecast();
             }
             
-            // STEP 2: Get the actual forecast using the URL from step 1
-            // This URL is a full path like: https://api.weather.gov/gridpoints/MKX/123,456/forecast
-            String forecastUrl = pointsResponse.getProperties().getForecast();
-            
-            WeatherForecastResponse forecast = restClient.get()
-                    .uri(forecastUrl)
-                    .retrieve()
-                    .body(WeatherForecastResponse.class);
-            
-            // Validate we got valid forecast data
-            if (forecast == null || 
-                forecast.getProperties() == null || 
-                forecast.getProperties().getPeriods() == null) {
-                throw new WeatherApiException("Invalid forecast response - missing periods data");
+            // STEP 3: Fetch (or revalidate) the forecast for this grid cell.
+            // Concurrent callers for the same cell share a single in-flight request.
+            try {
+                return forecastCache.fetchCoalesced(gridPoint.cellKey(), () -> fetchForecast(gridPoint, cached));
+            } catch (RuntimeException e) {
+                // STEP 4: NWS is down - a stale forecast beats an error page
+                if (cached != null && UpstreamGuard.isUnavailable(e)) {
+                    forecastCache.recordStaleServed();
+                    System.err.println("Serving stale forecast for " + gridPoint.cellKey() + ": " + e.getMessage());
+                    return cached.forecast();
+                }
+                throw e;
             }
             
-            return forecast;
-            
         } catch (RestClientResponseException e) {
             // Handle HTTP errors (4xx, 5xx status codes)
             throw new WeatherApiException(
@@ -100,6 +144,87 @@ public class WeatherApiService {
         }
     }
     
+    /**
+     * Download the forecast for a grid cell and store it in the cache.
+     * When a stale entry with an ETag/Last-Modified is available the request is conditional,
+     * and a 304 Not Modified just extends the cached entry without transferring a body.
+     */
+    private CompactForecast fetchForecast(GridPoint gridPoint, ForecastCache.Entry stale) {
+        boolean conditional = stale != null && stale.hasValidators();
+        
+        // This URL is a full path like: https://api.weather.gov/gridpoints/MKX/123,456/forecast
+        ResponseEntity<WeatherForecastResponse> response = nwsGuard.call(() -> restClient.get()
+                .uri(gridPoint.forecastUrl())
+                .headers(headers -> {
+                    if (conditional && stale.etag() != null) {
+                        headers.setIfNoneMatch(stale.etag());
+                    }
+                    if (conditional && stale.lastModified() != null) {
+                        headers.setIfModifiedSince(stale.lastModified().toEpochMilli());
+                    }
+                })
+                .exchange(WeatherApiService::readForecast));
+        
+        Instant now = clock.instant();
+        HttpHeaders headers = response.getHeaders();
+        Instant expiresAt = HttpCacheHeaders.expiresAt(headers, now, forecastCache.getFallbackTtl());
+        
+        if (conditional && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            forecastCache.recordRevalidation();
+            ForecastCache.Entry refreshed = stale.revalidated(
+                headers.getETag(), HttpCacheHeaders.lastModified(headers), now, expiresAt);
+            forecastCache.put(gridPoint.cellKey(), refreshed);
+            return refreshed.forecast();
+        }
+        
+        WeatherForecastResponse forecast = response.getBody();
+        
+        // Validate we got valid forecast data
+        if (forecast == null || 
+            forecast.getProperties() == null || 
+            forecast.getProperties().getPeriods() == null) {
+            throw new WeatherApiException("Invalid forecast response - missing periods data");
+        }
+        
+        if (stale != null) {
+            forecastCache.recordRefetch();
+        } else {
+            forecastCache.recordMiss();
+        }
+        CompactForecast compact = CompactForecast.from(forecast);
+        forecastCache.put(gridPoint.cellKey(), new ForecastCache.Entry(
+            compact, headers.getETag(), HttpCacheHeaders.lastModified(headers), now, expiresAt));
+        
+        return compact;
+    }
+    
+    /**
+     * Read the forecast body with the streaming parser instead of data binding, so only the
+     * period fields we use are materialized (no detailedForecast prose, geometry or icons).
+     * Error statuses are turned into the usual RestClient exceptions so retry and the
+     * circuit breaker still see 5xx responses as HttpServerErrorException.
+     */
+    private static ResponseEntity<WeatherForecastResponse> readForecast(
+            HttpRequest request, ClientHttpResponse response) throws IOException {
+        if (ERROR_HANDLER.hasError(response)) {
+            ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+        }
+        
+        WeatherForecastResponse forecast = null;
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            try {
+                forecast = ForecastStreamParser.parse(response.getBody());
+            } catch (JsonProcessingException e) {
+                // Malformed JSON is not transient - keep it out of the retry path
+                throw new WeatherApiException("Invalid forecast response: " + e.getOriginalMessage(), e);
+            }
+        }
+        
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(forecast);
+    }
+    
     /**
      * Custom exception for weather API errors
      * Makes it easy to catch and handle weather-specific errors
@@ -1,12 +1,23 @@
 package edu.wisc.cs506.WeatherKings.weather.service;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
 
-import edu.wisc.cs506.WeatherKings.weather.dto.StationResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.ObservationCollection;
 import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
 
 /**
  * Service for fetching actual weather observations from NWS stations.
@@ -16,12 +27,24 @@ import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
 public class WeatherObservationService {
     
     private final RestClient restClient;
+    private final StationResolver stationResolver;
+    private final int maxFailoverStations;
+    private final UpstreamGuard nwsGuard;
     
     public WeatherObservationService(
             @Value("${weather.api.base-url}") String baseUrl,
-            @Value("${weather.api.user-agent}") String userAgent) {
+            @Value("${weather.api.user-agent}") String userAgent,
+            @Value("${weather.stations.max-failover:3}") int maxFailoverStations,
+            StationResolver stationResolver,
+            ClientHttpRequestFactory requestFactory,
+            UpstreamGuard nwsGuard) {
+        
+        this.stationResolver = stationResolver;
+        this.maxFailoverStations = maxFailoverStations;
+        this.nwsGuard = nwsGuard;
         
         this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
                 .baseUrl(baseUrl)
                 .defaultHeader("User-Agent", userAgent)
                 .build();
@@ -29,71 +52,51 @@ public class WeatherObservationService {
     
     /**
      * Get actual weather observation for a location.
-     * Finds nearest station and retrieves latest observation.
+     * Stations come from StationResolver (cached per grid cell), so normally only the
+     * /observations/latest call hits the network. If the nearest station fails, the next
+     * nearest stations are tried in order. Calls go through the shared NWS circuit breaker,
+     * so while NWS is down this fails fast instead of holding the request thread.
      */
     public WeatherObservation getObservationForLocation(double latitude, double longitude) {
         try {
-            String stationId = findNearestStation(latitude, longitude);
-            return getLatestObservation(stationId);
+            List<ObservationStation> stations = stationResolver.resolveStations(latitude, longitude);
+            return getObservationWithFailover(stations);
         } catch (Exception e) {
             throw new ObservationException("Failed to get observation: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Find nearest weather station for coordinates.
+     * Try the stations nearest first until one returns a valid observation.
      */
-    private String findNearestStation(double latitude, double longitude) {
-        try {
-            String pointsUrl = String.format("/points/%.4f,%.4f", latitude, longitude);
-            
-            var pointsResponse = restClient.get()
-                    .uri(pointsUrl)
-                    .retrieve()
-                    .body(edu.wisc.cs506.WeatherKings.weather.dto.PointsResponse.class);
-            
-            if (pointsResponse == null || pointsResponse.getProperties() == null) {
-                throw new ObservationException("Invalid points response");
-            }
-            
-            String forecastUrl = pointsResponse.getProperties().getForecast();
-            String[] parts = forecastUrl.split("/");
-            String wfo = parts[parts.length - 3];
-            String gridX = parts[parts.length - 2].split(",")[0];
-            String gridY = parts[parts.length - 2].split(",")[1];
-            
-            String stationsUrl = String.format("/gridpoints/%s/%s,%s/stations", wfo, gridX, gridY);
-            
-            StationResponse stationResponse = restClient.get()
-                    .uri(stationsUrl)
-                    .retrieve()
-                    .body(StationResponse.class);
-            
-            if (stationResponse == null || 
-                stationResponse.getObservationStations() == null || 
-                stationResponse.getObservationStations().isEmpty()) {
-                throw new ObservationException("No stations found");
+    private WeatherObservation getObservationWithFailover(List<ObservationStation> stations) {
+        RuntimeException lastFailure = null;
+        int attempts = Math.min(maxFailoverStations, stations.size());
+        
+        for (int i = 0; i < attempts; i++) {
+            String stationId = stations.get(i).stationId();
+            try {
+                return getLatestObservation(stationId);
+            } catch (ObservationException | RestClientException e) {
+                System.err.println("Station " + stationId + " failed, trying next: " + e.getMessage());
+                lastFailure = e;
             }
-            
-            String stationUrl = stationResponse.getObservationStations().get(0);
-            return stationUrl.substring(stationUrl.lastIndexOf('/') + 1);
-            
-        } catch (RestClientResponseException e) {
-            throw new ObservationException("Failed to find station: " + e.getMessage(), e);
         }
+        
+        throw new ObservationException("No station returned an observation", lastFailure);
     }
     
     /**
      * Get latest observation from a station.
      */
-    private WeatherObservation getLatestObservation(String stationId) {
+    public WeatherObservation getLatestObservation(String stationId) {
         try {
             String observationUrl = String.format("/stations/%s/observations/latest", stationId);
             
-            WeatherObservation observation = restClient.get()
+            WeatherObservation observation = nwsGuard.call(() -> restClient.get()
                     .uri(observationUrl)
                     .retrieve()
-                    .body(WeatherObservation.class);
+                    .body(WeatherObservation.class));
             
             if (observation == null || observation.getProperties() == null) {
                 throw new ObservationException("Invalid observation response");
@@ -106,6 +109,54 @@ public class WeatherObservationService {
         }
     }
     
+    /**
+     * Get all observations a station reported after the given instant, oldest first.
+     * Used by the observation poller to fetch only what it has not seen yet.
+     */
+    public List<WeatherObservation> getObservationsSince(String stationId, Instant since) {
+        try {
+            ObservationCollection collection = nwsGuard.call(() -> restClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/stations/{stationId}/observations")
+                            .queryParam("start", since.toString())
+                            .build(stationId))
+                    .retrieve()
+                    .body(ObservationCollection.class));
+            
+            List<WeatherObservation> observations = new ArrayList<>();
+            if (collection == null || collection.getFeatures() == null) {
+                return observations;
+            }
+            for (WeatherObservation observation : collection.getFeatures()) {
+                Instant observedAt = observedAt(observation);
+                // start is inclusive upstream - drop the one we already folded
+                if (observedAt != null && observedAt.isAfter(since)) {
+                    observations.add(observation);
+                }
+            }
+            observations.sort(Comparator.comparing(WeatherObservationService::observedAt));
+            return observations;
+            
+        } catch (RestClientResponseException e) {
+            throw new ObservationException("Failed to get observations: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Observation time, or null if missing or unparseable.
+     */
+    public static Instant observedAt(WeatherObservation observation) {
+        if (observation == null || observation.getProperties() == null
+                || observation.getProperties().getTimestamp() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(observation.getProperties().getTimestamp()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
     public static class ObservationException extends RuntimeException {
         public ObservationException(String message) {
             super(message);
@@ -0,0 +1,555 @@
+package edu.wisc.cs506.WeatherKings.weather.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.wisc.cs506.WeatherKings.weather.resilience.TokenBucketRateLimiter;
+
+/**
+ * Local stand-in for api.weather.gov and the Nominatim search API, for load tests and
+ * integration tests that must not touch the real services. Lives in the standin source set:
+ * it is on the test, jmh and bootRunPerf classpaths, not in the application jar.
+ *
+ * Serves the recorded responses under classpath:standin/ for every route the app calls:
+ * - /points/{lat},{lon} - every US coordinate maps to a made-up grid cell about 2.5 km wide,
+ *   so nearby coordinates share a cell like they do upstream; points outside the US get 404
+ * - /gridpoints/{wfo}/{x},{y}/forecast and /forecast/hourly - with Cache-Control and an ETag
+ *   per cell and day, answering If-None-Match with 304
+ * - /gridpoints/{wfo}/{x},{y} and /gridpoints/{wfo}/{x},{y}/stations
+ * - /stations/{id}/observations/latest and /stations/{id}/observations?start=...
+ * - /search?q=... (Nominatim) - known places from places.csv, any other name gets a stable
+ *   made-up coordinate; names containing digits are not found
+ *
+ * Recorded forecast dates are shifted so the first period starts today (weekday names in the
+ * period labels are left as recorded). Observations are generated hourly at :53 from a
+ * template, deterministic per station and hour.
+ *
+ * Latency, errors and throttling are set by {@link StandInSettings}. Requests are handled on
+ * virtual threads, so injected latency never limits throughput.
+ */
+public class NwsStandInServer implements AutoCloseable {
+
+    private static final String FIXTURES = "/standin/";
+    private static final String LOOPBACK = "127.0.0.1";
+
+    // Stand-in grid: one office, cells of 0.025 degrees over a box around the US (Hawaii to Maine, Alaska)
+    private static final String WFO = "MKX";
+    private static final double CELL_DEGREES = 0.025;
+    private static final double MIN_LAT = 18.0;
+    private static final double MAX_LAT = 72.0;
+    private static final double MIN_LON = -180.0;
+    private static final double MAX_LON = -60.0;
+
+    private static final String INJECTED = "Injected by the stand-in server";
+    private static final String NOT_SERVED = "Not served by the stand-in server";
+
+    private static final long FORECAST_MAX_AGE_SECONDS = 600;
+    private static final Duration MAX_OBSERVATION_LOOKBACK = Duration.ofDays(7);
+    private static final DateTimeFormatter NWS_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx");
+
+    private static final Pattern POINTS = Pattern.compile("^/points/(-?[0-9.]+),(-?[0-9.]+)$");
+    private static final Pattern GRIDPOINT = Pattern.compile("^/gridpoints/([A-Z]{3})/(\\d+),(\\d+)(/forecast|/forecast/hourly|/stations)?$");
+    private static final Pattern OBSERVATIONS = Pattern.compile("^/stations/([A-Z0-9]+)/observations(/latest)?$");
+    private static final Pattern RECORDED_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}(?=T)");
+    private static final Pattern ANCHOR_DATE = Pattern.compile("\"startTime\": \"(\\d{4}-\\d{2}-\\d{2})");
+    private static final Pattern VALID_TIMES_DATE = Pattern.compile("\"validTimes\": \"(\\d{4}-\\d{2}-\\d{2})");
+
+    private static final String[] CONDITIONS = {"Clear", "Mostly Cloudy", "Light Rain", "Overcast", "Partly Cloudy", "Light Snow"};
+    private static final String[] CLOUD_AMOUNTS = {"CLR", "BKN", "OVC", "OVC", "SCT", "OVC"};
+
+    private final StandInSettings settings;
+    private final Random random;
+    private final double latencySigma;
+    private final TokenBucketRateLimiter throttle;
+
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder injectedErrorCount = new LongAdder();
+
+    private final Map<String, Place> places;
+    private final String pointsTemplate;
+    private final String stationsTemplate;
+    private final String observationTemplate;
+    private final String searchTemplate;
+
+    // Recorded bodies with their dates shifted, rendered on start()
+    private String forecastBody;
+    private String forecastHourlyBody;
+    private String gridpointBody;
+    private String forecastDay;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // One instance per JVM when started through startShared (Spring contexts in a test run share it)
+    private static NwsStandInServer shared;
+
+    public NwsStandInServer(StandInSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+        // Log-normal with the given median: p99 = median * exp(2.326 * sigma)
+        this.latencySigma = settings.latencyMedianMs() > 0
+                ? Math.log((double) settings.latencyP99Ms() / settings.latencyMedianMs()) / 2.326
+                : 0;
+        this.throttle = settings.throttlePermitsPerSecond() > 0
+                ? new TokenBucketRateLimiter("standin", settings.throttlePermitsPerSecond(),
+                                             settings.throttleBurst(), Duration.ZERO)
+                : null;
+
+        this.places = loadPlaces();
+        this.pointsTemplate = readFixture("nws/points.json");
+        this.stationsTemplate = readFixture("nws/stations.json");
+        this.observationTemplate = readFixture("nws/observation.json");
+        this.searchTemplate = readFixture("nominatim/search.json");
+    }
+
+    /**
+     * Bind to localhost and start serving.
+     */
+    public synchronized NwsStandInServer start() {
+        if (server != null) {
+            return this;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        forecastBody = shiftDates(readFixture("nws/forecast.json"), today);
+        forecastHourlyBody = shiftDates(readFixture("nws/forecast-hourly.json"), today);
+        gridpointBody = shiftDates(readFixture("nws/gridpoint.json"), today);
+        forecastDay = today.toString();
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(LOOPBACK, settings.port()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind stand-in server to port " + settings.port(), e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Start the JVM-wide stand-in, or return it if it is already running. The settings of the
+     * first call win. It is stopped when the JVM exits.
+     */
+    public static synchronized NwsStandInServer startShared(StandInSettings settings) {
+        if (shared == null) {
+            shared = new NwsStandInServer(settings).start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "standin-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * The JVM-wide stand-in started by {@link #startShared}.
+     */
+    public static synchronized NwsStandInServer shared() {
+        if (shared == null) {
+            throw new IllegalStateException("Stand-in server has not been started");
+        }
+        return shared;
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Base URL to use for weather.api.base-url and geocoding.nominatim.base-url.
+     */
+    public String getBaseUrl() {
+        return "http://" + LOOPBACK + ":" + getPort();
+    }
+
+    /**
+     * Requests received for one route (points, forecast, forecast-hourly, gridpoint, stations,
+     * observation-latest, observations, search, not-found), including throttled and failed ones.
+     */
+    public long getRequestCount(String route) {
+        LongAdder count = requestCounts.get(route);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long getTotalRequestCount() {
+        return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    public void resetCounts() {
+        requestCounts.clear();
+        throttledCount.reset();
+        injectedErrorCount.reset();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Route route = route(path);
+            requestCounts.computeIfAbsent(route.name(), k -> new LongAdder()).increment();
+
+            if (throttle != null && !tryAcquire()) {
+                throttledCount.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendProblem(exchange, 429, "Rate Limit Exceeded", INJECTED);
+                return;
+            }
+
+            sleepLatency();
+
+            if (settings.errorRate() > 0 && nextDouble() < settings.errorRate()) {
+                injectedErrorCount.increment();
+                sendProblem(exchange, 503, "Service Unavailable", INJECTED);
+                return;
+            }
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendProblem(exchange, 405, "Method Not Allowed", NOT_SERVED);
+                return;
+            }
+
+            switch (route.name()) {
+                case "points" -> handlePoints(exchange, route.matcher());
+                case "forecast" -> sendForecast(exchange, route.matcher(), forecastBody);
+                case "forecast-hourly" -> sendForecast(exchange, route.matcher(), forecastHourlyBody);
+                case "gridpoint" -> sendJson(exchange, "application/geo+json", gridpointBody);
+                case "stations" -> sendJson(exchange, "application/geo+json", render(stationsTemplate, Map.of(
+                    "baseUrl", baseUrl(exchange))));
+                case "observation-latest" -> sendJson(exchange, "application/geo+json",
+                    observation(exchange, route.matcher().group(1), latestObservationTime(Instant.now())));
+                case "observations" -> handleObservations(exchange, route.matcher().group(1));
+                case "search" -> handleSearch(exchange);
+                default -> sendProblem(exchange, 404, "Not Found", NOT_SERVED);
+            }
+        }
+    }
+
+    private record Route(String name, Matcher matcher) {
+    }
+
+    private static Route route(String path) {
+        Matcher points = POINTS.matcher(path);
+        if (points.matches()) {
+            return new Route("points", points);
+        }
+        Matcher gridpoint = GRIDPOINT.matcher(path);
+        if (gridpoint.matches()) {
+            String suffix = gridpoint.group(4);
+            String name = suffix == null ? "gridpoint" : switch (suffix) {
+                case "/forecast" -> "forecast";
+                case "/forecast/hourly" -> "forecast-hourly";
+                default -> "stations";
+            };
+            return new Route(name, gridpoint);
+        }
+        Matcher observations = OBSERVATIONS.matcher(path);
+        if (observations.matches()) {
+            return new Route(observations.group(2) == null ? "observations" : "observation-latest", observations);
+        }
+        if ("/search".equals(path)) {
+            return new Route("search", null);
+        }
+        return new Route("not-found", null);
+    }
+
+    private void handlePoints(HttpExchange exchange, Matcher matcher) throws IOException {
+        double lat;
+        double lon;
+        try {
+            lat = Double.parseDouble(matcher.group(1));
+            lon = Double.parseDouble(matcher.group(2));
+        } catch (NumberFormatException e) {
+            sendProblem(exchange, 400, "Invalid Parameter", NOT_SERVED);
+            return;
+        }
+        if (lat < MIN_LAT || lat > MAX_LAT || lon < MIN_LON || lon > MAX_LON) {
+            sendProblem(exchange, 404, "Data Unavailable For Requested Point", NOT_SERVED);
+            return;
+        }
+        int gridX = (int) Math.floor((lon - MIN_LON) / CELL_DEGREES);
+        int gridY = (int) Math.floor((lat - MIN_LAT) / CELL_DEGREES);
+        sendJson(exchange, "application/geo+json", render(pointsTemplate, Map.of(
+            "baseUrl", baseUrl(exchange),
+            "lat", matcher.group(1),
+            "lon", matcher.group(2),
+            "wfo", WFO,
+            "gridX", Integer.toString(gridX),
+            "gridY", Integer.toString(gridY))));
+    }
+
+    /**
+     * Forecasts change per cell and day, so the ETag does too. Revalidation with a matching
+     * If-None-Match gets an empty 304 like upstream.
+     */
+    private void sendForecast(HttpExchange exchange, Matcher matcher, String body) throws IOException {
+        String etag = "\"standin-" + matcher.group(1) + "-" + matcher.group(2) + "-" + matcher.group(3) + "-" + forecastDay + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Cache-Control", "public, max-age=" + FORECAST_MAX_AGE_SECONDS);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        sendJson(exchange, "application/geo+json", body);
+    }
+
+    private void handleObservations(HttpExchange exchange, String stationId) throws IOException {
+        Instant now = Instant.now();
+        Instant start = now.minus(Duration.ofHours(24));
+        String startParam = queryParams(exchange).get("start");
+        if (startParam != null) {
+            try {
+                start = Instant.parse(startParam);
+            } catch (DateTimeParseException e) {
+                sendProblem(exchange, 400, "Invalid Parameter", NOT_SERVED);
+                return;
+            }
+        }
+        if (start.isBefore(now.minus(MAX_OBSERVATION_LOOKBACK))) {
+            start = now.minus(MAX_OBSERVATION_LOOKBACK);
+        }
+
+        // Newest first, like upstream
+        StringJoiner features = new StringJoiner(",\n", "{\"type\": \"FeatureCollection\", \"features\": [\n", "\n]}");
+        for (Instant at = latestObservationTime(now); !at.isBefore(start); at = at.minus(Duration.ofHours(1))) {
+            features.add(observation(exchange, stationId, at));
+        }
+        sendJson(exchange, "application/geo+json", features.toString());
+    }
+
+    private static Instant latestObservationTime(Instant now) {
+        Instant at = now.truncatedTo(ChronoUnit.HOURS).plus(Duration.ofMinutes(53));
+        return at.isAfter(now) ? at.minus(Duration.ofHours(1)) : at;
+    }
+
+    /**
+     * One observation, deterministic per station and hour: a daily temperature curve and a
+     * condition that changes every few hours.
+     */
+    private String observation(HttpExchange exchange, String stationId, Instant at) {
+        long hour = at.getEpochSecond() / 3600;
+        int hourOfDay = (int) (hour % 24);
+        int condition = (int) Math.floorMod(hour / 4 + stationId.hashCode(), CONDITIONS.length);
+        double temperature = 4.0 + 6.0 * Math.sin(2 * Math.PI * (hourOfDay - 15) / 24.0 + Math.PI / 2);
+        boolean wet = CONDITIONS[condition].startsWith("Light");
+
+        Map<String, String> values = new HashMap<>();
+        values.put("baseUrl", baseUrl(exchange));
+        values.put("stationId", stationId);
+        values.put("timestamp", at.atOffset(ZoneOffset.UTC).format(NWS_TIMESTAMP));
+        values.put("textDescription", CONDITIONS[condition]);
+        values.put("temperature", String.format(Locale.ROOT, "%.1f", temperature));
+        values.put("windGust", Integer.toString(20 + (int) Math.floorMod(hour * 7, 25)));
+        values.put("precipitationLastHour", wet ? "0.5" : "0");
+        values.put("cloudAmount", CLOUD_AMOUNTS[condition]);
+        return render(observationTemplate, values);
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        String query = queryParams(exchange).get("q");
+        if (query == null || query.isBlank() || query.chars().anyMatch(Character::isDigit)) {
+            sendJson(exchange, "application/json", "[]");
+            return;
+        }
+
+        String[] parts = query.split(",", 2);
+        String name = parts[0].trim();
+        Place place = places.get(name.toLowerCase(Locale.ROOT));
+        if (place == null) {
+            // Stable made-up coordinate inside CONUS
+            int hash = query.trim().toLowerCase(Locale.ROOT).hashCode();
+            double lat = 30.0 + Math.floorMod(hash, 1600) / 100.0;
+            double lon = -120.0 + Math.floorMod(hash / 1600, 4000) / 100.0;
+            place = new Place(name, parts.length > 1 ? parts[1].trim() : "Unknown", lat, lon);
+        }
+
+        sendJson(exchange, "application/json", "[" + render(searchTemplate, Map.of(
+            "placeId", Integer.toString(Math.floorMod(place.name().hashCode(), 1_000_000)),
+            "lat", String.format(Locale.ROOT, "%.7f", place.latitude()),
+            "lon", String.format(Locale.ROOT, "%.7f", place.longitude()),
+            "city", place.name(),
+            "state", place.state())) + "]");
+    }
+
+    private record Place(String name, String state, double latitude, double longitude) {
+    }
+
+    private boolean tryAcquire() {
+        try {
+            throttle.acquire();
+            return true;
+        } catch (TokenBucketRateLimiter.RateLimitExceededException e) {
+            return false;
+        }
+    }
+
+    private void sleepLatency() {
+        if (settings.latencyMedianMs() <= 0) {
+            return;
+        }
+        double millis = settings.latencyMedianMs() * Math.exp(latencySigma * nextGaussian());
+        try {
+            Thread.sleep(Duration.ofNanos((long) (millis * 1_000_000)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Random is thread-safe, but lock it so a seeded run draws the same sequence
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    private synchronized double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    private static void sendJson(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendProblem(HttpExchange exchange, int status, String title, String detail) throws IOException {
+        byte[] bytes = ("{\"type\": \"https://api.weather.gov/problems/StandIn\", \"title\": \"" + title
+                + "\", \"status\": " + status + ", \"detail\": \"" + detail + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/problem+json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String baseUrl(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        return "http://" + (host != null ? host : LOOPBACK + ":" + exchange.getLocalAddress().getPort());
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                           URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Replace {{name}} placeholders.
+     */
+    static String render(String template, Map<String, String> values) {
+        StringBuilder out = new StringBuilder(template.length() + 256);
+        int from = 0;
+        while (true) {
+            int open = template.indexOf("{{", from);
+            if (open < 0) {
+                break;
+            }
+            int close = template.indexOf("}}", open);
+            String value = values.get(template.substring(open + 2, close));
+            if (value == null) {
+                throw new IllegalArgumentException("No value for " + template.substring(open, close + 2));
+            }
+            out.append(template, from, open).append(value);
+            from = close + 2;
+        }
+        return out.append(template, from, template.length()).toString();
+    }
+
+    /**
+     * Move every date in a recorded response by the same number of days, so that the first
+     * forecast period (or, for gridpoint data, the start of validTimes) falls on the given day.
+     */
+    static String shiftDates(String recorded, LocalDate anchorDay) {
+        Matcher anchor = ANCHOR_DATE.matcher(recorded);
+        if (!anchor.find()) {
+            anchor = VALID_TIMES_DATE.matcher(recorded);
+            if (!anchor.find()) {
+                return recorded;
+            }
+        }
+        long offsetDays = ChronoUnit.DAYS.between(LocalDate.parse(anchor.group(1)), anchorDay);
+        return RECORDED_DATE.matcher(recorded)
+                .replaceAll(date -> LocalDate.parse(date.group()).plusDays(offsetDays).toString());
+    }
+
+    private static Map<String, Place> loadPlaces() {
+        Map<String, Place> places = new HashMap<>();
+        for (String line : readFixture("nominatim/places.csv").split("\n")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            places.put(fields[0].toLowerCase(Locale.ROOT), new Place(
+                fields[0], fields[1], Double.parseDouble(fields[2]), Double.parseDouble(fields[3].trim())));
+        }
+        return places;
+    }
+
+    private static String readFixture(String name) {
+        try (InputStream in = NwsStandInServer.class.getResourceAsStream(FIXTURES + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing stand-in fixture " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stand-in fixture " + name, e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.wisc.cs506.WeatherKings.weather.standin;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * With standin.enabled=true (the test and perf profiles), starts the shared
+ * {@link NwsStandInServer} before any bean is created and points weather.api.base-url and
+ * geocoding.nominatim.base-url at it. Runs after the application*.properties files are
+ * loaded, so profile settings are seen; standin.port=0 picks a free port.
+ */
+public class StandInEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("standin.enabled", Boolean.class, false)) {
+            return;
+        }
+
+        NwsStandInServer server = NwsStandInServer.startShared(new StandInSettings(
+            environment.getProperty("standin.port", Integer.class, 0),
+            environment.getProperty("standin.latency.median-ms", Long.class, 0L),
+            environment.getProperty("standin.latency.p99-ms", Long.class, 0L),
+            environment.getProperty("standin.error-rate", Double.class, 0.0),
+            environment.getProperty("standin.throttle.permits-per-second", Double.class, 0.0),
+            environment.getProperty("standin.throttle.burst", Integer.class, 1),
+            environment.getProperty("standin.seed", Long.class, 42L)));
+
+        environment.getPropertySources().addFirst(new MapPropertySource("standin", Map.of(
+            "weather.api.base-url", server.getBaseUrl(),
+            "geocoding.nominatim.base-url", server.getBaseUrl())));
+    }
+}
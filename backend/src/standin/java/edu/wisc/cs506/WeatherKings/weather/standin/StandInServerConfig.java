@@ -0,0 +1,16 @@
+package edu.wisc.cs506.WeatherKings.weather.standin;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "standin.enabled", havingValue = "true")
+public class StandInServerConfig {
+
+    // The stand-in started by StandInEnvironmentPostProcessor, for request counts in tests; it outlives the context
+    @Bean(destroyMethod = "")
+    public NwsStandInServer nwsStandInServer() {
+        return NwsStandInServer.shared();
+    }
+}
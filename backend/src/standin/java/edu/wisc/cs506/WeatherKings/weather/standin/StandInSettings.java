@@ -0,0 +1,51 @@
+package edu.wisc.cs506.WeatherKings.weather.standin;
+
+/**
+ * Fault and latency knobs for {@link NwsStandInServer}.
+ *
+ * - Latency is log-normal, described by its median and 99th percentile (0/0 = answer immediately).
+ * - errorRate is the share of requests answered with a 503 problem+json, like an NWS outage.
+ * - throttlePermitsPerSecond/throttleBurst put a token bucket in front of every route; requests
+ *   over the limit get 429 with Retry-After straight away (0 = no throttling).
+ * - seed makes the latency and error sequence repeatable between runs.
+ *
+ * @param port Port to listen on (0 = pick a free one)
+ */
+public record StandInSettings(
+    int port,
+    long latencyMedianMs,
+    long latencyP99Ms,
+    double errorRate,
+    double throttlePermitsPerSecond,
+    int throttleBurst,
+    long seed
+) {
+
+    public StandInSettings {
+        if (latencyMedianMs < 0 || latencyP99Ms < latencyMedianMs) {
+            throw new IllegalArgumentException("Latency needs 0 <= median <= p99");
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1");
+        }
+    }
+
+    /**
+     * No latency, no errors, no throttling - a fast, well-behaved upstream.
+     */
+    public static StandInSettings healthy(int port) {
+        return new StandInSettings(port, 0, 0, 0.0, 0, 1, 42L);
+    }
+
+    public StandInSettings withLatency(long medianMs, long p99Ms) {
+        return new StandInSettings(port, medianMs, p99Ms, errorRate, throttlePermitsPerSecond, throttleBurst, seed);
+    }
+
+    public StandInSettings withErrorRate(double rate) {
+        return new StandInSettings(port, latencyMedianMs, latencyP99Ms, rate, throttlePermitsPerSecond, throttleBurst, seed);
+    }
+
+    public StandInSettings withThrottle(double permitsPerSecond, int burst) {
+        return new StandInSettings(port, latencyMedianMs, latencyP99Ms, errorRate, permitsPerSecond, burst, seed);
+    }
+}
@@ -2,11 +2,16 @@ package edu.wisc.cs506.WeatherKings.bets.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.BetGenerationRequest;
 import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
+import edu.wisc.cs506.WeatherKings.bets.repository.CityRepository;
 import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
 import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
 import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
 import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +32,8 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -52,12 +59,18 @@ class BetControllerIntegrationTest {
     @Autowired
     private BetRepository betRepository;
 
+    @Autowired
+    private CityRepository cityRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @MockBean
     private WeatherApiService weatherApiService;
 
+    @MockBean
+    private GridPointService gridPointService;
+
     private WeatherForecastResponse mockForecast;
 
     private static final BigDecimal EXPECTED_TEMP_ODDS = new BigDecimal("269.83");
@@ -90,11 +103,11 @@ class BetControllerIntegrationTest {
         mockForecast = new WeatherForecastResponse();
         mockForecast.setProperties(props);
 
-        when(weatherApiService.getForecast(MADISON_LAT, MADISON_LON)).thenReturn(mockForecast);
-        when(weatherApiService.getForecast(LA_LAT, LA_LON)).thenReturn(mockForecast);
-        when(weatherApiService.getForecast(NYC_LAT, NYC_LON)).thenReturn(mockForecast);
-        when(weatherApiService.getForecast(SEATTLE_LAT, SEATTLE_LON)).thenReturn(mockForecast);
-        when(weatherApiService.getForecast(anyDouble(), anyDouble())).thenReturn(mockForecast);
+        when(weatherApiService.getCompactForecast(MADISON_LAT, MADISON_LON)).thenReturn(CompactForecast.from(mockForecast));
+        when(weatherApiService.getCompactForecast(LA_LAT, LA_LON)).thenReturn(CompactForecast.from(mockForecast));
+        when(weatherApiService.getCompactForecast(NYC_LAT, NYC_LON)).thenReturn(CompactForecast.from(mockForecast));
+        when(weatherApiService.getCompactForecast(SEATTLE_LAT, SEATTLE_LON)).thenReturn(CompactForecast.from(mockForecast));
+        when(weatherApiService.getCompactForecast(anyDouble(), anyDouble())).thenReturn(CompactForecast.from(mockForecast));
     }
 
     @Test
@@ -124,6 +137,27 @@ class BetControllerIntegrationTest {
         assertEquals(new BigDecimal("100.00"), rainBet.getMoneylineOdds(), "Rain odds should remain fixed at 100.00.");
     }
 
+    @Test
+    void generateDailyBets_shouldReportPerCityResults() throws Exception {
+        when(weatherApiService.getCompactForecast(LA_LAT, LA_LON))
+            .thenThrow(new RuntimeException("Weather API unavailable"));
+
+        mockMvc.perform(post("/api/bets/generate-daily")
+                        .param("report", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bets.length()").value(6))
+                .andExpect(jsonPath("$.cities.length()").value(3))
+                .andExpect(jsonPath("$.cities[0].cityName").value("Madison, WI"))
+                .andExpect(jsonPath("$.cities[0].status").value("GENERATED"))
+                .andExpect(jsonPath("$.cities[0].betCount").value(3))
+                .andExpect(jsonPath("$.cities[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.cities[1].error").value("Weather API unavailable"))
+                .andExpect(jsonPath("$.totalMillis").exists());
+
+        assertEquals(6, betRepository.findAll().size(), "Failed cities should not block the others.");
+    }
+
     @Test
     void getDailyBets_shouldReturnGeneratedBets() throws Exception {
         mockMvc.perform(post("/api/bets/generate-daily"));
@@ -145,9 +179,9 @@ class BetControllerIntegrationTest {
         WeatherForecastResponse incompleteForecast = new WeatherForecastResponse();
         incompleteForecast.setProperties(props);
 
-        when(weatherApiService.getForecast(MADISON_LAT, MADISON_LON)).thenReturn(incompleteForecast);
-        when(weatherApiService.getForecast(LA_LAT, LA_LON)).thenReturn(incompleteForecast);
-        when(weatherApiService.getForecast(NYC_LAT, NYC_LON)).thenReturn(incompleteForecast);
+        when(weatherApiService.getCompactForecast(MADISON_LAT, MADISON_LON)).thenReturn(CompactForecast.from(incompleteForecast));
+        when(weatherApiService.getCompactForecast(LA_LAT, LA_LON)).thenReturn(CompactForecast.from(incompleteForecast));
+        when(weatherApiService.getCompactForecast(NYC_LAT, NYC_LON)).thenReturn(CompactForecast.from(incompleteForecast));
 
         mockMvc.perform(post("/api/bets/generate-daily")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -259,6 +293,64 @@ class BetControllerIntegrationTest {
         assertEquals(3, betRepository.findAll().size(), "Should not create duplicate bets");
     }
 
+    @Test
+    void generateBetsForLocation_shouldResolveNameVariantsToOneCity() throws Exception {
+        BetGenerationRequest seattle = new BetGenerationRequest(
+            "Seattle, WA", SEATTLE_LAT, SEATTLE_LON, DateUtil.getTomorrowDate());
+        BetGenerationRequest variant = new BetGenerationRequest(
+            "  seattle,  Washington ", SEATTLE_LAT, SEATTLE_LON, DateUtil.getTomorrowDate());
+
+        mockMvc.perform(post("/api/bets/generate-for-location")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seattle)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/bets/generate-for-location")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(variant)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Bets already exist for this city and date"))
+                .andExpect(jsonPath("$.bets.length()").value(3))
+                .andExpect(jsonPath("$.bets[0].cityName").value("Seattle, WA"));
+
+        List<Bet> createdBets = betRepository.findAll();
+        assertEquals(3, createdBets.size(), "A spelling variant should not get its own line set");
+        assertTrue(createdBets.stream().allMatch(bet -> bet.getCityId() != null
+            && bet.getCityId().equals(createdBets.get(0).getCityId())));
+    }
+
+    @Test
+    void generateBetsForLocation_shouldReuseLinesForSameGridCell() throws Exception {
+        // Pike Place Market is ~1 km from the Seattle coordinates - same NWS grid cell
+        double pikePlaceLat = 47.6097;
+        double pikePlaceLon = -122.3422;
+        GridPoint seattleCell = new GridPoint("SEW", 124, 67, "https://api.weather.gov/gridpoints/SEW/124,67/forecast", null);
+        when(gridPointService.resolve(SEATTLE_LAT, SEATTLE_LON)).thenReturn(seattleCell);
+        when(gridPointService.resolve(pikePlaceLat, pikePlaceLon)).thenReturn(seattleCell);
+
+        BetGenerationRequest seattle = new BetGenerationRequest(
+            "Seattle, WA", SEATTLE_LAT, SEATTLE_LON, DateUtil.getTomorrowDate());
+        BetGenerationRequest pikePlace = new BetGenerationRequest(
+            "Pike Place Market", pikePlaceLat, pikePlaceLon, DateUtil.getTomorrowDate());
+
+        mockMvc.perform(post("/api/bets/generate-for-location")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seattle)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].gridCell").value("SEW/124,67"));
+
+        mockMvc.perform(post("/api/bets/generate-for-location")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pikePlace)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridCell").value("SEW/124,67"))
+                .andExpect(jsonPath("$.bets.length()").value(3))
+                .andExpect(jsonPath("$.bets[0].cityName").value("Seattle, WA"));
+
+        assertEquals(3, betRepository.findAll().size(), "Same grid cell should not get a second line set");
+        verify(weatherApiService, times(1)).getCompactForecast(anyDouble(), anyDouble());
+    }
+
     @Test
     void generateBetsForLocation_shouldRejectEmptyCityName() throws Exception {
         BetGenerationRequest request = new BetGenerationRequest(
@@ -303,7 +395,7 @@ class BetControllerIntegrationTest {
     void generateBetsForLocation_shouldHandleWeatherApiFailure() throws Exception {
         double testLat = 50.0;
         double testLon = -100.0;
-        when(weatherApiService.getForecast(testLat, testLon))
+        when(weatherApiService.getCompactForecast(testLat, testLon))
             .thenThrow(new RuntimeException("Weather API unavailable"));
 
         BetGenerationRequest request = new BetGenerationRequest(
@@ -342,6 +434,7 @@ class BetControllerIntegrationTest {
     void resolveBet_shouldReturn400WhenBetAlreadyResolved() throws Exception {
         // Create and resolve a bet first
         Bet bet = new Bet();
+        bet.setCityId(registerCity("madison, wi", "Madison, WI", MADISON_LAT, MADISON_LON));
         bet.setCityName("Madison, WI");
         bet.setBetDate(LocalDate.now());
         bet.setBetType("MAX_TEMP_OVER_UNDER");
@@ -397,6 +490,7 @@ class BetControllerIntegrationTest {
     void resolveBet_shouldReturn500WhenWeatherServiceFails() throws Exception {
         // Create an unresolved bet
         Bet bet = new Bet();
+        bet.setCityId(registerCity("test city", "Test City", 0.0, 0.0));
         bet.setCityName("Test City");
         bet.setBetDate(LocalDate.now());
         bet.setBetType("MAX_TEMP_OVER_UNDER");
@@ -415,4 +509,11 @@ class BetControllerIntegrationTest {
                 .andExpect(status().is5xxServerError())
                 .andExpect(jsonPath("$.error").exists());
     }
-}
\ No newline at end of file
+
+    /**
+     * Store a city without grid cell or station, as bet lines need a city_id.
+     */
+    private Integer registerCity(String nameKey, String cityName, double latitude, double longitude) {
+        return cityRepository.save(new City(nameKey, cityName, latitude, longitude, null, null)).getCityId();
+    }
+}
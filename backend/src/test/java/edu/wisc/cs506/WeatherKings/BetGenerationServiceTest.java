@@ -0,0 +1,163 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.DailyGenerationReport;
+import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
+import edu.wisc.cs506.WeatherKings.bets.service.ActiveCityService;
+import edu.wisc.cs506.WeatherKings.bets.service.BetGenerationService;
+import edu.wisc.cs506.WeatherKings.bets.service.CityRegistry;
+import edu.wisc.cs506.WeatherKings.bets.util.DateUtil;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.provider.WeatherProvider;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.GridpointDataService;
+
+class BetGenerationServiceTest {
+
+    private static final CityLocation MADISON = new CityLocation("Madison, WI", 43.0731, -89.4012);
+    private static final CityLocation HUNG = new CityLocation("Hung, ZZ", 40.0, -100.0);
+
+    private WeatherProvider weatherProvider;
+    private ActiveCityService activeCityService;
+    private CityRegistry cityRegistry;
+    private GridPointService gridPointService;
+    private BetGenerationService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setup() {
+        weatherProvider = mock(WeatherProvider.class);
+        BetRepository betRepository = mock(BetRepository.class);
+        activeCityService = mock(ActiveCityService.class);
+        cityRegistry = mock(CityRegistry.class);
+        gridPointService = mock(GridPointService.class);
+
+        when(activeCityService.getActiveCities()).thenReturn(List.of(HUNG, MADISON));
+        when(betRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        City madison = new City("madison, wi", "Madison, WI", MADISON.latitude(), MADISON.longitude(), null, null);
+        madison.setCityId(7);
+        when(cityRegistry.resolve(anyString(), anyDouble(), anyDouble())).thenReturn(madison);
+
+        service = new BetGenerationService(weatherProvider, betRepository, activeCityService,
+            mock(GridpointDataService.class), gridPointService, cityRegistry, false, 4, 1);
+    }
+
+    @AfterEach
+    void releaseHungCity() {
+        release.countDown();
+    }
+
+    private static CompactForecast forecast() {
+        Period tomorrow = new Period();
+        tomorrow.setName("Tomorrow");
+        tomorrow.setTemperature(52);
+        tomorrow.setShortForecast("Mostly Sunny");
+        WeatherForecastResponse.Properties props = new WeatherForecastResponse.Properties();
+        props.setPeriods(List.of(new Period(), new Period(), tomorrow));
+        WeatherForecastResponse response = new WeatherForecastResponse();
+        response.setProperties(props);
+        return CompactForecast.from(response);
+    }
+
+    @Test
+    void hungCityTimesOutWithoutHoldingUpTheReport() {
+        when(weatherProvider.getCompactForecast(MADISON.latitude(), MADISON.longitude())).thenReturn(forecast());
+        // A read that ignores interrupts and never returns on its own
+        when(weatherProvider.getCompactForecast(HUNG.latitude(), HUNG.longitude())).thenAnswer(invocation -> {
+            while (true) {
+                try {
+                    release.await();
+                    return null;
+                } catch (InterruptedException ignored) {
+                    // keep blocking, like a socket read that does not honor interrupts
+                }
+            }
+        });
+
+        DailyGenerationReport report = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> service.generateDailyBetsWithReport());
+
+        assertEquals(DailyGenerationReport.Status.FAILED, report.cities().get(0).status());
+        assertEquals("Not done by the 1s generation deadline", report.cities().get(0).error());
+        assertEquals(DailyGenerationReport.Status.GENERATED, report.cities().get(1).status());
+        assertEquals(3, report.bets().size());
+    }
+
+    @Test
+    void citiesAreRegisteredBeforeTheFanOut() {
+        when(weatherProvider.getCompactForecast(MADISON.latitude(), MADISON.longitude())).thenReturn(forecast());
+        Thread caller = Thread.currentThread();
+        when(cityRegistry.resolve(eq(MADISON.cityName()), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            assertSame(caller, Thread.currentThread(), "resolved on a fan-out worker");
+            City madison = new City("madison, wi", "Madison, WI", MADISON.latitude(), MADISON.longitude(), null, null);
+            madison.setCityId(7);
+            return madison;
+        });
+        when(cityRegistry.resolve(eq(HUNG.cityName()), anyDouble(), anyDouble()))
+            .thenThrow(new IllegalArgumentException("\"Hung, ZZ\" is registered as Hung, ZZ, 900 km from the requested location"));
+
+        DailyGenerationReport report = service.generateDailyBetsWithReport();
+
+        assertEquals(DailyGenerationReport.Status.FAILED, report.cities().get(0).status());
+        assertTrue(report.cities().get(0).error().contains("900 km"));
+        verify(weatherProvider, never()).getCompactForecast(HUNG.latitude(), HUNG.longitude());
+        assertEquals(DailyGenerationReport.Status.GENERATED, report.cities().get(1).status());
+        assertEquals(3, report.bets().size());
+        assertTrue(report.bets().stream().allMatch(bet -> Integer.valueOf(7).equals(bet.getCityId())));
+        // Registered without a grid cell: grouped on its own, no second /points lookup
+        verifyNoInteractions(gridPointService);
+        assertTrue(report.bets().stream().allMatch(bet -> bet.getGridCell() == null));
+    }
+
+    @Test
+    void citiesSharingAGridCellFetchTheForecastOnce() {
+        CityLocation campus = new CityLocation("UW Madison, WI", 43.0766, -89.4125);
+        City madison = new City("madison, wi", "Madison, WI", MADISON.latitude(), MADISON.longitude(), "MKX/37,63", "KMSN");
+        madison.setCityId(7);
+        City uw = new City("uw madison, wi", "UW Madison, WI", campus.latitude(), campus.longitude(), "MKX/37,63", "KMSN");
+        uw.setCityId(8);
+        when(activeCityService.getActiveCities()).thenReturn(List.of(MADISON, campus));
+        when(cityRegistry.resolve(eq(MADISON.cityName()), anyDouble(), anyDouble())).thenReturn(madison);
+        when(cityRegistry.resolve(eq(campus.cityName()), anyDouble(), anyDouble())).thenReturn(uw);
+        when(weatherProvider.getCompactForecast(anyDouble(), anyDouble())).thenReturn(forecast());
+
+        DailyGenerationReport report = service.generateDailyBetsWithReport();
+
+        verify(weatherProvider, times(1)).getCompactForecast(anyDouble(), anyDouble());
+        assertEquals(List.of("Madison, WI", "UW Madison, WI"),
+            report.cities().stream().map(DailyGenerationReport.CityResult::cityName).toList());
+        assertTrue(report.cities().stream().allMatch(city -> city.status() == DailyGenerationReport.Status.GENERATED));
+        assertEquals(6, report.bets().size());
+        assertEquals(3, report.bets().stream().filter(bet -> Integer.valueOf(8).equals(bet.getCityId())).count());
+        assertTrue(report.bets().stream().allMatch(bet -> "MKX/37,63".equals(bet.getGridCell())));
+    }
+
+    @Test
+    void locationLinesAreTaggedWithTheRegisteredCell() {
+        City madison = new City("madison, wi", "Madison, WI", MADISON.latitude(), MADISON.longitude(), "MKX/37,63", "KMSN");
+        madison.setCityId(7);
+        when(weatherProvider.getCompactForecast(MADISON.latitude(), MADISON.longitude())).thenReturn(forecast());
+
+        List<Bet> bets = service.generateBetsForLocation(madison, DateUtil.getTomorrowDate());
+
+        assertEquals(3, bets.size());
+        assertTrue(bets.stream().allMatch(bet -> "MKX/37,63".equals(bet.getGridCell())));
+        verifyNoInteractions(gridPointService);
+    }
+}
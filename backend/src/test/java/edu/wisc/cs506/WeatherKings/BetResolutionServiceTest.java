@@ -5,7 +5,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -15,22 +18,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.wisc.cs506.WeatherKings.bets.model.Bet;
+import edu.wisc.cs506.WeatherKings.bets.model.City;
 import edu.wisc.cs506.WeatherKings.bets.model.PlayerBet;
 import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.LocationResolutionResult;
 import edu.wisc.cs506.WeatherKings.bets.repository.BetRepository;
 import edu.wisc.cs506.WeatherKings.bets.repository.PlayerBetRepository;
 import edu.wisc.cs506.WeatherKings.bets.service.BetResolutionService;
+import edu.wisc.cs506.WeatherKings.bets.service.CityRegistry;
 import edu.wisc.cs506.WeatherKings.bets.service.GeocodeService;
-import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
-import edu.wisc.cs506.WeatherKings.weather.service.WeatherObservationService;
+import edu.wisc.cs506.WeatherKings.weather.model.ConditionCategory;
+import edu.wisc.cs506.WeatherKings.weather.model.DailyObservationAggregate;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.ObservationAggregationService;
 
 class BetResolutionServiceTest {
 
+    // A finished day: aggregates for it can cover the whole day
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 18);
+
     private BetRepository betRepository;
     private PlayerBetRepository playerBetRepository;
     private UserRepository userRepository;
-    private WeatherObservationService observationService;
     private GeocodeService geocodeService;
+    private ObservationAggregationService observationAggregationService;
+    private CityRegistry cityRegistry;
     private BetResolutionService service;
 
     @BeforeEach
@@ -38,14 +50,16 @@ class BetResolutionServiceTest {
         betRepository = mock(BetRepository.class);
         playerBetRepository = mock(PlayerBetRepository.class);
         userRepository = mock(UserRepository.class);
-        observationService = mock(WeatherObservationService.class);
         geocodeService = mock(GeocodeService.class);
+        observationAggregationService = mock(ObservationAggregationService.class);
+        cityRegistry = mock(CityRegistry.class);
         service = new BetResolutionService(
             betRepository,
             playerBetRepository,
             userRepository,
-            observationService,
-            geocodeService
+            geocodeService,
+            observationAggregationService,
+            cityRegistry
         );
     }
 
@@ -57,6 +71,7 @@ class BetResolutionServiceTest {
         bet.setCityName("Madison, WI");
         bet.setBetType("MAX_TEMP_OVER_UNDER");
         bet.setSetLine(new BigDecimal("45.0"));
+        bet.setBetDate(DAY);
         bet.setBetHit(null);
 
         User user = new User();
@@ -72,11 +87,11 @@ class BetResolutionServiceTest {
 
         GeocodeResponse location = new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", "");
         
-        WeatherObservation observation = createMockObservation(43.0); // 43°F < 45°F → UNDER wins
+        DailyObservationAggregate daily = wholeDay(43.0); // 43°F < 45°F → UNDER wins
 
         when(betRepository.findById(1)).thenReturn(Optional.of(bet));
         when(geocodeService.geocodeCity("Madison, WI")).thenReturn(location);
-        when(observationService.getObservationForLocation(43.0731, -89.4012)).thenReturn(observation);
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, DAY)).thenReturn(daily);
         when(playerBetRepository.findByBetId(1)).thenReturn(Arrays.asList(playerBet));
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
 
@@ -102,6 +117,7 @@ class BetResolutionServiceTest {
         bet.setCityName("Madison, WI");
         bet.setBetType("MAX_TEMP_OVER_UNDER");
         bet.setSetLine(new BigDecimal("45.0"));
+        bet.setBetDate(DAY);
         bet.setBetHit(null);
 
         User user = new User();
@@ -115,11 +131,11 @@ class BetResolutionServiceTest {
         playerBet.setBetToPay(new BigDecimal("100.00"));
 
         GeocodeResponse location = new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", "");
-        WeatherObservation observation = createMockObservation(47.0); // 47°F > 45°F → UNDER loses
+        DailyObservationAggregate daily = wholeDay(47.0); // 47°F > 45°F → UNDER loses
 
         when(betRepository.findById(1)).thenReturn(Optional.of(bet));
         when(geocodeService.geocodeCity("Madison, WI")).thenReturn(location);
-        when(observationService.getObservationForLocation(43.0731, -89.4012)).thenReturn(observation);
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, DAY)).thenReturn(daily);
         when(playerBetRepository.findByBetId(1)).thenReturn(Arrays.asList(playerBet));
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
 
@@ -133,6 +149,40 @@ class BetResolutionServiceTest {
         assertEquals(0, result.get("winnersCount"));
     }
 
+    @Test
+    void testResolveBet_UsesDailyAggregateInsteadOfLatestObservation() {
+        // Arrange
+        LocalDate date = LocalDate.of(2025, 11, 18);
+        Bet bet = new Bet();
+        bet.setBetId(1);
+        bet.setCityName("Madison, WI");
+        bet.setBetDate(date);
+        bet.setBetType("MAX_TEMP_OVER_UNDER");
+        bet.setSetLine(new BigDecimal("45.0"));
+        bet.setBetHit(null);
+
+        GeocodeResponse location = new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", "");
+
+        // Afternoon high of 48°F even though it is 40°F by evening; polled from 00:53 to 23:53 local
+        DailyObservationAggregate daily = new DailyObservationAggregate("KMSN", date, "America/Chicago");
+        daily.fold(Instant.parse("2025-11-18T06:53:00Z"), 35.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-18T20:53:00Z"), 48.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-19T02:53:00Z"), 40.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-19T05:53:00Z"), 38.0, null, ConditionCategory.CLEAR, null, null);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(geocodeService.geocodeCity("Madison, WI")).thenReturn(location);
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, date)).thenReturn(daily);
+        when(playerBetRepository.findByBetId(1)).thenReturn(Arrays.asList());
+
+        // Act
+        service.resolveBet(1);
+
+        // Assert
+        assertFalse(bet.getBetHit()); // 48°F > 45°F → UNDER loses
+        assertEquals(new BigDecimal("48.00"), bet.getOutcomeValue());
+    }
+
     @Test
     void testResolveBet_AlreadyResolved_ThrowsException() {
         Bet bet = new Bet();
@@ -157,7 +207,7 @@ class BetResolutionServiceTest {
 
     @Test
     void testResolveDailyBets() {
-        LocalDate date = LocalDate.now();
+        LocalDate date = DAY;
 
         Bet bet1 = new Bet();
         bet1.setBetId(1);
@@ -174,15 +224,13 @@ class BetResolutionServiceTest {
         bet2.setBetHit(null);
 
         GeocodeResponse location = new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", "");
-        WeatherObservation observation = createMockObservation(43.0);
-
         when(betRepository.findByBetDate(date)).thenReturn(Arrays.asList(bet1, bet2));
         when(betRepository.findById(anyInt())).thenAnswer(inv -> {
             int id = inv.getArgument(0);
             return id == 1 ? Optional.of(bet1) : Optional.of(bet2);
         });
         when(geocodeService.geocodeCity(anyString())).thenReturn(location);
-        when(observationService.getObservationForLocation(anyDouble(), anyDouble())).thenReturn(observation);
+        when(observationAggregationService.getDailyAggregate(anyDouble(), anyDouble(), eq(date))).thenReturn(wholeDay(43.0));
         when(playerBetRepository.findByBetId(anyInt())).thenReturn(Arrays.asList());
 
         // Act
@@ -193,17 +241,299 @@ class BetResolutionServiceTest {
         assertEquals(date, summary.get("date"));
     }
 
-    private WeatherObservation createMockObservation(double fahrenheit) {
-        WeatherObservation obs = new WeatherObservation();
-        WeatherObservation.Properties props = new WeatherObservation.Properties();
-        WeatherObservation.TemperatureValue temp = new WeatherObservation.TemperatureValue();
-        
-        double celsius = (fahrenheit - 32.0) * 5.0 / 9.0;
-        temp.setValue(celsius);
-        
-        props.setTemperature(temp);
-        obs.setProperties(props);
-        
-        return obs;
+    @Test
+    void testResolveDailyBets_FetchesOncePerLocation() {
+        LocalDate date = DAY;
+        Bet bet1 = openBet(1, "Madison, WI", "45.0", date);
+        Bet bet2 = openBet(2, "Madison, WI", "50.0", date);
+        Bet bet3 = openBet(3, "Madison, WI", "40.0", date);
+        Bet resolved = openBet(4, "Madison, WI", "42.0", date);
+        resolved.setBetHit(true);
+
+        when(betRepository.findByBetDate(date)).thenReturn(Arrays.asList(bet1, bet2, bet3, resolved));
+        when(geocodeService.geocodeCity("Madison, WI"))
+            .thenReturn(new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", ""));
+        when(observationAggregationService.getDailyAggregate(anyDouble(), anyDouble(), eq(date))).thenReturn(wholeDay(48.0));
+        when(playerBetRepository.findByBetId(anyInt())).thenReturn(List.of());
+
+        Map<String, Object> summary = service.resolveDailyBets(date);
+
+        assertEquals(3, summary.get("totalBetsResolved"));
+        assertEquals(0, summary.get("totalBetsFailed"));
+        verify(geocodeService, times(1)).geocodeCity("Madison, WI");
+        verify(observationAggregationService, times(1)).getDailyAggregate(43.0731, -89.4012, date);
+        verify(betRepository, never()).findById(anyInt());
+        // Lines pay on UNDER: 48F beats only the 50.0 line
+        assertFalse(bet1.getBetHit());
+        assertTrue(bet2.getBetHit());
+        assertFalse(bet3.getBetHit());
+
+        @SuppressWarnings("unchecked")
+        List<LocationResolutionResult> locations = (List<LocationResolutionResult>) summary.get("locations");
+        assertEquals(1, locations.size());
+        assertEquals("Madison, WI", locations.get(0).cityName());
+        assertEquals(LocationResolutionResult.Status.RESOLVED, locations.get(0).status());
+        assertEquals(3, locations.get(0).resolvedCount());
+        assertNull(locations.get(0).error());
+    }
+
+    @Test
+    void testResolveDailyBets_ReportsFailedLocation() {
+        LocalDate date = DAY;
+        Bet madison = openBet(1, "Madison, WI", "45.0", date);
+        Bet nowhere1 = openBet(2, "Nowhere, ZZ", "45.0", date);
+        Bet nowhere2 = openBet(3, "Nowhere, ZZ", "50.0", date);
+
+        when(betRepository.findByBetDate(date)).thenReturn(Arrays.asList(nowhere1, madison, nowhere2));
+        when(geocodeService.geocodeCity("Madison, WI"))
+            .thenReturn(new GeocodeResponse("Madison, WI", 43.0731, -89.4012, "", ""));
+        when(geocodeService.geocodeCity("Nowhere, ZZ"))
+            .thenThrow(new IllegalArgumentException("City not found: Nowhere, ZZ"));
+        when(observationAggregationService.getDailyAggregate(anyDouble(), anyDouble(), eq(date))).thenReturn(wholeDay(48.0));
+        when(playerBetRepository.findByBetId(anyInt())).thenReturn(List.of());
+
+        Map<String, Object> summary = service.resolveDailyBets(date);
+
+        assertEquals(1, summary.get("totalBetsResolved"));
+        assertEquals(2, summary.get("totalBetsFailed"));
+        assertFalse(madison.getBetHit());
+        assertNull(nowhere1.getBetHit());
+
+        @SuppressWarnings("unchecked")
+        List<LocationResolutionResult> locations = (List<LocationResolutionResult>) summary.get("locations");
+        assertEquals(2, locations.size());
+        LocationResolutionResult failed = locations.get(0);
+        assertEquals("Nowhere, ZZ", failed.cityName());
+        assertEquals(LocationResolutionResult.Status.FAILED, failed.status());
+        assertEquals(2, failed.betCount());
+        assertEquals(2, failed.failedCount());
+        assertNotNull(failed.error());
+        assertEquals(LocationResolutionResult.Status.RESOLVED, locations.get(1).status());
+    }
+
+    @Test
+    void testResolveBet_StoredCoordinates_SkipsGeocoding() {
+        LocalDate date = DAY;
+        Bet bet = openBet(1, "UW Madison, WI", "45.0", date);
+        bet.setLatitude(43.0766);
+        bet.setLongitude(-89.4125);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(observationAggregationService.getDailyAggregate(anyDouble(), anyDouble(), eq(date))).thenReturn(wholeDay(40.0));
+        when(playerBetRepository.findByBetId(1)).thenReturn(List.of());
+
+        service.resolveBet(1);
+
+        assertTrue(bet.getBetHit());
+        verifyNoInteractions(geocodeService);
+        verify(observationAggregationService).getDailyAggregate(43.0766, -89.4125, date);
+    }
+
+    @Test
+    void testResolveDailyBets_GroupsByStoredCoordinates() {
+        LocalDate date = DAY;
+        Bet madison1 = openBet(1, "Madison, WI", "45.0", date);
+        Bet madison2 = openBet(2, "Madison, WI", "50.0", date);
+        Bet campus = openBet(3, "Madison, WI", "45.0", date);
+        Bet legacy = openBet(4, "Green Bay, WI", "45.0", date);
+        for (Bet bet : List.of(madison1, madison2)) {
+            bet.setLatitude(43.0731);
+            bet.setLongitude(-89.4012);
+        }
+        campus.setLatitude(43.0766);
+        campus.setLongitude(-89.4125);
+
+        when(betRepository.findByBetDate(date)).thenReturn(Arrays.asList(madison1, campus, madison2, legacy));
+        when(geocodeService.geocodeCity("Green Bay, WI"))
+            .thenReturn(new GeocodeResponse("Green Bay, WI", 44.5133, -88.0133, "", ""));
+        when(observationAggregationService.getDailyAggregate(anyDouble(), anyDouble(), eq(date))).thenReturn(wholeDay(48.0));
+        when(playerBetRepository.findByBetId(anyInt())).thenReturn(List.of());
+
+        Map<String, Object> summary = service.resolveDailyBets(date);
+
+        assertEquals(4, summary.get("totalBetsResolved"));
+        @SuppressWarnings("unchecked")
+        List<LocationResolutionResult> locations = (List<LocationResolutionResult>) summary.get("locations");
+        assertEquals(List.of(2, 1, 1), locations.stream().map(LocationResolutionResult::betCount).toList());
+        verify(geocodeService, times(1)).geocodeCity(anyString());
+        verify(observationAggregationService, times(1)).getDailyAggregate(43.0731, -89.4012, date);
+        verify(observationAggregationService, times(1)).getDailyAggregate(43.0766, -89.4125, date);
+        verify(observationAggregationService, times(1)).getDailyAggregate(44.5133, -88.0133, date);
+    }
+
+    @Test
+    void testResolveBet_MinTempSettlesOnOvernightLow() {
+        LocalDate date = LocalDate.of(2025, 11, 18);
+        Bet bet = openBet(1, "Madison, WI", "30.0", date);
+        bet.setBetType("MIN_TEMP_OVER_UNDER");
+        bet.setLatitude(43.0731);
+        bet.setLongitude(-89.4012);
+
+        // Morning low of 31°F; an evening front takes it to 25°F after the overnight window
+        DailyObservationAggregate daily = new DailyObservationAggregate("KMSN", date, "America/Chicago");
+        daily.fold(Instant.parse("2025-11-18T06:53:00Z"), 33.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-18T12:53:00Z"), 31.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-19T03:53:00Z"), 25.0, null, ConditionCategory.CLOUDY, null, null);
+        daily.fold(Instant.parse("2025-11-19T05:53:00Z"), 26.0, null, ConditionCategory.CLOUDY, null, null);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, date)).thenReturn(daily);
+        when(playerBetRepository.findByBetId(1)).thenReturn(List.of());
+
+        service.resolveBet(1);
+
+        assertFalse(bet.getBetHit()); // 31°F overnight low is not UNDER 30°F
+        assertEquals(new BigDecimal("31.00"), bet.getOutcomeValue());
+    }
+
+    @Test
+    void testResolveBet_PartlyPolledDayIsNotSettled() {
+        LocalDate date = LocalDate.of(2025, 11, 18);
+        Bet bet = openBet(1, "Madison, WI", "45.0", date);
+        bet.setLatitude(43.0731);
+        bet.setLongitude(-89.4012);
+
+        // Poller started at 15:00 local - the morning is missing
+        DailyObservationAggregate daily = new DailyObservationAggregate("KMSN", date, "America/Chicago");
+        daily.fold(Instant.parse("2025-11-18T21:53:00Z"), 44.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-19T05:53:00Z"), 38.0, null, ConditionCategory.CLEAR, null, null);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, date)).thenReturn(daily);
+
+        assertThrows(IllegalStateException.class, () -> service.resolveBet(1));
+        assertNull(bet.getBetHit());
+        verify(betRepository, never()).save(any());
+    }
+
+    @Test
+    void testResolveBet_UtcDayAggregateIsNotSettled() {
+        Bet bet = openBet(1, "Madison, WI", "45.0", DAY);
+        bet.setLatitude(43.0731);
+        bet.setLongitude(-89.4012);
+
+        // Folded while the station's zone was unknown: a whole UTC day, 18:00-18:00 in Madison
+        DailyObservationAggregate daily = new DailyObservationAggregate("KMSN", DAY, ZoneOffset.UTC.getId());
+        daily.fold(DAY.atTime(0, 53).toInstant(ZoneOffset.UTC), 43.0, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(DAY.atTime(23, 53).toInstant(ZoneOffset.UTC), 43.0, null, ConditionCategory.CLEAR, null, null);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, DAY)).thenReturn(daily);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.resolveBet(1));
+        assertTrue(e.getMessage().contains("UTC"));
+        assertNull(bet.getBetHit());
+        verify(betRepository, never()).save(any());
+    }
+
+    @Test
+    void testResolveBet_DayWithoutAggregateIsNotSettled() {
+        Bet bet = openBet(1, "Madison, WI", "45.0", DAY);
+        bet.setLatitude(43.0731);
+        bet.setLongitude(-89.4012);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(observationAggregationService.getDailyAggregate(43.0731, -89.4012, DAY)).thenReturn(null);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.resolveBet(1));
+        assertTrue(e.getMessage().contains("No observations"));
+        assertNull(bet.getBetHit());
+        verify(betRepository, never()).save(any());
+    }
+
+    @Test
+    void testResolveDailyBets_LeavesUnpolledLocationsOpen() {
+        Bet madison = openBet(1, "Madison, WI", "45.0", DAY);
+        madison.setLatitude(43.0731);
+        madison.setLongitude(-89.4012);
+
+        when(betRepository.findByBetDate(DAY)).thenReturn(List.of(madison));
+
+        Map<String, Object> summary = service.resolveDailyBets(DAY);
+
+        assertEquals(0, summary.get("totalBetsResolved"));
+        assertEquals(1, summary.get("totalBetsFailed"));
+        assertNull(madison.getBetHit());
+        verify(betRepository, never()).save(any());
+    }
+
+    @Test
+    void testResolveBet_SettlesOnCityStationWithoutLocationLookups() {
+        Bet bet = openBet(1, "Madison, WI", "45.0", DAY);
+        bet.setCityId(7);
+        bet.setLatitude(43.0731);
+        bet.setLongitude(-89.4012);
+        City madison = new City("madison, wi", "Madison, WI", 43.0731, -89.4012, "MKX/37,63", "KMSN");
+        madison.setCityId(7);
+
+        when(betRepository.findById(1)).thenReturn(Optional.of(bet));
+        when(cityRegistry.findById(7)).thenReturn(madison);
+        when(observationAggregationService.catalogStation("KMSN"))
+            .thenReturn(new ObservationStation("KMSN", 43.14, -89.34, "America/Chicago"));
+        when(observationAggregationService.getDailyAggregate("KMSN", DAY)).thenReturn(wholeDay(43.0));
+        when(playerBetRepository.findByBetId(1)).thenReturn(List.of());
+
+        service.resolveBet(1);
+
+        assertTrue(bet.getBetHit());
+        verify(observationAggregationService, never()).getDailyAggregate(anyDouble(), anyDouble(), any());
+        verifyNoInteractions(geocodeService);
+    }
+
+    @Test
+    void testResolveDailyBets_GroupsByStationAndFallsBackToGridCellStation() {
+        LocalDate date = DAY;
+        Bet madison = openBet(1, "Madison, WI", "45.0", date);
+        madison.setCityId(7);
+        Bet middleton = openBet(2, "Middleton, WI", "50.0", date);
+        middleton.setCityId(8);
+        Bet tonopah = openBet(3, "Tonopah, NV", "45.0", date);
+        tonopah.setGridCell("VEF/140,200");
+        tonopah.setLatitude(38.07);
+        tonopah.setLongitude(-117.23);
+        City madisonCity = new City("madison, wi", "Madison, WI", 43.0731, -89.4012, "MKX/37,63", "KMSN");
+        City middletonCity = new City("middleton, wi", "Middleton, WI", 43.0972, -89.5043, "MKX/36,64", "KMSN");
+
+        when(betRepository.findByBetDate(date)).thenReturn(List.of(madison, middleton, tonopah));
+        when(cityRegistry.findById(7)).thenReturn(madisonCity);
+        when(cityRegistry.findById(8)).thenReturn(middletonCity);
+        when(observationAggregationService.catalogStation("KMSN"))
+            .thenReturn(new ObservationStation("KMSN", 43.14, -89.34, "America/Chicago"));
+        when(observationAggregationService.storedCellStation("VEF/140,200"))
+            .thenReturn(new ObservationStation("KTPH", 38.06, -117.09, "America/Los_Angeles"));
+        when(observationAggregationService.getDailyAggregate(anyString(), eq(date))).thenReturn(wholeDay(48.0));
+        when(playerBetRepository.findByBetId(anyInt())).thenReturn(List.of());
+
+        Map<String, Object> summary = service.resolveDailyBets(date);
+
+        assertEquals(3, summary.get("totalBetsResolved"));
+        @SuppressWarnings("unchecked")
+        List<LocationResolutionResult> locations = (List<LocationResolutionResult>) summary.get("locations");
+        assertEquals(List.of(2, 1), locations.stream().map(LocationResolutionResult::betCount).toList());
+        verify(observationAggregationService, times(1)).getDailyAggregate("KMSN", date);
+        verify(observationAggregationService, times(1)).getDailyAggregate("KTPH", date);
+        verify(observationAggregationService, never()).getDailyAggregate(anyDouble(), anyDouble(), any());
+        verifyNoInteractions(geocodeService);
+    }
+
+    private Bet openBet(int betId, String cityName, String line, LocalDate date) {
+        Bet bet = new Bet();
+        bet.setBetId(betId);
+        bet.setCityName(cityName);
+        bet.setBetType("MAX_TEMP_OVER_UNDER");
+        bet.setSetLine(new BigDecimal(line));
+        bet.setBetDate(date);
+        return bet;
+    }
+
+    /**
+     * An aggregate for DAY polled from 00:53 to 23:53 local, with this max temperature.
+     */
+    private static DailyObservationAggregate wholeDay(double maxTempF) {
+        ZoneId zone = ZoneId.of("America/Chicago");
+        DailyObservationAggregate daily = new DailyObservationAggregate("KMSN", DAY, zone.getId());
+        daily.fold(DAY.atTime(0, 53).atZone(zone).toInstant(), maxTempF, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(DAY.atTime(23, 53).atZone(zone).toInstant(), maxTempF, null, ConditionCategory.CLEAR, null, null);
+        return daily;
     }
-}
\ No newline at end of file
+}
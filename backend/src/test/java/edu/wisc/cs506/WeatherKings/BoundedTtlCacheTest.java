@@ -0,0 +1,100 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.BoundedTtlCache;
+
+class BoundedTtlCacheTest {
+
+    private MutableClock clock;
+    private BoundedTtlCache<String, String> cache;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(Instant.parse("2025-11-01T00:00:00Z"));
+        cache = new BoundedTtlCache<>(2, Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void shouldReturnCachedValueBeforeExpiry() {
+        cache.put("a", "alpha");
+
+        clock.advance(Duration.ofMinutes(59));
+
+        assertEquals("alpha", cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void shouldExpireEntryAfterTtl() {
+        cache.put("a", "alpha");
+
+        clock.advance(Duration.ofHours(1));
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+        cache.get("a"); // "b" is now least recently used
+
+        cache.put("c", "gamma");
+
+        assertEquals("alpha", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("gamma", cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void shouldHonourPerEntryTtl() {
+        cache.put("a", "alpha", Duration.ofMinutes(5));
+
+        clock.advance(Duration.ofMinutes(6));
+
+        assertNull(cache.get("a"));
+    }
+
+    /**
+     * Clock that only moves when the test tells it to.
+     */
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
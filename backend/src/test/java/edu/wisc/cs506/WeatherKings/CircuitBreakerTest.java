@@ -0,0 +1,100 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.resilience.CircuitBreaker;
+
+class CircuitBreakerTest {
+
+    private BoundedTtlCacheTest.MutableClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        clock = new BoundedTtlCacheTest.MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        // window of 4 calls, needs 4 recorded, opens at 50% failures, stays open 30s
+        breaker = new CircuitBreaker("test", 4, 4, 50, Duration.ofSeconds(30), clock);
+    }
+
+    private void succeed() {
+        breaker.acquirePermission();
+        breaker.onSuccess();
+    }
+
+    private void fail() {
+        breaker.acquirePermission();
+        breaker.onFailure();
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        fail();
+        fail();
+        fail();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldOpenAtFailureRateAndRejectCalls() {
+        succeed();
+        succeed();
+        fail();
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquirePermission);
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void shouldOnlyCountTheSlidingWindow() {
+        fail();
+        succeed();
+        succeed();
+        succeed();
+        // the early failure drops out of the window: 1 of 4 failed
+        succeed();
+        fail();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldLetOneProbeThroughAfterOpenDuration() {
+        fail();
+        fail();
+        fail();
+        fail();
+
+        clock.advance(Duration.ofSeconds(31));
+
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquirePermission);
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        fail();
+        fail();
+        fail();
+        fail();
+
+        clock.advance(Duration.ofSeconds(31));
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.advance(Duration.ofSeconds(10));
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquirePermission);
+    }
+}
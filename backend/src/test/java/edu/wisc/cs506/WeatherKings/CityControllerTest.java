@@ -0,0 +1,72 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the offline CityController endpoints (suggest, reverse),
+ * answered from the bundled gazetteer.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class CityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testSuggest_Prefix_ReturnsMostPopulousFirst() throws Exception {
+        mockMvc.perform(get("/api/cities/suggest").param("q", "madi").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].cityName").value("Madison, WI"))
+                .andExpect(jsonPath("$[0].latitude").isNumber())
+                .andExpect(jsonPath("$[0].population").isNumber())
+                .andExpect(jsonPath("$[1].cityName").value("Madison, AL"));
+    }
+
+    @Test
+    void testSuggest_NoMatch_ReturnsEmptyList() throws Exception {
+        mockMvc.perform(get("/api/cities/suggest").param("q", "zzzz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testSuggest_MissingQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/cities/suggest"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testReverse_NearMadison_ReturnsMadison() throws Exception {
+        mockMvc.perform(get("/api/cities/reverse").param("lat", "43.0766").param("lon", "-89.4125"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.place.cityName").value("Madison, WI"))
+                .andExpect(jsonPath("$.distanceKm").value(lessThan(2.0)));
+    }
+
+    @Test
+    void testReverse_Ocean_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/cities/reverse").param("lat", "0").param("lon", "0"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testReverse_InvalidLatitude_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/cities/reverse").param("lat", "95").param("lon", "-89.4"))
+                .andExpect(status().isBadRequest());
+    }
+}
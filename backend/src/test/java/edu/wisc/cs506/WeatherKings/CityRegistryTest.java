@@ -0,0 +1,145 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.wisc.cs506.WeatherKings.bets.model.City;
+import edu.wisc.cs506.WeatherKings.bets.repository.CityRepository;
+import edu.wisc.cs506.WeatherKings.bets.service.CityRegistry;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.StationCatalog;
+
+class CityRegistryTest {
+
+    private static final String KEY = "madison, wi";
+    private static final double LAT = 43.0731;
+    private static final double LON = -89.4012;
+
+    private CityRepository repository;
+    private GridPointService gridPointService;
+    private CityRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(CityRepository.class);
+        gridPointService = mock(GridPointService.class);
+        when(repository.findByNameKey(any())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(City.class))).thenAnswer(invocation -> {
+            City city = invocation.getArgument(0);
+            city.setCityId(7);
+            return city;
+        });
+        registry = new CityRegistry(repository, gridPointService, new StationCatalog(true, "/stations/nws-stations.csv"),
+            mock(PlatformTransactionManager.class), 25, 100);
+    }
+
+    private static City madison() {
+        City city = new City(KEY, "Madison, WI", LAT, LON, "MKX/37,63", "KMSN");
+        city.setCityId(7);
+        return city;
+    }
+
+    @Test
+    void canonicalKeyIgnoresCaseSpacingAndStateSpelling() {
+        assertEquals(KEY, CityNames.canonicalKey("Madison, WI"));
+        assertEquals(KEY, CityNames.canonicalKey("  MADISON ,wi "));
+        assertEquals(KEY, CityNames.canonicalKey("Madison, Wisconsin"));
+        assertEquals(KEY, CityNames.canonicalKey("Madison WI"));
+        assertEquals(KEY, CityNames.canonicalKey("Madison, W.I."));
+        assertEquals("new york city, ny", CityNames.canonicalKey("New York City, New York"));
+        assertEquals("st paul, mn", CityNames.canonicalKey("Saint Paul, MN"));
+        assertEquals("st paul, mn", CityNames.canonicalKey("St. Paul, Minnesota"));
+        assertEquals("san jose, ca", CityNames.canonicalKey("San José, CA"));
+    }
+
+    @Test
+    void canonicalKeyKeepsNamesWithoutState() {
+        assertEquals("pike place market", CityNames.canonicalKey("Pike Place Market"));
+        assertEquals("west virginia", CityNames.canonicalKey("West Virginia"));
+        assertThrows(IllegalArgumentException.class, () -> CityNames.canonicalKey("  "));
+    }
+
+    @Test
+    void newCityIsRegisteredWithGridCellAndStation() {
+        when(gridPointService.resolve(LAT, LON))
+            .thenReturn(new GridPoint("MKX", 37, 63, "https://api.weather.gov/gridpoints/MKX/37,63/forecast", null));
+
+        City city = registry.resolve("Madison, WI", LAT, LON);
+
+        ArgumentCaptor<City> saved = ArgumentCaptor.forClass(City.class);
+        verify(repository).saveAndFlush(saved.capture());
+        assertEquals(KEY, saved.getValue().getNameKey());
+        assertEquals("Madison, WI", saved.getValue().getCityName());
+        assertEquals("MKX/37,63", saved.getValue().getGridCell());
+        assertNotNull(saved.getValue().getStationId());
+        assertEquals(7, city.getCityId());
+    }
+
+    @Test
+    void variantsResolveToTheRegisteredCity() {
+        when(repository.findByNameKey(KEY)).thenReturn(Optional.of(madison()));
+
+        City first = registry.resolve("madison wi", 43.07, -89.40);
+        City second = registry.resolve("Madison, Wisconsin", 43.08, -89.38);
+
+        assertEquals(7, first.getCityId());
+        assertEquals(7, second.getCityId());
+        assertEquals("Madison, WI", second.getCityName());
+        verify(repository, never()).saveAndFlush(any());
+        // The second variant is answered from memory
+        verify(repository, times(1)).findByNameKey(KEY);
+    }
+
+    @Test
+    void sameNameFarFromTheRegisteredCityIsRejected() {
+        when(repository.findByNameKey(KEY)).thenReturn(Optional.of(madison()));
+        registry.resolve("Madison, WI", LAT, LON);
+
+        // Same key, but the point is Milwaukee - ~120 km away, outside the station radius
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> registry.resolve("madison wi", 43.0389, -87.9065));
+        assertTrue(e.getMessage().contains("Madison, WI"));
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void gridCellFailureStillRegistersCity() {
+        when(gridPointService.resolve(anyDouble(), anyDouble())).thenThrow(new RuntimeException("NWS unavailable"));
+
+        City city = registry.resolve("Madison, WI", LAT, LON);
+
+        assertEquals(7, city.getCityId());
+        assertNull(city.getGridCell());
+    }
+
+    @Test
+    void concurrentRegistrationUsesTheStoredRow() {
+        doThrow(new DataIntegrityViolationException("Duplicate entry 'madison, wi'")).when(repository).saveAndFlush(any(City.class));
+        when(repository.findByNameKey(KEY)).thenReturn(Optional.empty(), Optional.of(madison()));
+
+        City city = registry.resolve("Madison, WI", LAT, LON);
+
+        assertEquals(7, city.getCityId());
+    }
+
+    @Test
+    void findDoesNotRegisterUnknownCities() {
+        assertNull(registry.find("Nowhere, ZZ"));
+        verify(repository, never()).saveAndFlush(any());
+
+        when(repository.findByNameKey(KEY)).thenReturn(Optional.of(madison()));
+        assertEquals(7, registry.find("MADISON, wisconsin").getCityId());
+    }
+}
@@ -0,0 +1,89 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.parser.ForecastStreamParser;
+
+class CompactForecastTest {
+
+    private static WeatherForecastResponse parseFixture() throws IOException {
+        try (InputStream in = CompactForecastTest.class.getResourceAsStream("/standin/nws/forecast.json")) {
+            return ForecastStreamParser.parse(in);
+        }
+    }
+
+    @Test
+    void shouldKeepEveryPeriodField() throws IOException {
+        WeatherForecastResponse response = parseFixture();
+        List<Period> periods = response.getProperties().getPeriods();
+
+        CompactForecast compact = CompactForecast.from(response);
+
+        assertEquals(periods.size(), compact.size());
+        for (int i = 0; i < periods.size(); i++) {
+            Period period = periods.get(i);
+            assertEquals(period.getName(), compact.nameAt(i));
+            assertEquals(period.getTemperature().intValue(), compact.temperatureAt(i));
+            assertEquals(period.getTemperatureUnit(), compact.temperatureUnitAt(i));
+            assertEquals(period.getWindSpeed(), compact.windSpeedAt(i));
+            assertEquals(period.getWindDirection(), compact.windDirectionAt(i));
+            assertEquals(period.getShortForecast(), compact.conditionAt(i));
+            Integer precipitation = period.getProbabilityOfPrecipitation().getValue();
+            assertEquals(precipitation == null ? CompactForecast.NO_PRECIPITATION : precipitation.byteValue(),
+                         compact.precipitationAt(i));
+        }
+    }
+
+    @Test
+    void shouldShareConditionCodesAcrossForecasts() throws IOException {
+        CompactForecast first = CompactForecast.from(parseFixture());
+        CompactForecast second = CompactForecast.from(parseFixture());
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.conditionCodeAt(i), second.conditionCodeAt(i));
+            // Same dictionary entry, not an equal copy
+            assertSame(first.conditionAt(i), second.conditionAt(i));
+        }
+    }
+
+    @Test
+    void shouldRebuildResponseForApi() throws IOException {
+        WeatherForecastResponse original = parseFixture();
+
+        WeatherForecastResponse rebuilt = CompactForecast.from(original).toResponse();
+
+        Period expected = original.getProperties().getPeriods().get(2);
+        Period actual = rebuilt.getProperties().getPeriods().get(2);
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getShortForecast(), actual.getShortForecast());
+        assertEquals(expected.getProbabilityOfPrecipitation().getValue(), actual.getProbabilityOfPrecipitation().getValue());
+    }
+
+    @Test
+    void shouldMarkMissingValuesAndNightPeriods() {
+        Period night = new Period();
+        night.setName("Thursday Night");
+        WeatherForecastResponse.Properties properties = new WeatherForecastResponse.Properties();
+        properties.setPeriods(List.of(night));
+        WeatherForecastResponse response = new WeatherForecastResponse();
+        response.setProperties(properties);
+
+        CompactForecast compact = CompactForecast.from(response);
+
+        assertTrue(compact.isNightAt(0));
+        assertFalse(compact.hasTemperatureAt(0));
+        assertEquals(CompactForecast.NO_PRECIPITATION, compact.precipitationAt(0));
+        assertNull(compact.conditionAt(0));
+        assertNull(compact.toResponse().getProperties().getPeriods().get(0).getTemperature());
+    }
+}
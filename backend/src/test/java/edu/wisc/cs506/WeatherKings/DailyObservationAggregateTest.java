@@ -0,0 +1,129 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.model.ConditionCategory;
+import edu.wisc.cs506.WeatherKings.weather.model.DailyObservationAggregate;
+
+class DailyObservationAggregateTest {
+
+    private DailyObservationAggregate daily;
+
+    @BeforeEach
+    void setup() {
+        daily = new DailyObservationAggregate("KMSN", LocalDate.of(2025, 11, 18), "America/Chicago");
+    }
+
+    @Test
+    void shouldTrackMaxAndMinTemperature() {
+        daily.fold(Instant.parse("2025-11-18T12:53:00Z"), 31.0, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T20:53:00Z"), 47.5, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T21:53:00Z"), null, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-19T03:53:00Z"), 38.0, null, null, null, null);
+
+        assertEquals(47.5, daily.getMaxTempF());
+        assertEquals(31.0, daily.getMinTempF());
+        assertEquals(4, daily.getObservationCount());
+        assertEquals(Instant.parse("2025-11-19T03:53:00Z"), daily.getLastObservationInstant());
+    }
+
+    @Test
+    void shouldTrackOvernightLowSeparately() {
+        // 00:53, 06:53 and 21:53 Central; only the first two are in the overnight window
+        daily.fold(Instant.parse("2025-11-18T06:53:00Z"), 33.0, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T12:53:00Z"), 31.0, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-19T03:53:00Z"), 25.0, null, null, null, null);
+
+        assertEquals(31.0, daily.getOvernightMinTempF());
+        assertEquals(25.0, daily.getMinTempF());
+    }
+
+    @Test
+    void shouldOnlyCoverWholeDayOncePolledFromMidnightToMidnight() {
+        Instant afterDay = Instant.parse("2025-11-19T07:00:00Z");
+        daily.fold(Instant.parse("2025-11-18T21:53:00Z"), 44.0, null, null, null, null);
+        daily.fold(Instant.parse("2025-11-19T05:53:00Z"), 38.0, null, null, null, null);
+        assertFalse(daily.coversWholeDay(afterDay), "Poller joined at 15:53 local");
+
+        DailyObservationAggregate full = new DailyObservationAggregate("KMSN", LocalDate.of(2025, 11, 18), "America/Chicago");
+        full.fold(Instant.parse("2025-11-18T06:53:00Z"), 33.0, null, null, null, null);
+        full.fold(Instant.parse("2025-11-19T03:53:00Z"), 38.0, null, null, null, null);
+        assertFalse(full.coversWholeDay(afterDay), "Last report 21:53 local");
+
+        full.fold(Instant.parse("2025-11-19T05:53:00Z"), 37.0, null, null, null, null);
+        assertTrue(full.coversWholeDay(afterDay));
+        assertFalse(full.coversWholeDay(Instant.parse("2025-11-19T05:59:00Z")), "Day not over yet");
+    }
+
+    @Test
+    void shouldReadPrecipitationInMillimetersWhateverTheUnitCode() {
+        WeatherObservation.PrecipitationValue nws = new WeatherObservation.PrecipitationValue();
+        nws.setValue(2.5);
+        nws.setUnitCode("wmoUnit:mm");
+        WeatherObservation.PrecipitationValue meters = new WeatherObservation.PrecipitationValue();
+        meters.setValue(0.0025);
+        meters.setUnitCode("wmoUnit:m");
+
+        assertEquals(2.5, nws.getValueInMillimeters());
+        assertEquals(2.5, meters.getValueInMillimeters(), 1e-9);
+
+        daily.fold(Instant.parse("2025-11-18T14:53:00Z"), 31.0, meters.getValueInMillimeters(), ConditionCategory.SNOW, null, null);
+        // 2.5 mm liquid at 10:1 is about an inch of snow
+        assertEquals(0.98, daily.getSnowfallInchesEstimate(), 0.01);
+    }
+
+    @Test
+    void shouldCountLargestPrecipitationPerClockHourOnce() {
+        // Special report at :20 and routine report at :53 both cover the same hour
+        daily.fold(Instant.parse("2025-11-18T14:20:00Z"), null, 0.5, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T14:53:00Z"), null, 1.2, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T15:53:00Z"), null, 0.8, null, null, null);
+        daily.fold(Instant.parse("2025-11-18T16:53:00Z"), null, 0.0, null, null, null);
+
+        assertEquals(2.0, daily.getPrecipitationTotal(), 1e-9);
+    }
+
+    @Test
+    void shouldTrackGustSkyCoverAndSnow() {
+        daily.fold(Instant.parse("2025-11-18T14:53:00Z"), null, 2.54, ConditionCategory.SNOW, 21.0, 100);
+        daily.fold(Instant.parse("2025-11-18T15:53:00Z"), null, 1.0, ConditionCategory.RAIN, 34.0, 75);
+        daily.fold(Instant.parse("2025-11-18T16:53:00Z"), null, null, ConditionCategory.CLOUDY, null, null);
+
+        assertEquals(34.0, daily.getMaxWindGustMph());
+        assertEquals(87.5, daily.getAverageSkyCover(), 1e-9);
+        // 2.54 mm liquid as snow at 10:1 = 1 inch; the rain hour does not count
+        assertEquals(1.0, daily.getSnowfallInchesEstimate(), 1e-9);
+        assertEquals(3.54, daily.getPrecipitationTotal(), 1e-9);
+    }
+
+    @Test
+    void shouldPickMostFrequentConditionAsDominant() {
+        daily.fold(Instant.parse("2025-11-18T12:53:00Z"), null, null, ConditionCategory.CLOUDY, null, null);
+        daily.fold(Instant.parse("2025-11-18T13:53:00Z"), null, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-18T14:53:00Z"), null, null, ConditionCategory.CLEAR, null, null);
+        daily.fold(Instant.parse("2025-11-18T15:53:00Z"), null, null, ConditionCategory.CLOUDY, null, null);
+        daily.fold(Instant.parse("2025-11-18T16:53:00Z"), null, null, ConditionCategory.CLEAR, null, null);
+
+        assertEquals(ConditionCategory.CLEAR, daily.getDominantCondition());
+        assertEquals(3, daily.conditionCount(ConditionCategory.CLEAR));
+        assertEquals(2, daily.conditionCount(ConditionCategory.CLOUDY));
+    }
+
+    @Test
+    void shouldClassifyNwsDescriptions() {
+        assertEquals(ConditionCategory.CLEAR, ConditionCategory.classify("Mostly Clear"));
+        assertEquals(ConditionCategory.CLEAR, ConditionCategory.classify("Sunny"));
+        assertEquals(ConditionCategory.CLOUDY, ConditionCategory.classify("Overcast"));
+        assertEquals(ConditionCategory.RAIN, ConditionCategory.classify("Light Rain and Fog/Mist"));
+        assertEquals(ConditionCategory.SNOW, ConditionCategory.classify("Light Snow"));
+        assertEquals(ConditionCategory.OTHER, ConditionCategory.classify("Fog/Mist"));
+        assertNull(ConditionCategory.classify(""));
+    }
+}
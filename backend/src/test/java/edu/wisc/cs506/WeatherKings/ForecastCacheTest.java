@@ -0,0 +1,160 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.ForecastCache;
+import edu.wisc.cs506.WeatherKings.weather.cache.ForecastPayloadCodec;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.model.CachedForecast;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.repository.CachedForecastRepository;
+
+class ForecastCacheTest {
+
+    private static final String CELL = "MKX/37,63";
+
+    private CachedForecastRepository repository;
+    private ForecastCache cache;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(CachedForecastRepository.class);
+        cache = new ForecastCache(100, 24, 15, true, repository, mock(PlatformTransactionManager.class));
+    }
+
+    private static CompactForecast forecast(String shortForecast, Integer temperature, Integer precipitation) {
+        Period period = new Period();
+        period.setName("Tonight");
+        period.setTemperature(temperature);
+        period.setTemperatureUnit("F");
+        period.setWindSpeed("5 to 10 mph");
+        period.setWindDirection("NW");
+        period.setShortForecast(shortForecast);
+        if (precipitation != null) {
+            WeatherForecastResponse.ProbabilityValue probability = new WeatherForecastResponse.ProbabilityValue();
+            probability.setValue(precipitation);
+            period.setProbabilityOfPrecipitation(probability);
+        }
+        WeatherForecastResponse.Properties properties = new WeatherForecastResponse.Properties();
+        properties.setPeriods(List.of(period));
+        WeatherForecastResponse forecast = new WeatherForecastResponse();
+        forecast.setProperties(properties);
+        return CompactForecast.from(forecast);
+    }
+
+    private static CachedForecast row(String cell, Instant expiresAt) {
+        return new CachedForecast(cell, ForecastPayloadCodec.encode(forecast("Snow", 28, 80)), "\"abc\"", null,
+                                  expiresAt.minus(Duration.ofHours(1)), expiresAt);
+    }
+
+    @Test
+    void shouldRoundTripPeriodFieldsThroughPayload() {
+        CompactForecast decoded = ForecastPayloadCodec.decode(
+            ForecastPayloadCodec.encode(forecast("Mostly Sunny", -4, null)));
+
+        assertEquals(1, decoded.size());
+        assertEquals("Tonight", decoded.nameAt(0));
+        assertEquals(-4, decoded.temperatureAt(0));
+        assertEquals("F", decoded.temperatureUnitAt(0));
+        assertEquals("5 to 10 mph", decoded.windSpeedAt(0));
+        assertEquals("NW", decoded.windDirectionAt(0));
+        assertEquals("Mostly Sunny", decoded.conditionAt(0));
+        assertEquals(CompactForecast.NO_PRECIPITATION, decoded.precipitationAt(0));
+    }
+
+    @Test
+    void shouldWriteThroughToDatabase() {
+        Instant now = Instant.now();
+        cache.put(CELL, new ForecastCache.Entry(forecast("Rain", 45, 60), "\"v1\"", null, now, now.plusSeconds(600)));
+
+        ArgumentCaptor<CachedForecast> saved = ArgumentCaptor.forClass(CachedForecast.class);
+        verify(repository).saveAndFlush(saved.capture());
+        assertEquals(CELL, saved.getValue().getGridCell());
+        assertEquals("\"v1\"", saved.getValue().getEtag());
+        assertEquals(now.plusSeconds(600).getEpochSecond(), saved.getValue().getExpiresInstant().getEpochSecond());
+    }
+
+    @Test
+    void shouldWriteThroughInItsOwnTransaction() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        doThrow(new TransactionSystemException("Duplicate entry 'MKX/37,63'")).when(transactionManager).commit(any());
+        ForecastCache ownTransaction = new ForecastCache(100, 24, 15, true, repository, transactionManager);
+        Instant now = Instant.now();
+
+        // A failed commit is logged, not thrown into the caller's transaction
+        ownTransaction.put(CELL, new ForecastCache.Entry(forecast("Rain", 45, 60), "\"v1\"", null, now, now.plusSeconds(600)));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        assertNotNull(ownTransaction.get(CELL));
+    }
+
+    @Test
+    void shouldFallBackToDatabaseOnInProcessMiss() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(repository.findById(CELL)).thenReturn(Optional.of(row(CELL, expiresAt)));
+
+        ForecastCache.Entry entry = cache.get(CELL);
+
+        assertNotNull(entry);
+        assertTrue(entry.isFresh(Instant.now()));
+        assertEquals("\"abc\"", entry.etag());
+        assertEquals(80, entry.forecast().precipitationAt(0));
+
+        // Second lookup is served in process
+        cache.get(CELL);
+        verify(repository, times(1)).findById(CELL);
+        assertEquals(1, cache.getPersistentHitCount());
+    }
+
+    @Test
+    void shouldIgnoreRowsPastRetention() {
+        when(repository.findById(CELL)).thenReturn(Optional.of(row(CELL, Instant.now().minus(Duration.ofHours(30)))));
+
+        assertNull(cache.get(CELL));
+        assertEquals(1, cache.getPersistentMissCount());
+    }
+
+    @Test
+    void shouldWarmFromDatabaseInOneQuery() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(repository.findByExpiresAtAfter(any()))
+            .thenReturn(List.of(row(CELL, expiresAt), row("OKX/33,35", expiresAt)));
+
+        assertEquals(2, cache.warmFromDatabase());
+        assertEquals(2, cache.getWarmLoadedCount());
+
+        assertNotNull(cache.get(CELL));
+        assertNotNull(cache.get("OKX/33,35"));
+        verify(repository, times(1)).findByExpiresAtAfter(any());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotTouchDatabaseWhenDisabled() {
+        ForecastCache inProcessOnly = new ForecastCache(100, 24, 15, false, repository, mock(PlatformTransactionManager.class));
+        Instant now = Instant.now();
+
+        inProcessOnly.put(CELL, new ForecastCache.Entry(forecast("Rain", 45, 60), null, null, now, now.plusSeconds(600)));
+        assertNull(inProcessOnly.get("OKX/33,35"));
+        assertEquals(0, inProcessOnly.warmFromDatabase());
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,85 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse.Period;
+import edu.wisc.cs506.WeatherKings.weather.parser.ForecastStreamParser;
+
+class ForecastStreamParserTest {
+
+    private static final String FIXTURE = "/standin/nws/forecast.json";
+
+    private InputStream fixture() {
+        return getClass().getResourceAsStream(FIXTURE);
+    }
+
+    @Test
+    void shouldMatchDatabindForUsedFields() throws IOException {
+        WeatherForecastResponse expected = new ObjectMapper().readValue(fixture(), WeatherForecastResponse.class);
+        WeatherForecastResponse actual = ForecastStreamParser.parse(fixture());
+
+        List<Period> expectedPeriods = expected.getProperties().getPeriods();
+        List<Period> actualPeriods = actual.getProperties().getPeriods();
+        assertEquals(14, actualPeriods.size());
+
+        for (int i = 0; i < expectedPeriods.size(); i++) {
+            Period e = expectedPeriods.get(i);
+            Period a = actualPeriods.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getTemperature(), a.getTemperature());
+            assertEquals(e.getTemperatureUnit(), a.getTemperatureUnit());
+            assertEquals(e.getWindSpeed(), a.getWindSpeed());
+            assertEquals(e.getWindDirection(), a.getWindDirection());
+            assertEquals(e.getShortForecast(), a.getShortForecast());
+            assertEquals(e.getProbabilityOfPrecipitation().getValue(), a.getProbabilityOfPrecipitation().getValue());
+        }
+    }
+
+    @Test
+    void shouldSkipDetailedForecast() throws IOException {
+        WeatherForecastResponse forecast = ForecastStreamParser.parse(fixture());
+
+        assertNull(forecast.getProperties().getPeriods().get(0).getDetailedForecast());
+    }
+
+    @Test
+    void shouldStopAfterMaxPeriods() throws IOException {
+        WeatherForecastResponse forecast = ForecastStreamParser.parse(fixture(), 3);
+
+        List<Period> periods = forecast.getProperties().getPeriods();
+        assertEquals(3, periods.size());
+        assertEquals("Wednesday", periods.get(2).getName());
+        assertEquals(38, periods.get(2).getTemperature());
+    }
+
+    @Test
+    void shouldLeavePeriodsNullWhenMissing() throws IOException {
+        String json = "{\"type\": \"Feature\", \"properties\": {\"units\": \"us\"}}";
+
+        WeatherForecastResponse forecast = ForecastStreamParser.parse(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertNotNull(forecast.getProperties());
+        assertNull(forecast.getProperties().getPeriods());
+    }
+
+    @Test
+    void shouldRejectMalformedJson() {
+        String json = "{\"properties\": {\"periods\": [{\"name\": ";
+
+        assertThrows(JsonParseException.class, () -> ForecastStreamParser.parse(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+}
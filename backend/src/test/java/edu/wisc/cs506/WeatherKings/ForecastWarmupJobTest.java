@@ -0,0 +1,89 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.bets.service.ActiveCityService;
+import edu.wisc.cs506.WeatherKings.bets.service.ForecastWarmupJob;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.StationResolver;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+
+class ForecastWarmupJobTest {
+
+    private static final CityLocation MADISON = new CityLocation("Madison, WI", 43.0731, -89.4012);
+    private static final CityLocation NYC = new CityLocation("New York City, NY", 40.7128, -74.0060);
+
+    private ActiveCityService activeCityService;
+    private GridPointService gridPointService;
+    private StationResolver stationResolver;
+    private WeatherApiService weatherApiService;
+
+    @BeforeEach
+    void setup() {
+        activeCityService = mock(ActiveCityService.class);
+        gridPointService = mock(GridPointService.class);
+        stationResolver = mock(StationResolver.class);
+        weatherApiService = mock(WeatherApiService.class);
+        when(activeCityService.getActiveCities()).thenReturn(List.of(MADISON, NYC));
+    }
+
+    private ForecastWarmupJob job(boolean enabled) {
+        return new ForecastWarmupJob(activeCityService, gridPointService, stationResolver, weatherApiService,
+                                     enabled, 0);
+    }
+
+    private static Health awaitUp(ForecastWarmupJob job) throws InterruptedException {
+        for (int i = 0; i < 200 && job.health().getStatus() != Status.UP; i++) {
+            Thread.sleep(10);
+        }
+        return job.health();
+    }
+
+    @Test
+    void shouldBeOutOfServiceUntilInitialPassCompletes() throws InterruptedException {
+        ForecastWarmupJob job = job(true);
+        assertEquals(Status.OUT_OF_SERVICE, job.health().getStatus());
+
+        job.warmOnStartup();
+
+        assertEquals(Status.UP, awaitUp(job).getStatus());
+        verify(gridPointService).resolve(43.0731, -89.4012);
+        verify(stationResolver).resolveStations(43.0731, -89.4012);
+        verify(weatherApiService).getCompactForecast(43.0731, -89.4012);
+        verify(weatherApiService).getCompactForecast(40.7128, -74.0060);
+    }
+
+    @Test
+    void shouldBecomeReadyEvenWhenCitiesFail() throws InterruptedException {
+        when(weatherApiService.getCompactForecast(43.0731, -89.4012))
+            .thenThrow(new WeatherApiService.WeatherApiException("NWS down"));
+        ForecastWarmupJob job = job(true);
+
+        job.warmOnStartup();
+
+        Health health = awaitUp(job);
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1, health.getDetails().get("lastPassFailures"));
+        verify(weatherApiService).getCompactForecast(40.7128, -74.0060);
+    }
+
+    @Test
+    void shouldBeReadyImmediatelyWhenDisabled() {
+        ForecastWarmupJob job = job(false);
+
+        job.warmOnStartup();
+        job.refresh();
+
+        assertEquals(Status.UP, job.health().getStatus());
+        verifyNoInteractions(activeCityService, gridPointService, stationResolver, weatherApiService);
+    }
+}
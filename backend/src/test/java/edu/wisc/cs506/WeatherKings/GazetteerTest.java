@@ -0,0 +1,130 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.bets.index.GeohashIndex;
+import edu.wisc.cs506.WeatherKings.bets.index.PlaceTrie;
+import edu.wisc.cs506.WeatherKings.bets.model.Place;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.ReverseGeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.service.Gazetteer;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+
+class GazetteerTest {
+
+    private static List<String> names(List<Place> places) {
+        return places.stream().map(Place::cityName).toList();
+    }
+
+    private static List<Place> sample() {
+        return List.of(
+            new Place("Madison", "WI", 43.0731, -89.4012, 269840),
+            new Place("Madison", "AL", 34.6993, -86.7483, 56933),
+            new Place("Madison Heights", "MI", 42.4859, -83.1052, 28468),
+            new Place("Madisonville", "KY", 37.3281, -87.4989, 19542),
+            new Place("Milwaukee", "WI", 43.0389, -87.9065, 577222),
+            new Place("Middleton", "WI", 43.0972, -89.5043, 21827),
+            new Place("St. Louis", "MO", 38.6270, -90.1994, 301578));
+    }
+
+    @Test
+    void suggestsByPrefixMostPopulousFirst() {
+        PlaceTrie trie = new PlaceTrie(sample());
+
+        assertEquals(List.of("Madison, WI", "Madison, AL", "Madison Heights, MI", "Madisonville, KY"),
+                     names(trie.suggest("madi", 10)));
+        assertEquals(List.of("Milwaukee, WI", "Madison, WI", "Madison, AL"), names(trie.suggest("M", 3)));
+        assertEquals(List.of("Middleton, WI"), names(trie.suggest("mid", 10)));
+        assertEquals(List.of("Madison, AL"), names(trie.suggest("Madison,A", 10)));
+        assertEquals(List.of("St. Louis, MO"), names(trie.suggest("st lou", 10)));
+        assertTrue(trie.suggest("madisonx", 10).isEmpty());
+        assertTrue(trie.suggest("q", 10).isEmpty());
+    }
+
+    @Test
+    void suggestMatchesBruteForceOnBundledPlaces() throws IOException {
+        List<Place> places;
+        try (InputStream in = Gazetteer.class.getResourceAsStream("/gazetteer/us-places.csv")) {
+            places = Gazetteer.parse(in);
+        }
+        PlaceTrie trie = new PlaceTrie(places);
+
+        for (String prefix : List.of("", "s", "sa", "san ", "new", "green b", "la", "x", "madison, w")) {
+            String key = CityNames.normalize(prefix);
+            List<String> expected = names(places.stream()
+                .filter(p -> CityNames.normalize(p.cityName()).startsWith(key))
+                .sorted(Comparator.comparingInt(Place::population).reversed())
+                .limit(PlaceTrie.MAX_RESULTS)
+                .toList());
+            assertEquals(expected, names(trie.suggest(prefix, PlaceTrie.MAX_RESULTS)), prefix);
+        }
+    }
+
+    @Test
+    void encodesStandardGeohash() {
+        assertEquals("u4pruydqqvj", GeohashIndex.toBase32(GeohashIndex.encode(57.64911, 10.40744), 11));
+        assertEquals("dp8mj", GeohashIndex.toBase32(GeohashIndex.encode(43.0731, -89.4012), 5));
+    }
+
+    @Test
+    void reverseMatchesBruteForceOnRandomPlaces() {
+        Random random = new Random(11);
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            places.add(new Place("P" + i, "ZZ", 25 + random.nextDouble() * 24, -125 + random.nextDouble() * 58, i));
+        }
+        GeohashIndex index = new GeohashIndex(places);
+
+        for (int q = 0; q < 500; q++) {
+            double lat = 24 + random.nextDouble() * 26;
+            double lon = -126 + random.nextDouble() * 60;
+            Place expected = places.stream()
+                .min(Comparator.comparingDouble(p -> StationKdTree.distanceKm(lat, lon, p.latitude(), p.longitude())))
+                .orElseThrow();
+            double expectedKm = StationKdTree.distanceKm(lat, lon, expected.latitude(), expected.longitude());
+
+            Place found = index.nearest(lat, lon, 10_000);
+            assertNotNull(found);
+            assertEquals(expectedKm, StationKdTree.distanceKm(lat, lon, found.latitude(), found.longitude()), 1e-9);
+        }
+    }
+
+    @Test
+    void reverseRespectsRadius() {
+        GeohashIndex index = new GeohashIndex(sample());
+
+        assertEquals("Middleton, WI", index.nearest(43.10, -89.52, 25).cityName());
+        assertNull(index.nearest(47.0, -95.0, 50));
+        assertNull(index.nearest(0.0, 0.0, 100));
+    }
+
+    @Test
+    void loadsBundledGazetteer() {
+        Gazetteer gazetteer = new Gazetteer(true, "/gazetteer/us-places.csv");
+
+        assertTrue(gazetteer.size() > 250);
+        assertEquals("Madison, WI", gazetteer.suggest("madison", 1).get(0).cityName());
+
+        ReverseGeocodeResponse near = gazetteer.reverse(43.0766, -89.4125, 50);
+        assertEquals("Madison, WI", near.place().cityName());
+        assertTrue(near.distanceKm() < 2);
+    }
+
+    @Test
+    void disabledGazetteerIsEmpty() {
+        Gazetteer gazetteer = new Gazetteer(false, null);
+
+        assertEquals(0, gazetteer.size());
+        assertTrue(gazetteer.suggest("mad", 5).isEmpty());
+        assertNull(gazetteer.reverse(43.07, -89.40, 50));
+    }
+}
@@ -0,0 +1,167 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CachedGeocode;
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.repository.CachedGeocodeRepository;
+import edu.wisc.cs506.WeatherKings.bets.service.GeocodeCache;
+import edu.wisc.cs506.WeatherKings.bets.util.CityNames;
+
+class GeocodeCacheTest {
+
+    private static final String KEY = "madison, wi";
+
+    private CachedGeocodeRepository repository;
+    private GeocodeCache cache;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(CachedGeocodeRepository.class);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        cache = new GeocodeCache(true, 2, 30, 10, true, repository, mock(PlatformTransactionManager.class));
+    }
+
+    private static GeocodeResponse madison() {
+        return new GeocodeResponse("Madison, Wisconsin", 43.0747, -89.3842, "Madison, Wisconsin, United States", "United States");
+    }
+
+    @Test
+    void keysAreTheCityRegistryKeys() {
+        assertEquals(KEY, CityNames.canonicalKey("  Madison ,WI "));
+        assertEquals(KEY, CityNames.canonicalKey("MADISON,   wi"));
+        assertEquals(KEY, CityNames.canonicalKey("Madison, Wisconsin"));
+        assertEquals("new york, ny", CityNames.canonicalKey("New   York,NY"));
+        assertEquals("st louis, mo", CityNames.canonicalKey("St. Louis,MO"));
+        assertEquals("st louis, mo", CityNames.canonicalKey("Saint Louis, Missouri"));
+    }
+
+    @Test
+    void foundAnswerIsServedFromMemory() {
+        cache.putFound(KEY, madison());
+
+        GeocodeCache.Entry entry = cache.get(KEY);
+
+        assertTrue(entry.found());
+        assertEquals(43.0747, entry.response().getLatitude());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getUpstreamCallCount());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void cachedResponseCannotBeChangedByCallers() {
+        GeocodeResponse response = madison();
+        cache.putFound(KEY, response);
+        response.setLatitude(0.0);
+
+        GeocodeResponse copy = cache.get(KEY).copyOfResponse();
+        copy.setLatitude(1.0);
+
+        assertEquals(43.0747, cache.get(KEY).response().getLatitude());
+    }
+
+    @Test
+    void notFoundIsCachedWithShortTtl() {
+        cache.putNotFound("xyzzy, zz");
+
+        GeocodeCache.Entry entry = cache.get("xyzzy, zz");
+
+        assertFalse(entry.found());
+        assertEquals(1, cache.getNegativeHitCount());
+        ArgumentCaptor<CachedGeocode> saved = ArgumentCaptor.forClass(CachedGeocode.class);
+        verify(repository).saveAndFlush(saved.capture());
+        assertFalse(saved.getValue().isFound());
+        Duration ttl = Duration.between(Instant.now(), saved.getValue().getExpiresInstant());
+        assertTrue(ttl.compareTo(Duration.ofMinutes(10)) <= 0 && ttl.compareTo(Duration.ofMinutes(9)) > 0);
+    }
+
+    @Test
+    void inProcessMissFallsBackToTable() {
+        Instant now = Instant.now();
+        when(repository.findById(KEY)).thenReturn(Optional.of(
+            new CachedGeocode(KEY, madison(), now.minus(Duration.ofDays(1)), now.plus(Duration.ofDays(1)))));
+
+        GeocodeCache.Entry entry = cache.get(KEY);
+        cache.get(KEY);
+
+        assertEquals("Madison, Wisconsin", entry.response().getCityName());
+        assertEquals(1, cache.getPersistentHitCount());
+        assertEquals(2, cache.getHitCount());
+        verify(repository, times(1)).findById(KEY);
+    }
+
+    @Test
+    void expiredRowIsAMiss() {
+        Instant now = Instant.now();
+        when(repository.findById(KEY)).thenReturn(Optional.of(
+            new CachedGeocode(KEY, madison(), now.minus(Duration.ofDays(31)), now.minus(Duration.ofDays(1)))));
+
+        assertNull(cache.get(KEY));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getPersistentMissCount());
+    }
+
+    @Test
+    void databaseErrorsDoNotFailLookups() {
+        when(repository.findById(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        when(repository.saveAndFlush(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertNull(cache.get(KEY));
+        cache.putFound(KEY, madison());
+        assertTrue(cache.get(KEY).found());
+    }
+
+    @Test
+    void writeThroughCommitsInItsOwnTransaction() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+        GeocodeCache ownTransaction = new GeocodeCache(true, 2, 30, 10, true, repository, transactionManager);
+
+        ownTransaction.putFound(KEY, madison());
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(repository).saveAndFlush(any());
+        // A failed commit is logged, not thrown at the caller
+        assertTrue(ownTransaction.get(KEY).found());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        cache.putFound("a", madison());
+        cache.putFound("b", madison());
+        cache.get("a");
+        cache.putFound("c", madison());
+
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        CachedGeocodeRepository unused = mock(CachedGeocodeRepository.class);
+        GeocodeCache disabled = new GeocodeCache(false, 10, 30, 10, true, unused, mock(PlatformTransactionManager.class));
+        disabled.putFound(KEY, madison());
+
+        assertNull(disabled.get(KEY));
+        verifyNoInteractions(unused);
+    }
+}
@@ -2,6 +2,7 @@ package edu.wisc.cs506.WeatherKings;
 
 import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
 import edu.wisc.cs506.WeatherKings.bets.service.GeocodeService;
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -63,4 +64,46 @@ public class GeocodeServiceTest {
         assertTrue(response.getLatitude() > 43.0 && response.getLatitude() < 43.2);
         assertTrue(response.getLongitude() < -89.3 && response.getLongitude() > -89.5);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGeocodeReturnsCityAndState() {
+        GeocodeResponse response = geocodeService.geocodeCity("Madison, WI");
+
+        assertEquals("Madison, Wisconsin", response.getCityName());
+        assertEquals("United States", response.getCountry());
+        assertNotNull(response.getDisplayName());
+    }
+
+    @Test
+    public void testRepeatedGeocodesGiveSameResult() {
+        GeocodeResponse first = geocodeService.geocodeCity("Milwaukee, WI");
+        for (int i = 0; i < 5; i++) {
+            GeocodeResponse again = geocodeService.geocodeCity("Milwaukee, WI");
+            assertEquals(first.getLatitude(), again.getLatitude());
+            assertEquals(first.getLongitude(), again.getLongitude());
+        }
+    }
+
+    @Test
+    public void testRepeatedLookupsAreCached() {
+        NwsStandInServer standIn = NwsStandInServer.shared();
+        long before = standIn.getRequestCount("search");
+
+        GeocodeResponse first = geocodeService.geocodeCity("Eau Claire, WI");
+        GeocodeResponse second = geocodeService.geocodeCity("  eau claire ,wi");
+
+        assertEquals(first.getLatitude(), second.getLatitude());
+        assertEquals(1, standIn.getRequestCount("search") - before);
+    }
+
+    @Test
+    public void testNotFoundIsCached() {
+        NwsStandInServer standIn = NwsStandInServer.shared();
+        long before = standIn.getRequestCount("search");
+
+        assertThrows(IllegalArgumentException.class, () -> geocodeService.geocodeCity("Typo123ville"));
+        assertThrows(IllegalArgumentException.class, () -> geocodeService.geocodeCity("typo123ville"));
+
+        assertEquals(1, standIn.getRequestCount("search") - before);
+    }
+}
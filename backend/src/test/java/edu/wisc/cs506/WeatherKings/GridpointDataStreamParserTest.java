@@ -0,0 +1,68 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.model.GridpointMetrics;
+import edu.wisc.cs506.WeatherKings.weather.parser.GridpointDataStreamParser;
+
+class GridpointDataStreamParserTest {
+
+    private static final String FIXTURE = "/standin/nws/gridpoint.json";
+    private static final ZoneId CHICAGO = ZoneId.of("America/Chicago");
+
+    // 2025-11-19 in Chicago is 06:00Z to 06:00Z the next day
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 19);
+
+    private GridpointMetrics parseFixture() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE)) {
+            return GridpointDataStreamParser.parse(in, DAY, CHICAGO);
+        }
+    }
+
+    @Test
+    void shouldTakeMaxGustWithinTheLocalDay() throws IOException {
+        // 60 km/h ends at local midnight and 70 km/h starts the next day; 46.3 km/h ≈ 28.8 mph
+        assertEquals(29, parseFixture().maxWindGustMph());
+    }
+
+    @Test
+    void shouldTakeOvernightLowEndingThatMorning() throws IOException {
+        // -3.3°C for the night into the 19th; the -8°C night after is excluded
+        assertEquals(26, parseFixture().overnightLowF());
+    }
+
+    @Test
+    void shouldProrateSnowfallAcrossTheDayBoundary() throws IOException {
+        // Half of 12.7 mm (the other half fell before midnight) + 6.35 mm = 12.7 mm = 0.5"
+        assertEquals(0.5, parseFixture().snowfallInches());
+    }
+
+    @Test
+    void shouldTimeWeightSkyCoverEvenWhenUnitComesLast() throws IOException {
+        // 100% for 6 hours, 40% for 18 hours
+        assertEquals(55, parseFixture().skyCoverPercent());
+    }
+
+    @Test
+    void shouldLeaveMissingSeriesNull() throws IOException {
+        String json = "{\"properties\": {\"windGust\": {\"uom\": \"wmoUnit:km_h-1\", \"values\": "
+            + "[{\"validTime\": \"2025-11-19T12:00:00+00:00/PT1H\", \"value\": 16.1}]}}}";
+
+        GridpointMetrics metrics = GridpointDataStreamParser.parse(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), DAY, CHICAGO);
+
+        assertEquals(10, metrics.maxWindGustMph());
+        assertNull(metrics.overnightLowF());
+        assertNull(metrics.snowfallInches());
+        assertNull(metrics.skyCoverPercent());
+    }
+}
@@ -0,0 +1,257 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.ForecastCache;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherForecastResponse;
+import edu.wisc.cs506.WeatherKings.weather.dto.WeatherObservation;
+import edu.wisc.cs506.WeatherKings.weather.provider.HedgedWeatherProvider;
+import edu.wisc.cs506.WeatherKings.weather.provider.NwsWeatherProvider;
+import edu.wisc.cs506.WeatherKings.weather.provider.WeatherProvider;
+import edu.wisc.cs506.WeatherKings.weather.repository.CachedForecastRepository;
+import edu.wisc.cs506.WeatherKings.weather.resilience.Bulkhead;
+import edu.wisc.cs506.WeatherKings.weather.resilience.CircuitBreaker;
+import edu.wisc.cs506.WeatherKings.weather.resilience.RetryPolicy;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherObservationService;
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
+import edu.wisc.cs506.WeatherKings.weather.standin.StandInSettings;
+
+class HedgedWeatherProviderTest {
+
+    /**
+     * Local stand-in provider with a fixed latency that either answers or fails
+     * (by default with a transient 503).
+     */
+    static class StandInProvider implements WeatherProvider {
+        private final String name;
+        private final long latencyMillis;
+        private final RuntimeException failure;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger observationCalls = new AtomicInteger();
+        final WeatherForecastResponse forecast = new WeatherForecastResponse();
+        final WeatherObservation observation = new WeatherObservation();
+
+        StandInProvider(String name, long latencyMillis, boolean fails) {
+            this(name, latencyMillis, fails
+                ? HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, name + " is down", null, null, null)
+                : null);
+        }
+
+        StandInProvider(String name, long latencyMillis, RuntimeException failure) {
+            this.name = name;
+            this.latencyMillis = latencyMillis;
+            this.failure = failure;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public WeatherForecastResponse getForecast(double latitude, double longitude) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return forecast;
+        }
+
+        @Override
+        public WeatherObservation getLatestObservation(double latitude, double longitude) {
+            observationCalls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return observation;
+        }
+    }
+
+    /**
+     * The real NWS provider (WeatherApiService, GridPointService and the guard) talking to the
+     * given base URL, with no retries and an in-process-only forecast cache.
+     */
+    private NwsWeatherProvider nwsAt(String baseUrl, UpstreamGuard guard) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        GridPointService gridPoints = new GridPointService(baseUrl, "test", 100, 1, requestFactory, guard);
+        ForecastCache cache = new ForecastCache(100, 24, 15, false,
+            mock(CachedForecastRepository.class), mock(PlatformTransactionManager.class));
+        WeatherApiService api = new WeatherApiService(baseUrl, "test", gridPoints, cache, requestFactory, guard);
+        return new NwsWeatherProvider(api, mock(WeatherObservationService.class));
+    }
+
+    private UpstreamGuard guard(CircuitBreaker breaker) {
+        return new UpstreamGuard("nws", breaker, new Bulkhead("nws", 4, Duration.ofMillis(100)),
+            new RetryPolicy(1, Duration.ZERO, Duration.ZERO));
+    }
+
+    private HedgedWeatherProvider hedged(WeatherProvider primary, WeatherProvider secondary) {
+        return new HedgedWeatherProvider(primary, secondary,
+            Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofSeconds(2), 5);
+    }
+
+    @Test
+    void shouldUsePrimaryWhenItAnswersInTime() {
+        StandInProvider primary = new StandInProvider("nws", 0, false);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+
+        WeatherForecastResponse result = hedged(primary, secondary).getForecast(43.07, -89.40);
+
+        assertSame(primary.forecast, result);
+        assertEquals(0, secondary.calls.get());
+    }
+
+    @Test
+    void shouldHedgeToSecondaryWhenPrimaryIsSlow() {
+        StandInProvider primary = new StandInProvider("nws", 2000, false);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+        HedgedWeatherProvider provider = hedged(primary, secondary);
+
+        long start = System.nanoTime();
+        WeatherForecastResponse result = provider.getForecast(43.07, -89.40);
+
+        assertSame(secondary.forecast, result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1500);
+        assertEquals(1, provider.getHedgedCount());
+        assertEquals(1, provider.getSecondaryWinCount());
+    }
+
+    @Test
+    void shouldKeepPrimaryResultWhenItFinishesFirstAfterHedging() {
+        StandInProvider primary = new StandInProvider("nws", 200, false);
+        StandInProvider secondary = new StandInProvider("openmeteo", 2000, false);
+
+        WeatherForecastResponse result = hedged(primary, secondary).getForecast(43.07, -89.40);
+
+        assertSame(primary.forecast, result);
+        assertEquals(1, secondary.calls.get());
+    }
+
+    @Test
+    void shouldFailOverImmediatelyWhenPrimaryFails() {
+        StandInProvider primary = new StandInProvider("nws", 0, true);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+
+        WeatherForecastResponse result = hedged(primary, secondary).getForecast(43.07, -89.40);
+
+        assertSame(secondary.forecast, result);
+    }
+
+    @Test
+    void shouldReportPrimaryFailureWhenBothFail() {
+        StandInProvider primary = new StandInProvider("nws", 0, true);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, true);
+
+        HttpServerErrorException e = assertThrows(HttpServerErrorException.class,
+            () -> hedged(primary, secondary).getForecast(43.07, -89.40));
+        assertTrue(e.getMessage().contains("nws is down"));
+        assertEquals(1, e.getSuppressed().length);
+        assertTrue(e.getSuppressed()[0].getMessage().contains("openmeteo is down"));
+    }
+
+    @Test
+    void shouldKeepBothCausesWhenSecondaryFailsFirst() {
+        // Primary is slow, so the hedge fires; the secondary fails at once, then the primary does
+        StandInProvider primary = new StandInProvider("nws", 300, true);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, true);
+
+        HttpServerErrorException e = assertThrows(HttpServerErrorException.class,
+            () -> hedged(primary, secondary).getForecast(43.07, -89.40));
+        assertTrue(e.getMessage().contains("nws is down"));
+        assertEquals(1, e.getSuppressed().length);
+        assertTrue(e.getSuppressed()[0].getMessage().contains("openmeteo is down"));
+    }
+
+    @Test
+    void shouldNotFailOverOnNonTransientPrimaryFailure() {
+        StandInProvider primary = new StandInProvider("nws", 0,
+            HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+        HedgedWeatherProvider provider = hedged(primary, secondary);
+
+        assertThrows(HttpClientErrorException.class, () -> provider.getForecast(43.07, -89.40));
+        assertEquals(0, secondary.calls.get());
+        assertEquals(0, provider.getHedgedCount());
+    }
+
+    @Test
+    void shouldNeverHedgeLatestObservations() {
+        StandInProvider primary = new StandInProvider("nws", 0, false);
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+
+        assertSame(primary.observation, hedged(primary, secondary).getLatestObservation(43.07, -89.40));
+
+        StandInProvider down = new StandInProvider("nws", 0, true);
+        assertThrows(HttpServerErrorException.class, () -> hedged(down, secondary).getLatestObservation(43.07, -89.40));
+        assertEquals(0, secondary.observationCalls.get());
+    }
+
+    @Test
+    void shouldFailOverWhenNwsAnswersWith5xx() {
+        try (NwsStandInServer nws = new NwsStandInServer(StandInSettings.healthy(0).withErrorRate(1.0)).start()) {
+            CircuitBreaker breaker = new CircuitBreaker("nws", 10, 10, 50, Duration.ofMinutes(1));
+            StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+            HedgedWeatherProvider provider = hedged(nwsAt(nws.getBaseUrl(), guard(breaker)), secondary);
+
+            assertSame(secondary.forecast, provider.getForecast(43.07, -89.40));
+            assertEquals(1, secondary.calls.get());
+            assertTrue(nws.getInjectedErrorCount() > 0);
+        }
+    }
+
+    @Test
+    void shouldFailOverWhenNwsIsUnreachable() {
+        NwsStandInServer nws = new NwsStandInServer(StandInSettings.healthy(0)).start();
+        String baseUrl = nws.getBaseUrl();
+        nws.stop();
+        StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+        CircuitBreaker breaker = new CircuitBreaker("nws", 10, 10, 50, Duration.ofMinutes(1));
+
+        assertSame(secondary.forecast, hedged(nwsAt(baseUrl, guard(breaker)), secondary).getForecast(43.07, -89.40));
+    }
+
+    @Test
+    void shouldFailOverWhenNwsBreakerIsOpen() {
+        try (NwsStandInServer nws = new NwsStandInServer(StandInSettings.healthy(0)).start()) {
+            CircuitBreaker breaker = new CircuitBreaker("nws", 1, 1, 50, Duration.ofMinutes(1));
+            breaker.acquirePermission();
+            breaker.onFailure();
+            StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+
+            assertSame(secondary.forecast, hedged(nwsAt(nws.getBaseUrl(), guard(breaker)), secondary).getForecast(43.07, -89.40));
+            assertEquals(0, nws.getTotalRequestCount());
+        }
+    }
+
+    @Test
+    void shouldNotFailOverWhenNwsRejectsTheLocation() {
+        try (NwsStandInServer nws = new NwsStandInServer(StandInSettings.healthy(0)).start()) {
+            CircuitBreaker breaker = new CircuitBreaker("nws", 10, 10, 50, Duration.ofMinutes(1));
+            StandInProvider secondary = new StandInProvider("openmeteo", 0, false);
+
+            // Outside NWS coverage: a 404 from /points, wrapped like every other NWS failure
+            assertThrows(WeatherApiService.WeatherApiException.class,
+                () -> hedged(nwsAt(nws.getBaseUrl(), guard(breaker)), secondary).getForecast(0.0, 0.0));
+            assertEquals(0, secondary.calls.get());
+        }
+    }
+}
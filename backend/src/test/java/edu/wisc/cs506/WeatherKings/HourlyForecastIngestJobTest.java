@@ -0,0 +1,66 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.bets.model.CityLocation;
+import edu.wisc.cs506.WeatherKings.bets.service.ActiveCityService;
+import edu.wisc.cs506.WeatherKings.bets.service.HourlyForecastIngestJob;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.HourlyForecastService;
+
+class HourlyForecastIngestJobTest {
+
+    private static final CityLocation MADISON = new CityLocation("Madison, WI", 43.0731, -89.4012);
+    private static final CityLocation UW_MADISON = new CityLocation("UW Madison, WI", 43.0766, -89.4125);
+    private static final CityLocation CHICAGO = new CityLocation("Chicago, IL", 41.8781, -87.6298);
+
+    private ActiveCityService activeCityService;
+    private HourlyForecastService hourlyForecastService;
+    private GridPointService gridPointService;
+    private HourlyForecastIngestJob job;
+
+    @BeforeEach
+    void setup() {
+        activeCityService = mock(ActiveCityService.class);
+        hourlyForecastService = mock(HourlyForecastService.class);
+        gridPointService = mock(GridPointService.class);
+
+        GridPoint madisonCell = new GridPoint("MKX", 37, 63, null, "https://api.weather.gov/gridpoints/MKX/37,63/forecast/hourly");
+        when(gridPointService.resolve(MADISON.latitude(), MADISON.longitude())).thenReturn(madisonCell);
+        when(gridPointService.resolve(UW_MADISON.latitude(), UW_MADISON.longitude())).thenReturn(madisonCell);
+        when(gridPointService.resolve(CHICAGO.latitude(), CHICAGO.longitude()))
+            .thenReturn(new GridPoint("LOT", 76, 73, null, "https://api.weather.gov/gridpoints/LOT/76,73/forecast/hourly"));
+
+        job = new HourlyForecastIngestJob(activeCityService, hourlyForecastService, gridPointService);
+    }
+
+    @Test
+    void shouldIngestEachGridCellOnce() {
+        when(activeCityService.getActiveCities()).thenReturn(List.of(MADISON, UW_MADISON, CHICAGO));
+
+        assertEquals(2, job.ingestActiveCities());
+
+        verify(hourlyForecastService).ingest(MADISON.latitude(), MADISON.longitude());
+        verify(hourlyForecastService).ingest(CHICAGO.latitude(), CHICAGO.longitude());
+        verify(hourlyForecastService, never()).ingest(UW_MADISON.latitude(), UW_MADISON.longitude());
+    }
+
+    @Test
+    void shouldSkipCityWhoseCellCannotBeResolved() {
+        CityLocation offshore = new CityLocation("Offshore", 0.0, 0.0);
+        when(gridPointService.resolve(0.0, 0.0)).thenThrow(new GridPointService.GridPointException("Outside NWS coverage"));
+        when(activeCityService.getActiveCities()).thenReturn(List.of(offshore, CHICAGO));
+
+        assertEquals(1, job.ingestActiveCities());
+
+        verify(hourlyForecastService).ingest(CHICAGO.latitude(), CHICAGO.longitude());
+        verify(hourlyForecastService, never()).ingest(0.0, 0.0);
+    }
+}
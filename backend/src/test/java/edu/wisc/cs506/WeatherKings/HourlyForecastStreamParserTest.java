@@ -0,0 +1,104 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.model.HourlySeries;
+import edu.wisc.cs506.WeatherKings.weather.parser.HourlyForecastStreamParser;
+
+class HourlyForecastStreamParserTest {
+
+    private static final String FIXTURE = "/standin/nws/forecast-hourly.json";
+
+    private HourlySeries parseFixture() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE)) {
+            return HourlyForecastStreamParser.parse(in);
+        }
+    }
+
+    @Test
+    void shouldReadHoursIntoPrimitiveSeries() throws IOException {
+        HourlySeries series = parseFixture();
+
+        assertEquals(8, series.size());
+        // 2025-11-18T00:00:00-06:00
+        assertEquals(Instant.parse("2025-11-18T06:00:00Z"), series.getStart());
+        assertEquals(Instant.parse("2025-11-18T09:00:00Z"), series.timeAt(3));
+
+        assertEquals(41, series.temperatureAt(0));
+        assertEquals(38, series.temperatureAt(3));
+        assertEquals(0, series.precipitationAt(0));
+        assertEquals(40, series.precipitationAt(6));
+    }
+
+    @Test
+    void shouldPackWindSpeedAndDirection() throws IOException {
+        HourlySeries series = parseFixture();
+
+        assertEquals(10, series.windSpeedAt(0));
+        assertEquals(315, series.windDirectionAt(0));   // NW
+        assertEquals(10, series.windSpeedAt(2));        // "5 to 10 mph" keeps the upper bound
+        assertEquals(293, series.windDirectionAt(2));   // WNW
+        assertEquals(0, series.windSpeedAt(5));
+        assertEquals(-1, series.windDirectionAt(5));    // calm, no direction
+    }
+
+    @Test
+    void shouldRoundTripThroughBlob() throws IOException {
+        HourlySeries series = parseFixture();
+
+        byte[] blob = series.toBytes();
+        HourlySeries decoded = HourlySeries.fromBytes(blob);
+
+        // 13 byte header + 7 bytes per hour
+        assertEquals(13 + 8 * 7, blob.length);
+        assertEquals(series.getStart(), decoded.getStart());
+        assertEquals(series.size(), decoded.size());
+        for (int hour = 0; hour < series.size(); hour++) {
+            assertEquals(series.temperatureAt(hour), decoded.temperatureAt(hour));
+            assertEquals(series.precipitationAt(hour), decoded.precipitationAt(hour));
+            assertEquals(series.windSpeedAt(hour), decoded.windSpeedAt(hour));
+            assertEquals(series.windDirectionAt(hour), decoded.windDirectionAt(hour));
+        }
+    }
+
+    @Test
+    void shouldFindHourIndexForInstant() throws IOException {
+        HourlySeries series = parseFixture();
+
+        assertEquals(0, series.indexOf(Instant.parse("2025-11-18T06:00:00Z")));
+        assertEquals(2, series.indexOf(Instant.parse("2025-11-18T08:59:59Z")));
+        assertEquals(-1, series.indexOf(Instant.parse("2025-11-18T05:59:59Z")));
+        assertEquals(-1, series.indexOf(Instant.parse("2025-11-18T14:00:00Z")));
+    }
+
+    @Test
+    void shouldMarkMissingValues() throws IOException {
+        String json = "{\"properties\": {\"periods\": [{\"startTime\": \"2025-11-18T00:00:00-06:00\","
+            + " \"temperature\": null, \"probabilityOfPrecipitation\": {\"value\": null}}]}}";
+
+        HourlySeries series = HourlyForecastStreamParser.parse(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, series.size());
+        assertEquals(HourlySeries.NO_TEMPERATURE, series.temperatureAt(0));
+        assertEquals(HourlySeries.NO_PRECIPITATION, series.precipitationAt(0));
+        assertEquals(-1, series.windSpeedAt(0));
+        assertEquals(-1, series.windDirectionAt(0));
+    }
+
+    @Test
+    void shouldReturnNullWithoutPeriods() throws IOException {
+        String json = "{\"type\": \"Feature\", \"properties\": {\"units\": \"us\"}}";
+
+        assertNull(HourlyForecastStreamParser.parse(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+}
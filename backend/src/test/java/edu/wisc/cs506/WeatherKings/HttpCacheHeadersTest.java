@@ -0,0 +1,65 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.HttpCacheHeaders;
+
+class HttpCacheHeadersTest {
+
+    private static final Instant NOW = Instant.parse("2025-11-01T12:00:00Z");
+    private static final Duration FALLBACK = Duration.ofMinutes(15);
+
+    @Test
+    void shouldUseMaxAgeMinusAge() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=600");
+        headers.set("Age", "100");
+
+        assertEquals(NOW.plusSeconds(500), HttpCacheHeaders.expiresAt(headers, NOW, FALLBACK));
+    }
+
+    @Test
+    void shouldPreferSharedMaxAge() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=60, s-maxage=3600");
+
+        assertEquals(NOW.plusSeconds(3600), HttpCacheHeaders.expiresAt(headers, NOW, FALLBACK));
+    }
+
+    @Test
+    void shouldFallBackToExpiresHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setExpires(NOW.plusSeconds(1800).toEpochMilli());
+
+        assertEquals(NOW.plusSeconds(1800), HttpCacheHeaders.expiresAt(headers, NOW, FALLBACK));
+    }
+
+    @Test
+    void shouldBeStaleImmediatelyForNoCache() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-cache");
+        headers.setExpires(NOW.plusSeconds(1800).toEpochMilli());
+
+        assertEquals(NOW, HttpCacheHeaders.expiresAt(headers, NOW, FALLBACK));
+    }
+
+    @Test
+    void shouldUseFallbackWithoutCachingHeaders() {
+        assertEquals(NOW.plus(FALLBACK), HttpCacheHeaders.expiresAt(new HttpHeaders(), NOW, FALLBACK));
+    }
+
+    @Test
+    void shouldReadLastModified() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLastModified(NOW.toEpochMilli());
+
+        assertEquals(NOW, HttpCacheHeaders.lastModified(headers));
+        assertNull(HttpCacheHeaders.lastModified(new HttpHeaders()));
+    }
+}
@@ -0,0 +1,59 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpClientConfigTests {
+
+    @Test
+    void testPoolLimits() {
+        // total, default per-host and the tighter Nominatim limit are applied
+        HttpClientConfig config = new HttpClientConfig();
+        try (PoolingHttpClientConnectionManager manager =
+                config.outboundConnectionManager(50, 10, "https://nominatim.openstreetmap.org", 2, 1000, 5000, 10)) {
+            assertEquals(50, manager.getMaxTotal());
+            assertEquals(10, manager.getDefaultMaxPerRoute());
+
+            HttpRoute nominatim = new HttpRoute(
+                new HttpHost("https", "nominatim.openstreetmap.org", 443), null, true);
+            HttpRoute nws = new HttpRoute(new HttpHost("https", "api.weather.gov", 443), null, true);
+            assertEquals(2, manager.getMaxPerRoute(nominatim));
+            assertEquals(10, manager.getMaxPerRoute(nws));
+        }
+    }
+
+    @Test
+    void testNominatimLimitFollowsConfiguredBaseUrl() {
+        // a self-hosted (or stand-in) Nominatim gets the tighter limit, not the public host
+        HttpClientConfig config = new HttpClientConfig();
+        try (PoolingHttpClientConnectionManager manager =
+                config.outboundConnectionManager(50, 10, "http://127.0.0.1:8089", 2, 1000, 5000, 10)) {
+            HttpRoute selfHosted = new HttpRoute(new HttpHost("http", "127.0.0.1", 8089), null, false);
+            HttpRoute publicNominatim = new HttpRoute(
+                new HttpHost("https", "nominatim.openstreetmap.org", 443), null, true);
+            assertEquals(2, manager.getMaxPerRoute(selfHosted));
+            assertEquals(10, manager.getMaxPerRoute(publicNominatim));
+        }
+    }
+
+    @Test
+    void testPoolMetrics() {
+        // pool utilisation gauges are registered
+        HttpClientConfig config = new HttpClientConfig();
+        try (PoolingHttpClientConnectionManager manager =
+                config.outboundConnectionManager(50, 10, "https://nominatim.openstreetmap.org", 2, 1000, 5000, 10)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            config.outboundConnectionPoolMetrics(manager).bindTo(registry);
+
+            assertEquals(50.0, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+            assertNotNull(registry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge());
+        }
+    }
+}
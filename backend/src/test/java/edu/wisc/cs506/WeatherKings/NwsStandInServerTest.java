@@ -0,0 +1,171 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
+import edu.wisc.cs506.WeatherKings.weather.standin.StandInSettings;
+
+class NwsStandInServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NwsStandInServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private NwsStandInServer start(StandInSettings settings) {
+        server = new NwsStandInServer(settings).start();
+        return server;
+    }
+
+    private HttpResponse<String> get(String path, Map<String, String> headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path));
+        headers.forEach(request::header);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return get(path, Map.of());
+    }
+
+    @Test
+    void shouldMapNearbyCoordinatesToOneGridCell() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        JsonNode first = objectMapper.readTree(get("/points/43.0731,-89.4012").body()).get("properties");
+        JsonNode second = objectMapper.readTree(get("/points/43.0740,-89.4020").body()).get("properties");
+
+        assertEquals("MKX", first.get("gridId").asText());
+        assertEquals(first.get("gridX").asInt(), second.get("gridX").asInt());
+        assertEquals(first.get("gridY").asInt(), second.get("gridY").asInt());
+        assertTrue(first.get("forecast").asText().startsWith(server.getBaseUrl() + "/gridpoints/MKX/"));
+        assertEquals(2, server.getRequestCount("points"));
+    }
+
+    @Test
+    void shouldReturn404OutsideCoverage() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        assertEquals(404, get("/points/0.0,0.0").statusCode());
+        assertEquals(404, get("/alerts/active").statusCode());
+    }
+
+    @Test
+    void shouldServeRecordedForecastShiftedToToday() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        HttpResponse<String> response = get("/gridpoints/MKX/3584,1002/forecast");
+        JsonNode periods = objectMapper.readTree(response.body()).get("properties").get("periods");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(14, periods.size());
+        assertTrue(periods.get(0).get("startTime").asText().startsWith(LocalDate.now(ZoneOffset.UTC).toString()));
+        assertTrue(response.headers().firstValue("Cache-Control").orElse("").contains("max-age="));
+    }
+
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWith304() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        String etag = get("/gridpoints/MKX/3584,1002/forecast").headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> revalidated = get("/gridpoints/MKX/3584,1002/forecast", Map.of("If-None-Match", etag));
+
+        assertEquals(304, revalidated.statusCode());
+        assertTrue(revalidated.body().isEmpty());
+    }
+
+    @Test
+    void shouldServeStationsAndObservations() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        JsonNode stations = objectMapper.readTree(get("/gridpoints/MKX/3584,1002/stations").body());
+        JsonNode latest = objectMapper.readTree(get("/stations/KMSN/observations/latest").body());
+        JsonNode recent = objectMapper.readTree(get("/stations/KMSN/observations").body());
+
+        assertEquals("KMSN", stations.get("features").get(0).get("properties").get("stationIdentifier").asText());
+        assertTrue(latest.get("properties").get("temperature").get("value").isNumber());
+        // Last 24 hours, newest first
+        JsonNode features = recent.get("features");
+        assertTrue(features.size() >= 24);
+        assertEquals(latest.get("properties").get("timestamp").asText(),
+                     features.get(0).get("properties").get("timestamp").asText());
+    }
+
+    @Test
+    void shouldGeocodeKnownAndUnknownPlaces() throws Exception {
+        start(StandInSettings.healthy(0));
+
+        JsonNode madison = objectMapper.readTree(get("/search?q=Madison%2C+WI&format=json&limit=1").body()).get(0);
+        JsonNode made = objectMapper.readTree(get("/search?q=Springfield%2C+Ohio").body()).get(0);
+        JsonNode again = objectMapper.readTree(get("/search?q=Springfield%2C+Ohio").body()).get(0);
+
+        assertEquals(43.0747, madison.get("lat").asDouble(), 1e-6);
+        assertEquals("Wisconsin", madison.get("address").get("state").asText());
+        assertEquals("Ohio", made.get("address").get("state").asText());
+        assertEquals(made.get("lat").asText(), again.get("lat").asText());
+        assertEquals("[]", get("/search?q=XYZ123InvalidCity").body());
+    }
+
+    @Test
+    void shouldInjectErrors() throws Exception {
+        start(StandInSettings.healthy(0).withErrorRate(1.0));
+
+        HttpResponse<String> response = get("/points/43.0731,-89.4012");
+
+        assertEquals(503, response.statusCode());
+        assertEquals("application/problem+json", response.headers().firstValue("Content-Type").orElse(""));
+        assertEquals(1, server.getInjectedErrorCount());
+    }
+
+    @Test
+    void shouldThrottleAboveRateWith429() throws Exception {
+        start(StandInSettings.healthy(0).withThrottle(0.5, 2));
+
+        assertEquals(200, get("/points/43.0731,-89.4012").statusCode());
+        assertEquals(200, get("/points/43.0731,-89.4012").statusCode());
+        HttpResponse<String> throttled = get("/points/43.0731,-89.4012");
+
+        assertEquals(429, throttled.statusCode());
+        assertEquals("1", throttled.headers().firstValue("Retry-After").orElse(""));
+        assertEquals(1, server.getThrottledCount());
+        assertEquals(3, server.getRequestCount("points"));
+    }
+
+    @Test
+    void shouldDelayResponsesByInjectedLatency() throws Exception {
+        start(StandInSettings.healthy(0).withLatency(60, 60));
+
+        long started = System.nanoTime();
+        get("/points/43.0731,-89.4012");
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // median == p99 means no spread
+        assertTrue(elapsedMs >= 60, "took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> StandInSettings.healthy(0).withLatency(100, 50));
+        assertThrows(IllegalArgumentException.class, () -> StandInSettings.healthy(0).withErrorRate(1.5));
+    }
+}
@@ -0,0 +1,83 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.cache.SingleFlight;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("MKX/37,63", () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return "forecast";
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("MKX/37,63", () -> {
+                    loaderCalls.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            // Wait until every follower has joined the in-flight load
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.getCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("forecast", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loaderCalls.get());
+            assertEquals(callers - 1, singleFlight.getCoalescedCount());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateLoaderExceptionAndReleaseKey() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () ->
+            singleFlight.execute("MKX/37,63", () -> {
+                throw new IllegalStateException("NWS unavailable");
+            }));
+
+        assertEquals("ok", singleFlight.execute("MKX/37,63", () -> "ok"));
+        assertEquals(2, singleFlight.getLoadCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
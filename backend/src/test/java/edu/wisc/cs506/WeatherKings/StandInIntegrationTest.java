@@ -0,0 +1,74 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import edu.wisc.cs506.WeatherKings.bets.model.dto.GeocodeResponse;
+import edu.wisc.cs506.WeatherKings.bets.service.GeocodeService;
+import edu.wisc.cs506.WeatherKings.weather.model.CompactForecast;
+import edu.wisc.cs506.WeatherKings.weather.service.WeatherApiService;
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
+
+/**
+ * The test profile runs against the local stand-in server: both base URLs are rewritten to it
+ * and the real services talk to it over HTTP.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class StandInIntegrationTest {
+
+    @Autowired
+    private NwsStandInServer standIn;
+
+    @Autowired
+    private WeatherApiService weatherApiService;
+
+    @Autowired
+    private GeocodeService geocodeService;
+
+    @Value("${weather.api.base-url}")
+    private String nwsBaseUrl;
+
+    @Value("${geocoding.nominatim.base-url}")
+    private String nominatimBaseUrl;
+
+    @Test
+    void shouldPointBothUpstreamsAtStandIn() {
+        assertEquals(standIn.getBaseUrl(), nwsBaseUrl);
+        assertEquals(standIn.getBaseUrl(), nominatimBaseUrl);
+    }
+
+    @Test
+    void shouldFetchForecastOncePerGridCell() {
+        long pointsBefore = standIn.getRequestCount("points");
+        long forecastsBefore = standIn.getRequestCount("forecast");
+
+        // Green Bay - two coordinates in the same stand-in grid cell, not used by other tests
+        CompactForecast first = weatherApiService.getCompactForecast(44.5133, -88.0133);
+        CompactForecast second = weatherApiService.getCompactForecast(44.5140, -88.0140);
+
+        assertEquals(14, first.size());
+        assertEquals(first.size(), second.size());
+        assertEquals(2, standIn.getRequestCount("points") - pointsBefore);
+        assertEquals(1, standIn.getRequestCount("forecast") - forecastsBefore);
+    }
+
+    @Test
+    void shouldGeocodeThroughStandIn() {
+        long searchesBefore = standIn.getRequestCount("search");
+
+        GeocodeResponse response = geocodeService.geocodeCity("Milwaukee, WI");
+
+        assertEquals("Milwaukee, Wisconsin", response.getCityName());
+        assertEquals(43.0389, response.getLatitude(), 1e-6);
+        assertEquals(-87.9065, response.getLongitude(), 1e-6);
+        assertEquals(1, standIn.getRequestCount("search") - searchesBefore);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.index.StationKdTree;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.service.StationCatalog;
+
+class StationKdTreeTest {
+
+    private static List<String> ids(List<ObservationStation> stations) {
+        return stations.stream().map(ObservationStation::stationId).toList();
+    }
+
+    private static List<String> bruteForce(List<ObservationStation> stations, double lat, double lon, int k, double maxKm) {
+        return ids(stations.stream()
+            .filter(s -> StationKdTree.distanceKm(lat, lon, s.latitude(), s.longitude()) <= maxKm)
+            .sorted(Comparator.comparingDouble(s -> StationKdTree.distanceKm(lat, lon, s.latitude(), s.longitude())))
+            .limit(k)
+            .toList());
+    }
+
+    @Test
+    void shouldMatchBruteForceOnRandomStations() {
+        Random random = new Random(7);
+        List<ObservationStation> stations = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            stations.add(new ObservationStation("S" + i,
+                18 + random.nextDouble() * 54, -180 + random.nextDouble() * 120, null));
+        }
+        StationKdTree tree = new StationKdTree(stations);
+
+        for (int q = 0; q < 500; q++) {
+            double lat = 18 + random.nextDouble() * 54;
+            double lon = -180 + random.nextDouble() * 120;
+            assertEquals(bruteForce(stations, lat, lon, 5, 150), ids(tree.nearest(lat, lon, 5, 150)));
+        }
+    }
+
+    @Test
+    void shouldHandleAntimeridianAndPoles() {
+        StationKdTree tree = new StationKdTree(List.of(
+            new ObservationStation("EAST", 52.0, 179.95, null),
+            new ObservationStation("WEST", 52.0, -179.5, null),
+            new ObservationStation("POLE", 89.99, 0.0, null)));
+
+        assertEquals(List.of("EAST", "WEST"), ids(tree.nearest(52.0, -179.99, 2, 100)));
+        assertEquals(List.of("POLE"), ids(tree.nearest(89.99, 180.0, 1, 10)));
+    }
+
+    @Test
+    void shouldReturnEmptyOutsideRadius() {
+        StationKdTree tree = new StationKdTree(List.of(
+            new ObservationStation("KMSN", 43.1399, -89.3375, "America/Chicago"),
+            new ObservationStation("NOLOC", null, null, null)));
+
+        assertEquals(1, tree.size());
+        assertTrue(tree.nearest(0.0, 0.0, 3, 25).isEmpty());
+        assertTrue(new StationKdTree(List.of()).nearest(43.0, -89.0, 3, 25).isEmpty());
+    }
+
+    @Test
+    void shouldParseBundledCatalog() throws IOException {
+        List<ObservationStation> stations;
+        try (InputStream in = getClass().getResourceAsStream("/stations/nws-stations.csv")) {
+            stations = StationCatalog.parse(in);
+        }
+        StationKdTree tree = new StationKdTree(stations);
+
+        assertEquals(stations.size(), tree.size());
+        assertEquals("KNYC", tree.nearest(40.7128, -74.0060, 1, 25).get(0).stationId());
+        assertEquals("KCQT", tree.nearest(34.0522, -118.2437, 1, 25).get(0).stationId());
+        assertEquals("PHNL", tree.nearest(21.3069, -157.8583, 1, 25).get(0).stationId());
+    }
+}
@@ -0,0 +1,152 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.wisc.cs506.WeatherKings.weather.model.GridCellStation;
+import edu.wisc.cs506.WeatherKings.weather.model.GridPoint;
+import edu.wisc.cs506.WeatherKings.weather.model.ObservationStation;
+import edu.wisc.cs506.WeatherKings.weather.repository.GridCellStationRepository;
+import edu.wisc.cs506.WeatherKings.weather.resilience.Bulkhead;
+import edu.wisc.cs506.WeatherKings.weather.resilience.CircuitBreaker;
+import edu.wisc.cs506.WeatherKings.weather.resilience.RetryPolicy;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+import edu.wisc.cs506.WeatherKings.weather.service.GridPointService;
+import edu.wisc.cs506.WeatherKings.weather.service.StationCatalog;
+import edu.wisc.cs506.WeatherKings.weather.service.StationResolver;
+import edu.wisc.cs506.WeatherKings.weather.standin.NwsStandInServer;
+import edu.wisc.cs506.WeatherKings.weather.standin.StandInSettings;
+
+class StationResolverTest {
+
+    private static final GridPoint MADISON = new GridPoint(
+        "MKX", 37, 63,
+        "https://api.weather.gov/gridpoints/MKX/37,63/forecast",
+        "https://api.weather.gov/gridpoints/MKX/37,63/forecast/hourly");
+
+    private static final UpstreamGuard NO_RETRY = new UpstreamGuard("nws",
+        new CircuitBreaker("nws", 10, 10, 50, Duration.ofSeconds(30)),
+        new Bulkhead("nws", 4, Duration.ZERO),
+        new RetryPolicy(1, Duration.ZERO, Duration.ZERO));
+
+    private GridCellStationRepository repository;
+    private GridPointService gridPointService;
+    private StationResolver resolver;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(GridCellStationRepository.class);
+        gridPointService = mock(GridPointService.class);
+        when(gridPointService.resolve(43.0731, -89.4012)).thenReturn(MADISON);
+
+        // Catalog disabled - every lookup goes through the grid cell
+        resolver = resolverWith(new StationCatalog(false, null));
+    }
+
+    private StationResolver resolverWith(StationCatalog catalog) {
+        return resolverWith("http://localhost:9", catalog);
+    }
+
+    private StationResolver resolverWith(String baseUrl, StationCatalog catalog) {
+        return resolverWith(baseUrl, catalog, 5);
+    }
+
+    private StationResolver resolverWith(String baseUrl, StationCatalog catalog, int maxPerCell) {
+        return new StationResolver(
+            baseUrl, "WeatherKings-Test", maxPerCell, 100, 25, 100, gridPointService, repository, catalog,
+            new SimpleClientHttpRequestFactory(), NO_RETRY, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldReturnPersistedStationsNearestFirst() {
+        when(repository.findByGridCellOrderByStationRankAsc("MKX/37,63")).thenReturn(List.of(
+            new GridCellStation("MKX/37,63", 0, new ObservationStation("KMSN", 43.14, -89.34, "America/Chicago")),
+            new GridCellStation("MKX/37,63", 1, new ObservationStation("KC29", 43.11, -89.53, "America/Chicago"))
+        ));
+
+        List<ObservationStation> stations = resolver.resolveStations(43.0731, -89.4012);
+
+        assertEquals(2, stations.size());
+        assertEquals("KMSN", stations.get(0).stationId());
+        assertEquals("KC29", stations.get(1).stationId());
+    }
+
+    @Test
+    void shouldServeRepeatLookupsFromMemory() {
+        when(repository.findByGridCellOrderByStationRankAsc("MKX/37,63")).thenReturn(List.of(
+            new GridCellStation("MKX/37,63", 0, new ObservationStation("KMSN", 43.14, -89.34, "America/Chicago"))
+        ));
+
+        resolver.resolveStations(43.0731, -89.4012);
+        resolver.resolveStations(43.0731, -89.4012);
+        resolver.resolveStations(MADISON);
+
+        verify(repository, times(1)).findByGridCellOrderByStationRankAsc("MKX/37,63");
+    }
+
+    @Test
+    void shouldResolveFromCatalogWithoutNetworkWhenItHasEnoughStations() {
+        resolver = resolverWith("http://localhost:9", new StationCatalog(true, "/stations/nws-stations.csv"), 2);
+
+        List<ObservationStation> stations = resolver.resolveStations(43.0731, -89.4012);
+
+        assertEquals("KMSN", stations.get(0).stationId());
+        assertEquals("America/Chicago", stations.get(0).timeZone());
+        assertEquals(List.of("KMSN", "KC29"), stations.stream().map(ObservationStation::stationId).toList());
+        verifyNoInteractions(gridPointService, repository);
+    }
+
+    @Test
+    void shouldTakeFailoverCandidatesFromWiderCatalogRadius() {
+        resolver = resolverWith(new StationCatalog(true, "/stations/nws-stations.csv"));
+
+        List<ObservationStation> stations = resolver.resolveStations(43.0731, -89.4012);
+
+        // Only two catalog stations within 25 km - the next ones out to 100 km fill in, nearest first
+        assertEquals(List.of("KMSN", "KC29", "KJVL", "KUES"), stations.stream().map(ObservationStation::stationId).toList());
+        verifyNoInteractions(gridPointService, repository);
+    }
+
+    @Test
+    void shouldFallBackToGridCellWhenCatalogHasNoStationInRadius() {
+        resolver = resolverWith(new StationCatalog(true, "/stations/nws-stations.csv"));
+        GridPoint tonopah = new GridPoint("VEF", 140, 200,
+            "https://api.weather.gov/gridpoints/VEF/140,200/forecast",
+            "https://api.weather.gov/gridpoints/VEF/140,200/forecast/hourly");
+        when(gridPointService.resolve(38.07, -117.23)).thenReturn(tonopah);
+        when(repository.findByGridCellOrderByStationRankAsc("VEF/140,200")).thenReturn(List.of(
+            new GridCellStation("VEF/140,200", 0, new ObservationStation("KTPH", 38.06, -117.09, "America/Los_Angeles"))
+        ));
+
+        List<ObservationStation> stations = resolver.resolveStations(38.07, -117.23);
+
+        assertEquals("KTPH", stations.get(0).stationId());
+        verify(gridPointService).resolve(38.07, -117.23);
+    }
+
+    @Test
+    void shouldUseStoredRowsWhenAnotherRequestPersistedTheCellFirst() {
+        try (NwsStandInServer standIn = new NwsStandInServer(StandInSettings.healthy(0)).start()) {
+            resolver = resolverWith(standIn.getBaseUrl(), new StationCatalog(false, null));
+            when(repository.findByGridCellOrderByStationRankAsc("MKX/37,63")).thenReturn(List.of(), List.of(
+                new GridCellStation("MKX/37,63", 0, new ObservationStation("KMSN", 43.14, -89.34, "America/Chicago"))
+            ));
+            doThrow(new DataIntegrityViolationException("Duplicate entry 'MKX/37,63-0'"))
+                .when(repository).saveAllAndFlush(anyList());
+
+            List<ObservationStation> stations = resolver.resolveStations(MADISON);
+
+            assertEquals(List.of("KMSN"), stations.stream().map(ObservationStation::stationId).toList());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wisc.cs506.WeatherKings.weather.resilience.TokenBucketRateLimiter;
+
+class TokenBucketRateLimiterTest {
+
+    private long now;
+    private final List<Long> sleeps = new ArrayList<>();
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setup() {
+        now = 0;
+        // 1 request per second, burst of 2, callers wait at most 2.5 seconds
+        limiter = new TokenBucketRateLimiter("nominatim", 1.0, 2, Duration.ofMillis(2500),
+            () -> now, sleeps::add);
+    }
+
+    private long sleptMillis(int index) {
+        return TimeUnit.NANOSECONDS.toMillis(sleeps.get(index));
+    }
+
+    @Test
+    void shouldAllowBurstWithoutWaiting() {
+        limiter.acquire();
+        limiter.acquire();
+
+        assertTrue(sleeps.isEmpty());
+        assertEquals(2, limiter.getAcquiredCount());
+    }
+
+    @Test
+    void shouldQueueCallersInArrivalOrder() {
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+
+        // bucket is empty: the next callers get consecutive one-second slots
+        assertEquals(2, sleeps.size());
+        assertEquals(1000, sleptMillis(0));
+        assertEquals(2000, sleptMillis(1));
+    }
+
+    @Test
+    void shouldShedWhenWaitExceedsLimit() {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        TokenBucketRateLimiter.RateLimitExceededException e = assertThrows(
+            TokenBucketRateLimiter.RateLimitExceededException.class, limiter::acquire);
+        assertTrue(e.getMessage().contains("nominatim"));
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(4, limiter.getAcquiredCount());
+    }
+
+    @Test
+    void shouldNotCountInterruptedWaitAsAcquired() {
+        TokenBucketRateLimiter interrupting = new TokenBucketRateLimiter("nominatim", 1.0, 1, Duration.ofMillis(2500),
+            () -> now, nanos -> { throw new InterruptedException(); });
+        interrupting.acquire();
+
+        assertThrows(TokenBucketRateLimiter.RateLimitExceededException.class, interrupting::acquire);
+        assertTrue(Thread.interrupted());
+        assertEquals(1, interrupting.getAcquiredCount());
+        assertEquals(1, interrupting.getRejectedCount());
+        assertEquals(0, interrupting.getTotalWaitNanos());
+        assertEquals(0, interrupting.getQueueDepth());
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        limiter.acquire();
+        limiter.acquire();
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        limiter.acquire();
+
+        assertTrue(sleeps.isEmpty());
+    }
+}
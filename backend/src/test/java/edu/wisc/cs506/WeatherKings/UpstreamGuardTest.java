@@ -0,0 +1,212 @@
+package edu.wisc.cs506.WeatherKings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import com.sun.net.httpserver.HttpServer;
+
+import edu.wisc.cs506.WeatherKings.weather.resilience.Bulkhead;
+import edu.wisc.cs506.WeatherKings.weather.resilience.CircuitBreaker;
+import edu.wisc.cs506.WeatherKings.weather.resilience.RetryPolicy;
+import edu.wisc.cs506.WeatherKings.weather.resilience.TokenBucketRateLimiter;
+import edu.wisc.cs506.WeatherKings.weather.resilience.UpstreamGuard;
+
+/**
+ * Runs the guard against a local stand-in for api.weather.gov that answers with
+ * scripted status codes, so no network access is needed.
+ */
+class UpstreamGuardTest {
+
+    private HttpServer server;
+    private final ConcurrentLinkedQueue<Integer> scriptedStatuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<Duration> sleeps = new ArrayList<>();
+
+    private RestClient restClient;
+    private UpstreamGuard guard;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            Integer status = scriptedStatuses.poll();
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status == null ? 200 : status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        restClient = RestClient.builder()
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+            .build();
+
+        guard = new UpstreamGuard("nws",
+            new CircuitBreaker("nws", 4, 4, 50, Duration.ofSeconds(30)),
+            new Bulkhead("nws", 2, Duration.ofMillis(50)),
+            new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1), sleeps::add));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private String get() {
+        return guard.call(this::fetch);
+    }
+
+    private String fetch() {
+        return restClient.get().uri("/points/43,-89").retrieve().body(String.class);
+    }
+
+    @Test
+    void shouldRetryServerErrorsWithJitteredBackoff() {
+        scriptedStatuses.add(503);
+        scriptedStatuses.add(500);
+
+        assertEquals("{}", get());
+        assertEquals(3, requests.get());
+        assertEquals(2, guard.getRetryCount());
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0).toMillis() <= 100);
+        assertTrue(sleeps.get(1).toMillis() <= 200);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        scriptedStatuses.add(404);
+
+        assertThrows(HttpClientErrorException.class, this::get);
+        assertEquals(1, requests.get());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getBreaker().getState());
+    }
+
+    @Test
+    void shouldOpenBreakerAndStopCallingUpstream() {
+        for (int i = 0; i < 4; i++) {
+            scriptedStatuses.add(503);
+        }
+
+        // 3 attempts fail, then the 4th failure in the next call opens the breaker
+        assertThrows(HttpServerErrorException.class, this::get);
+        RuntimeException second = assertThrows(RuntimeException.class, this::get);
+        assertTrue(UpstreamGuard.isUnavailable(second));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getBreaker().getState());
+
+        int before = requests.get();
+        assertThrows(CircuitBreaker.OpenException.class, this::get);
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void shouldReleaseHalfOpenProbeWhenCallThrowsAnError() {
+        CircuitBreaker breaker = new CircuitBreaker("nws", 4, 4, 50, Duration.ZERO);
+        UpstreamGuard probing = new UpstreamGuard("nws", breaker,
+            new Bulkhead("nws", 2, Duration.ofMillis(50)), new RetryPolicy(1, Duration.ZERO, Duration.ZERO));
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+
+        // The probe dies with an Error - the breaker must not be left waiting for its outcome
+        assertThrows(StackOverflowError.class, () -> probing.call(() -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertEquals("ok", probing.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldNotCloseHalfOpenBreakerOnRateLimitRejection() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("nws", 4, 4, 50, Duration.ZERO);
+        // 1 request per second, burst of 1, no waiting: a second request in the same instant is shed
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("nws", 1.0, 1, Duration.ZERO,
+            now::get, nanos -> { });
+        UpstreamGuard limited = new UpstreamGuard("nws", breaker,
+            new Bulkhead("nws", 2, Duration.ofMillis(50)), new RetryPolicy(1, Duration.ZERO, Duration.ZERO), limiter);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        limiter.acquire();
+
+        // Shed before the bulkhead and breaker: no probe is used up and nothing is recorded
+        assertThrows(TokenBucketRateLimiter.RateLimitExceededException.class, () -> limited.call(this::fetch));
+        assertEquals(0, requests.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, limited.getBulkhead().getAvailable());
+
+        // Shed by a limiter inside the call while half-open: the probe is handed back without an outcome
+        assertThrows(TokenBucketRateLimiter.RateLimitExceededException.class, () -> guard(breaker).call(() -> {
+            throw new TokenBucketRateLimiter.RateLimitExceededException("shed");
+        }));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // The next real request is the probe, and its outcome decides
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        scriptedStatuses.add(503);
+        assertThrows(HttpServerErrorException.class, () -> limited.call(this::fetch));
+        assertEquals(1, requests.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static UpstreamGuard guard(CircuitBreaker breaker) {
+        return new UpstreamGuard("nws", breaker,
+            new Bulkhead("nws", 2, Duration.ofMillis(50)), new RetryPolicy(1, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    void shouldRejectWhenBulkheadIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Thread> holders = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            holders.add(Thread.ofVirtual().start(() -> guard.call(() -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "held";
+            })));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(Bulkhead.FullException.class, () -> guard.call(() -> "rejected"));
+        assertEquals(1, guard.getBulkhead().getRejectedCount());
+
+        release.countDown();
+        for (Thread holder : holders) {
+            holder.join();
+        }
+        assertEquals(2, guard.getBulkhead().getAvailable());
+    }
+}
@@ -15,7 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 /**
  * Integration tests for WeatherApiService
  * 
- * These tests make REAL API calls to weather.gov
+ * These tests make real HTTP calls to the local NWS stand-in server (application-test.properties)
  * They verify:
  * - API integration works
  * - Response structure is correct
@@ -152,9 +152,8 @@ class WeatherApiServiceTest {
             System.out.println("⚠ Precipitation Probability: Not available for this period");
         }
         
-        // 4. DETAILED FORECAST (for conditions bets)
-        assertNotNull(firstPeriod.getDetailedForecast(), "Must have detailed forecast");
-        System.out.println("✓ Detailed Forecast: " + firstPeriod.getDetailedForecast());
+        // 4. DETAILED FORECAST - skipped by the streaming parser, bets only use shortForecast
+        assertNull(firstPeriod.getDetailedForecast(), "Detailed forecast prose should not be materialized");
         
         // 5. SHORT FORECAST (quick summary)
         assertNotNull(firstPeriod.getShortForecast(), "Must have short forecast");
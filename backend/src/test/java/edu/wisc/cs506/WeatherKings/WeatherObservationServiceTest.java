@@ -14,7 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 /**
  * Integration tests for WeatherObservationService.
- * Makes REAL API calls to NWS observation stations.
+ * Makes real HTTP calls to the local NWS stand-in server (application-test.properties).
  */
 @SpringBootTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
@@ -46,8 +46,12 @@ DROP TABLE IF EXISTS `bets`;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `bets` (
   `bet_id` int NOT NULL AUTO_INCREMENT,
-  `city_name` varchar(50) NOT NULL, -- e.g., 'Madison, WI'
+  `city_id` int NOT NULL,            -- Canonical city the lines are for
+  `city_name` varchar(50) NOT NULL, -- Display name, e.g., 'Madison, WI'
   `bet_date` date NOT NULL,          -- Date the weather event applies to
+  `grid_cell` varchar(24) DEFAULT NULL, -- NWS grid cell the lines were priced from, e.g., 'MKX/37,63'
+  `latitude` double DEFAULT NULL,    -- Point the lines were priced for; resolution observes here
+  `longitude` double DEFAULT NULL,   -- (NULL on lines created before coordinates were stored)
   `bet_description` varchar(255) NOT NULL, -- e.g., 'Over 45°F Max Temperature'
   `bet_type` varchar(50) NOT NULL,    -- e.g., 'MAX_TEMP_OVER_UNDER', 'RAIN_YES_NO'
   `set_line` decimal(12,1) DEFAULT NULL, -- The target value (e.g., 45.0 for temperature)
@@ -58,7 +62,145 @@ CREATE TABLE `bets` (
   `bet_start` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `bet_close` datetime DEFAULT NULL,
   PRIMARY KEY (`bet_id`),
-  UNIQUE KEY `unique_bet_per_day` (`city_name`, `bet_date`, `bet_type`) -- Prevents duplicate bet lines
+  UNIQUE KEY `unique_bet_per_day` (`city_id`, `bet_date`, `bet_type`), -- Prevents duplicate bet lines; its (city_id, bet_date) prefix serves city lookups
+  KEY `idx_grid_cell_date` (`grid_cell`, `bet_date`), -- Lines are reused by every location in the same cell
+  CONSTRAINT `bets_ibfk_1` FOREIGN KEY (`city_id`) REFERENCES `cities` (`city_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `cities`
+--
+
+DROP TABLE IF EXISTS `cities`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `cities` (
+  `city_id` int NOT NULL AUTO_INCREMENT,
+  `name_key` varchar(100) NOT NULL,   -- Canonical key, e.g., 'madison, wi' for 'Madison, Wisconsin' or 'madison wi'
+  `city_name` varchar(50) NOT NULL,   -- Name as first requested, e.g., 'Madison, WI'
+  `latitude` double NOT NULL,
+  `longitude` double NOT NULL,
+  `grid_cell` varchar(24) DEFAULT NULL, -- NWS grid cell, e.g., 'MKX/37,63'
+  `station_id` varchar(10) DEFAULT NULL, -- Nearest catalog observation station, e.g., 'KMSN'
+  `created_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`city_id`),
+  UNIQUE KEY `unique_name_key` (`name_key`) -- Case and spelling variants resolve to one row
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `daily_observation_aggregates`
+--
+
+DROP TABLE IF EXISTS `daily_observation_aggregates`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `daily_observation_aggregates` (
+  `aggregate_id` int NOT NULL AUTO_INCREMENT,
+  `station_id` varchar(10) NOT NULL,                    -- e.g., 'KMSN'
+  `local_date` date NOT NULL,                           -- calendar day in the station's time zone
+  `time_zone` varchar(40) NOT NULL,                     -- e.g., 'America/Chicago'
+  `max_temp_f` double DEFAULT NULL,
+  `min_temp_f` double DEFAULT NULL,
+  `overnight_min_temp_f` double DEFAULT NULL,           -- Min from local midnight to 09:00; settles MIN_TEMP lines
+  `max_wind_gust_mph` double DEFAULT NULL,
+  `precipitation_total` double NOT NULL DEFAULT '0',    -- mm, largest precipitationLastHour per clock hour summed
+  `current_hour_precipitation` double NOT NULL DEFAULT '0',
+  `snow_liquid_total` double NOT NULL DEFAULT '0',      -- mm of precipitation_total that fell as snow
+  `sky_cover_sum` double NOT NULL DEFAULT '0',
+  `sky_cover_count` int NOT NULL DEFAULT '0',
+  `clear_count` int NOT NULL DEFAULT '0',
+  `cloudy_count` int NOT NULL DEFAULT '0',
+  `rain_count` int NOT NULL DEFAULT '0',
+  `snow_count` int NOT NULL DEFAULT '0',
+  `other_count` int NOT NULL DEFAULT '0',
+  `dominant_condition` varchar(10) DEFAULT NULL,        -- CLEAR, CLOUDY, RAIN, SNOW or OTHER
+  `observation_count` int NOT NULL DEFAULT '0',
+  `first_observation_at` datetime DEFAULT NULL,         -- UTC time of the oldest observation folded in
+  `last_observation_at` datetime DEFAULT NULL,          -- UTC time of the newest observation folded in
+  `updated_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`aggregate_id`),
+  UNIQUE KEY `unique_station_day` (`station_id`, `local_date`),
+  KEY `idx_station_last_observation` (`station_id`, `last_observation_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `forecast_cache`
+--
+
+DROP TABLE IF EXISTS `forecast_cache`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `forecast_cache` (
+  `grid_cell` varchar(24) NOT NULL,       -- NWS grid cell, e.g., 'MKX/37,63'
+  `fetched_at` datetime NOT NULL,         -- UTC time the body was fetched or last revalidated
+  `expires_at` datetime NOT NULL,         -- UTC end of freshness from Cache-Control/Expires
+  `etag` varchar(128) DEFAULT NULL,       -- validators for conditional revalidation
+  `last_modified` datetime DEFAULT NULL,
+  `payload` mediumblob NOT NULL,          -- encoded forecast periods (see ForecastPayloadCodec)
+  PRIMARY KEY (`grid_cell`),
+  KEY `idx_expires_at` (`expires_at`)     -- startup warm-up loads rows within the retention period
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `geocode_cache`
+--
+
+DROP TABLE IF EXISTS `geocode_cache`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `geocode_cache` (
+  `query_key` varchar(255) NOT NULL,      -- normalized query, e.g., 'madison, wi'
+  `found` tinyint(1) NOT NULL,            -- 0 = Nominatim had no result (short-lived entry)
+  `city_name` varchar(255) DEFAULT NULL,
+  `latitude` double DEFAULT NULL,
+  `longitude` double DEFAULT NULL,
+  `display_name` varchar(512) DEFAULT NULL,
+  `country` varchar(100) DEFAULT NULL,
+  `fetched_at` datetime NOT NULL,         -- UTC time of the Nominatim call
+  `expires_at` datetime NOT NULL,         -- UTC; rows past this are ignored and overwritten
+  PRIMARY KEY (`query_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `grid_cell_stations`
+--
+
+DROP TABLE IF EXISTS `grid_cell_stations`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `grid_cell_stations` (
+  `grid_cell_station_id` int NOT NULL AUTO_INCREMENT,
+  `grid_cell` varchar(24) NOT NULL,       -- NWS grid cell, e.g., 'MKX/37,63'
+  `station_rank` int NOT NULL,            -- 0 = nearest station for the cell
+  `station_id` varchar(10) NOT NULL,      -- e.g., 'KMSN'
+  `latitude` double DEFAULT NULL,
+  `longitude` double DEFAULT NULL,
+  `time_zone` varchar(40) DEFAULT NULL,   -- e.g., 'America/Chicago'
+  `resolved_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`grid_cell_station_id`),
+  UNIQUE KEY `unique_station_rank_per_cell` (`grid_cell`, `station_rank`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `hourly_forecasts`
+--
+
+DROP TABLE IF EXISTS `hourly_forecasts`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `hourly_forecasts` (
+  `grid_cell` varchar(24) NOT NULL,       -- NWS grid cell, e.g., 'MKX/37,63'
+  `start_time` datetime NOT NULL,         -- UTC start of the first hour
+  `hours` int NOT NULL,                   -- number of hours in the series
+  `series` mediumblob NOT NULL,           -- packed temperatures / PoP / winds (see HourlySeries)
+  `fetched_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`grid_cell`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 